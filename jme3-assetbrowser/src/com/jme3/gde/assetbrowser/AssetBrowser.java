@@ -63,11 +63,7 @@ import java.util.stream.Collectors;
 import javax.swing.JOptionPane;
 import org.openide.DialogDisplayer;
 import org.openide.NotifyDescriptor;
-import org.openide.filesystems.FileAttributeEvent;
-import org.openide.filesystems.FileChangeListener;
-import org.openide.filesystems.FileEvent;
 import org.openide.filesystems.FileObject;
-import org.openide.filesystems.FileRenameEvent;
 import org.openide.loaders.DataObject;
 import org.openide.loaders.DataObjectNotFoundException;
 import org.openide.util.Exceptions;
@@ -91,6 +87,7 @@ public class AssetBrowser extends javax.swing.JPanel implements PreviewInteracti
     private int lastGridColumns = 0;
     private int lastGridRows = 0;
     private String lastFilter = "";
+    private final ProjectAssetManager.AssetChangeListener assetChangeListener = (manager, assets) -> loadAssets(lastFilter);
 
     private int sizeX = Constants.sizeX;
     private int sizeY = Constants.sizeY;
@@ -208,7 +205,8 @@ public class AssetBrowser extends javax.swing.JPanel implements PreviewInteracti
             constraints.gridx = index % columns;
             constraints.gridy = (int) (((float) index-1) / (columns));
             if (type.startsWith(TEXTURES)) {
-                preview = new TexturePreview(this, previewUtil.getOrCreateTexturePreview(item, imageSize));
+                preview = new TexturePreview(this, Icons.assetIcon);
+                preview.setPreviewImage(previewUtil.getOrCreateTexturePreview(item, preview, imageSize));
             } else if (type.startsWith(MATERIALS)) {
                 preview = new MaterialPreview(this);
                 preview.setPreviewImage(previewUtil.getOrCreateMaterialPreview(item, preview, imageSize));
@@ -362,44 +360,17 @@ public class AssetBrowser extends javax.swing.JPanel implements PreviewInteracti
      * @param evt
      */
     private void projectLabelMouseClicked(java.awt.event.MouseEvent evt) {//GEN-FIRST:event_projectLabelMouseClicked
+        if (assetManager != null) {
+            assetManager.removeAssetChangeListener(assetChangeListener);
+        }
         assetManager = ProjectSelection.getProjectAssetManager("Select project");
         projectName = assetManager.getProject().getProjectDirectory().getName();
         projectLabel.setText(projectName);
         previewUtil = new PreviewHelper(assetManager);
         createAssetBrowserFolder(assetManager);
         // Check which assets was added/deleted/renamed/changed? Nah, just load
-        // everything!
-        assetManager.getAssetFolder().addRecursiveListener(new FileChangeListener() {
-            @Override
-            public void fileFolderCreated(FileEvent fe) {
-                loadAssets(lastFilter);
-            }
-
-            @Override
-            public void fileDataCreated(FileEvent fe) {
-                loadAssets(lastFilter);
-            }
-
-            @Override
-            public void fileChanged(FileEvent fe) {
-                loadAssets(lastFilter);
-            }
-
-            @Override
-            public void fileDeleted(FileEvent fe) {
-                loadAssets(lastFilter);
-            }
-
-            @Override
-            public void fileRenamed(FileRenameEvent fre) {
-                loadAssets(lastFilter);
-            }
-
-            @Override
-            public void fileAttributeChanged(FileAttributeEvent fae) {
-                loadAssets(lastFilter);
-            }
-        });
+        // everything! Changes arrive in batches, so this happens once per batch
+        assetManager.addAssetChangeListener(assetChangeListener);
         loadAssets("");
     }//GEN-LAST:event_projectLabelMouseClicked
 
@@ -34,6 +34,7 @@ package com.jme3.gde.assetbrowser;
 import com.jme3.gde.assetbrowser.icons.Icons;
 import com.jme3.gde.assetbrowser.widgets.AssetPreviewWidget;
 import com.jme3.gde.core.assets.ProjectAssetManager;
+import com.jme3.gde.core.assets.ThumbnailCache;
 import com.jme3.gde.core.icons.IconList;
 import com.jme3.gde.core.scene.PreviewRequest;
 import com.jme3.gde.core.scene.SceneApplication;
@@ -53,18 +54,11 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.nio.file.attribute.FileTime;
-import javax.imageio.ImageIO;
+import java.util.Collection;
+import java.util.Collections;
 import javax.swing.Icon;
 import javax.swing.ImageIcon;
 import jme3tools.converters.ImageToAwt;
-import org.openide.filesystems.FileObject;
-import org.openide.util.Exceptions;
 
 /**
  * Helper class for generating preview images
@@ -74,6 +68,9 @@ import org.openide.util.Exceptions;
 public class PreviewHelper {
 
     private static final int PREVIEW_SIZE = 150;
+    private static final String TEXTURE_PREVIEW = "assetbrowser-texture-" + PREVIEW_SIZE;
+    private static final String MATERIAL_PREVIEW = "assetbrowser-material-" + PREVIEW_SIZE;
+    private static final String MODEL_PREVIEW = "assetbrowser-model-" + PREVIEW_SIZE;
     private final ProjectAssetManager assetManager;
 
     private static final Vector3f previewLocation = new Vector3f(4, 4, 7);
@@ -83,12 +80,14 @@ public class PreviewHelper {
         this.assetManager = assetManager;
     }
 
-    public Icon getOrCreateTexturePreview(String asset, int size) {
-        final var icon = tryGetPreview(asset, size);
-        if (icon != null) {
-            return icon;
-        }
-        System.out.println("creating preview ");
+    public Icon getOrCreateTexturePreview(String asset, AssetPreviewWidget widget, int size) {
+        ThumbnailCache.getDefault().lookup(assetManager, asset, TEXTURE_PREVIEW, (cached, info) -> {
+            widget.setPreviewImage(cached != null ? scaledIcon(cached, size) : createTexturePreview(asset));
+        });
+        return IconList.asset;
+    }
+
+    private Icon createTexturePreview(String asset) {
         Texture texture = assetManager.loadTexture(asset);
         Image image = texture.getImage();
 
@@ -96,7 +95,7 @@ public class PreviewHelper {
 
         BufferedImage scaled = scaleDown(buff, 150, 150);
         BufferedImage noAlpha = convertImage(scaled);
-        savePreview(assetManager, asset.split("\\.")[0], noAlpha);
+        ThumbnailCache.getDefault().put(assetManager, asset, TEXTURE_PREVIEW, Collections.<String>emptyList(), noAlpha);
         return new ImageIcon(noAlpha);
     }
 
@@ -109,17 +108,23 @@ public class PreviewHelper {
     }
 
     public Icon getOrCreateMaterialPreview(String asset, AssetPreviewWidget widget, int size) {
-        final var icon = tryGetPreview(asset, size);
-        if (icon != null) {
-            return icon;
-        }
+        ThumbnailCache.getDefault().lookup(assetManager, asset, MATERIAL_PREVIEW, (cached, info) -> {
+            if (cached != null) {
+                widget.setPreviewImage(scaledIcon(cached, size));
+            } else {
+                createMaterialPreview(asset, widget);
+            }
+        });
+        return IconList.asset;
+    }
 
+    private void createMaterialPreview(String asset, AssetPreviewWidget widget) {
         Material mat = assetManager.loadMaterial(asset);
 
         Box boxMesh = new Box(1.75f, 1.75f, 1.75f);
         Geometry box = new Geometry("previewBox", boxMesh);
         box.setMaterial(mat);
-        PreviewListener listener = new PreviewListener(assetManager, mat.getAssetName().split("\\.")[0], widget);
+        PreviewListener listener = new PreviewListener(assetManager, asset, MATERIAL_PREVIEW, ThumbnailCache.collectDependencies(mat), widget);
         SceneApplication.getApplication().addSceneListener(listener);
         SceneApplication.getApplication().enqueue(() -> {
             SceneApplication.getApplication().getRenderManager().preloadScene(box);
@@ -131,55 +136,33 @@ public class PreviewHelper {
                 SceneApplication.getApplication().createPreview(request);
             });
         });
-        return IconList.asset;
     }
 
-    private Icon tryGetPreview(String asset, int size) {
-        final var assetPath = assetManager.getAbsoluteAssetPath(asset);
-
-        final FileTime assetModificationTime = getAssetModificationTime(assetPath);
-
-        final File previewFile = loadPreviewFile(assetManager, asset.split("\\.")[0]);
-
-        if (previewFile != null && assetModificationTime != null) {
-            final Path previewPath = previewFile.toPath();
-            if(previewPath == null) {
-                return null;
-            }
-            try {
-                final BasicFileAttributes previewAttributes = Files.readAttributes(
-                        previewPath, BasicFileAttributes.class);
-                final FileTime previewCreationTime = previewAttributes.creationTime();
-
-                if (previewCreationTime.compareTo(assetModificationTime) > 0) {
-                    System.out.println("existing preview OK " + previewFile);
-                    BufferedImage image = ImageIO.read(previewFile);
-                    if (image != null) {
-                        return new ImageIcon(size != PREVIEW_SIZE ? image.getScaledInstance(size, size, 0) : image);
-                    }
-                }
-
-            } catch (IOException ex) {
-                Exceptions.printStackTrace(ex);
-            }
-        }
-        return null;
+    private static Icon scaledIcon(BufferedImage image, int size) {
+        return new ImageIcon(size != PREVIEW_SIZE ? image.getScaledInstance(size, size, 0) : image);
     }
 
     public Icon getOrCreateModelPreview(String asset, AssetPreviewWidget widget, int size) {
-        final var icon = tryGetPreview(asset, size);
-        if (icon != null) {
-            return icon;
-        }
+        ThumbnailCache.getDefault().lookup(assetManager, asset, MODEL_PREVIEW, (cached, info) -> {
+            if (cached != null) {
+                widget.setPreviewImage(scaledIcon(cached, size));
+            } else {
+                createModelPreview(asset, widget);
+            }
+        });
+        return IconList.asset;
+    }
 
+    private void createModelPreview(String asset, AssetPreviewWidget widget) {
         Material unshaded = new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
         unshaded.setColor("Color", ColorRGBA.Red);
 
         Spatial spatial = assetManager.loadModel(asset);
+        Collection<String> dependencies = ThumbnailCache.collectDependencies(spatial);
 
         recurseApplyDefaultMaterial(spatial, unshaded);
 
-        PreviewListener listener = new PreviewListener(assetManager, asset.split("\\.")[0], widget);
+        PreviewListener listener = new PreviewListener(assetManager, asset, MODEL_PREVIEW, dependencies, widget);
         SceneApplication.getApplication().addSceneListener(listener);
         SceneApplication.getApplication().enqueue(() -> {
             SceneApplication.getApplication().getRenderManager().preloadScene(spatial);
@@ -190,7 +173,6 @@ public class PreviewHelper {
                 SceneApplication.getApplication().createPreview(request);
             });
         });
-        return IconList.asset;
     }
 
     /**
@@ -209,44 +191,6 @@ public class PreviewHelper {
         }
     }
 
-    private FileTime getAssetModificationTime(String assetPath) {
-        if (assetPath == null) {
-            return null;
-        }
-        Path path = new File(assetPath).toPath();
-
-        try {
-            // creating BasicFileAttributes class object using
-            // readAttributes method
-            BasicFileAttributes file_att = Files.readAttributes(
-                    path, BasicFileAttributes.class);
-            return file_att.lastModifiedTime();
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
-        }
-        return null;
-    }
-
-    private File loadPreviewFile(ProjectAssetManager assetManager, String id) {
-        FileObject fileObject = assetManager.getProject().getProjectDirectory();
-        return new File(fileObject.getPath() + "/.assetBrowser/", id + ".jpg");
-    }
-
-    private void savePreview(ProjectAssetManager assetManager, String id, BufferedImage preview) {
-        FileObject fileObject = assetManager.getProject().getProjectDirectory();
-        String[] fileSections = id.split("/");
-        String fileName = fileSections[fileSections.length - 1];
-        File path = new File(fileObject.getPath() + "/.assetBrowser/" + id.substring(0, id.length() - fileName.length()));
-        File file = new File(path, fileName + ".jpg");
-        try {
-            path.mkdirs();
-            file.createNewFile();
-            ImageIO.write(preview, "jpg", file);
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
-        }
-    }
-
     private BufferedImage scaleDown(BufferedImage sourceImage, int targetWidth, int targetHeight) {
         int sourceWidth = sourceImage.getWidth();
         int sourceHeight = sourceImage.getHeight();
@@ -266,11 +210,15 @@ public class PreviewHelper {
         final AssetPreviewWidget widget;
         final ProjectAssetManager assetManager;
         private final String assetName;
+        private final String variant;
+        private final Collection<String> dependencies;
 
-        public PreviewListener(ProjectAssetManager assetManager, String assetName, AssetPreviewWidget widget) {
+        public PreviewListener(ProjectAssetManager assetManager, String assetName, String variant, Collection<String> dependencies, AssetPreviewWidget widget) {
             this.widget = widget;
             this.assetManager = assetManager;
             this.assetName = assetName;
+            this.variant = variant;
+            this.dependencies = dependencies;
         }
 
         @Override
@@ -283,11 +231,11 @@ public class PreviewHelper {
 
         @Override
         public void previewCreated(PreviewRequest request) {
-            if (request.getRequester() == this) {
+            if (request.getRequester() == this && request.getImage() != null) {
                 final var image = convertImage(request.getImage());
                 java.awt.EventQueue.invokeLater(() -> {
                     widget.setPreviewImage(new ImageIcon(image));
-                    savePreview(assetManager, assetName, image);
+                    ThumbnailCache.getDefault().put(assetManager, assetName, variant, dependencies, image);
                     widget.revalidate();
                 });
             }
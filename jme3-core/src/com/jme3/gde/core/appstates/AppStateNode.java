@@ -41,8 +41,6 @@ import com.jme3.gde.core.util.PropertyUtils;
 import java.awt.Image;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import org.openide.DialogDisplayer;
 import org.openide.NotifyDescriptor;
 import org.openide.nodes.AbstractNode;
@@ -116,7 +114,7 @@ public class AppStateNode extends AbstractNode implements ScenePropertyChangeLis
             for (Property<?> property : propertySet.getProperties()) {
                 if (property instanceof SceneExplorerProperty) {
                     SceneExplorerProperty<?> prop = (SceneExplorerProperty) property;
-                    prop.syncValue();
+                    prop.syncDirtyValue();
                 }
             }
         }
@@ -181,20 +179,14 @@ public class AppStateNode extends AbstractNode implements ScenePropertyChangeLis
     }
 
     protected void createMethods(Class c, Sheet.Set set, Object obj) throws SecurityException {
-        for (Method method : c.getDeclaredMethods()) {
-            PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, method);
-            if (prop != null) {
-                set.put(makeProperty(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
-            }
+        for (PropertyDescriptor prop : PropertyUtils.getMethodPropertyDescriptors(c).values()) {
+            set.put(makeProperty(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
         }
     }
 
     protected void createFields(Class c, Sheet.Set set, Object obj) throws SecurityException {
-        for (Field field : c.getDeclaredFields()) {
-            PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, field);
-            if (prop != null) {
-                set.put(makeProperty(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
-            }
+        for (PropertyDescriptor prop : PropertyUtils.getFieldPropertyDescriptors(c)) {
+            set.put(makeProperty(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
         }
     }
 
@@ -0,0 +1,167 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.openide.filesystems.FileAttributeEvent;
+import org.openide.filesystems.FileChangeListener;
+import org.openide.filesystems.FileEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileRenameEvent;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Collects the file and classpath events of a ProjectAssetManager and hands
+ * them over in batches. Events are deduplicated by path and delivered once no
+ * new event arrived for {@link #DELAY} ms, or at the latest after
+ * {@link #MAX_DELAY} ms, so a git checkout or a build touching hundreds of
+ * files results in a single update.
+ */
+class AssetChangeQueue {
+
+    static final int DELAY = 300;
+    static final int MAX_DELAY = 2000;
+    private static final RequestProcessor RP = new RequestProcessor("ProjectAssetManager changes", 1);
+    private final ProjectAssetManager manager;
+    private final RequestProcessor.Task task;
+    private final Map<String, FileObject> classPathFiles = new LinkedHashMap<>();
+    private final Set<String> assets = new LinkedHashSet<>();
+    private boolean classPathChanged = false;
+    private long firstEvent = -1;
+    private FileObject assetFolder;
+
+    AssetChangeQueue(ProjectAssetManager manager) {
+        this.manager = manager;
+        this.task = RP.create(this::deliver);
+    }
+
+    /**
+     * Listens to the current asset folder of the ProjectAssetManager.
+     */
+    synchronized void checkAssetFolder() {
+        FileObject folder = manager.getAssetFolder();
+        if (folder == assetFolder) {
+            return;
+        }
+        if (assetFolder != null) {
+            assetFolder.removeRecursiveListener(assetListener);
+        }
+        assetFolder = folder;
+        if (folder != null) {
+            folder.addRecursiveListener(assetListener);
+        }
+    }
+
+    synchronized void classPathFileChanged(FileObject file) {
+        classPathFiles.put(file.getPath(), file);
+        schedule();
+    }
+
+    synchronized void classPathChanged() {
+        classPathChanged = true;
+        schedule();
+    }
+
+    synchronized void assetChanged(FileObject file) {
+        assets.add(manager.getRelativeAssetPath(file.getPath()));
+        schedule();
+    }
+
+    synchronized void assetChanged(String assetName) {
+        assets.add(assetName);
+        schedule();
+    }
+
+    private void schedule() {
+        long now = System.currentTimeMillis();
+        if (firstEvent < 0) {
+            firstEvent = now;
+        }
+        long latest = firstEvent + MAX_DELAY - now;
+        task.schedule((int) Math.max(0, Math.min(DELAY, latest)));
+    }
+
+    private void deliver() {
+        Map<String, FileObject> changedFiles;
+        Set<String> changedAssets;
+        boolean changedClassPath;
+        synchronized (this) {
+            changedFiles = new LinkedHashMap<>(classPathFiles);
+            changedAssets = new LinkedHashSet<>(assets);
+            changedClassPath = classPathChanged;
+            classPathFiles.clear();
+            assets.clear();
+            classPathChanged = false;
+            firstEvent = -1;
+        }
+        manager.processChanges(changedFiles.values(), changedClassPath, changedAssets);
+    }
+
+    private final FileChangeListener assetListener = new FileChangeListener() {
+        @Override
+        public void fileFolderCreated(FileEvent fe) {
+            assetChanged(fe.getFile());
+        }
+
+        @Override
+        public void fileDataCreated(FileEvent fe) {
+            assetChanged(fe.getFile());
+        }
+
+        @Override
+        public void fileChanged(FileEvent fe) {
+            assetChanged(fe.getFile());
+        }
+
+        @Override
+        public void fileDeleted(FileEvent fe) {
+            assetChanged(fe.getFile());
+        }
+
+        @Override
+        public void fileRenamed(FileRenameEvent fe) {
+            FileObject file = fe.getFile();
+            if (file.getParent() != null) {
+                String oldName = fe.getExt().isEmpty() ? fe.getName() : fe.getName() + "." + fe.getExt();
+                assetChanged(manager.getRelativeAssetPath(file.getParent().getPath() + "/" + oldName));
+            }
+            assetChanged(file);
+        }
+
+        @Override
+        public void fileAttributeChanged(FileAttributeEvent fae) {
+        }
+    };
+}
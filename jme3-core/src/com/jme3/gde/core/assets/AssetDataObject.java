@@ -37,10 +37,18 @@ import com.jme3.export.Savable;
 import com.jme3.export.binary.BinaryExporter;
 import com.jme3.gde.core.icons.IconList;
 import com.jme3.gde.core.scene.SceneApplication;
+import com.jme3.material.Material;
+import com.jme3.scene.Spatial;
 import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -56,6 +64,7 @@ import org.openide.NotifyDescriptor;
 import org.openide.cookies.SaveCookie;
 import org.openide.filesystems.FileLock;
 import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
 import org.openide.loaders.DataNode;
 import org.openide.loaders.DataObjectExistsException;
 import org.openide.loaders.MultiDataObject;
@@ -64,6 +73,7 @@ import org.openide.nodes.Children;
 import org.openide.nodes.Node;
 import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
+import org.openide.util.RequestProcessor;
 import org.openide.util.lookup.AbstractLookup;
 import org.openide.util.lookup.InstanceContent;
 import org.openide.util.lookup.ProxyLookup;
@@ -87,10 +97,10 @@ public class AssetDataObject extends MultiDataObject {
     protected final List<AssetKey> failedList = new LinkedList<AssetKey>();
     protected SaveCookie saveCookie = new SaveCookie() {
         public void save() throws IOException {
-            //TODO: On OpenGL thread? -- safest way.. with get()?
+            //take the snapshot on the OpenGL thread, write it in the background
             SceneApplication.getApplication().enqueue(new Callable() {
                 public Object call() throws Exception {
-                    saveAsset();
+                    saveAssetInBackground();
                     return null;
                 }
             });
@@ -100,6 +110,8 @@ public class AssetDataObject extends MultiDataObject {
     protected AssetKey assetKey;
     protected Savable savable;
     protected String saveExtension;
+    private long modifications = 0;
+    private static final RequestProcessor SAVER = new RequestProcessor("Asset saving", 1);
 
     public AssetDataObject(FileObject pf, MultiFileLoader loader) throws DataObjectExistsException, IOException {
         super(pf, loader);
@@ -145,6 +157,9 @@ public class AssetDataObject extends MultiDataObject {
 
     @Override
     public synchronized void setModified(boolean modif) {
+        if (modif) {
+            modifications++;
+        }
         super.setModified(modif);
         if (modif && saveCookie != null) {
             getCookieSet().assign(SaveCookie.class, saveCookie);
@@ -219,35 +234,183 @@ public class AssetDataObject extends MultiDataObject {
         final Savable savable = this.savable;
         ProgressHandle progressHandle = ProgressHandle.createHandle("Saving File..");
         progressHandle.start();
-        BinaryExporter exp = BinaryExporter.getInstance();
-//        FileLock lock = null;
-        OutputStream out = null;
+        FileObject outFile;
         try {
-            if (saveExtension == null) {
-                out = getPrimaryFile().getOutputStream();
-            } else {
-                FileObject outFileObject = getPrimaryFile().getParent().getFileObject(getPrimaryFile().getName(), saveExtension);
-                if (outFileObject == null) {
-                    outFileObject = getPrimaryFile().getParent().createData(getPrimaryFile().getName(), saveExtension);
+            outFile = writeAsset(savable);
+        } finally {
+            progressHandle.finish();
+            setModified(false);
+        }
+        logger.log(Level.INFO, "File {0} saved successfully", getPrimaryFile().getNameExt());
+        assetSaved(outFile);
+    }
+
+    /**
+     * Saves this asset like saveAsset() but only takes a snapshot of the asset
+     * on the calling thread (usually the OpenGL thread) and writes the snapshot
+     * on a background thread, so the asset can be edited further while it is
+     * being saved. Assets that cannot be copied are saved directly.<br>
+     * The DataObject stays modified when it was changed after the snapshot.
+     *
+     * @return the save task or null if the asset was saved directly
+     * @throws IOException When the asset was saved directly and we cannot
+     * write to the file for unknown reasons
+     */
+    public synchronized RequestProcessor.Task saveAssetInBackground() throws IOException {
+        if (savable == null) {
+            logger.log(Level.WARNING, "Trying to write asset failed, asset data null!\nImport failed?");
+            return null;
+        }
+        final Savable snapshot;
+        try {
+            snapshot = createSnapshot(savable);
+        } catch (RuntimeException ex) {
+            logger.log(Level.WARNING, "Could not copy asset " + getName() + ", saving directly", ex);
+            saveAsset();
+            return null;
+        }
+        if (snapshot == null) {
+            saveAsset();
+            return null;
+        }
+        final long snapshotModifications = modifications;
+        final ProgressHandle progressHandle = ProgressHandle.createHandle("Saving File..");
+        progressHandle.start();
+        return SAVER.post(() -> {
+            try {
+                FileObject outFile = writeAsset(snapshot);
+                synchronized (AssetDataObject.this) {
+                    if (modifications == snapshotModifications) {
+                        setModified(false);
+                    }
                 }
-                out = outFileObject.getOutputStream();
+                logger.log(Level.INFO, "File {0} saved successfully", getPrimaryFile().getNameExt());
+                assetSaved(outFile);
+            } catch (IOException ex) {
+                Exceptions.printStackTrace(ex);
+            } finally {
+                progressHandle.finish();
+            }
+        });
+    }
+
+    /**
+     * Creates a copy of the asset that can be written while the asset itself
+     * is changed further.
+     *
+     * @param savable the asset
+     * @return the copy or null if the asset type cannot be copied
+     */
+    protected Savable createSnapshot(Savable savable) {
+        if (savable instanceof Spatial) {
+            return ((Spatial) savable).deepClone();
+        }
+        if (savable instanceof Material) {
+            return ((Material) savable).clone();
+        }
+        return null;
+    }
+
+    /**
+     * Called after the asset has been written.
+     *
+     * @param outFile the written file
+     */
+    protected void assetSaved(FileObject outFile) {
+    }
+
+    /**
+     * Writes a Savable as binary file, when a saveExtension is set, writes it
+     * as a brother file with that extension. Does not change the state of this
+     * DataObject so it can be used to save assets that were loaded elsewhere.
+     *
+     * @param savable the Savable to write
+     * @return the written file
+     * @throws IOException When we cannot write to the file for unknown reasons
+     */
+    protected FileObject writeAsset(Savable savable) throws IOException {
+        BinaryExporter exp = BinaryExporter.getInstance();
+        FileObject outFileObject;
+        if (saveExtension == null) {
+            outFileObject = getPrimaryFile();
+        } else {
+            outFileObject = getPrimaryFile().getParent().getFileObject(getPrimaryFile().getName(), saveExtension);
+            if (outFileObject == null) {
+                outFileObject = getPrimaryFile().getParent().createData(getPrimaryFile().getName(), saveExtension);
                 outFileObject.getParent().refresh();
             }
-            try (BufferedOutputStream bout = new BufferedOutputStream(out)) {
-                exp.save(savable, bout);
+        }
+        ProjectAssetManager mgr = getLookup().lookup(ProjectAssetManager.class);
+        boolean compress = "j3o".equalsIgnoreCase(outFileObject.getExt())
+                && mgr != null && mgr.isCompressBinaryModels();
+        File outFile = FileUtil.toFile(outFileObject);
+        if (outFile == null) {
+            try (BufferedOutputStream bout = new BufferedOutputStream(outFileObject.getOutputStream())) {
+                writeSavable(exp, savable, bout, compress);
             }
-        } finally {
-//            if (lock != null) {
-//                lock.releaseLock();
-//            }
-            if (out != null) {
-                out.close();
+            return outFileObject;
+        }
+        //write to a temp file and swap it in, so a failed save keeps the old file,
+        //the name is unique so concurrent saves of the same file can't mix
+        File tempFile = Files.createTempFile(outFile.getParentFile().toPath(), "." + outFile.getName(), ".saving").toFile();
+        try {
+            try (BufferedOutputStream bout = new BufferedOutputStream(new FileOutputStream(tempFile))) {
+                writeSavable(exp, savable, bout, compress);
+            }
+            try {
+                Files.move(tempFile.toPath(), outFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile.toPath(), outFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
+        } finally {
+            Files.deleteIfExists(tempFile.toPath());
+        }
+        outFileObject.refresh();
+        return outFileObject;
+    }
 
-            progressHandle.finish();
-            setModified(false);
+    /**
+     * Writes the Savable plain or through a {@link CompressedBinaryModel},
+     * the data is compressed while it is exported.
+     */
+    private void writeSavable(BinaryExporter exp, Savable savable, OutputStream out, boolean compress) throws IOException {
+        if (!compress) {
+            exp.save(savable, out);
+            return;
+        }
+        CountingOutputStream counter = new CountingOutputStream(out);
+        CompressedBinaryModel.BlockOutputStream compressed = CompressedBinaryModel.compress(counter);
+        try {
+            exp.save(savable, compressed);
+        } finally {
+            compressed.close();
+        }
+        logger.log(Level.INFO, "Compressed {0} from {1} to {2} bytes", new Object[]{getPrimaryFile().getNameExt(), compressed.getUncompressedSize(), counter.getCount()});
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
         }
-        logger.log(Level.INFO, "File {0} saved successfully", getPrimaryFile().getNameExt());
     }
 
     /**
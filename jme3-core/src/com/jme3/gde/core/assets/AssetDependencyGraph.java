@@ -0,0 +1,298 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import com.jme3.asset.AssetInfo;
+import com.jme3.asset.AssetKey;
+import com.jme3.material.MaterialDef;
+import com.jme3.material.TechniqueDef;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records which assets each asset of a project pulls in while it is loaded
+ * (e.g. j3o &gt; j3m &gt; j3md &gt; shaders and textures) so that a changed
+ * file only evicts itself and the assets depending on it from the cache of the
+ * ProjectAssetManager instead of clearing the whole cache.<br>
+ * The graph is filled by the ProjectAssetManager and can be found in the
+ * lookup of the project. Changed files in the asset folder are invalidated
+ * automatically by the ProjectAssetManager.
+ */
+@SuppressWarnings("rawtypes")
+public class AssetDependencyGraph {
+
+    private static final Logger logger = Logger.getLogger(AssetDependencyGraph.class.getName());
+    private final ProjectAssetManager manager;
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    private final Map<String, Set<AssetKey>> keys = new HashMap<>();
+    private final Set<String> scannedDefs = new HashSet<>();
+    private final ThreadLocal<Deque<AssetKey>> loading = ThreadLocal.withInitial(ArrayDeque::new);
+
+    AssetDependencyGraph(ProjectAssetManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Loads an asset and records it as a dependency of the asset that is
+     * currently loaded on this thread.
+     */
+    <T> T load(AssetKey<T> key, Supplier<T> loader) {
+        Deque<AssetKey> stack = loading.get();
+        AssetKey parent = stack.peek();
+        synchronized (this) {
+            keys.computeIfAbsent(key.getName(), n -> new HashSet<>()).add(key);
+            if (parent != null) {
+                addDependency(parent.getName(), key.getName());
+            }
+        }
+        stack.push(key);
+        try {
+            T asset = loader.get();
+            if (asset instanceof MaterialDef && needsShaderScan((MaterialDef) asset)) {
+                addShaderDependencies((MaterialDef) asset);
+            }
+            return asset;
+        } finally {
+            stack.pop();
+        }
+    }
+
+    /**
+     * The shaders of a MaterialDef are only read when it is first loaded or
+     * after it has been invalidated, cache hits don't touch any files.
+     */
+    private synchronized boolean needsShaderScan(MaterialDef def) {
+        return scannedDefs.add(def.getAssetName());
+    }
+
+    /**
+     * Shaders are only loaded when a technique is first rendered, so they are
+     * taken from the technique definitions. GLSL includes are inlined by the
+     * shader loader without going through the cache, so they are read from
+     * the #import lines of the shader sources.
+     */
+    private void addShaderDependencies(MaterialDef def) {
+        Set<String> shaderNames = new HashSet<>();
+        for (String techniqueName : def.getTechniqueDefsNames()) {
+            for (TechniqueDef techniqueDef : def.getTechniqueDefs(techniqueName)) {
+                shaderNames.addAll(techniqueDef.getShaderProgramNames().values());
+            }
+        }
+        Map<String, Set<String>> includes = new HashMap<>();
+        Deque<String> open = new ArrayDeque<>(shaderNames);
+        while (!open.isEmpty()) {
+            String name = open.pop();
+            if (!includes.containsKey(name)) {
+                Set<String> imports = readImports(name);
+                includes.put(name, imports);
+                open.addAll(imports);
+            }
+        }
+        synchronized (this) {
+            for (String shaderName : shaderNames) {
+                addDependency(def.getAssetName(), shaderName);
+            }
+            for (Map.Entry<String, Set<String>> entry : includes.entrySet()) {
+                for (String include : entry.getValue()) {
+                    addDependency(entry.getKey(), include);
+                }
+            }
+        }
+    }
+
+    private Set<String> readImports(String shaderName) {
+        AssetInfo info = manager.locateAsset(new AssetKey(shaderName));
+        if (info == null) {
+            return Collections.<String>emptySet();
+        }
+        Set<String> imports = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(info.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("#import")) {
+                    int start = line.indexOf('"');
+                    int end = line.lastIndexOf('"');
+                    if (start >= 0 && end > start) {
+                        imports.add(line.substring(start + 1, end));
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            logger.log(Level.FINE, "Could not read the imports of {0}: {1}", new Object[]{shaderName, ex.getMessage()});
+        }
+        return imports;
+    }
+
+    /**
+     * Records that an asset depends on another asset.
+     *
+     * @param assetName the name of the depending asset
+     * @param dependencyName the name of the asset it depends on
+     */
+    public synchronized void addDependency(String assetName, String dependencyName) {
+        if (assetName == null || dependencyName == null || assetName.equals(dependencyName)) {
+            return;
+        }
+        dependencies.computeIfAbsent(assetName, n -> new HashSet<>()).add(dependencyName);
+        dependents.computeIfAbsent(dependencyName, n -> new HashSet<>()).add(assetName);
+    }
+
+    /**
+     * @param assetName the asset name
+     * @return the names of the assets the asset directly depends on
+     */
+    public synchronized Set<String> getDependencies(String assetName) {
+        Set<String> names = dependencies.get(assetName);
+        return names != null ? new HashSet<>(names) : Collections.<String>emptySet();
+    }
+
+    /**
+     * @param assetName the asset name
+     * @return the names of the assets directly depending on the asset
+     */
+    public synchronized Set<String> getDependents(String assetName) {
+        Set<String> names = dependents.get(assetName);
+        return names != null ? new HashSet<>(names) : Collections.<String>emptySet();
+    }
+
+    /**
+     * @param assetName the asset name
+     * @return the names of all assets the asset depends on, directly or
+     * through other assets
+     */
+    public synchronized Set<String> getTransitiveDependencies(String assetName) {
+        Set<String> result = new LinkedHashSet<>();
+        Deque<String> open = new ArrayDeque<>();
+        open.push(assetName);
+        while (!open.isEmpty()) {
+            Set<String> names = dependencies.get(open.pop());
+            if (names == null) {
+                continue;
+            }
+            for (String name : names) {
+                if (!name.equals(assetName) && result.add(name)) {
+                    open.push(name);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param assetName the asset name
+     * @return the names of all assets depending on the asset, directly or
+     * through other assets
+     */
+    public synchronized Set<String> getTransitiveDependents(String assetName) {
+        Set<String> result = new LinkedHashSet<>();
+        Deque<String> open = new ArrayDeque<>();
+        open.push(assetName);
+        while (!open.isEmpty()) {
+            Set<String> names = dependents.get(open.pop());
+            if (names == null) {
+                continue;
+            }
+            for (String name : names) {
+                if (!name.equals(assetName) && result.add(name)) {
+                    open.push(name);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes an asset and all assets depending on it from the cache of the
+     * ProjectAssetManager. The dependencies of the asset itself and the keys
+     * of all evicted assets are forgotten, they are recorded again when the
+     * assets are reloaded.
+     *
+     * @param assetName the name of the changed asset
+     * @return the names of all evicted assets
+     */
+    public Set<String> invalidate(String assetName) {
+        Set<String> names = new LinkedHashSet<>();
+        Set<AssetKey> evict = new HashSet<>();
+        synchronized (this) {
+            names.add(assetName);
+            names.addAll(getTransitiveDependents(assetName));
+            for (String name : names) {
+                Set<AssetKey> nameKeys = keys.remove(name);
+                if (nameKeys != null) {
+                    evict.addAll(nameKeys);
+                }
+                scannedDefs.remove(name);
+            }
+            Set<String> old = dependencies.remove(assetName);
+            if (old != null) {
+                for (String dependency : old) {
+                    Set<String> assetDependents = dependents.get(dependency);
+                    if (assetDependents != null) {
+                        assetDependents.remove(assetName);
+                    }
+                }
+            }
+        }
+        for (AssetKey key : evict) {
+            if (key.getCacheType() != null) {
+                manager.deleteFromCache(key);
+            }
+        }
+        logger.log(Level.FINE, "Invalidated {0} and {1} dependent assets", new Object[]{assetName, names.size() - 1});
+        return names;
+    }
+
+    /**
+     * Forgets all recorded dependencies.
+     */
+    public synchronized void clear() {
+        dependencies.clear();
+        dependents.clear();
+        keys.clear();
+        scannedDefs.clear();
+    }
+}
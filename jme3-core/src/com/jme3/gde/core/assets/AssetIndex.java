@@ -0,0 +1,423 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.filesystems.FileAttributeEvent;
+import org.openide.filesystems.FileChangeListener;
+import org.openide.filesystems.FileEvent;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileRenameEvent;
+import org.openide.filesystems.FileUtil;
+import org.openide.modules.Places;
+
+/**
+ * In-memory index of the assets of a ProjectAssetManager, maps the asset paths
+ * of the asset folder and the classpath jars to their FileObjects and the file
+ * suffixes to the sorted asset paths.<br>
+ * The asset folder is indexed once and then kept up to date by a file
+ * listener, each classpath jar is indexed when it is first queried and reused
+ * until it changes or leaves the classpath. The jar indexes are also stored on
+ * disk so they survive restarts of the SDK.
+ */
+class AssetIndex {
+
+    private static final Logger logger = Logger.getLogger(AssetIndex.class.getName());
+    private final ProjectAssetManager manager;
+    private FileObject assetFolder;
+    private final TreeMap<String, FileObject> projectFiles = new TreeMap<>();
+    private final Map<String, TreeSet<String>> projectSuffixes = new HashMap<>();
+    private final Map<FileObject, RootIndex> roots = new LinkedHashMap<>();
+    private final Map<String, RootIndex> dependencyFiles = new HashMap<>();
+    private final Map<String, String> dependencyFilesIgnoreCase = new HashMap<>();
+    private final Map<String, TreeSet<String>> dependencySuffixes = new HashMap<>();
+    private boolean dependenciesValid = false;
+
+    AssetIndex(ProjectAssetManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Sets the classpath roots in classpath order, the indexes of roots that
+     * were set before are kept.
+     */
+    synchronized void setClassPathRoots(Collection<FileObject> classPathRoots) {
+        Map<FileObject, RootIndex> old = new HashMap<>(roots);
+        roots.clear();
+        for (FileObject root : classPathRoots) {
+            RootIndex index = old.get(root);
+            roots.put(root, index != null && index.isValid() ? index : null);
+        }
+        dependenciesValid = false;
+    }
+
+    /**
+     * Drops the index of the classpath root containing the given file.
+     */
+    synchronized void invalidate(FileObject file) {
+        for (Map.Entry<FileObject, RootIndex> entry : roots.entrySet()) {
+            RootIndex index = entry.getValue();
+            if (index != null && index.contains(file)) {
+                entry.setValue(null);
+                dependenciesValid = false;
+            }
+        }
+    }
+
+    synchronized FileObject getProjectFile(String name) {
+        checkProjectIndex();
+        return projectFiles.get(name);
+    }
+
+    synchronized FileObject getDependencyFile(String name) {
+        checkDependencyIndex();
+        RootIndex index = dependencyFiles.get(name);
+        return index != null ? index.root.getFileObject(name) : null;
+    }
+
+    synchronized FileObject getDependencyFileIgnoreCase(String name) {
+        checkDependencyIndex();
+        String path = dependencyFiles.containsKey(name) ? name : dependencyFilesIgnoreCase.get(name.toLowerCase(Locale.ROOT));
+        return path != null ? getDependencyFile(path) : null;
+    }
+
+    synchronized void collectProjectFiles(String suffix, Set<String> list) {
+        checkProjectIndex();
+        Set<String> paths = projectSuffixes.get(suffix.toLowerCase(Locale.ROOT));
+        if (paths != null) {
+            list.addAll(paths);
+        }
+    }
+
+    synchronized void collectDependencyFiles(String suffix, Set<String> list) {
+        checkDependencyIndex();
+        Set<String> paths = dependencySuffixes.get(suffix.toLowerCase(Locale.ROOT));
+        if (paths != null) {
+            list.addAll(paths);
+        }
+    }
+
+    private void checkProjectIndex() {
+        FileObject folder = manager.getAssetFolder();
+        if (folder == assetFolder) {
+            return;
+        }
+        if (assetFolder != null) {
+            assetFolder.removeRecursiveListener(folderListener);
+        }
+        projectFiles.clear();
+        projectSuffixes.clear();
+        assetFolder = folder;
+        if (folder != null) {
+            long time = System.currentTimeMillis();
+            folder.addRecursiveListener(folderListener);
+            addProjectFile(folder);
+            logger.log(Level.FINE, "Indexed {0} project assets in {1} ms", new Object[]{projectFiles.size(), System.currentTimeMillis() - time});
+        }
+    }
+
+    private void addProjectFile(FileObject file) {
+        if (file.isFolder()) {
+            for (FileObject child : file.getChildren()) {
+                addProjectFile(child);
+            }
+            return;
+        }
+        String path = manager.getRelativeAssetPath(file.getPath());
+        if (projectFiles.put(path, file) == null) {
+            projectSuffixes.computeIfAbsent(file.getExt().toLowerCase(Locale.ROOT), s -> new TreeSet<>()).add(path);
+        }
+    }
+
+    /**
+     * Removes a file or all files below a folder, '0' is the character after
+     * '/' so the sub map contains exactly the paths below the folder.
+     */
+    private void removeProjectFile(String path) {
+        SortedMap<String, FileObject> folderFiles = projectFiles.subMap(path + "/", path + "0");
+        for (Iterator<String> it = folderFiles.keySet().iterator(); it.hasNext();) {
+            removeSuffix(it.next());
+            it.remove();
+        }
+        if (projectFiles.remove(path) != null) {
+            removeSuffix(path);
+        }
+    }
+
+    private void removeSuffix(String path) {
+        Set<String> paths = projectSuffixes.get(suffixOf(path));
+        if (paths != null) {
+            paths.remove(path);
+        }
+    }
+
+    private void checkDependencyIndex() {
+        if (dependenciesValid) {
+            return;
+        }
+        dependencyFiles.clear();
+        dependencyFilesIgnoreCase.clear();
+        dependencySuffixes.clear();
+        long time = System.currentTimeMillis();
+        int indexed = 0;
+        int cached = 0;
+        for (Map.Entry<FileObject, RootIndex> entry : roots.entrySet()) {
+            RootIndex index = entry.getValue();
+            if (index == null) {
+                index = new RootIndex(entry.getKey());
+                entry.setValue(index);
+                if (index.fromCache) {
+                    cached++;
+                } else if (index.archiveFile != null) {
+                    indexed++;
+                }
+            }
+            for (String path : index.paths) {
+                if (dependencyFiles.putIfAbsent(path, index) == null) {
+                    dependencyFilesIgnoreCase.putIfAbsent(path.toLowerCase(Locale.ROOT), path);
+                    dependencySuffixes.computeIfAbsent(suffixOf(path), s -> new TreeSet<>()).add(path);
+                }
+            }
+        }
+        dependenciesValid = true;
+        if (indexed + cached > 0) {
+            logger.log(Level.INFO, "Indexed {0} dependency assets in {1} ms, {2} jars scanned, {3} jars read from the index cache",
+                    new Object[]{dependencyFiles.size(), System.currentTimeMillis() - time, indexed, cached});
+        }
+    }
+
+    private static String suffixOf(String path) {
+        int idx = path.lastIndexOf('.');
+        return idx > path.lastIndexOf('/') ? path.substring(idx + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private final FileChangeListener folderListener = new FileChangeListener() {
+        @Override
+        public void fileFolderCreated(FileEvent fe) {
+            synchronized (AssetIndex.this) {
+                if (assetFolder != null) {
+                    addProjectFile(fe.getFile());
+                }
+            }
+        }
+
+        @Override
+        public void fileDataCreated(FileEvent fe) {
+            synchronized (AssetIndex.this) {
+                if (assetFolder != null) {
+                    addProjectFile(fe.getFile());
+                }
+            }
+        }
+
+        @Override
+        public void fileChanged(FileEvent fe) {
+        }
+
+        @Override
+        public void fileDeleted(FileEvent fe) {
+            synchronized (AssetIndex.this) {
+                if (assetFolder != null) {
+                    removeProjectFile(manager.getRelativeAssetPath(fe.getFile().getPath()));
+                }
+            }
+        }
+
+        @Override
+        public void fileRenamed(FileRenameEvent fe) {
+            synchronized (AssetIndex.this) {
+                if (assetFolder != null) {
+                    FileObject file = fe.getFile();
+                    String oldName = fe.getExt().isEmpty() ? fe.getName() : fe.getName() + "." + fe.getExt();
+                    String parent = file.getParent() != null ? file.getParent().getPath() + "/" : "";
+                    removeProjectFile(manager.getRelativeAssetPath(parent + oldName));
+                    addProjectFile(file);
+                }
+            }
+        }
+
+        @Override
+        public void fileAttributeChanged(FileAttributeEvent fae) {
+        }
+    };
+
+    /**
+     * The asset paths of one classpath root, only jar files contain assets
+     * that are addressable by their path.<br>
+     * The paths of a jar are stored in the user cache directory, keyed by the
+     * jar location and checked against its size, modification time and a hash
+     * of its tail (which holds the zip central directory), so unchanged jars
+     * are never walked again.
+     */
+    private static class RootIndex {
+
+        private static final int CACHE_VERSION = 1;
+        private static final int TAIL_SIZE = 64 * 1024;
+        private final FileObject root;
+        private final FileObject archiveFile;
+        private final long size;
+        private final long modified;
+        private final List<String> paths = new ArrayList<>();
+        private boolean fromCache = false;
+
+        RootIndex(FileObject classPathRoot) {
+            FileObject archiveRoot = null;
+            if (FileUtil.isArchiveFile(classPathRoot)) {
+                // Gradle projects don't know that the dependency is a Jar file
+                archiveRoot = FileUtil.getArchiveRoot(classPathRoot);
+            } else if (FileUtil.isArchiveArtifact(classPathRoot)) {
+                archiveRoot = classPathRoot;
+            }
+            root = archiveRoot != null ? archiveRoot : classPathRoot;
+            archiveFile = archiveRoot != null ? FileUtil.getArchiveFile(archiveRoot) : null;
+            size = archiveFile != null ? archiveFile.getSize() : 0;
+            modified = archiveFile != null ? archiveFile.lastModified().getTime() : 0;
+            if (archiveRoot == null) {
+                return;
+            }
+            File jar = FileUtil.toFile(archiveFile);
+            File cacheFile = jar != null ? getCacheFile(jar) : null;
+            String tailHash = jar != null ? hashTail(jar) : null;
+            if (cacheFile != null && tailHash != null && readCache(cacheFile, tailHash)) {
+                fromCache = true;
+                return;
+            }
+            long time = System.currentTimeMillis();
+            Enumeration<? extends FileObject> entries = archiveRoot.getChildren(true);
+            while (entries.hasMoreElements()) {
+                FileObject entry = entries.nextElement();
+                if (entry.isData()) {
+                    paths.add(entry.getPath());
+                }
+            }
+            logger.log(Level.FINE, "Indexed {0} entries of {1} in {2} ms", new Object[]{paths.size(), archiveFile, System.currentTimeMillis() - time});
+            if (cacheFile != null && tailHash != null) {
+                writeCache(cacheFile, tailHash);
+            }
+        }
+
+        boolean isValid() {
+            return archiveFile == null
+                    || (archiveFile.isValid() && archiveFile.getSize() == size && archiveFile.lastModified().getTime() == modified);
+        }
+
+        boolean contains(FileObject file) {
+            return root.equals(file) || FileUtil.isParentOf(root, file)
+                    || (archiveFile != null && archiveFile.equals(file));
+        }
+
+        private boolean readCache(File cacheFile, String tailHash) {
+            if (!cacheFile.exists()) {
+                return false;
+            }
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+                if (in.readInt() != CACHE_VERSION || in.readLong() != size || in.readLong() != modified
+                        || !in.readUTF().equals(tailHash)) {
+                    return false;
+                }
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    paths.add(in.readUTF());
+                }
+                return true;
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "Could not read asset index {0}: {1}", new Object[]{cacheFile, ex.getMessage()});
+                paths.clear();
+                return false;
+            }
+        }
+
+        private void writeCache(File cacheFile, String tailHash) {
+            File tempFile = new File(cacheFile.getPath() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(CACHE_VERSION);
+                out.writeLong(size);
+                out.writeLong(modified);
+                out.writeUTF(tailHash);
+                out.writeInt(paths.size());
+                for (String path : paths) {
+                    out.writeUTF(path);
+                }
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "Could not write asset index {0}: {1}", new Object[]{cacheFile, ex.getMessage()});
+                tempFile.delete();
+                return;
+            }
+            if (!tempFile.renameTo(cacheFile)) {
+                cacheFile.delete();
+                tempFile.renameTo(cacheFile);
+            }
+        }
+
+        private static File getCacheFile(File jar) {
+            byte[] path = jar.getAbsolutePath().getBytes(StandardCharsets.UTF_8);
+            return new File(Places.getCacheSubdirectory("jme3-asset-index"), Digests.sha1Hex(path, path.length) + ".idx");
+        }
+
+        private static String hashTail(File jar) {
+            try (RandomAccessFile file = new RandomAccessFile(jar, "r")) {
+                int length = (int) Math.min(file.length(), TAIL_SIZE);
+                byte[] tail = new byte[length];
+                file.seek(file.length() - length);
+                file.readFully(tail);
+                return Digests.sha1Hex(tail, length);
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "Could not read {0}: {1}", new Object[]{jar, ex.getMessage()});
+                return null;
+            }
+        }
+    }
+}
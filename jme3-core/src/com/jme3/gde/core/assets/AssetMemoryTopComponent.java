@@ -0,0 +1,255 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import java.awt.BorderLayout;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.JToolBar;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import org.netbeans.api.project.Project;
+import org.netbeans.api.project.ProjectUtils;
+import org.netbeans.api.project.ui.OpenProjects;
+import org.netbeans.api.settings.ConvertAsProperties;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.util.NbBundle.Messages;
+import org.openide.windows.TopComponent;
+
+/**
+ * Lists the cached assets of all open projects with the memory they hold and
+ * allows to set the memory budget and to evict assets manually.
+ */
+@ConvertAsProperties(
+    dtd = "-//com.jme3.gde.core.assets//AssetMemory//EN",
+autostore = false)
+@TopComponent.Description(
+    preferredID = "AssetMemoryTopComponent",
+persistenceType = TopComponent.PERSISTENCE_ALWAYS)
+@TopComponent.Registration(mode = "output", openAtStartup = false)
+@ActionID(category = "Window", id = "com.jme3.gde.core.assets.AssetMemoryTopComponent")
+@ActionReference(path = "Menu/Window")
+@TopComponent.OpenActionRegistration(
+    displayName = "#CTL_AssetMemoryAction",
+preferredID = "AssetMemoryTopComponent")
+@Messages({
+    "CTL_AssetMemoryAction=Asset Memory",
+    "CTL_AssetMemoryTopComponent=Asset Memory",
+    "HINT_AssetMemoryTopComponent=Shows the memory used by the cached assets of the open projects",
+    "LBL_AssetMemoryBudget=Budget per Project (MB, 0 = unlimited): ",
+    "BTN_AssetMemoryTrim=Trim",
+    "BTN_AssetMemoryEvict=Evict Selected",
+    "BTN_AssetMemoryRefresh=Refresh",
+    "# {0} - number of assets",
+    "# {1} - heap MB",
+    "# {2} - direct MB",
+    "# {3} - evicted assets",
+    "LBL_AssetMemoryTotal={0} assets, {1} MB heap, {2} MB direct, {3} evicted"
+})
+public final class AssetMemoryTopComponent extends TopComponent {
+
+    private static final String[] COLUMNS = new String[]{"Project", "Asset", "Type", "Heap (KB)", "Direct (KB)", "Total (KB)", "Last Use", "Pinned"};
+    private static final Class<?>[] COLUMN_CLASSES = new Class<?>[]{String.class, String.class, String.class, Long.class, Long.class, Long.class, Date.class, Boolean.class};
+    private final EntryTableModel model = new EntryTableModel();
+    private final JTable table = new JTable(model);
+    private final JLabel totalLabel = new JLabel();
+    private final JSpinner budgetSpinner = new JSpinner(new SpinnerNumberModel(AssetMemoryTracker.getBudget() / 1024 / 1024, 0L, 1024L * 1024L, 64L));
+    private final Timer timer = new Timer(2000, e -> refresh());
+
+    public AssetMemoryTopComponent() {
+        setName(Bundle.CTL_AssetMemoryTopComponent());
+        setToolTipText(Bundle.HINT_AssetMemoryTopComponent());
+        setLayout(new BorderLayout());
+        JToolBar toolBar = new JToolBar();
+        toolBar.setFloatable(false);
+        toolBar.add(new JLabel(Bundle.LBL_AssetMemoryBudget()));
+        budgetSpinner.addChangeListener(e -> AssetMemoryTracker.setBudget(((Number) budgetSpinner.getValue()).longValue()));
+        toolBar.add(budgetSpinner);
+        JButton trimButton = new JButton(Bundle.BTN_AssetMemoryTrim());
+        trimButton.addActionListener(e -> trim());
+        toolBar.add(trimButton);
+        JButton evictButton = new JButton(Bundle.BTN_AssetMemoryEvict());
+        evictButton.addActionListener(e -> evictSelected());
+        toolBar.add(evictButton);
+        JButton refreshButton = new JButton(Bundle.BTN_AssetMemoryRefresh());
+        refreshButton.addActionListener(e -> refresh());
+        toolBar.add(refreshButton);
+        toolBar.addSeparator();
+        toolBar.add(totalLabel);
+        add(toolBar, BorderLayout.NORTH);
+        table.setAutoCreateRowSorter(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+    }
+
+    private List<AssetMemoryTracker> getTrackers() {
+        List<AssetMemoryTracker> trackers = new ArrayList<>();
+        for (Project project : OpenProjects.getDefault().getOpenProjects()) {
+            ProjectAssetManager manager = project.getLookup().lookup(ProjectAssetManager.class);
+            if (manager != null) {
+                trackers.add(manager.getMemoryTracker());
+            }
+        }
+        return trackers;
+    }
+
+    private void refresh() {
+        List<Row> rows = new ArrayList<>();
+        long heap = 0;
+        long direct = 0;
+        long evictions = 0;
+        for (AssetMemoryTracker tracker : getTrackers()) {
+            String projectName = ProjectUtils.getInformation(tracker.getManager().getProject()).getDisplayName();
+            for (AssetMemoryTracker.Entry entry : tracker.getEntries()) {
+                rows.add(new Row(projectName, tracker, entry));
+            }
+            heap += tracker.getHeapBytes();
+            direct += tracker.getDirectBytes();
+            evictions += tracker.getEvictions();
+        }
+        model.setRows(rows);
+        totalLabel.setText(Bundle.LBL_AssetMemoryTotal(rows.size(), heap / 1024 / 1024, direct / 1024 / 1024, evictions));
+    }
+
+    private void trim() {
+        long budget = AssetMemoryTracker.getBudget();
+        for (AssetMemoryTracker tracker : getTrackers()) {
+            tracker.trim(budget);
+        }
+        refresh();
+    }
+
+    private void evictSelected() {
+        for (int viewRow : table.getSelectedRows()) {
+            Row row = model.rows.get(table.convertRowIndexToModel(viewRow));
+            if (!row.entry.isPinned()) {
+                row.tracker.getManager().deleteFromCache(row.entry.getKey());
+            }
+        }
+        refresh();
+    }
+
+    @Override
+    protected void componentShowing() {
+        refresh();
+        timer.start();
+    }
+
+    @Override
+    protected void componentHidden() {
+        timer.stop();
+    }
+
+    void writeProperties(java.util.Properties p) {
+        p.setProperty("version", "1.0");
+    }
+
+    void readProperties(java.util.Properties p) {
+        String version = p.getProperty("version");
+    }
+
+    private static class Row {
+
+        private final String projectName;
+        private final AssetMemoryTracker tracker;
+        private final AssetMemoryTracker.Entry entry;
+
+        public Row(String projectName, AssetMemoryTracker tracker, AssetMemoryTracker.Entry entry) {
+            this.projectName = projectName;
+            this.tracker = tracker;
+            this.entry = entry;
+        }
+    }
+
+    private static class EntryTableModel extends AbstractTableModel {
+
+        private List<Row> rows = new ArrayList<>();
+
+        public void setRows(List<Row> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return COLUMN_CLASSES[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Row row = rows.get(rowIndex);
+            AssetMemoryTracker.Entry entry = row.entry;
+            switch (columnIndex) {
+                case 0:
+                    return row.projectName;
+                case 1:
+                    return entry.getKey().getName();
+                case 2:
+                    return entry.getType();
+                case 3:
+                    return entry.getHeapBytes() / 1024;
+                case 4:
+                    return entry.getDirectBytes() / 1024;
+                case 5:
+                    return (entry.getHeapBytes() + entry.getDirectBytes()) / 1024;
+                case 6:
+                    return new Date(entry.getLastUse());
+                case 7:
+                    return entry.isPinned();
+                default:
+                    return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,502 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.audio.AudioBuffer;
+import com.jme3.gde.core.Installer;
+import com.jme3.material.MatParam;
+import com.jme3.material.MatParamTexture;
+import com.jme3.material.Material;
+import com.jme3.material.MaterialDef;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.prefs.Preferences;
+import javax.swing.event.ChangeListener;
+import org.openide.util.ChangeSupport;
+import org.openide.util.NbPreferences;
+
+/**
+ * Keeps track of the assets in the cache of a ProjectAssetManager and of the
+ * heap and direct memory they hold, the sizes are estimated from the image,
+ * mesh and audio buffers of the assets.<br>
+ * When the assets exceed the memory budget the least recently used assets are
+ * removed from the cache. Assets that are pinned, e.g. because they are used
+ * by the currently opened scene, are never removed.
+ */
+@SuppressWarnings("rawtypes")
+public class AssetMemoryTracker {
+
+    private static final Logger logger = Logger.getLogger(AssetMemoryTracker.class.getName());
+    private static final String BUDGET_PREFERENCE = "asset_memory_budget";
+    private static final long DEFAULT_BUDGET_MB = 1024;
+    //read once and updated by a preference listener, -1 until then
+    private static volatile long budget = -1;
+    private final ProjectAssetManager manager;
+    //access order, the eldest entry is the least recently used one
+    private final LinkedHashMap<AssetKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Object, Set<String>> pins = new HashMap<>();
+    private final ChangeSupport changeSupport = new ChangeSupport(this);
+    private long heapBytes;
+    private long directBytes;
+    private long evictions;
+
+    AssetMemoryTracker(ProjectAssetManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * @return the memory budget for the cached assets of each project in
+     * bytes, 0 if assets are never evicted automatically
+     */
+    public static long getBudget() {
+        long bytes = budget;
+        return bytes >= 0 ? bytes : initBudget();
+    }
+
+    private static synchronized long initBudget() {
+        if (budget < 0) {
+            final Preferences preferences = NbPreferences.forModule(Installer.class);
+            preferences.addPreferenceChangeListener(evt -> {
+                if (BUDGET_PREFERENCE.equals(evt.getKey())) {
+                    budget = readBudget(preferences);
+                }
+            });
+            budget = readBudget(preferences);
+        }
+        return budget;
+    }
+
+    private static long readBudget(Preferences preferences) {
+        try {
+            return Math.max(0, Long.parseLong(preferences.get(BUDGET_PREFERENCE, String.valueOf(DEFAULT_BUDGET_MB)))) * 1024 * 1024;
+        } catch (NumberFormatException ex) {
+            return DEFAULT_BUDGET_MB * 1024 * 1024;
+        }
+    }
+
+    /**
+     * Sets the memory budget for the cached assets of each project.
+     *
+     * @param megabytes the budget in MB, 0 to disable automatic eviction
+     */
+    public static void setBudget(long megabytes) {
+        NbPreferences.forModule(Installer.class).put(BUDGET_PREFERENCE, String.valueOf(Math.max(0, megabytes)));
+    }
+
+    /**
+     * Called by the ProjectAssetManager for each loaded asset, cache hits
+     * only update the time of last use.
+     */
+    void assetLoaded(AssetKey key, Object asset) {
+        if (key.getCacheType() == null || asset == null) {
+            return;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.lastUse = System.currentTimeMillis();
+                return;
+            }
+            entry = new Entry(key, asset.getClass().getSimpleName());
+            measure(asset, entry);
+            entries.put(key, entry);
+            heapBytes += entry.heapBytes;
+            directBytes += entry.directBytes;
+        }
+        trim(getBudget(), key);
+        changeSupport.fireChange();
+    }
+
+    /**
+     * Called by the ProjectAssetManager when an asset is removed from the
+     * cache.
+     */
+    void assetRemoved(AssetKey key) {
+        synchronized (this) {
+            Entry entry = entries.remove(key);
+            if (entry == null) {
+                return;
+            }
+            heapBytes -= entry.heapBytes;
+            directBytes -= entry.directBytes;
+        }
+        changeSupport.fireChange();
+    }
+
+    /**
+     * Forgets the assets the cache dropped without deleteFromCache, e.g. the
+     * weakly cached textures and models once they were garbage collected.
+     *
+     * @return true if an asset was forgotten
+     */
+    @SuppressWarnings("unchecked")
+    private boolean purgeDropped() {
+        List<AssetKey> keys;
+        synchronized (this) {
+            keys = new ArrayList<>(entries.keySet());
+        }
+        List<AssetKey> dropped = new ArrayList<>();
+        for (AssetKey key : keys) {
+            if (manager.getFromCache(key) == null) {
+                dropped.add(key);
+            }
+        }
+        if (dropped.isEmpty()) {
+            return false;
+        }
+        synchronized (this) {
+            for (AssetKey key : dropped) {
+                Entry entry = entries.remove(key);
+                if (entry != null) {
+                    heapBytes -= entry.heapBytes;
+                    directBytes -= entry.directBytes;
+                }
+            }
+        }
+        logger.log(Level.FINE, "{0} assets of project {1} were dropped by the cache", new Object[]{dropped.size(), manager.getProject()});
+        return true;
+    }
+
+    /**
+     * Called by the ProjectAssetManager when the whole cache is cleared.
+     */
+    void clear() {
+        synchronized (this) {
+            entries.clear();
+            heapBytes = 0;
+            directBytes = 0;
+        }
+        changeSupport.fireChange();
+    }
+
+    /**
+     * Pins the assets used by a scene and the assets they depend on so they
+     * are not evicted until {@link #unpin(Object)} is called with the same
+     * owner. Call from the thread that owns the scene.
+     *
+     * @param owner the owner of the pin, e.g. a SceneRequest
+     * @param scene the scene
+     */
+    public void pin(Object owner, Spatial scene) {
+        Set<String> names = new HashSet<>();
+        if (scene != null) {
+            scene.depthFirstTraversal(spatial -> {
+                addName(names, spatial.getKey());
+                if (spatial instanceof Geometry) {
+                    addMaterialNames(names, ((Geometry) spatial).getMaterial());
+                }
+            });
+        }
+        AssetDependencyGraph graph = manager.getDependencyGraph();
+        Deque<String> open = new ArrayDeque<>(names);
+        while (!open.isEmpty()) {
+            for (String name : graph.getDependencies(open.pop())) {
+                if (names.add(name)) {
+                    open.push(name);
+                }
+            }
+        }
+        synchronized (this) {
+            pins.put(owner, names);
+        }
+        logger.log(Level.FINE, "Pinned {0} assets for {1}", new Object[]{names.size(), owner});
+        changeSupport.fireChange();
+    }
+
+    /**
+     * Removes the pin of an owner and trims the cache to the budget.
+     *
+     * @param owner the owner given to {@link #pin(Object, Spatial)}
+     */
+    public void unpin(Object owner) {
+        synchronized (this) {
+            if (pins.remove(owner) == null) {
+                return;
+            }
+        }
+        trim(getBudget(), null);
+        changeSupport.fireChange();
+    }
+
+    private static void addName(Set<String> names, AssetKey key) {
+        if (key != null) {
+            names.add(key.getName());
+        }
+    }
+
+    private static void addMaterialNames(Set<String> names, Material material) {
+        if (material == null) {
+            return;
+        }
+        addName(names, material.getKey());
+        if (material.getMaterialDef() != null && material.getMaterialDef().getAssetName() != null) {
+            names.add(material.getMaterialDef().getAssetName());
+        }
+        for (MatParam param : material.getParams()) {
+            if (param instanceof MatParamTexture && param.getValue() != null) {
+                addName(names, ((Texture) param.getValue()).getKey());
+            }
+        }
+    }
+
+    private synchronized boolean isPinned(String name) {
+        for (Set<String> names : pins.values()) {
+            if (names.contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the least recently used assets that are not pinned from the
+     * cache until the assets fit the budget.
+     *
+     * @param budget the budget in bytes, 0 to keep all assets
+     * @return the number of evicted assets
+     */
+    public int trim(long budget) {
+        return trim(budget, null);
+    }
+
+    private int trim(long budget, AssetKey keep) {
+        if (budget <= 0) {
+            return 0;
+        }
+        synchronized (this) {
+            if (heapBytes + directBytes <= budget) {
+                return 0;
+            }
+        }
+        //only evict assets the cache still holds
+        if (purgeDropped()) {
+            changeSupport.fireChange();
+        }
+        List<AssetKey> evict = new ArrayList<>();
+        synchronized (this) {
+            long size = heapBytes + directBytes;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && size > budget;) {
+                Entry entry = it.next();
+                if (entry.key.equals(keep) || isPinned(entry.key.getName())) {
+                    continue;
+                }
+                evict.add(entry.key);
+                size -= entry.heapBytes + entry.directBytes;
+            }
+            evictions += evict.size();
+        }
+        for (AssetKey key : evict) {
+            manager.deleteFromCache(key);
+        }
+        if (!evict.isEmpty()) {
+            logger.log(Level.INFO, "Evicted {0} assets of project {1} to stay below {2} MB",
+                    new Object[]{evict.size(), manager.getProject(), budget / 1024 / 1024});
+        }
+        return evict.size();
+    }
+
+    /**
+     * @return a snapshot of the tracked assets
+     */
+    public List<Entry> getEntries() {
+        purgeDropped();
+        synchronized (this) {
+            return snapshot();
+        }
+    }
+
+    private List<Entry> snapshot() {
+        List<Entry> list = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            Entry copy = new Entry(entry.key, entry.type);
+            copy.heapBytes = entry.heapBytes;
+            copy.directBytes = entry.directBytes;
+            copy.lastUse = entry.lastUse;
+            copy.pinned = isPinned(entry.key.getName());
+            list.add(copy);
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    public long getHeapBytes() {
+        purgeDropped();
+        synchronized (this) {
+            return heapBytes;
+        }
+    }
+
+    public long getDirectBytes() {
+        purgeDropped();
+        synchronized (this) {
+            return directBytes;
+        }
+    }
+
+    /**
+     * @return the number of assets evicted automatically so far
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public ProjectAssetManager getManager() {
+        return manager;
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        changeSupport.addChangeListener(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        changeSupport.removeChangeListener(listener);
+    }
+
+    private static void measure(Object asset, Entry entry) {
+        if (asset instanceof Texture) {
+            Image image = ((Texture) asset).getImage();
+            if (image != null) {
+                for (ByteBuffer data : image.getData()) {
+                    entry.add(data);
+                }
+            }
+            entry.heapBytes += 256;
+        } else if (asset instanceof Spatial) {
+            Set<Mesh> meshes = Collections.newSetFromMap(new IdentityHashMap<>());
+            ((Spatial) asset).depthFirstTraversal(spatial -> {
+                entry.heapBytes += 512;
+                if (spatial instanceof Geometry && meshes.add(((Geometry) spatial).getMesh())) {
+                    for (VertexBuffer buffer : ((Geometry) spatial).getMesh().getBufferList()) {
+                        entry.add(buffer.getData());
+                    }
+                }
+            });
+        } else if (asset instanceof Material) {
+            entry.heapBytes += 256 + 96 * ((Material) asset).getParams().size();
+        } else if (asset instanceof MaterialDef) {
+            entry.heapBytes += 4096;
+        } else if (asset instanceof AudioBuffer) {
+            entry.add(((AudioBuffer) asset).getData());
+        } else if (asset instanceof CharSequence) {
+            entry.heapBytes += 40 + 2L * ((CharSequence) asset).length();
+        }
+    }
+
+    /**
+     * The memory held by a cached asset.
+     */
+    public static class Entry {
+
+        private final AssetKey key;
+        private final String type;
+        private long heapBytes;
+        private long directBytes;
+        private long lastUse = System.currentTimeMillis();
+        private boolean pinned;
+
+        private Entry(AssetKey key, String type) {
+            this.key = key;
+            this.type = type;
+        }
+
+        private void add(Buffer buffer) {
+            if (buffer == null) {
+                return;
+            }
+            long bytes = (long) buffer.capacity() * elementSize(buffer);
+            if (buffer.isDirect()) {
+                directBytes += bytes;
+            } else {
+                heapBytes += bytes;
+            }
+        }
+
+        private static int elementSize(Buffer buffer) {
+            if (buffer instanceof ByteBuffer) {
+                return 1;
+            } else if (buffer instanceof ShortBuffer || buffer instanceof CharBuffer) {
+                return 2;
+            } else if (buffer instanceof DoubleBuffer || buffer instanceof LongBuffer) {
+                return 8;
+            }
+            return 4;
+        }
+
+        public AssetKey getKey() {
+            return key;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getHeapBytes() {
+            return heapBytes;
+        }
+
+        public long getDirectBytes() {
+            return directBytes;
+        }
+
+        public long getLastUse() {
+            return lastUse;
+        }
+
+        public boolean isPinned() {
+            return pinned;
+        }
+    }
+}
@@ -77,6 +77,7 @@ public class AssetsLookupProvider implements LookupProvider {
         "assets.folder.name",
         "assets.excludes",
         "assets.compress",
+        "assets.compress.models",
         "jme.project.version"
     };
     private final String extensionName = "assets";
@@ -129,8 +130,9 @@ public class AssetsLookupProvider implements LookupProvider {
                     Project assetsProj = ProjectManager.getDefault().findProject(
                         prj.getProjectDirectory().getFileObject(relativePath.toString()));
                     if (assetsProj != null) {
-                        return Lookups.fixed(new ProjectAssetManager(assetsProj,
-                        "")); // the String is seen relative to the project root
+                        ProjectAssetManager pm = new ProjectAssetManager(assetsProj,
+                        ""); // the String is seen relative to the project root
+                        return Lookups.fixed(pm, pm.getDependencyGraph());
                     }
                 } catch (IOException io) {
                     Exceptions.printStackTrace(io);
@@ -151,7 +153,8 @@ public class AssetsLookupProvider implements LookupProvider {
                     if (prj.getProjectDirectory().getFileObject(assetsFolderName) != null) {
                         logger.log(Level.FINE, "Valid jMP project, extending with ProjectAssetManager");
                         openedHook = genOpenedHook(project);
-                        return Lookups.fixed(new ProjectAssetManager(prj, assetsFolderName), openedHook);
+                        ProjectAssetManager pm = new ProjectAssetManager(prj, assetsFolderName);
+                        return Lookups.fixed(pm, pm.getDependencyGraph(), openedHook);
                     }
                 } catch (IOException ex) {
                     Exceptions.printStackTrace(ex);
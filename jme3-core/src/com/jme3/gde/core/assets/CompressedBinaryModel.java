@@ -0,0 +1,341 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Block-wise Deflate container for j3o files, written instead of the plain
+ * j3o when "assets.compress.models" is set for a project. The files keep
+ * their j3o extension, {@link CompressedBinaryLoader} detects the container
+ * and falls back to plain j3o otherwise.<br>
+ * Layout: the magic bytes "J3OZ", format version and block size, then the
+ * blocks, each as uncompressed size, compressed size and compressed data,
+ * ended by a block of size 0. Blocks are streamed, several of them are
+ * compressed and decompressed in parallel.
+ */
+public final class CompressedBinaryModel {
+
+    private static final byte[] MAGIC = "J3OZ".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 3;
+    public static final int BLOCK_SIZE = 1024 * 1024;
+    private static final int PARALLEL_BLOCKS = Runtime.getRuntime().availableProcessors() + 1;
+
+    private CompressedBinaryModel() {
+    }
+
+    /**
+     * Writes the header of the container and returns a stream that
+     * compresses everything written to it. Closing the stream writes the end
+     * of the container, the given stream is flushed but stays open.
+     *
+     * @param out the stream to write the container to
+     * @return the stream to write the plain j3o data to
+     * @throws IOException if the header cannot be written
+     */
+    public static BlockOutputStream compress(OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.write(MAGIC);
+        dataOut.writeInt(VERSION);
+        dataOut.writeInt(BLOCK_SIZE);
+        return new BlockOutputStream(dataOut);
+    }
+
+    /**
+     * Opens a j3o stream that may or may not be compressed.
+     *
+     * @param in the stream of a plain or compressed j3o file, closed when the
+     * returned stream is closed or when it cannot be read
+     * @return a stream of the plain j3o data
+     * @throws IOException if the stream cannot be read or has an unknown
+     * container version
+     */
+    public static InputStream open(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in));
+        try {
+            dataIn.mark(MAGIC.length);
+            byte[] header = new byte[MAGIC.length];
+            int read = 0;
+            while (read < header.length) {
+                int count = dataIn.read(header, read, header.length - read);
+                if (count < 0) {
+                    break;
+                }
+                read += count;
+            }
+            if (read < header.length || !Arrays.equals(header, MAGIC)) {
+                dataIn.reset();
+                return dataIn;
+            }
+            int version = dataIn.readInt();
+            int blockSize = dataIn.readInt();
+            if (version != VERSION || blockSize <= 0) {
+                throw new IOException("Unsupported compressed model version " + version);
+            }
+            return new BlockInputStream(dataIn, blockSize);
+        } catch (IOException | RuntimeException ex) {
+            dataIn.close();
+            throw ex;
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[data.length + data.length / 16 + 64];
+            int size = 0;
+            while (!deflater.finished()) {
+                if (size == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                size += deflater.deflate(buffer, size, buffer.length - size);
+            }
+            return Arrays.copyOf(buffer, size);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed, int size) {
+        byte[] data = new byte[size];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < size && !inflater.finished()) {
+                int count = inflater.inflate(data, read, size - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != size) {
+                throw new UncheckedIOException(new IOException("Corrupt compressed model block"));
+            }
+            return data;
+        } catch (DataFormatException ex) {
+            throw new UncheckedIOException(new IOException("Corrupt compressed model block", ex));
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Collects the written data in blocks and deflates the last few of them
+     * in parallel while the next one is filled.
+     */
+    public static final class BlockOutputStream extends OutputStream {
+
+        private final DataOutputStream out;
+        private final Deque<CompletableFuture<byte[][]>> pending = new ArrayDeque<>();
+        private byte[] current = new byte[BLOCK_SIZE];
+        private int position = 0;
+        private long size = 0;
+        private boolean closed = false;
+
+        private BlockOutputStream(DataOutputStream out) {
+            this.out = out;
+        }
+
+        /**
+         * @return the number of uncompressed bytes written so far
+         */
+        public long getUncompressedSize() {
+            return size;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (position == current.length) {
+                nextBlock();
+            }
+            current[position++] = (byte) b;
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (position == current.length) {
+                    nextBlock();
+                }
+                int count = Math.min(len, current.length - position);
+                System.arraycopy(b, off, current, position, count);
+                position += count;
+                off += count;
+                len -= count;
+                size += count;
+            }
+        }
+
+        private void nextBlock() throws IOException {
+            if (position == 0) {
+                return;
+            }
+            final byte[] block = position == current.length ? current : Arrays.copyOf(current, position);
+            pending.add(CompletableFuture.supplyAsync(() -> new byte[][]{block, deflate(block)}));
+            current = new byte[BLOCK_SIZE];
+            position = 0;
+            while (pending.size() >= PARALLEL_BLOCKS) {
+                writeBlock(pending.poll());
+            }
+        }
+
+        private void writeBlock(CompletableFuture<byte[][]> future) throws IOException {
+            byte[][] block = join(future);
+            out.writeInt(block[0].length);
+            out.writeInt(block[1].length);
+            out.write(block[1]);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                nextBlock();
+                while (!pending.isEmpty()) {
+                    writeBlock(pending.poll());
+                }
+                out.writeInt(0);
+                out.flush();
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+
+    /**
+     * Reads the blocks of a compressed file and inflates the next few of them
+     * in parallel while the current one is consumed.
+     */
+    private static class BlockInputStream extends InputStream {
+
+        private final DataInputStream in;
+        private final int blockSize;
+        private final Deque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+        private boolean endOfBlocks = false;
+        private byte[] current = new byte[0];
+        private int position = 0;
+
+        BlockInputStream(DataInputStream in, int blockSize) {
+            this.in = in;
+            this.blockSize = blockSize;
+        }
+
+        private boolean nextBlock() throws IOException {
+            while (!endOfBlocks && pending.size() < PARALLEL_BLOCKS) {
+                final int size = in.readInt();
+                if (size == 0) {
+                    endOfBlocks = true;
+                    break;
+                }
+                int compressedSize = in.readInt();
+                if (size < 0 || size > blockSize || compressedSize < 0) {
+                    throw new IOException("Corrupt compressed model block header");
+                }
+                final byte[] compressed = new byte[compressedSize];
+                in.readFully(compressed);
+                pending.add(CompletableFuture.supplyAsync(() -> inflate(compressed, size)));
+            }
+            if (pending.isEmpty()) {
+                return false;
+            }
+            current = join(pending.poll());
+            position = 0;
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == current.length && !nextBlock()) {
+                return -1;
+            }
+            return current[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == current.length && !nextBlock()) {
+                return -1;
+            }
+            int count = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return current.length - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            pending.clear();
+            in.close();
+        }
+    }
+}
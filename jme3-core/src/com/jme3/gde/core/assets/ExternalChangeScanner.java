@@ -204,6 +204,7 @@ public class ExternalChangeScanner implements AssetDataPropertyChangeListener,
                 new CopyTransformDataFromOriginal(finder).update(spat, original);
                 new CopyMaterialDataFromOriginal(finder).update(spat, original);
             }
+            finder.reportDuplicates();
             
             SwingUtilities.invokeLater(() -> {
                 Node rootNode = SceneExplorerTopComponent.findInstance().getExplorerManager().getRootContext();
@@ -0,0 +1,187 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+
+/**
+ * Builds the classloader of a project in two layers: the dependency jars are
+ * loaded by a long-lived parent loader and the compiled classes of the project
+ * by a child loader. A layer is only replaced when its entries or their
+ * contents changed, so a changed class of the project does not reload the
+ * classes of the libraries and a rebuild that produced the same class files
+ * does not reload anything.
+ */
+class LayeredProjectClassLoader {
+
+    private static final Logger logger = Logger.getLogger(LayeredProjectClassLoader.class.getName());
+    private final ClassLoader parent;
+    private URLClassLoader dependencyLoader;
+    private List<URL> dependencyUrls;
+    private Map<String, Long> dependencyStamps;
+    private URLClassLoader projectLoader;
+    private List<URL> projectUrls;
+    private Map<String, Long> projectStamps;
+    //checksums of the class files, only recomputed when size or time change
+    private final Map<String, ClassStamp> classStamps = new ConcurrentHashMap<>();
+
+    LayeredProjectClassLoader(ClassLoader parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Computes the checksums of the class files below the given roots ahead
+     * of {@link #update(List, Object)}, which then only has to compare them.
+     * Does not lock this loader so it can be called outside of the project
+     * mutex.
+     *
+     * @param roots the classpath roots, jars or folders
+     */
+    void prepare(List<FileObject> roots) {
+        for (FileObject root : roots) {
+            if (!FileUtil.isArchiveArtifact(root) && root.isFolder()) {
+                addClassChecksums(root, root, new HashMap<>());
+            }
+        }
+    }
+
+    /**
+     * Updates the layers for the given classpath roots.
+     *
+     * @param roots the classpath roots, jars or folders
+     * @param project the project name for logging
+     * @return true if the project loader was replaced
+     */
+    synchronized boolean update(List<FileObject> roots, Object project) {
+        long start = System.nanoTime();
+        List<URL> newDependencyUrls = new ArrayList<>();
+        List<URL> newProjectUrls = new ArrayList<>();
+        Map<String, Long> newDependencyStamps = new HashMap<>();
+        Map<String, Long> newProjectStamps = new HashMap<>();
+        for (FileObject root : roots) {
+            if (FileUtil.isArchiveArtifact(root) || !root.isFolder()) {
+                newDependencyUrls.add(root.toURL());
+                FileObject archive = FileUtil.isArchiveArtifact(root) ? FileUtil.getArchiveFile(root) : root;
+                if (archive != null) {
+                    newDependencyStamps.put(archive.getPath(), archive.getSize() * 31 + archive.lastModified().getTime());
+                }
+            } else {
+                newProjectUrls.add(root.toURL());
+                addClassChecksums(root, root, newProjectStamps);
+            }
+        }
+        classStamps.keySet().retainAll(newProjectStamps.keySet());
+        boolean dependenciesChanged = dependencyLoader == null
+                || !newDependencyUrls.equals(dependencyUrls)
+                || !newDependencyStamps.equals(dependencyStamps);
+        if (dependenciesChanged) {
+            dependencyLoader = new URLClassLoader(newDependencyUrls.toArray(URL[]::new), parent);
+            dependencyUrls = newDependencyUrls;
+            dependencyStamps = newDependencyStamps;
+        }
+        boolean projectChanged = dependenciesChanged || projectLoader == null
+                || !newProjectUrls.equals(projectUrls)
+                || !newProjectStamps.equals(projectStamps);
+        if (projectChanged) {
+            projectLoader = new URLClassLoader(newProjectUrls.toArray(URL[]::new), dependencyLoader);
+            projectUrls = newProjectUrls;
+            projectStamps = newProjectStamps;
+        }
+        logger.log(Level.INFO, "Updated classloader of project {0} in {1} ms, {2} dependencies {3}, {4} project classes {5}",
+                new Object[]{project, (System.nanoTime() - start) / 1000000,
+                    newDependencyUrls.size(), dependenciesChanged ? "reloaded" : "kept",
+                    newProjectStamps.size(), projectChanged ? "reloaded" : "kept"});
+        return projectChanged;
+    }
+
+    /**
+     * @return the loader for the classes of the project and its dependencies
+     */
+    synchronized URLClassLoader getLoader() {
+        return projectLoader;
+    }
+
+    private void addClassChecksums(FileObject root, FileObject folder, Map<String, Long> stamps) {
+        Enumeration<? extends FileObject> children = folder.getChildren(true);
+        CRC32 crc = new CRC32();
+        while (children.hasMoreElements()) {
+            FileObject file = children.nextElement();
+            if (!file.isData() || !"class".equals(file.getExt())) {
+                continue;
+            }
+            String path = root.getPath() + "!" + FileUtil.getRelativePath(root, file);
+            long size = file.getSize();
+            long modified = file.lastModified().getTime();
+            ClassStamp stamp = classStamps.get(path);
+            if (stamp != null && stamp.size == size && stamp.modified == modified) {
+                stamps.put(path, stamp.checksum);
+                continue;
+            }
+            try {
+                crc.reset();
+                crc.update(file.asBytes());
+                classStamps.put(path, new ClassStamp(size, modified, crc.getValue()));
+                stamps.put(path, crc.getValue());
+            } catch (IOException ex) {
+                //unreadable, make sure the loader is replaced
+                classStamps.remove(path);
+                stamps.put(path, -1L - System.nanoTime());
+            }
+        }
+    }
+
+    private static class ClassStamp {
+
+        private final long size;
+        private final long modified;
+        private final long checksum;
+
+        ClassStamp(long size, long modified, long checksum) {
+            this.size = size;
+            this.modified = modified;
+            this.checksum = checksum;
+        }
+    }
+}
@@ -40,15 +40,16 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.logging.Level;
@@ -75,6 +76,7 @@ import org.openide.filesystems.XMLFileSystem;
 import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
 import org.openide.util.Mutex;
+import org.openide.util.RequestProcessor;
 import org.openide.util.lookup.Lookups;
 
 /**
@@ -85,6 +87,8 @@ import org.openide.util.lookup.Lookups;
 public class ProjectAssetManager extends DesktopAssetManager {
 
     private static final Logger logger = Logger.getLogger(ProjectAssetManager.class.getName());
+    public static final String COMPRESS_MODELS_PROPERTY = "assets.compress.models";
+    private static final RequestProcessor CLASSPATH_RP = new RequestProcessor("ProjectAssetManager classpath", 1);
     private final Mutex mutex = new Mutex();
     private final Project project;
     private final List<ClassPathChangeListener> classPathListeners = Collections.synchronizedList(new LinkedList<>());
@@ -93,7 +97,14 @@ public class ProjectAssetManager extends DesktopAssetManager {
     private final List<AssetEventListener> assetEventListeners = Collections.synchronizedList(new LinkedList<>());
     private final List<String> folderNames = new LinkedList<>();
     private final List<FileObject> jarItems = new LinkedList<>();
+    private final AssetIndex assetIndex = new AssetIndex(this);
+    private final AssetDependencyGraph dependencyGraph = new AssetDependencyGraph(this);
+    private final AssetMemoryTracker memoryTracker = new AssetMemoryTracker(this);
+    private final AssetChangeQueue changes = new AssetChangeQueue(this);
+    private final List<AssetChangeListener> assetChangeListeners = Collections.synchronizedList(new LinkedList<>());
+    private List<FileObject> classPathRoots = Collections.emptyList();
     private URLClassLoader loader;
+    private final LayeredProjectClassLoader layeredLoader = new LayeredProjectClassLoader(getClass().getClassLoader());
 
     public ProjectAssetManager(Project prj, String folderName) {
         super(true);
@@ -101,9 +112,11 @@ public class ProjectAssetManager extends DesktopAssetManager {
         for (AssetManagerConfigurator di : Lookup.getDefault().lookupAll(AssetManagerConfigurator.class)) {
             di.prepareManager(this);
         }
+        registerLoader(CompressedBinaryLoader.class, "j3o");
         addFolderLocator(folderName);
         updateClassLoader();
         prepAssetEventListeners();
+        changes.checkAssetFolder();
     }
 
     /**
@@ -126,7 +139,9 @@ public class ProjectAssetManager extends DesktopAssetManager {
         for (AssetManagerConfigurator di : Lookup.getDefault().lookupAll(AssetManagerConfigurator.class)) {
             di.prepareManager(this);
         }
+        registerLoader(CompressedBinaryLoader.class, "j3o");
         prepAssetEventListeners();
+        changes.checkAssetFolder();
     }
 
     public ProjectAssetManager() {
@@ -155,50 +170,32 @@ public class ProjectAssetManager extends DesktopAssetManager {
         classPaths.clear();
     }
 
-    private void loadClassLoader() {
+    /**
+     * Collects the classpath roots of the project, the ClassPaths they were
+     * found in are added to the given list.
+     *
+     * @return the roots or null if the project has no sources
+     */
+    private List<FileObject> collectClassPathRoots(List<ClassPath> paths) {
         Sources sources = ProjectUtils.getSources(project);
         if (sources == null) {
-            return;
-        }
-
-        if (loader != null) {
-            removeClassLoader(loader);
+            return null;
         }
+        List<FileObject> roots = new ArrayList<>();
         SourceGroup[] groups = sources.getSourceGroups(JavaProjectConstants.SOURCES_TYPE_JAVA);
-        List<URL> urls = new LinkedList<>();
         for (SourceGroup sourceGroup : groups) {
             ClassPath path = ClassPath.getClassPath(sourceGroup.getRootFolder(), ClassPath.EXECUTE);
             if (path == null) {
                 continue;
             }
-
-            classPaths.add(path);
-            path.addPropertyChangeListener(classPathListener);
-            FileObject[] roots = path.getRoots();
-            for (FileObject fileObject : roots) {
-                if (!fileObject.equals(getAssetFolder())) {
-                    fileObject.addRecursiveListener(listener);
-                    logger.log(Level.FINE, "Add classpath:{0}", fileObject);
-                    classPathItems.add(new ClassPathItem(fileObject, listener));
-                    urls.add(fileObject.toURL());
-                }
-                if (fileObject.toURL().toExternalForm().startsWith("jar")) {
-                    logger.log(Level.FINE, "Add locator:{0}", fileObject.toURL());
-                    jarItems.add(fileObject);
-                    registerLocator(fileObject.toURL().toExternalForm(),
-                            "com.jme3.asset.plugins.UrlLocator");
-                }
-            }
+            paths.add(path);
+            roots.addAll(Arrays.asList(path.getRoots()));
         }
-
-        loadGradleClassLoader(urls);
-
-        loader = new URLClassLoader(urls.toArray(URL[]::new), getClass().getClassLoader());
-        addClassLoader(loader);
-        logger.log(Level.FINE, "Updated {0} classpath entries and {1} url locators for project {2}", new Object[]{classPathItems.size(), jarItems.size(), project.toString()});
+        collectGradleClassPathRoots(roots);
+        return roots;
     }
 
-    private void loadGradleClassLoader(List<URL> urls) {
+    private void collectGradleClassPathRoots(List<FileObject> roots) {
         GradleBaseProject gradleProject = GradleBaseProject.get(project);
         if (gradleProject == null) {
 
@@ -224,23 +221,91 @@ public class ProjectAssetManager extends DesktopAssetManager {
             // logger.info(file.getName() + " : "  + file.getAbsolutePath());
             FileObject fo = FileUtil.toFileObject(file);
             if (fo != null && !fo.isFolder()) {
-                logger.info(fo.toURL().toExternalForm());
-                if (!fo.equals(getAssetFolder())) {
-                    fo.addRecursiveListener(listener);
-                    logger.log(Level.FINE, "Add classpath:{0}", fo);
-                    classPathItems.add(new ClassPathItem(fo, listener));
-                    urls.add(fo.toURL());
-                }
-                if (fo.toURL().toExternalForm().startsWith("jar")) {
-                    logger.log(Level.FINE, "Add Gradle locator:{0}", fo.toURL());
-                    jarItems.add(fo);
-                    registerLocator(fo.toURL().toExternalForm(),
-                            "com.jme3.asset.plugins.UrlLocator");
-                }
+                logger.log(Level.FINE, "Add Gradle runtime file:{0}", fo.toURL());
+                roots.add(fo);
             }
         }
     }
 
+    /**
+     * @return true if the classloader was replaced
+     */
+    private boolean loadClassLoader(List<ClassPath> paths, List<FileObject> roots) {
+        for (ClassPath path : paths) {
+            classPaths.add(path);
+            path.addPropertyChangeListener(classPathListener);
+        }
+        List<FileObject> loaderRoots = new ArrayList<>();
+        for (FileObject fileObject : roots) {
+            if (!fileObject.equals(getAssetFolder())) {
+                fileObject.addRecursiveListener(listener);
+                logger.log(Level.FINE, "Add classpath:{0}", fileObject);
+                classPathItems.add(new ClassPathItem(fileObject, listener));
+                loaderRoots.add(fileObject);
+            }
+            if (fileObject.toURL().toExternalForm().startsWith("jar")) {
+                logger.log(Level.FINE, "Add locator:{0}", fileObject.toURL());
+                jarItems.add(fileObject);
+                registerLocator(fileObject.toURL().toExternalForm(),
+                        "com.jme3.asset.plugins.UrlLocator");
+            }
+        }
+
+        //only swaps the layers whose jars or classes changed
+        boolean replaced = layeredLoader.update(loaderRoots, project) || loader == null;
+        if (replaced) {
+            if (loader != null) {
+                removeClassLoader(loader);
+            }
+            loader = layeredLoader.getLoader();
+            addClassLoader(loader);
+        }
+        logger.log(Level.FINE, "Updated {0} classpath entries and {1} url locators for project {2}", new Object[]{classPathItems.size(), jarItems.size(), project.toString()});
+        return replaced;
+    }
+
+    /**
+     * Rebuilds the classloader, unless force is false and the classpath roots
+     * did not change.
+     *
+     * @return true if the classloader was replaced, false if the classpath
+     * and the classes on it did not change
+     */
+    private boolean reloadClassLoader(boolean force) {
+        synchronized (classPathItems) {
+            List<ClassPath> paths = new ArrayList<>();
+            List<FileObject> roots = collectClassPathRoots(paths);
+            if (!force && Objects.equals(roots, classPathRoots)) {
+                logger.log(Level.FINE, "Classpath of project {0} unchanged", project);
+                return false;
+            }
+            boolean replaced = classPathRoots != null && roots == null;
+            clearClassLoader();
+            if (roots != null) {
+                replaced = loadClassLoader(paths, roots);
+            }
+            classPathRoots = roots;
+            List<FileObject> items = new ArrayList<>(classPathItems.size());
+            for (ClassPathItem classPathItem : classPathItems) {
+                items.add(classPathItem.object);
+            }
+            assetIndex.setClassPathRoots(items);
+            return replaced;
+        }
+    }
+
+    /**
+     * Computes the checksums of the class files on the classpath, so that
+     * rebuilding the classloader under the project mutex only has to compare
+     * them. Call outside of the project mutex.
+     */
+    private void prepareClassLoader() {
+        List<FileObject> roots = ProjectManager.mutex().readAccess((Mutex.Action<List<FileObject>>) () -> collectClassPathRoots(new ArrayList<>()));
+        if (roots != null) {
+            layeredLoader.prepare(roots);
+        }
+    }
+
     FileChangeListener listener = new FileChangeListener() {
         @Override
         public void fileFolderCreated(FileEvent fe) {
@@ -272,29 +337,102 @@ public class ProjectAssetManager extends DesktopAssetManager {
 
         private void fireChange(FileEvent fe) {
             logger.log(Level.FINE, "Classpath item changed: {0}", fe);
-            updateClassLoader();
+            changes.classPathFileChanged(fe.getFile());
         }
     };
 
     private PropertyChangeListener classPathListener = (PropertyChangeEvent evt) -> {
         logger.log(Level.FINE, "Classpath event: {0}", evt);
         if (null != evt.getPropertyName()) switch (evt.getPropertyName()) {
-            case ClassPath.PROP_ROOTS -> updateClassLoader();
-            case ClassPath.PROP_ENTRIES -> updateClassLoader();
-            case ClassPath.PROP_INCLUDES -> updateClassLoader();
+            case ClassPath.PROP_ROOTS -> changes.classPathChanged();
+            case ClassPath.PROP_ENTRIES -> changes.classPathChanged();
+            case ClassPath.PROP_INCLUDES -> changes.classPathChanged();
             default -> {
             }
         }
     };
 
+    /**
+     * Rebuilds the classloader and the asset locators of the classpath and
+     * notifies the ClassPathChangeListeners if the classloader was replaced.
+     */
     public void updateClassLoader() {
-        ProjectManager.mutex().postWriteRequest(() -> {
-            synchronized (classPathItems) {
-                clearClassLoader();
-                loadClassLoader();
-            }
+        CLASSPATH_RP.post(() -> {
+            prepareClassLoader();
+            ProjectManager.mutex().postWriteRequest(() -> {
+                if (reloadClassLoader(true)) {
+                    notifyClassPathListeners();
+                }
+            });
         });
-        notifyClassPathListeners();
+    }
+
+    /**
+     * Handles a batch of changes collected by the AssetChangeQueue. The
+     * classloader is only rebuilt when the classpath roots changed or a jar or
+     * class file it may have cached changed, asset changes evict the changed
+     * assets and their dependents from the cache.
+     */
+    void processChanges(Collection<FileObject> classPathFiles, boolean classPathChanged, final Set<String> assets) {
+        boolean contentChanged = false;
+        for (FileObject file : classPathFiles) {
+            assetIndex.invalidate(file);
+            if (FileUtil.isArchiveFile(file) || "class".equals(file.getExt())) {
+                contentChanged = true;
+            }
+        }
+        if (classPathChanged || contentChanged) {
+            final boolean force = contentChanged;
+            prepareClassLoader();
+            ProjectManager.mutex().postWriteRequest(() -> {
+                if (reloadClassLoader(force)) {
+                    notifyClassPathListeners();
+                }
+            });
+        }
+        if (!assets.isEmpty()) {
+            for (String asset : assets) {
+                dependencyGraph.invalidate(asset);
+            }
+            logger.log(Level.FINE, "{0} assets changed in project {1}", new Object[]{assets.size(), project});
+            notifyAssetChangeListeners(Collections.unmodifiableSet(assets));
+        }
+    }
+
+    @Override
+    public <T> T loadAsset(AssetKey<T> key) {
+        T asset = dependencyGraph.load(key, () -> super.loadAsset(key));
+        memoryTracker.assetLoaded(key, asset);
+        return asset;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public boolean deleteFromCache(AssetKey key) {
+        memoryTracker.assetRemoved(key);
+        return super.deleteFromCache(key);
+    }
+
+    @Override
+    public void clearCache() {
+        memoryTracker.clear();
+        super.clearCache();
+    }
+
+    /**
+     * @return the graph of the assets loaded by this ProjectAssetManager and
+     * the assets they depend on
+     */
+    public AssetDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    /**
+     * @return the tracker of the memory used by the cached assets of this
+     * ProjectAssetManager
+     */
+    public AssetMemoryTracker getMemoryTracker() {
+        return memoryTracker;
     }
 
     @Override
@@ -364,23 +502,7 @@ public class ProjectAssetManager extends DesktopAssetManager {
         if (file != null) {
             return file;
         }
-        synchronized (classPathItems) {
-            // TODO I need to find out if classPathItems contains all jars added to a project
-
-            for (ClassPathItem classPathItem : classPathItems) {
-                FileObject jarFile = classPathItem.object;
-
-                Enumeration<FileObject> jarEntry = (Enumeration<FileObject>) jarFile.getChildren(true);
-                while (jarEntry.hasMoreElements()) {
-                    FileObject jarEntryAsset = jarEntry.nextElement();
-                    String path = jarEntryAsset.getPath();
-                    if (!path.startsWith("/") && path.equals(name)) {
-                        return jarEntryAsset;
-                    }
-                }
-            }
-        }
-        return null;
+        return assetIndex.getDependencyFile(name);
     }
 
     public FileObject createAsset(String path) {
@@ -443,6 +565,46 @@ public class ProjectAssetManager extends DesktopAssetManager {
         return project;
     }
 
+    /**
+     * @return true if j3o files of this project should be written as
+     * {@link CompressedBinaryModel}, set in the project properties
+     */
+    public boolean isCompressBinaryModels() {
+        return "true".equals(AssetsLookupProvider.getProperties(project).getProperty(COMPRESS_MODELS_PROPERTY));
+    }
+
+    /**
+     * Creates a new AssetManager that finds the same assets as this
+     * ProjectAssetManager but has its own cache, so assets can be loaded on
+     * several threads independently, e.g. for batch conversions.
+     *
+     * @return the new AssetManager
+     */
+    public DesktopAssetManager createIsolatedAssetManager() {
+        DesktopAssetManager manager = new DesktopAssetManager(true);
+        for (AssetManagerConfigurator di : Lookup.getDefault().lookupAll(AssetManagerConfigurator.class)) {
+            di.prepareManager(manager);
+        }
+        manager.registerLoader(CompressedBinaryLoader.class, "j3o");
+        if (folderNames.isEmpty()) {
+            manager.registerLocator(project.getProjectDirectory().getPath(), com.jme3.gde.core.assets.RootLockingFileLocator.class);
+        }
+        for (String folderName : folderNames) {
+            manager.registerLocator(project.getProjectDirectory().getPath() + "/" + folderName + "/",
+                    com.jme3.asset.plugins.FileLocator.class);
+        }
+        synchronized (classPathItems) {
+            for (FileObject fileObject : jarItems) {
+                manager.registerLocator(fileObject.toURL().toExternalForm(),
+                        com.jme3.asset.plugins.UrlLocator.class);
+            }
+            if (loader != null) {
+                manager.addClassLoader(loader);
+            }
+        }
+        return manager;
+    }
+
     public String getRelativeAssetPath(String absolutePath) {
         String prefix = getAssetFolderName();
         int idx = absolutePath.indexOf(prefix);
@@ -542,71 +704,23 @@ public class ProjectAssetManager extends DesktopAssetManager {
     }
 
     private Set<String> collectProjectFilesWithSuffix(String suffix, Set<String> list) {
-        FileObject assetsFolder = getAssetFolder();
-        if (assetsFolder != null) {
-            Enumeration<FileObject> assets = (Enumeration<FileObject>) assetsFolder.getChildren(true);
-            while (assets.hasMoreElements()) {
-                FileObject asset = assets.nextElement();
-                if (asset.getExt().equalsIgnoreCase(suffix)) {
-                    list.add(getRelativeAssetPath(asset.getPath()));
-                }
-            }
-        }
+        assetIndex.collectProjectFiles(suffix, list);
         return list;
     }
 
     private Set<String> collectDependenciesFilesWithSuffix(String suffix, Set<String> list) {
-        synchronized (classPathItems) {
-            for (ClassPathItem classPathItem : classPathItems) {
-                FileObject jarFile = classPathItem.object;
-                
-                // Gradle projects don't know that the dependency is a Jar file
-                if (FileUtil.isArchiveFile(jarFile)) {
-                    jarFile = FileUtil.getArchiveRoot(jarFile);
-                }
-
-                Enumeration<FileObject> jarEntry = (Enumeration<FileObject>) jarFile.getChildren(true);
-                while (jarEntry.hasMoreElements()) {
-                    FileObject jarEntryAsset = jarEntry.nextElement();
-                    if (jarEntryAsset.getExt().equalsIgnoreCase(suffix)) {
-                        if (!jarEntryAsset.getPath().startsWith("/")) {
-                            list.add(jarEntryAsset.getPath());
-                        }
-                    }
-                }
-            }
-// TODO I need to find out if classPathItems contains all jars added to a project
-                        return list;
-        }
+        assetIndex.collectDependencyFiles(suffix, list);
+        return list;
     }
 
     public InputStream getResourceAsStream(String name) {
         InputStream in = null;//JmeSystem.getResourceAsStream(name);
-        synchronized (classPathItems) {
-            // TODO I need to find out if classPathItems contains all jars added to a project
-            
-            for (ClassPathItem classPathItem : classPathItems) {
-                FileObject jarFile = classPathItem.object;
-
-                Enumeration<FileObject> jarEntry;
-                if (FileUtil.isArchiveFile(jarFile)) {
-                    FileObject jarFileRoot = FileUtil.getArchiveRoot(jarFile);
-                    jarEntry = (Enumeration<FileObject>) jarFileRoot.getChildren(true);
-                } else {
-                    jarEntry = (Enumeration<FileObject>) jarFile.getChildren(true);
-                }
-
-                while (jarEntry.hasMoreElements()) {
-                    FileObject jarEntryAsset = jarEntry.nextElement();
-                    if (jarEntryAsset.getPath().equalsIgnoreCase(name)) {
-                        try {
-                            in = jarEntryAsset.getInputStream();
-                        } catch (FileNotFoundException ex) {
-                            Exceptions.printStackTrace(ex);
-                        }
-                        break;
-                    }
-                }
+        FileObject jarEntryAsset = assetIndex.getDependencyFileIgnoreCase(name);
+        if (jarEntryAsset != null) {
+            try {
+                in = jarEntryAsset.getInputStream();
+            } catch (FileNotFoundException ex) {
+                Exceptions.printStackTrace(ex);
             }
         }
         return in;
@@ -663,6 +777,7 @@ public class ProjectAssetManager extends DesktopAssetManager {
             this.folderNames.remove(0);
         }
         this.folderNames.add(0, folderName);
+        changes.checkAssetFolder();
     }
 
     @Override
@@ -691,6 +806,36 @@ public class ProjectAssetManager extends DesktopAssetManager {
         }
     }
 
+    /**
+     * Adds a listener that is notified on the AWT thread about changed assets
+     * in the asset folder. Changes are collected over a short time and
+     * delivered in one event.
+     *
+     * @param listener the listener
+     */
+    public void addAssetChangeListener(AssetChangeListener listener) {
+        synchronized (assetChangeListeners) {
+            assetChangeListeners.add(listener);
+        }
+    }
+
+    public void removeAssetChangeListener(AssetChangeListener listener) {
+        synchronized (assetChangeListeners) {
+            assetChangeListeners.remove(listener);
+        }
+    }
+
+    private void notifyAssetChangeListeners(final Set<String> assets) {
+        final ProjectAssetManager pm = this;
+        java.awt.EventQueue.invokeLater(() -> {
+            synchronized (assetChangeListeners) {
+                for (AssetChangeListener assetChangeListener : assetChangeListeners) {
+                    assetChangeListener.assetsChanged(pm, assets);
+                }
+            }
+        });
+    }
+
     private void notifyClassPathListeners() {
         final ProjectAssetManager pm = this;
         java.awt.EventQueue.invokeLater(() -> {
@@ -760,4 +905,14 @@ public class ProjectAssetManager extends DesktopAssetManager {
 
         public void classPathChanged(ProjectAssetManager manager);
     }
+
+    public static interface AssetChangeListener {
+
+        /**
+         * @param manager the ProjectAssetManager
+         * @param assets the names of the created, changed, renamed and deleted
+         * files and folders
+         */
+        public void assetsChanged(ProjectAssetManager manager, Set<String> assets);
+    }
 }
@@ -32,12 +32,12 @@
 package com.jme3.gde.core.assets;
 
 import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
 import com.jme3.asset.ModelKey;
 import com.jme3.gde.core.util.SpatialUtil;
 import com.jme3.scene.Spatial;
 import java.io.IOException;
 import java.util.logging.Level;
-import java.util.logging.Logger;
 import org.openide.DialogDisplayer;
 import org.openide.NotifyDescriptor;
 import org.openide.filesystems.FileObject;
@@ -105,24 +105,46 @@ public class SpatialAssetDataObject extends AssetDataObject {
         return null;
     }
 
+    /**
+     * Loads the model with the given AssetManager without keeping it in this
+     * DataObject, used to convert many models in parallel with separate
+     * AssetManagers.
+     *
+     * @param manager the AssetManager to load the model with
+     * @return the loaded model
+     */
+    public Spatial loadAsset(AssetManager manager) {
+        Spatial spatial = manager.loadModel(getAssetKey());
+        if (!(this instanceof BinaryModelDataObject)) {
+            SpatialUtil.storeOriginalPathUserData(spatial);
+        }
+        return spatial;
+    }
+
+    /**
+     * Saves a model loaded with loadAsset(AssetManager) like saveAsset() saves
+     * the model of this DataObject.
+     *
+     * @param spatial the model
+     * @throws IOException When we cannot write to the file for unknown reasons
+     */
+    public void saveAsset(Spatial spatial) throws IOException {
+        FileObject outFile = writeAsset(spatial);
+        logger.log(Level.INFO, "File {0} saved successfully", outFile.getNameExt());
+        storeOriginalPath(outFile);
+    }
+
     @Override
-    public synchronized void saveAsset() throws IOException {
-        super.saveAsset();
+    protected void assetSaved(FileObject outFile) {
+        storeOriginalPath(outFile);
+    }
+
+    private void storeOriginalPath(FileObject outFile) {
         ProjectAssetManager mgr = getLookup().lookup(ProjectAssetManager.class);
         if (mgr == null) {
             DialogDisplayer.getDefault().notifyLater(new NotifyDescriptor.Message("File is not part of a project!\nCannot load without ProjectAssetManager."));
             return;
         }
-        FileObject outFile = null;
-        if (saveExtension == null) {
-            outFile = getPrimaryFile();
-        } else {
-            outFile = getPrimaryFile().getParent().getFileObject(getPrimaryFile().getName(), saveExtension);
-            if (outFile == null) {
-                Logger.getLogger(SpatialAssetDataObject.class.getName()).log(Level.SEVERE, "Could not locate saved file.");
-                return;
-            }
-        }
         try {
             DataObject targetModel = DataObject.find(outFile);
             AssetData properties = targetModel.getLookup().lookup(AssetData.class);
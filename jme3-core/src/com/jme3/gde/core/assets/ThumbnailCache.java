@@ -0,0 +1,554 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets;
+
+import com.jme3.material.MatParamTexture;
+import com.jme3.material.Material;
+import com.jme3.material.MaterialDef;
+import com.jme3.material.TechniqueDef;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Spatial;
+import com.jme3.texture.Texture;
+import java.awt.EventQueue;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.imageio.ImageIO;
+import org.openide.filesystems.FileObject;
+import org.openide.modules.Places;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Persistent cache for the thumbnails of assets, shared by all preview
+ * producers of the SDK.<br>
+ * Thumbnails are stored by a hash of the asset content plus the content of all
+ * assets it depends on (e.g. the j3md and textures of a j3m), so a thumbnail
+ * gets invalid as soon as one of them changes. The images are stored as PNG
+ * files in a sharded folder of the user cache directory and the most recently
+ * used ones are kept in memory.<br>
+ * Hashing and file access are done on a background thread. When a thumbnail
+ * is replaced the old image is deleted, and on startup images that are no
+ * longer referenced or were not used for a long time are pruned, so the disk
+ * store stays below {@link #MAX_DISK_SIZE}.
+ */
+public class ThumbnailCache {
+
+    private static final Logger logger = Logger.getLogger(ThumbnailCache.class.getName());
+    private static final long DEFAULT_MEMORY_SIZE = 64L * 1024L * 1024L;
+    /**
+     * The size of the PNG files on disk above which the least recently used
+     * ones are deleted.
+     */
+    public static final long MAX_DISK_SIZE = 256L * 1024L * 1024L;
+    private static final long MAX_AGE = 30L * 24L * 60L * 60L * 1000L;
+    private static final String IMAGE_SUFFIX = ".png";
+    private static final String ENTRY_SUFFIX = ".entry";
+    private static ThumbnailCache instance;
+    private static final RequestProcessor WORKER = new RequestProcessor("Thumbnail cache", 1);
+    private final File cacheFolder;
+    private final long maxMemorySize;
+    private long memorySize = 0;
+    private final LinkedHashMap<String, BufferedImage> memoryCache = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, ContentHash> contentHashes = new ConcurrentHashMap<>();
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Receives the result of {@link #lookup}, called on the AWT thread.
+     */
+    public interface Callback {
+
+        /**
+         * @param image the thumbnail or null if there is no valid thumbnail
+         * cached
+         * @param info the info text stored with the thumbnail, may be null
+         */
+        void thumbnailFound(BufferedImage image, String info);
+    }
+
+    public static synchronized ThumbnailCache getDefault() {
+        if (instance == null) {
+            instance = new ThumbnailCache(Places.getCacheSubdirectory("jme3-thumbnails"), DEFAULT_MEMORY_SIZE);
+            final ThumbnailCache cache = instance;
+            WORKER.post(() -> cache.prune(MAX_DISK_SIZE, MAX_AGE));
+        }
+        return instance;
+    }
+
+    /**
+     * @param cacheFolder the folder to store the thumbnails in
+     * @param maxMemorySize the maximum size in bytes of the images kept in
+     * memory
+     */
+    public ThumbnailCache(File cacheFolder, long maxMemorySize) {
+        this.cacheFolder = cacheFolder;
+        this.maxMemorySize = maxMemorySize;
+    }
+
+    /**
+     * Looks up the cached thumbnail of an asset. The asset content is hashed
+     * on a background thread, the callback is called on the AWT thread.
+     *
+     * @param manager the ProjectAssetManager of the asset
+     * @param assetName the asset name
+     * @param variant describes the kind of thumbnail, e.g. type and size
+     * @param callback receives the thumbnail or null
+     */
+    public void lookup(final ProjectAssetManager manager, final String assetName, final String variant, final Callback callback) {
+        WORKER.post(() -> {
+            final BufferedImage image = get(manager, assetName, variant);
+            final Entry entry = entries.get(entryId(manager, assetName, variant));
+            final String info = image != null && entry != null ? entry.info : null;
+            EventQueue.invokeLater(() -> callback.thumbnailFound(image, info));
+        });
+    }
+
+    /**
+     * Gets the cached thumbnail of an asset. This hashes the asset content and
+     * may read from disk, use {@link #lookup} on the AWT thread.
+     *
+     * @param manager the ProjectAssetManager of the asset
+     * @param assetName the asset name
+     * @param variant describes the kind of thumbnail, e.g. type and size
+     * @return the thumbnail or null if there is no valid thumbnail cached
+     */
+    public BufferedImage get(ProjectAssetManager manager, String assetName, String variant) {
+        Entry entry = getEntry(entryId(manager, assetName, variant));
+        String key = entry == null ? null : contentKey(manager, assetName, variant, entry.dependencies);
+        if (key == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        synchronized (memoryCache) {
+            BufferedImage image = memoryCache.get(key);
+            if (image != null) {
+                memoryHits.incrementAndGet();
+                return image;
+            }
+        }
+        File file = imageFile(key);
+        if (file.exists()) {
+            try {
+                BufferedImage image = ImageIO.read(file);
+                if (image != null) {
+                    // the modification time is used for the LRU pruning
+                    file.setLastModified(System.currentTimeMillis());
+                    putMemory(key, image);
+                    diskHits.incrementAndGet();
+                    return image;
+                }
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "Could not read thumbnail {0}: {1}", new Object[]{file, ex.getMessage()});
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores the thumbnail of an asset.
+     *
+     * @param manager the ProjectAssetManager of the asset
+     * @param assetName the asset name
+     * @param variant describes the kind of thumbnail, e.g. type and size
+     * @param dependencyNames the names of all assets the thumbnail depends on,
+     * see {@link #collectDependencies(Material)} and
+     * {@link #collectDependencies(Spatial)}
+     * @param image the thumbnail
+     */
+    public void put(ProjectAssetManager manager, String assetName, String variant, Collection<String> dependencyNames, BufferedImage image) {
+        put(manager, assetName, variant, dependencyNames, image, null);
+    }
+
+    /**
+     * Stores the thumbnail of an asset together with a short info text, e.g.
+     * the texture size, so it does not have to be loaded again for a cache hit.
+     *
+     * @param manager the ProjectAssetManager of the asset
+     * @param assetName the asset name
+     * @param variant describes the kind of thumbnail, e.g. type and size
+     * @param dependencyNames the names of all assets the thumbnail depends on
+     * @param image the thumbnail
+     * @param info a single line of text, may be null
+     */
+    public void put(final ProjectAssetManager manager, final String assetName, final String variant, Collection<String> dependencyNames, final BufferedImage image, final String info) {
+        final List<String> deps = new ArrayList<>(new TreeSet<>(dependencyNames));
+        deps.remove(assetName);
+        WORKER.post(() -> {
+            String id = entryId(manager, assetName, variant);
+            String key = contentKey(manager, assetName, variant, deps);
+            if (key == null) {
+                return;
+            }
+            Entry old = getEntry(id);
+            Entry entry = new Entry(key, info, deps);
+            entries.put(id, entry);
+            putMemory(key, image);
+            try {
+                File entryFile = entryFile(id);
+                entryFile.getParentFile().mkdirs();
+                Files.write(entryFile.toPath(), entry.toLines(), StandardCharsets.UTF_8);
+                File file = imageFile(key);
+                file.getParentFile().mkdirs();
+                ImageIO.write(image, "png", file);
+                if (old != null && !key.equals(old.key)) {
+                    // the asset changed, the old image can't be hit anymore
+                    imageFile(old.key).delete();
+                }
+            } catch (IOException ex) {
+                logger.log(Level.WARNING, "Could not write thumbnail for {0}: {1}", new Object[]{assetName, ex.getMessage()});
+            }
+        });
+    }
+
+    /**
+     * @return the number of thumbnails found in memory
+     */
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    /**
+     * @return the number of thumbnails read from disk
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    /**
+     * @return the number of thumbnails that had to be created
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Collects the names of the MaterialDef, its shaders and the textures of a
+     * material.
+     *
+     * @param material the material
+     * @return the asset names
+     */
+    public static Collection<String> collectDependencies(Material material) {
+        Collection<String> names = new TreeSet<>();
+        collectDependencies(material, names);
+        return names;
+    }
+
+    /**
+     * Collects the names of all materials, MaterialDefs, shaders and textures
+     * used by the geometries of a spatial.
+     *
+     * @param spatial the spatial
+     * @return the asset names
+     */
+    public static Collection<String> collectDependencies(Spatial spatial) {
+        final Collection<String> names = new TreeSet<>();
+        spatial.depthFirstTraversal((Spatial s) -> {
+            if (s instanceof Geometry && ((Geometry) s).getMaterial() != null) {
+                collectDependencies(((Geometry) s).getMaterial(), names);
+            }
+        });
+        return names;
+    }
+
+    private static void collectDependencies(Material material, Collection<String> names) {
+        if (material.getAssetName() != null) {
+            names.add(material.getAssetName());
+        }
+        MaterialDef def = material.getMaterialDef();
+        if (def.getAssetName() != null) {
+            names.add(def.getAssetName());
+        }
+        for (String techniqueName : def.getTechniqueDefsNames()) {
+            for (TechniqueDef techniqueDef : def.getTechniqueDefs(techniqueName)) {
+                names.addAll(techniqueDef.getShaderProgramNames().values());
+            }
+        }
+        material.getParams().stream()
+                .filter(MatParamTexture.class::isInstance)
+                .map(param -> ((MatParamTexture) param).getTextureValue())
+                .filter(texture -> texture != null && texture.getKey() != null)
+                .map((Texture texture) -> texture.getKey().getName())
+                .forEach(names::add);
+    }
+
+    /**
+     * Deletes entries without image, images no entry refers to and images
+     * that were not used within maxAge. Then deletes the least recently used
+     * images until the images take less than maxDiskSize.
+     */
+    void prune(long maxDiskSize, long maxAge) {
+        File[] shards = cacheFolder.listFiles();
+        if (shards == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Set<String> referenced = new HashSet<>();
+        List<File> images = new ArrayList<>();
+        for (File shard : shards) {
+            File[] files = shard.listFiles();
+            if (files == null) {
+                continue;
+            }
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(ENTRY_SUFFIX)) {
+                    Entry entry = readEntry(file);
+                    if (entry == null || !imageFile(entry.key).exists()) {
+                        file.delete();
+                    } else {
+                        referenced.add(entry.key);
+                    }
+                } else if (name.endsWith(IMAGE_SUFFIX)) {
+                    images.add(file);
+                } else {
+                    // leftovers of older versions of the cache
+                    file.delete();
+                }
+            }
+        }
+        long diskSize = 0;
+        for (Iterator<File> it = images.iterator(); it.hasNext();) {
+            File image = it.next();
+            String key = image.getName().substring(0, image.getName().length() - IMAGE_SUFFIX.length());
+            if (!referenced.contains(key) || now - image.lastModified() > maxAge) {
+                image.delete();
+                it.remove();
+            } else {
+                diskSize += image.length();
+            }
+        }
+        if (diskSize > maxDiskSize) {
+            Collections.sort(images, (File a, File b) -> Long.compare(a.lastModified(), b.lastModified()));
+            for (Iterator<File> it = images.iterator(); it.hasNext() && diskSize > maxDiskSize;) {
+                File image = it.next();
+                diskSize -= image.length();
+                image.delete();
+            }
+        }
+    }
+
+    private Entry getEntry(String id) {
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            File entryFile = entryFile(id);
+            if (!entryFile.exists()) {
+                return null;
+            }
+            entry = readEntry(entryFile);
+            if (entry != null) {
+                entries.put(id, entry);
+            }
+        }
+        return entry;
+    }
+
+    private static Entry readEntry(File entryFile) {
+        try {
+            return Entry.fromLines(Files.readAllLines(entryFile.toPath(), StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Could not read thumbnail entry {0}: {1}", new Object[]{entryFile, ex.getMessage()});
+            return null;
+        }
+    }
+
+    private void putMemory(String key, BufferedImage image) {
+        synchronized (memoryCache) {
+            BufferedImage old = memoryCache.put(key, image);
+            if (old != null) {
+                memorySize -= sizeOf(old);
+            }
+            memorySize += sizeOf(image);
+            for (Iterator<BufferedImage> it = memoryCache.values().iterator(); it.hasNext() && memorySize > maxMemorySize;) {
+                memorySize -= sizeOf(it.next());
+                it.remove();
+            }
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Identifies a thumbnail independent of the asset content.
+     */
+    private String entryId(ProjectAssetManager manager, String assetName, String variant) {
+        MessageDigest digest = Digests.create();
+        digest.update(manager.getProject().getProjectDirectory().getPath().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(assetName.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(variant.getBytes(StandardCharsets.UTF_8));
+        return Digests.toHex(digest.digest());
+    }
+
+    /**
+     * Hashes the content of the asset and its dependencies, returns null if the
+     * asset does not exist.
+     */
+    private String contentKey(ProjectAssetManager manager, String assetName, String variant, List<String> deps) {
+        MessageDigest digest = Digests.create();
+        digest.update(variant.getBytes(StandardCharsets.UTF_8));
+        String hash = contentHash(manager, assetName);
+        if (hash == null) {
+            return null;
+        }
+        digest.update(hash.getBytes(StandardCharsets.UTF_8));
+        for (String dep : deps) {
+            digest.update(dep.getBytes(StandardCharsets.UTF_8));
+            String depHash = contentHash(manager, dep);
+            // a missing dependency is part of the key too
+            digest.update((depHash != null ? depHash : "-").getBytes(StandardCharsets.UTF_8));
+        }
+        return Digests.toHex(digest.digest());
+    }
+
+    /**
+     * Gets the content hash of a file, the hash is only recomputed when the
+     * size or modification time of the file changed.
+     */
+    private String contentHash(ProjectAssetManager manager, String assetName) {
+        FileObject file = manager.getAssetFileObject(assetName);
+        if (file == null) {
+            return null;
+        }
+        String id = file.toURL().toExternalForm();
+        long size = file.getSize();
+        long modified = file.lastModified().getTime();
+        ContentHash hash = contentHashes.get(id);
+        if (hash != null && hash.size == size && hash.modified == modified) {
+            return hash.hash;
+        }
+        MessageDigest digest = Digests.create();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = file.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Could not hash asset {0}: {1}", new Object[]{assetName, ex.getMessage()});
+            return null;
+        }
+        hash = new ContentHash(size, modified, Digests.toHex(digest.digest()));
+        contentHashes.put(id, hash);
+        return hash.hash;
+    }
+
+    private File imageFile(String key) {
+        return new File(new File(cacheFolder, key.substring(0, 2)), key + IMAGE_SUFFIX);
+    }
+
+    private File entryFile(String id) {
+        return new File(new File(cacheFolder, id.substring(0, 2)), id + ENTRY_SUFFIX);
+    }
+
+    /**
+     * The content key of the current image of a thumbnail, its info text and
+     * the assets it depends on. Stored as "key=", "info=" and "dep=" lines.
+     */
+    private static class Entry {
+
+        private final String key;
+        private final String info;
+        private final List<String> dependencies;
+
+        Entry(String key, String info, List<String> dependencies) {
+            this.key = key;
+            this.info = info;
+            this.dependencies = dependencies;
+        }
+
+        List<String> toLines() {
+            List<String> lines = new ArrayList<>(dependencies.size() + 2);
+            lines.add("key=" + key);
+            if (info != null) {
+                lines.add("info=" + info.replace('\n', ' '));
+            }
+            for (String dep : dependencies) {
+                lines.add("dep=" + dep);
+            }
+            return lines;
+        }
+
+        static Entry fromLines(List<String> lines) {
+            String key = null;
+            String info = null;
+            List<String> deps = new ArrayList<>();
+            for (String line : lines) {
+                if (line.startsWith("key=")) {
+                    key = line.substring(4);
+                } else if (line.startsWith("info=")) {
+                    info = line.substring(5);
+                } else if (line.startsWith("dep=")) {
+                    deps.add(line.substring(4));
+                }
+            }
+            return key == null || key.length() < 2 ? null : new Entry(key, info, deps);
+        }
+    }
+
+    private static class ContentHash {
+
+        private final long size;
+        private final long modified;
+        private final String hash;
+
+        ContentHash(long size, long modified, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.assets.actions;
+
+import com.jme3.gde.core.assets.ProjectAssetManager;
+import com.jme3.gde.core.assets.SpatialAssetDataObject;
+import com.jme3.gde.core.util.notify.MessageUtil;
+import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.netbeans.api.progress.ProgressHandle;
+import org.openide.util.Cancellable;
+import org.openide.util.RequestProcessor;
+
+/**
+ * Converts models to j3o. The models are loaded on a pool of threads, each
+ * with its own AssetManager, while a single writer thread serializes the
+ * loaded models so writing overlaps with loading the next ones.
+ */
+final class ModelConverter implements Cancellable {
+
+    private static final Logger logger = Logger.getLogger(ModelConverter.class.getName());
+    private static final int LOADER_THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() - 1, 8));
+    private static final RequestProcessor LOADER = new RequestProcessor("Model conversion", LOADER_THREADS);
+    private static final RequestProcessor WRITER = new RequestProcessor("Model conversion writer", 1);
+    private static final int MAX_LISTED_FAILURES = 20;
+    private final List<SpatialAssetDataObject> models;
+    private final ProgressHandle progressHandle;
+    // limits the number of loaded models waiting for the writer
+    private final Semaphore pending = new Semaphore(LOADER_THREADS * 2);
+    private final CountDownLatch finished;
+    private final AtomicInteger workUnits = new AtomicInteger();
+    private final AtomicInteger converted = new AtomicInteger();
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean cancelled = false;
+
+    ModelConverter(List<SpatialAssetDataObject> models) {
+        this.models = models;
+        this.finished = new CountDownLatch(models.size());
+        this.progressHandle = ProgressHandle.createHandle("Converting Models", this);
+    }
+
+    /**
+     * Converts all models, blocks until all conversions are finished or
+     * cancelled.
+     */
+    void run() {
+        // two units per model, one for loading and one for writing
+        progressHandle.start(models.size() * 2);
+        try {
+            for (final SpatialAssetDataObject model : models) {
+                pending.acquire();
+                LOADER.post(() -> load(model));
+            }
+            finished.await();
+        } catch (InterruptedException ex) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            progressHandle.finish();
+        }
+        report();
+    }
+
+    @Override
+    public boolean cancel() {
+        cancelled = true;
+        return true;
+    }
+
+    private void load(final SpatialAssetDataObject model) {
+        if (cancelled) {
+            done();
+            return;
+        }
+        try {
+            ProjectAssetManager manager = model.getLookup().lookup(ProjectAssetManager.class);
+            if (manager == null) {
+                throw new IllegalStateException("File is not part of a project");
+            }
+            progressHandle.progress("Loading " + model.getName(), workUnits.get());
+            final Spatial spatial = model.loadAsset(manager.createIsolatedAssetManager());
+            progressHandle.progress(workUnits.incrementAndGet());
+            WRITER.post(() -> write(model, spatial));
+        } catch (Exception ex) {
+            failed(model, ex);
+            progressHandle.progress(workUnits.addAndGet(2));
+            done();
+        }
+    }
+
+    private void write(SpatialAssetDataObject model, Spatial spatial) {
+        try {
+            if (cancelled) {
+                return;
+            }
+            progressHandle.progress("Writing " + model.getName(), workUnits.get());
+            model.saveAsset(spatial);
+            converted.incrementAndGet();
+        } catch (Exception ex) {
+            failed(model, ex);
+        } finally {
+            progressHandle.progress(workUnits.incrementAndGet());
+            done();
+        }
+    }
+
+    private void done() {
+        pending.release();
+        finished.countDown();
+    }
+
+    private void failed(SpatialAssetDataObject model, Exception ex) {
+        logger.log(Level.SEVERE, "An Exception has occured when converting " + model.getPrimaryFile().getNameExt(), ex);
+        failures.add(model.getPrimaryFile().getNameExt() + ": " + ex.getMessage());
+    }
+
+    private void report() {
+        if (cancelled) {
+            logger.log(Level.INFO, "Model conversion cancelled, {0} of {1} models converted", new Object[]{converted.get(), models.size()});
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder();
+        message.append("Unable to convert ").append(failures.size()).append(" of ").append(models.size())
+                .append(" models:\n");
+        synchronized (failures) {
+            for (String failure : failures.subList(0, Math.min(failures.size(), MAX_LISTED_FAILURES))) {
+                message.append(failure).append("\n");
+            }
+        }
+        if (failures.size() > MAX_LISTED_FAILURES) {
+            message.append("...\n");
+        }
+        message.append("Please look into the Output Window and report these Exceptions\n"
+                + "(including the full stacktrace) to us at \n"
+                + "https://github.com/jMonkeyEngine/sdk/issues");
+        MessageUtil.error(message.toString());
+    }
+}
@@ -42,11 +42,11 @@ import com.jme3.post.Filter;
 import java.awt.Image;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import javax.swing.Action;
 import org.openide.actions.DeleteAction;
 import org.openide.actions.MoveDownAction;
@@ -124,7 +124,7 @@ public abstract class AbstractFilterNode extends AbstractNode implements FilterN
             for (Property<?> property : propertySet.getProperties()) {
                 if(property instanceof SceneExplorerProperty){
                     SceneExplorerProperty prop = (SceneExplorerProperty)property;
-                    prop.syncValue();
+                    prop.syncDirtyValue();
                 }
             }
         }
@@ -238,21 +238,19 @@ public abstract class AbstractFilterNode extends AbstractNode implements FilterN
      * @see AbstractSceneExplorerNode#createFields(java.lang.Class, org.openide.nodes.Sheet.Set, java.lang.Object) 
      */
     protected Method[] createFields(Class c, Sheet.Set set, Object obj) throws SecurityException {
-        ArrayList<Method> methodList = new ArrayList<Method>(c.getDeclaredFields().length);
-        for (Field field : c.getDeclaredFields()) {
-            PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, field);
-            if (prop != null) {
-                methodList.add(prop.getReadMethod());
-                methodList.add(prop.getWriteMethod());
-                set.put(
-                    makeProperty(
-                            obj, prop.getPropertyType(),
-                            prop.getReadMethod().getName(),
-                            prop.getWriteMethod().getName(),
-                            prop.getDisplayName()
-                    )
-                );
-            }
+        List<PropertyDescriptor> props = PropertyUtils.getFieldPropertyDescriptors(c);
+        ArrayList<Method> methodList = new ArrayList<Method>(props.size() * 2);
+        for (PropertyDescriptor prop : props) {
+            methodList.add(prop.getReadMethod());
+            methodList.add(prop.getWriteMethod());
+            set.put(
+                makeProperty(
+                        obj, prop.getPropertyType(),
+                        prop.getReadMethod().getName(),
+                        prop.getWriteMethod().getName(),
+                        prop.getDisplayName()
+                )
+            );
         }
         
         return methodList.toArray(Method[]::new);
@@ -274,29 +272,27 @@ public abstract class AbstractFilterNode extends AbstractNode implements FilterN
     protected void createMethods(Class c, Sheet.Set set, Object obj, Method[] ignoreMethods) throws SecurityException {
         List<Method> ignoreMethodList = new ArrayList<Method>(Arrays.asList(ignoreMethods));
         
-        for (Method m : c.getDeclaredMethods()) {
+        for (Map.Entry<Method, PropertyDescriptor> entry : PropertyUtils.getMethodPropertyDescriptors(c).entrySet()) {
             // Ignore Methods which were already discovered by the fields.
-            if (!ignoreMethodList.contains(m)) {
-                PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, m);
-                if (prop != null) {
-                    /* add the setter/getter to the ignoreMethodsList, to
-                     * prevent double discovery of the same internal field
-                     */
-                    ignoreMethodList.add(prop.getReadMethod());
-                    ignoreMethodList.add(prop.getWriteMethod());
-                    
-                    set.put(
-                        makeProperty(
-                            obj, prop.getPropertyType(),
-                            prop.getReadMethod().getName(),
-                            prop.getWriteMethod().getName(),
-                            prop.getDisplayName().substring(
-                                // Remove "Is " "Set "
-                                prop.getDisplayName().indexOf(" ") + 1
-                            )
+            if (!ignoreMethodList.contains(entry.getKey())) {
+                PropertyDescriptor prop = entry.getValue();
+                /* add the setter/getter to the ignoreMethodsList, to
+                 * prevent double discovery of the same internal field
+                 */
+                ignoreMethodList.add(prop.getReadMethod());
+                ignoreMethodList.add(prop.getWriteMethod());
+                
+                set.put(
+                    makeProperty(
+                        obj, prop.getPropertyType(),
+                        prop.getReadMethod().getName(),
+                        prop.getWriteMethod().getName(),
+                        prop.getDisplayName().substring(
+                            // Remove "Is " "Set "
+                            prop.getDisplayName().indexOf(" ") + 1
                         )
-                    );
-                }
+                    )
+                );
             }
         }
     }
@@ -78,6 +78,11 @@ public abstract class AbstractNewFilterAction implements NewFilterAction {
                                     rootNode.addFilter(filter);
                                 }
 
+                                @Override
+                                public Object getSceneTarget() {
+                                    return rootNode;
+                                }
+
                                 @Override
                                 public void awtRedo() {
 //                                    rootNode.refresh();
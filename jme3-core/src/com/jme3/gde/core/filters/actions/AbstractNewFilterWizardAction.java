@@ -81,6 +81,11 @@ public abstract class AbstractNewFilterWizardAction implements NewFilterAction{
                                     rootNode.addFilter(filter);
                                 }
 
+                                @Override
+                                public Object getSceneTarget() {
+                                    return rootNode;
+                                }
+
                                 @Override
                                 public void awtRedo() {
 //                                    rootNode.refresh();
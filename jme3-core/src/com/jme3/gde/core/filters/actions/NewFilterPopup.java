@@ -83,6 +83,11 @@ public class NewFilterPopup extends AbstractAction implements Presenter.Popup {
                     fpp.addFilter(filter);
                 }
 
+                @Override
+                public Object getSceneTarget() {
+                    return fpp;
+                }
+
                 @Override
                 public void awtRedo() {
                     filterNode.refresh();
@@ -38,6 +38,7 @@
 package com.jme3.gde.core.j2seproject;
 
 import com.jme3.gde.core.assets.AssetsLookupProvider;
+import com.jme3.gde.core.assets.ProjectAssetManager;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.IOException;
@@ -80,6 +81,7 @@ public class AssetsPropertiesPanel extends javax.swing.JPanel implements ActionL
         jLabel2 = new javax.swing.JLabel();
         jTextField2 = new javax.swing.JTextField();
         jCheckBox1 = new javax.swing.JCheckBox();
+        jCheckBox2 = new javax.swing.JCheckBox();
         jLabel3 = new javax.swing.JLabel();
         jTextField3 = new javax.swing.JTextField();
 
@@ -93,6 +95,9 @@ public class AssetsPropertiesPanel extends javax.swing.JPanel implements ActionL
 
         jCheckBox1.setText(org.openide.util.NbBundle.getMessage(AssetsPropertiesPanel.class, "AssetsPropertiesPanel.jCheckBox1.text")); // NOI18N
 
+        jCheckBox2.setText(org.openide.util.NbBundle.getMessage(AssetsPropertiesPanel.class, "AssetsPropertiesPanel.jCheckBox2.text")); // NOI18N
+        jCheckBox2.setToolTipText(org.openide.util.NbBundle.getMessage(AssetsPropertiesPanel.class, "AssetsPropertiesPanel.jCheckBox2.toolTipText")); // NOI18N
+
         jLabel3.setText(org.openide.util.NbBundle.getMessage(AssetsPropertiesPanel.class, "AssetsPropertiesPanel.jLabel3.text")); // NOI18N
 
         jTextField3.setText(org.openide.util.NbBundle.getMessage(AssetsPropertiesPanel.class, "AssetsPropertiesPanel.jTextField3.text")); // NOI18N
@@ -111,6 +116,9 @@ public class AssetsPropertiesPanel extends javax.swing.JPanel implements ActionL
                     .addGroup(layout.createSequentialGroup()
                         .addComponent(jCheckBox1)
                         .addGap(0, 0, Short.MAX_VALUE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(jCheckBox2)
+                        .addGap(0, 0, Short.MAX_VALUE))
                     .addGroup(layout.createSequentialGroup()
                         .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                             .addComponent(jLabel2)
@@ -144,11 +152,14 @@ public class AssetsPropertiesPanel extends javax.swing.JPanel implements ActionL
                         .addComponent(jTextField3, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)))
                 .addGap(10, 10, 10)
                 .addComponent(jCheckBox1)
-                .addContainerGap(164, Short.MAX_VALUE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(jCheckBox2)
+                .addContainerGap(137, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JCheckBox jCheckBox1;
+    private javax.swing.JCheckBox jCheckBox2;
     private javax.swing.JLabel jLabel1;
     private javax.swing.JLabel jLabel2;
     private javax.swing.JLabel jLabel3;
@@ -176,6 +187,11 @@ public class AssetsPropertiesPanel extends javax.swing.JPanel implements ActionL
         } else {
             jCheckBox1.setSelected(false);
         }
+        if ("true".equals(properties.getProperty(ProjectAssetManager.COMPRESS_MODELS_PROPERTY))) {
+            jCheckBox2.setSelected(true);
+        } else {
+            jCheckBox2.setSelected(false);
+        }
     }
 
     private void saveSettings() {
@@ -198,6 +214,11 @@ public class AssetsPropertiesPanel extends javax.swing.JPanel implements ActionL
         } else {
             properties.setProperty("assets.compress", "false");
         }
+        if (jCheckBox2.isSelected()) {
+            properties.setProperty(ProjectAssetManager.COMPRESS_MODELS_PROPERTY, "true");
+        } else {
+            properties.setProperty(ProjectAssetManager.COMPRESS_MODELS_PROPERTY, "false");
+        }
         try {
             AssetsLookupProvider.store(properties, project);
         } catch (IOException ex) {
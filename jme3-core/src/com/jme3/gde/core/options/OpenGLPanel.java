@@ -32,6 +32,7 @@
 package com.jme3.gde.core.options;
 
 import com.jme3.gde.core.Installer;
+import com.jme3.gde.core.scene.SceneApplication;
 import org.openide.util.NbPreferences;
 
 /**
@@ -59,6 +60,9 @@ final class OpenGLPanel extends javax.swing.JPanel {
         chkHeavyweightCanvas = new javax.swing.JCheckBox();
         scrollHeavyweight = new javax.swing.JScrollPane();
         txtHeavyweight = new javax.swing.JTextArea();
+        chkOnDemandRendering = new javax.swing.JCheckBox();
+        scrollOnDemand = new javax.swing.JScrollPane();
+        txtOnDemand = new javax.swing.JTextArea();
 
         org.openide.awt.Mnemonics.setLocalizedText(chkHeavyweightCanvas, org.openide.util.NbBundle.getMessage(OpenGLPanel.class, "OpenGLPanel.text")); // NOI18N
         chkHeavyweightCanvas.setName(""); // NOI18N
@@ -72,6 +76,17 @@ final class OpenGLPanel extends javax.swing.JPanel {
         txtHeavyweight.setDisabledTextColor(new java.awt.Color(0, 0, 0));
         scrollHeavyweight.setViewportView(txtHeavyweight);
 
+        org.openide.awt.Mnemonics.setLocalizedText(chkOnDemandRendering, org.openide.util.NbBundle.getMessage(OpenGLPanel.class, "OpenGLPanel.chkOnDemandRendering.text")); // NOI18N
+
+        txtOnDemand.setEditable(false);
+        txtOnDemand.setColumns(20);
+        txtOnDemand.setLineWrap(true);
+        txtOnDemand.setRows(5);
+        txtOnDemand.setText(org.openide.util.NbBundle.getMessage(OpenGLPanel.class, "OpenGLPanel.txtOnDemand.text")); // NOI18N
+        txtOnDemand.setWrapStyleWord(true);
+        txtOnDemand.setDisabledTextColor(new java.awt.Color(0, 0, 0));
+        scrollOnDemand.setViewportView(txtOnDemand);
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
         layout.setHorizontalGroup(
@@ -80,8 +95,11 @@ final class OpenGLPanel extends javax.swing.JPanel {
                 .addContainerGap()
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(scrollHeavyweight, javax.swing.GroupLayout.DEFAULT_SIZE, 380, Short.MAX_VALUE)
+                    .addComponent(scrollOnDemand, javax.swing.GroupLayout.DEFAULT_SIZE, 380, Short.MAX_VALUE)
                     .addGroup(layout.createSequentialGroup()
-                        .addComponent(chkHeavyweightCanvas)
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                            .addComponent(chkHeavyweightCanvas)
+                            .addComponent(chkOnDemandRendering))
                         .addContainerGap(javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))))
         );
         layout.setVerticalGroup(
@@ -91,12 +109,17 @@ final class OpenGLPanel extends javax.swing.JPanel {
                 .addComponent(chkHeavyweightCanvas)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                 .addComponent(scrollHeavyweight, javax.swing.GroupLayout.PREFERRED_SIZE, 115, javax.swing.GroupLayout.PREFERRED_SIZE)
-                .addContainerGap(181, Short.MAX_VALUE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                .addComponent(chkOnDemandRendering)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                .addComponent(scrollOnDemand, javax.swing.GroupLayout.PREFERRED_SIZE, 80, javax.swing.GroupLayout.PREFERRED_SIZE)
+                .addContainerGap(65, Short.MAX_VALUE))
         );
     }// </editor-fold>//GEN-END:initComponents
 
     void load() {
         chkHeavyweightCanvas.setSelected("true".equals(NbPreferences.forModule(Installer.class).get("use_lwjgl_canvas", "false")));
+        chkOnDemandRendering.setSelected("true".equals(NbPreferences.forModule(Installer.class).get("on_demand_rendering", "false")));
     }
 
     void store() {
@@ -105,6 +128,12 @@ final class OpenGLPanel extends javax.swing.JPanel {
         }else{
             NbPreferences.forModule(Installer.class).put("use_lwjgl_canvas", "false");
         }
+        if (chkOnDemandRendering.isSelected()) {
+            NbPreferences.forModule(Installer.class).put("on_demand_rendering", "true");
+        } else {
+            NbPreferences.forModule(Installer.class).put("on_demand_rendering", "false");
+        }
+        SceneApplication.getApplication().setOnDemandRendering(chkOnDemandRendering.isSelected());
     }
 
     boolean valid() {
@@ -113,7 +142,10 @@ final class OpenGLPanel extends javax.swing.JPanel {
     }
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JCheckBox chkHeavyweightCanvas;
+    private javax.swing.JCheckBox chkOnDemandRendering;
     private javax.swing.JScrollPane scrollHeavyweight;
+    private javax.swing.JScrollPane scrollOnDemand;
     private javax.swing.JTextArea txtHeavyweight;
+    private javax.swing.JTextArea txtOnDemand;
     // End of variables declaration//GEN-END:variables
 }
@@ -0,0 +1,195 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.properties;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-class metadata for SceneExplorerProperties. The getter and setter are
+ * resolved to MethodHandles and the copy strategy of the value type (clone
+ * method or copy constructor) is determined once per class instead of once
+ * per property instance and value read.<br>
+ * When a handle cannot be created (e.g. the method is declared in a non-public
+ * class) the handle is null and the property falls back to plain reflection.
+ */
+final class PropertyMetadata {
+
+    private static final Logger logger = Logger.getLogger(PropertyMetadata.class.getName());
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final ClassValue<Map<String, PropertyMetadata>> properties = new ClassValue<Map<String, PropertyMetadata>>() {
+        @Override
+        protected Map<String, PropertyMetadata> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<String, PropertyMetadata>();
+        }
+    };
+    private static final ClassValue<Copier> copiers = new ClassValue<Copier>() {
+        @Override
+        protected Copier computeValue(Class<?> type) {
+            return new Copier(type);
+        }
+    };
+    final boolean primitive;
+    final boolean cloneable;
+    final boolean instantiable;
+    final MethodHandle getter;
+    final MethodHandle setter;
+
+    private PropertyMetadata(Class<?> type, String getterName, String setterName, Class<?> valueType) {
+        Method getterMethod = findMethod(type, getterName);
+        Class<?> returnType = getterMethod != null ? getterMethod.getReturnType() : null;
+        primitive = returnType != null && returnType.isPrimitive();
+        if (!primitive && returnType != null) {
+            cloneable = findClone(returnType) != null;
+            instantiable = findCopyConstructor(returnType) != null;
+        } else {
+            cloneable = false;
+            instantiable = false;
+        }
+        getter = unreflect(getterMethod, GETTER_TYPE);
+        setter = setterName != null ? unreflect(findMethod(type, setterName, valueType), SETTER_TYPE) : null;
+    }
+
+    /**
+     * Returns the metadata for the property with the given getter and setter
+     * on the given class.
+     */
+    static PropertyMetadata get(Class<?> type, String getterName, String setterName, Class<?> valueType) {
+        String key = getterName + '/' + setterName + '/' + valueType.getName();
+        Map<String, PropertyMetadata> map = properties.get(type);
+        PropertyMetadata metadata = map.get(key);
+        if (metadata == null) {
+            metadata = new PropertyMetadata(type, getterName, setterName, valueType);
+            map.put(key, metadata);
+        }
+        return metadata;
+    }
+
+    /**
+     * Returns the copy strategy for values of the given runtime class.
+     */
+    static Copier getCopier(Class<?> type) {
+        return copiers.get(type);
+    }
+
+    private static Method findMethod(Class<?> type, String name, Class<?>... params) {
+        try {
+            return type.getMethod(name, params);
+        } catch (NoSuchMethodException ex) {
+            return null;
+        } catch (SecurityException ex) {
+            logger.log(Level.FINE, "Cannot access method " + name, ex);
+            return null;
+        }
+    }
+
+    private static MethodHandle unreflect(Method method, MethodType type) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException ex) {
+            logger.log(Level.FINE, "Using reflection for {0}, no public access", method);
+            return null;
+        } catch (RuntimeException ex) {
+            logger.log(Level.FINE, "Using reflection for " + method, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Finds a public clone method that returns the same type, enums never
+     * count as cloneable.
+     */
+    private static Method findClone(Class<?> type) {
+        if (Enum.class.isAssignableFrom(type)) {
+            return null;
+        }
+        Method meth = findMethod(type, "clone");
+        if (meth != null && meth.getReturnType().isAssignableFrom(type)) {
+            return meth;
+        }
+        return null;
+    }
+
+    /**
+     * Finds a public constructor that takes an instance of the type itself.
+     */
+    private static Constructor<?> findCopyConstructor(Class<?> type) {
+        if (Enum.class.isAssignableFrom(type)) {
+            return null;
+        }
+        for (Constructor<?> constructor : type.getConstructors()) {
+            Class<?>[] types = constructor.getParameterTypes();
+            if (types.length == 1 && types[0].isAssignableFrom(type)) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The clone method and copy constructor of a value class, null if the
+     * class has none or they cannot be accessed.
+     */
+    static final class Copier {
+
+        final MethodHandle clone;
+        final MethodHandle copyConstructor;
+
+        private Copier(Class<?> type) {
+            clone = unreflect(findClone(type), GETTER_TYPE);
+            MethodHandle constructor = null;
+            if (!Modifier.isAbstract(type.getModifiers())) {
+                try {
+                    constructor = MethodHandles.publicLookup().unreflectConstructor(type.getConstructor(type)).asType(GETTER_TYPE);
+                } catch (NoSuchMethodException ex) {
+                } catch (IllegalAccessException ex) {
+                    logger.log(Level.FINE, "Cannot access copy constructor of {0}", type);
+                } catch (RuntimeException ex) {
+                    logger.log(Level.FINE, "Cannot access copy constructor of " + type, ex);
+                }
+            }
+            copyConstructor = constructor;
+        }
+    }
+}
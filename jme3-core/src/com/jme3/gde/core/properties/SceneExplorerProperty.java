@@ -34,6 +34,7 @@ package com.jme3.gde.core.properties;
 import com.jme3.effect.influencers.ParticleInfluencer;
 import com.jme3.effect.shapes.EmitterShape;
 import com.jme3.gde.core.scene.SceneApplication;
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
 import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
 import com.jme3.light.Light;
@@ -42,6 +43,7 @@ import com.jme3.math.Matrix3f;
 import com.jme3.math.Quaternion;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -88,6 +90,7 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
     protected final Mutex mutex = new Mutex();
     protected boolean inited = false;
     protected final boolean editable;
+    private final PropertyMetadata metadata;
     protected LinkedList<ScenePropertyChangeListener> listeners = new LinkedList<ScenePropertyChangeListener>();
 
     public SceneExplorerProperty(T instance, Class valueType, String getter, String setter) throws NoSuchMethodException {
@@ -96,14 +99,10 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
 
     public SceneExplorerProperty(T instance, Class valueType, String getter, String setter, ScenePropertyChangeListener listener) throws NoSuchMethodException {
         super(instance, valueType, getter, setter);
-        primitive = isPrimitive(instance, getter);
-        if (!primitive) {
-            cloneable = canClone(instance, getter);
-            instantiable = canRecreate(instance, getter);
-        } else {
-            cloneable = false;
-            instantiable = false;
-        }
+        metadata = PropertyMetadata.get(instance.getClass(), getter, setter, valueType);
+        primitive = metadata.primitive;
+        cloneable = metadata.cloneable;
+        instantiable = metadata.instantiable;
         if (valueType == Vector3f.class) {
             setPropertyEditorClass(Vector3fPropertyEditor.class);
         } else if (valueType == Quaternion.class) {
@@ -131,6 +130,22 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
         addPropertyChangeListener(listener);
     }
 
+    /**
+     * Synchronizes the local and scene value only if the object this property
+     * belongs to was invalidated via SceneSyncInvalidation or the value was
+     * never read yet, has to be called on render thread.
+     *
+     * @see SceneSyncInvalidation
+     */
+    public void syncDirtyValue() {
+        if (inited && !SceneSyncInvalidation.isDirty(instance)) {
+            SceneSyncInvalidation.recordSync(false);
+            return;
+        }
+        SceneSyncInvalidation.recordSync(true);
+        syncValue();
+    }
+
     /**
      * Synchronizes the local and scene value, has to be called on render
      * thread.
@@ -334,7 +349,14 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
             return a;
         }
         T obj = null;
-        if (cloneable) {
+        PropertyMetadata.Copier copier = PropertyMetadata.getCopier(a.getClass());
+        if (cloneable && copier.clone != null) {
+            obj = (T) invokeCopy(copier.clone, a);
+            logger.log(Level.FINE, "Cloned object {0} to {1}", new Object[]{a, obj});
+        } else if (instantiable && copier.copyConstructor != null) {
+            obj = (T) invokeCopy(copier.copyConstructor, a);
+            logger.log(Level.FINE, "Instantiated new object from {0} to {1}", new Object[]{a, obj});
+        } else if (cloneable) {
             try {
                 obj = (T) a.getClass().getMethod("clone").invoke(a);
                 logger.log(Level.FINE, "Cloned object {0} to {1}", new Object[]{a, obj});
@@ -374,6 +396,17 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
         return obj;
     }
 
+    private Object invokeCopy(MethodHandle handle, Object a) {
+        try {
+            return handle.invoke(a);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            Exceptions.printStackTrace(ex);
+        }
+        return null;
+    }
+
     /**
      * Calls the actual scene objects setter with the passed object. Adds an
      * undo step automatically.
@@ -392,13 +425,20 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
     protected T getSuperValue() {
         try {
             logger.log(Level.FINER, "Get super value thread {0}", Thread.currentThread().getName());
+            if (metadata.getter != null) {
+                return (T) metadata.getter.invoke(instance);
+            }
             return super.getValue();
+        } catch (Error ex) {
+            throw ex;
         } catch (IllegalAccessException ex) {
             Exceptions.printStackTrace(ex);
         } catch (IllegalArgumentException ex) {
             Exceptions.printStackTrace(ex);
         } catch (InvocationTargetException ex) {
             Exceptions.printStackTrace(ex);
+        } catch (Throwable ex) {
+            Exceptions.printStackTrace(ex);
         }
         return null;
     }
@@ -417,13 +457,22 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
                 addUndo(dupe, val);
             }
             logger.log(Level.FINER, "Set super value on thread {0}", Thread.currentThread().getName());
-            super.setValue(val);
+            if (metadata.setter != null) {
+                metadata.setter.invoke(instance, val);
+            } else {
+                super.setValue(val);
+            }
+            SceneSyncInvalidation.invalidate(instance);
+        } catch (Error ex) {
+            throw ex;
         } catch (IllegalAccessException ex) {
             Exceptions.printStackTrace(ex);
         } catch (IllegalArgumentException ex) {
             Exceptions.printStackTrace(ex);
         } catch (InvocationTargetException ex) {
             Exceptions.printStackTrace(ex);
+        } catch (Throwable ex) {
+            Exceptions.printStackTrace(ex);
         }
     }
 
@@ -442,6 +491,11 @@ public class SceneExplorerProperty<T> extends PropertySupport.Reflection<T> {
             return;
         }
         undoRedo.addEdit(this, new AbstractUndoableSceneEdit() {
+            @Override
+            public Object getSceneTarget() {
+                return instance;
+            }
+
             @Override
             public void sceneUndo() {
                 logger.log(Level.FINE, "Do undo {0}", before);
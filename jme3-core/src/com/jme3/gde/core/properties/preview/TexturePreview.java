@@ -33,6 +33,7 @@ package com.jme3.gde.core.properties.preview;
 
 import com.jme3.asset.TextureKey;
 import com.jme3.gde.core.assets.ProjectAssetManager;
+import com.jme3.gde.core.assets.ThumbnailCache;
 import com.jme3.gde.core.scene.PreviewRequest;
 import com.jme3.gde.core.scene.SceneApplication;
 import com.jme3.gde.core.scene.SceneListener;
@@ -45,7 +46,10 @@ import com.jme3.scene.Spatial;
 import com.jme3.scene.shape.Quad;
 import com.jme3.texture.Texture;
 import com.jme3.util.SkyFactory;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JComponent;
@@ -63,6 +67,8 @@ public class TexturePreview implements SceneListener {
     private final Geometry quad3D;
     private final Material material;
     private final Material material3D;
+    private final Map<PreviewRequest, PendingTexture> pendingTextures = new ConcurrentHashMap<>();
+    private String requestedTexture;
 
     public TexturePreview(ProjectAssetManager assetManager) {
         this.assetManager = assetManager;
@@ -84,7 +90,26 @@ public class TexturePreview implements SceneListener {
     public void requestPreview(final String textureName, final String displayName, final int width, final int height, final JComponent picLabel, final JLabel infoLabel) {
 
         picPreview = picLabel;
+        requestedTexture = textureName;
         clearPreview();
+        ThumbnailCache.getDefault().lookup(assetManager, textureName, thumbnailVariant(width, height), (cached, info) -> {
+            if (!textureName.equals(requestedTexture)) {
+                return;
+            }
+            if (cached != null && info != null) {
+                // the label text is stored with the thumbnail, so a cache hit
+                // does not need to load the texture at all
+                setIcon(new ImageIcon(cached));
+                if (infoLabel != null) {
+                    infoLabel.setText(info);
+                }
+            } else {
+                createPreview(textureName, displayName, width, height, infoLabel);
+            }
+        });
+    }
+
+    private void createPreview(final String textureName, final String displayName, final int width, final int height, final JLabel infoLabel) {
         if (infoLabel != null) {
             infoLabel.setText(" Creating preview...");
         }
@@ -96,29 +121,32 @@ public class TexturePreview implements SceneListener {
                 TextureKey key = new TextureKey(textureName);
                 Texture t = assetManager.loadTexture(key);
                 Spatial geom = quad;
+                String labelText = null;
                 if (null != key.getTextureTypeHint()) switch (key.getTextureTypeHint()) {
                     case TwoDimensional -> {
                         material.setTexture("ColorMap", t);
                         geom.setMaterial(material);
-                        setLabel(infoLabel, displayName, t.getImage().getWidth(),  t.getImage().getHeight(), -1);
+                        labelText = labelText(displayName, t.getImage().getWidth(),  t.getImage().getHeight(), -1);
                     }
                     case ThreeDimensional -> {
                         geom = quad3D;
                         material3D.setTexture("Texture", t);
                         geom.setMaterial(material3D);
-                        setLabel(infoLabel, displayName + " (Texture3D)", t.getImage().getWidth(),  t.getImage().getHeight(),  t.getImage().getDepth());
+                        labelText = labelText(displayName + " (Texture3D)", t.getImage().getWidth(),  t.getImage().getHeight(),  t.getImage().getDepth());
                     }
                     case CubeMap -> {                        
                         geom = SkyFactory.createSky(assetManager, textureName, SkyFactory.EnvMapType.CubeMap);
-                        setLabel(infoLabel, displayName + " (CubeMap)", t.getImage().getWidth(),  t.getImage().getHeight(),  -1);
+                        labelText = labelText(displayName + " (CubeMap)", t.getImage().getWidth(),  t.getImage().getHeight(),  -1);
                     }
                     default -> {
                     }
                 }
+                setLabel(infoLabel, labelText);
 
                 PreviewRequest request = new PreviewRequest(TexturePreview.this, geom, width, height);
                 request.getCameraRequest().setLocation(new Vector3f(0, 0, 5.3f));
                 request.getCameraRequest().setLookAt(new Vector3f(0, 0, 0), Vector3f.UNIT_Y.mult(-1));
+                pendingTextures.put(request, new PendingTexture(textureName, labelText));
                 SceneApplication.getApplication().createPreview(request);
 
                 return null;
@@ -127,6 +155,10 @@ public class TexturePreview implements SceneListener {
         });
     }
 
+    private static String thumbnailVariant(int width, int height) {
+        return "texture-" + width + "x" + height;
+    }
+
     public void cleanUp() {
         SceneApplication.getApplication().removeSceneListener(this);
     }
@@ -139,28 +171,36 @@ public class TexturePreview implements SceneListener {
     public void sceneClosed(SceneRequest request) {
     }
 
-    private void setLabel(final JLabel label, final String text, final int width, final int height, final int depth) {
+    private static String labelText(String text, int width, int height, int depth) {
+        String labText = " " + text + "    w : " + width + "    h : " + height;
+        if (depth > 0) {
+            labText += "    d : " + depth;
+        }
+        return labText;
+    }
+
+    private void setLabel(final JLabel label, final String text) {
 
         java.awt.EventQueue.invokeLater(new Runnable() {
             @Override
             public void run() {
-                if (label != null) {
-                    String labText = " " + text + "    w : " + width + "    h : " + height;
-                    if (depth > 0) {
-                        labText += "    d : " + depth;
-                    }
-                    label.setText(labText);
+                if (label != null && text != null) {
+                    label.setText(text);
                 }
             }
         });
     }
     
     private void clearPreview() {
+        setIcon(null);
+    }
+
+    private void setIcon(ImageIcon icon) {
         if (picPreview instanceof JLabel) {
-            ((JLabel) picPreview).setIcon(null);
+            ((JLabel) picPreview).setIcon(icon);
         }
         if (picPreview instanceof JButton) {
-            ((JButton) picPreview).setIcon(null);
+            ((JButton) picPreview).setIcon(icon);
         }
     }
 
@@ -170,15 +210,29 @@ public class TexturePreview implements SceneListener {
             @Override
             public void run() {
                 if (request.getRequester() == TexturePreview.this) {
-                    final ImageIcon icon = new ImageIcon(request.getImage());
-                    if (picPreview instanceof JLabel) {
-                        ((JLabel) picPreview).setIcon(icon);
+                    PendingTexture pending = pendingTextures.remove(request);
+                    if (request.getImage() == null) {
+                        return;
                     }
-                    if (picPreview instanceof JButton) {
-                        ((JButton) picPreview).setIcon(icon);
+                    if (pending != null) {
+                        ThumbnailCache.getDefault().put(assetManager, pending.textureName,
+                                thumbnailVariant(request.getCameraRequest().getWidth(), request.getCameraRequest().getHeight()),
+                                Collections.<String>emptyList(), request.getImage(), pending.labelText);
                     }
+                    setIcon(new ImageIcon(request.getImage()));
                 }
             }
         });
     }
+
+    private static class PendingTexture {
+
+        private final String textureName;
+        private final String labelText;
+
+        PendingTexture(String textureName, String labelText) {
+            this.textureName = textureName;
+            this.labelText = labelText;
+        }
+    }
 }
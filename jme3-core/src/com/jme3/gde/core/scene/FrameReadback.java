@@ -0,0 +1,352 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.scene;
+
+import com.jme3.renderer.Caps;
+import com.jme3.renderer.Renderer;
+import com.jme3.texture.FrameBuffer;
+import com.jme3.texture.Image.Format;
+import com.jme3.util.BufferUtils;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+
+/**
+ * Reads back the content of an offscreen FrameBuffer into a BufferedImage
+ * without stalling the render thread.<br>
+ * The pixels of a frame are read into a pixel buffer object and only collected
+ * a frame later, so the GPU can render the next frame while the transfer is
+ * running. Converting the pixels to the AWT format is done on a background
+ * thread. When pixel buffer objects are not supported the frame is read
+ * synchronously but still converted in the background.<br>
+ * All methods except the callback have to be called on the render thread.
+ *
+ * @param <T> the type of the tag passed along with each frame
+ */
+public class FrameReadback<T> {
+
+    private static final Logger logger = Logger.getLogger(FrameReadback.class.getName());
+    private static final ExecutorService converter = Executors.newFixedThreadPool(2, (Runnable r) -> {
+        Thread thread = new Thread(r, "jME3 SDK Frame Readback");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static boolean pboFailed = false;
+
+    /**
+     * Called on the conversion thread once a frame has been read. The image
+     * is null if the frame could not be read back.
+     *
+     * @param <T> the type of the tag
+     */
+    public interface Callback<T> {
+
+        void frameRead(T tag, BufferedImage image);
+    }
+
+    private final int width, height;
+    private final boolean flipY;
+    private final Callback<T> callback;
+    private final BufferedImage image;
+    private final int[] pbos;
+    private final Object[] tags;
+    private final boolean[] pending;
+    private final long[] issuedAt;
+    private final int latency;
+    private long frame = 0;
+    private int current = 0;
+    private ByteBuffer syncBuffer;
+    private final ConcurrentLinkedQueue<byte[]> arrayPool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param width the width of the FrameBuffer
+     * @param height the height of the FrameBuffer
+     * @param latency the number of frames the pixels are collected after they
+     * were read, 1 means double buffered
+     * @param reuseImage if true all frames are converted into one pre-allocated
+     * image, consumers have to hold the image's monitor while reading it.
+     * Otherwise a new image is created for every frame.
+     * @param flipY flip the image vertically, OpenGL's origin is bottom-left
+     * @param callback the callback to receive the images
+     */
+    public FrameReadback(int width, int height, int latency, boolean reuseImage, boolean flipY, Callback<T> callback) {
+        this(width, height, latency, latency + 1, reuseImage, flipY, callback);
+    }
+
+    /**
+     * @param width the width of the FrameBuffer
+     * @param height the height of the FrameBuffer
+     * @param latency the number of frames the pixels are collected after they
+     * were read, 1 means double buffered
+     * @param buffers the number of pixel buffers, when more frames are read
+     * before they can be collected the oldest one is collected synchronously
+     * @param reuseImage if true all frames are converted into one pre-allocated
+     * image, consumers have to hold the image's monitor while reading it.
+     * Otherwise a new image is created for every frame.
+     * @param flipY flip the image vertically, OpenGL's origin is bottom-left
+     * @param callback the callback to receive the images
+     */
+    public FrameReadback(int width, int height, int latency, int buffers, boolean reuseImage, boolean flipY, Callback<T> callback) {
+        this.width = width;
+        this.height = height;
+        this.flipY = flipY;
+        this.callback = callback;
+        this.image = reuseImage ? new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR) : null;
+        this.latency = Math.max(1, latency);
+        this.pbos = new int[Math.max(this.latency + 1, buffers)];
+        this.tags = new Object[pbos.length];
+        this.pending = new boolean[pbos.length];
+        this.issuedAt = new long[pbos.length];
+    }
+
+    /**
+     * Starts reading the given FrameBuffer, can be called multiple times per
+     * frame as long as the FrameBuffer size matches.
+     *
+     * @param renderer the renderer
+     * @param fb the FrameBuffer to read, has to match the size of this readback
+     * @param tag passed to the callback together with the image
+     */
+    public void read(Renderer renderer, FrameBuffer fb, T tag) {
+        if (!usePbo(renderer)) {
+            readSync(renderer, fb, tag);
+            return;
+        }
+        int size = width * height * 4;
+        try {
+            if (pending[current]) {
+                collect(current);
+            }
+            if (pbos[current] == 0) {
+                pbos[current] = GL15.glGenBuffers();
+                GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, pbos[current]);
+                GL15.glBufferData(GL21.GL_PIXEL_PACK_BUFFER, size, GL15.GL_STREAM_READ);
+            } else {
+                GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, pbos[current]);
+            }
+            renderer.setFrameBuffer(fb);
+            GL11.glReadPixels(0, 0, width, height, GL12.GL_BGRA, GL11.GL_UNSIGNED_BYTE, 0);
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+            tags[current] = tag;
+            issuedAt[current] = frame;
+            pending[current] = true;
+            current = (current + 1) % pbos.length;
+        } catch (LinkageError | RuntimeException e) {
+            logger.log(Level.WARNING, "Pixel buffer readback failed, using synchronous readback.", e);
+            pboFailed = true;
+            readSync(renderer, fb, tag);
+            return;
+        }
+        SceneApplication.getApplication().requestRender();
+    }
+
+    /**
+     * Collects the frames that were read at least latency frames ago and hands
+     * them to the converter thread. Has to be called once per frame, before
+     * new frames are read.
+     */
+    public void collect() {
+        frame++;
+        for (int i = 0; i < pbos.length; i++) {
+            // oldest slot first
+            int slot = (current + i) % pbos.length;
+            if (pending[slot] && frame - issuedAt[slot] >= latency) {
+                collect(slot);
+            }
+        }
+        if (hasPending()) {
+            SceneApplication.getApplication().requestRender();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(int slot) {
+        int size = width * height * 4;
+        pending[slot] = false;
+        T tag = (T) tags[slot];
+        tags[slot] = null;
+        byte[] data = obtainArray(size);
+        ByteBuffer mapped = null;
+        try {
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, pbos[slot]);
+            mapped = GL15.glMapBuffer(GL21.GL_PIXEL_PACK_BUFFER, GL15.GL_READ_ONLY, null);
+            if (mapped != null) {
+                mapped.clear();
+                mapped.get(data, 0, size);
+                GL15.glUnmapBuffer(GL21.GL_PIXEL_PACK_BUFFER);
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Could not read pixel buffer.", e);
+            mapped = null;
+        } finally {
+            GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+        }
+        if (mapped != null) {
+            convert(data, tag);
+        } else {
+            // the buffer is recreated on the next read, the callback still
+            // gets the frame so consumers waiting for it are not stuck
+            logger.log(Level.WARNING, "Could not map pixel buffer, frame dropped.");
+            GL15.glDeleteBuffers(pbos[slot]);
+            pbos[slot] = 0;
+            arrayPool.offer(data);
+            dropped(tag);
+        }
+    }
+
+    /**
+     * @return true if frames have been read but were not collected yet
+     */
+    public boolean hasPending() {
+        for (boolean p : pending) {
+            if (p) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects all pending frames, regardless of the latency.
+     */
+    public void flush() {
+        for (int i = 0; i < pbos.length; i++) {
+            int slot = (current + i) % pbos.length;
+            if (pending[slot]) {
+                collect(slot);
+            }
+        }
+    }
+
+    /**
+     * Collects the pending frames and deletes the pixel buffer objects.
+     */
+    public void cleanup() {
+        flush();
+        for (int i = 0; i < pbos.length; i++) {
+            if (pbos[i] != 0) {
+                GL15.glDeleteBuffers(pbos[i]);
+                pbos[i] = 0;
+            }
+            pending[i] = false;
+            tags[i] = null;
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the pre-allocated image or null if a new image is created for
+     * each frame
+     */
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    private boolean usePbo(Renderer renderer) {
+        return !pboFailed && renderer.getCaps().contains(Caps.OpenGL21);
+    }
+
+    private void readSync(Renderer renderer, FrameBuffer fb, T tag) {
+        int size = width * height * 4;
+        if (syncBuffer == null) {
+            syncBuffer = BufferUtils.createByteBuffer(size);
+        }
+        syncBuffer.clear();
+        renderer.readFrameBufferWithFormat(fb, syncBuffer, Format.BGRA8);
+        byte[] data = obtainArray(size);
+        syncBuffer.clear();
+        syncBuffer.get(data);
+        convert(data, tag);
+    }
+
+    private byte[] obtainArray(int size) {
+        byte[] data = arrayPool.poll();
+        if (data == null || data.length != size) {
+            data = new byte[size];
+        }
+        return data;
+    }
+
+    private void convert(final byte[] data, final T tag) {
+        converter.execute(() -> {
+            BufferedImage target = image;
+            if (target == null) {
+                target = new BufferedImage(width, height, BufferedImage.TYPE_4BYTE_ABGR);
+                convert(data, target);
+            } else {
+                synchronized (target) {
+                    convert(data, target);
+                }
+            }
+            arrayPool.offer(data);
+            callback.frameRead(tag, target);
+        });
+    }
+
+    private void dropped(final T tag) {
+        converter.execute(() -> callback.frameRead(tag, null));
+    }
+
+    /**
+     * Converts BGRA pixels into the ABGR layout AWT uses.
+     */
+    private void convert(byte[] data, BufferedImage target) {
+        byte[] dest = ((DataBufferByte) target.getRaster().getDataBuffer()).getData();
+        int stride = width * 4;
+        for (int y = 0; y < height; y++) {
+            int src = y * stride;
+            int dst = (flipY ? height - y - 1 : y) * stride;
+            for (int x = 0; x < stride; x += 4) {
+                dest[dst + x] = data[src + x + 3];
+                dest[dst + x + 1] = data[src + x];
+                dest[dst + x + 2] = data[src + x + 1];
+                dest[dst + x + 3] = data[src + x + 2];
+            }
+        }
+    }
+}
@@ -39,12 +39,18 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.openide.util.Lookup.Result;
 import org.openide.util.LookupEvent;
 import org.openide.util.LookupListener;
 import org.openide.util.Utilities;
 
 /**
+ * Keeps the property sheet of the selected scene node in sync with the scene.
+ * Properties are only re-read when their object was invalidated via
+ * {@link SceneSyncInvalidation}, a full poll is done every few seconds as a
+ * fallback for changes made by user controls the SDK cannot see.
  *
  * @author normenhansen
  */
@@ -53,9 +59,10 @@ public class NodeSyncAppState extends AbstractAppState implements LookupListener
 
     private final List<SceneSyncListener> newNodes = Collections.synchronizedList(new LinkedList<SceneSyncListener>());
     private final List<SceneSyncListener> oldNodes = Collections.synchronizedList(new LinkedList<SceneSyncListener>());
+    private static final Logger logger = Logger.getLogger(NodeSyncAppState.class.getName());
     private final Result<SceneSyncListener> nodeSelectionResult;
     private SceneSyncListener node;
-    private float timeStep = 1;
+    private float timeStep = 5;
     private float timer = 0;
 
     public NodeSyncAppState() {
@@ -71,26 +78,42 @@ public class NodeSyncAppState extends AbstractAppState implements LookupListener
     @Override
     public void update(float tpf) {
         super.update(tpf);
-        synchronized (newNodes) {
-            for (Iterator<SceneSyncListener> it = newNodes.iterator(); it.hasNext();) {
-                SceneSyncListener abstractSceneExplorerNode = it.next();
-                abstractSceneExplorerNode.syncSceneData(0);
-                it.remove();
-            }
-        }
+        syncAll(newNodes);
         timer += tpf;
+        boolean poll = false;
         if (timer > timeStep) {
             timer = 0;
+            poll = true;
+        }
+        try {
             SceneSyncListener node = this.node;
-            if (initialized && node != null) {
+            if (SceneSyncInvalidation.beginSync(poll) && initialized && node != null) {
                 node.syncSceneData(tpf);
             }
+        } finally {
+            SceneSyncInvalidation.endSync();
+        }
+        if (poll) {
+            logger.log(Level.FINE, "Scene sync: {0} property reads, {1} reads avoided",
+                    new Object[]{SceneSyncInvalidation.getReadCount(), SceneSyncInvalidation.getAvoidedReadCount()});
         }
-        synchronized (oldNodes) {
-            for (Iterator<SceneSyncListener> it = oldNodes.iterator(); it.hasNext();) {
-                SceneSyncListener abstractSceneExplorerNode = it.next();
-                abstractSceneExplorerNode.syncSceneData(0);
-                it.remove();
+        syncAll(oldNodes);
+    }
+
+    private void syncAll(List<SceneSyncListener> nodes) {
+        synchronized (nodes) {
+            if (nodes.isEmpty()) {
+                return;
+            }
+            SceneSyncInvalidation.beginFullSync();
+            try {
+                for (Iterator<SceneSyncListener> it = nodes.iterator(); it.hasNext();) {
+                    SceneSyncListener abstractSceneExplorerNode = it.next();
+                    abstractSceneExplorerNode.syncSceneData(0);
+                    it.remove();
+                }
+            } finally {
+                SceneSyncInvalidation.endSync();
             }
         }
     }
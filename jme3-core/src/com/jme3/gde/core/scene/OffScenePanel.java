@@ -52,15 +52,12 @@ import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.texture.FrameBuffer;
 import com.jme3.texture.Image.Format;
-import com.jme3.util.BufferUtils;
-import com.jme3.util.Screenshots;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.nio.ByteBuffer;
 import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -73,16 +70,13 @@ public class OffScenePanel extends javax.swing.JPanel implements SceneProcessor
 
     private static final Logger logger = Logger.getLogger(OffScenePanel.class.getName());
     private int width = 640, height = 480;
-    private ByteBuffer cpuBuf;
-//    private byte[] cpuArray;
     private final Node rootNode = new Node("Root Node");
     private FrameBuffer offBuffer;
     private ViewPort viewPort;
     private Camera camera;
     private RenderManager rm;
     //AWT image
-    private final Object imageLock = new Object();
-    private BufferedImage image;
+    private volatile FrameReadback<Void> readback;
     private AffineTransform tx = AffineTransform.getScaleInstance(1, -1);
     private AffineTransformOp op;
     //camera
@@ -112,9 +106,7 @@ public class OffScenePanel extends javax.swing.JPanel implements SceneProcessor
                 width = x;
                 height = y;
                 if (viewPort != null) {
-                    synchronized (imageLock) {
-                        setupOffBuffer();
-                    }
+                    setupOffBuffer();
                 }
                 return null;
             }
@@ -155,6 +147,9 @@ public class OffScenePanel extends javax.swing.JPanel implements SceneProcessor
             @Override
             public Object call() throws Exception {
                 SceneApplication.getApplication().getRenderManager().removePreView(viewPort);
+                if (readback != null) {
+                    readback.cleanup();
+                }
                 return null;
             }
         });
@@ -180,10 +175,10 @@ public class OffScenePanel extends javax.swing.JPanel implements SceneProcessor
     }
 
     private void setupOffBuffer() {
-        image = new BufferedImage(width, height,
-                BufferedImage.TYPE_4BYTE_ABGR);
-        cpuBuf = BufferUtils.createByteBuffer(width * height * 4);
-//        cpuArray = new byte[width * height * 4];
+        if (readback != null) {
+            readback.cleanup();
+        }
+        readback = new FrameReadback<>(width, height, 1, true, true, (Void tag, BufferedImage img) -> repaint());
         offBuffer = new FrameBuffer(width, height, 0);
         //setup framebuffer to use texture
         offBuffer.setDepthBuffer(Format.Depth);
@@ -230,34 +225,9 @@ public class OffScenePanel extends javax.swing.JPanel implements SceneProcessor
 
     @Override
     public void postFrame(FrameBuffer fb) {
-//        cpuBuf.clear();
-        SceneApplication.getApplication().getRenderer().readFrameBufferWithFormat(offBuffer, cpuBuf,Format.BGRA8);
-//
-//        // copy native memory to java memory
-//        cpuBuf.clear();
-//        cpuBuf.get(cpuArray);
-//        cpuBuf.clear();
-//
-//        // flip the components the way AWT likes them
-//        for (int i = 0; i < width * height * 4; i += 4) {
-//            byte b = cpuArray[i + 0];
-//            byte g = cpuArray[i + 1];
-//            byte r = cpuArray[i + 2];
-//            byte a = cpuArray[i + 3];
-//
-//            cpuArray[i + 0] = a;
-//            cpuArray[i + 1] = b;
-//            cpuArray[i + 2] = g;
-//            cpuArray[i + 3] = r;
-//        }
-
-        synchronized (imageLock) {
-            Screenshots.convertScreenShot(cpuBuf, image);
-//            WritableRaster wr = image.getRaster();
-//            DataBufferByte db = (DataBufferByte) wr.getDataBuffer();
-//            System.arraycopy(cpuArray, 0, db.getData(), 0, cpuArray.length);
-        }
-        repaint();
+        // the panel is repainted once the readback is done
+        readback.collect();
+        readback.read(SceneApplication.getApplication().getRenderer(), offBuffer, null);
     }
     
     @Override
@@ -273,8 +243,10 @@ public class OffScenePanel extends javax.swing.JPanel implements SceneProcessor
     public void paintComponent(Graphics gfx) {
         super.paintComponent(gfx);
         Graphics2D g2d = (Graphics2D) gfx;
-        synchronized (imageLock) {
-            if (image != null) {
+        FrameReadback<Void> current = readback;
+        BufferedImage image = current != null ? current.getImage() : null;
+        if (image != null) {
+            synchronized (image) {
                 tx.translate(0, -image.getHeight());
                 if (op == null) {
                     op = new AffineTransformOp(tx, AffineTransformOp.TYPE_NEAREST_NEIGHBOR);
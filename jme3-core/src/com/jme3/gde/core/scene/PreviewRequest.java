@@ -76,7 +76,7 @@ public class PreviewRequest {
     }
 
     /**
-     * @return the image
+     * @return the image, null if the preview could not be read back
      */
     public BufferedImage getImage() {
         return image;
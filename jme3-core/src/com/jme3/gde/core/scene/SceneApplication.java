@@ -44,11 +44,19 @@ import com.jme3.gde.core.util.notify.MessageType;
 import com.jme3.gde.core.util.notify.NotifyUtil;
 import com.jme3.input.FlyByCamera;
 import com.jme3.input.MouseInput;
+import com.jme3.input.RawInputListener;
 import com.jme3.input.controls.MouseAxisTrigger;
 import com.jme3.input.controls.MouseButtonTrigger;
+import com.jme3.input.event.JoyAxisEvent;
+import com.jme3.input.event.JoyButtonEvent;
+import com.jme3.input.event.KeyInputEvent;
+import com.jme3.input.event.MouseButtonEvent;
+import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.input.event.TouchEvent;
 import com.jme3.light.LightProbe;
 import com.jme3.light.PointLight;
 import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
 import com.jme3.math.Vector3f;
 import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.ViewPort;
@@ -68,7 +76,13 @@ import java.awt.event.ActionListener;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.netbeans.spi.project.LookupProvider;
@@ -137,10 +151,23 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
     private FakeApplication fakeApp;
     private LightProbe pbrLightProbe;
     private Spatial pbrSky;
+    /**
+     * When on demand rendering is enabled the scene is only updated and
+     * rendered when something requested it, see {@link #requestRender()}.
+     */
+    private volatile boolean onDemandRendering = false;
+    private final AtomicBoolean renderRequested = new AtomicBoolean(true);
+    private final Set<Object> runningAnimations = ConcurrentHashMap.newKeySet();
+    private volatile float continuousRenderTime = 0;
+    private final Vector3f lastCamLocation = new Vector3f();
+    private final Quaternion lastCamRotation = new Quaternion();
+    private int renderedFrames = 0;
+    private int skippedFrames = 0;
 
     public SceneApplication() {
         Logger.getLogger("com.jme3").addHandler(logHandler);
         useCanvas = "true".equals(NbPreferences.forModule(Installer.class).get("use_lwjgl_canvas", "false"));
+        onDemandRendering = "true".equals(NbPreferences.forModule(Installer.class).get("on_demand_rendering", "false"));
         Logger.getLogger("com.jme3.renderer.opengl.TextureUtil").setLevel(Level.SEVERE);
         try {
             AppSettings newSetting = new AppSettings(true);
@@ -256,6 +283,7 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
                 inputManager.addMapping("MouseButtonLeft", new MouseButtonTrigger(0));
                 inputManager.addMapping("MouseButtonMiddle", new MouseButtonTrigger(2));
                 inputManager.addMapping("MouseButtonRight", new MouseButtonTrigger(1));
+                inputManager.addRawInputListener(new RenderRequestInputListener());
                 started = true;
             } catch (Throwable e) {
                 showStartupErrorMessage(e);
@@ -296,10 +324,24 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
                 secondCounter += tpf;
                 int fps = (int) timer.getFrameRate();
                 if (secondCounter >= 1.0f) {
-                    fpsText.setText("Frames per second: " + fps);
+                    if (onDemandRendering) {
+                        fpsText.setText("Frames per second: " + fps + " (rendered: " + renderedFrames + ", skipped: " + skippedFrames + ")");
+                        if (statsGuiNode.getParent() != null) {
+                            requestRender();
+                        }
+                    } else {
+                        fpsText.setText("Frames per second: " + fps);
+                    }
+                    renderedFrames = 0;
+                    skippedFrames = 0;
                     secondCounter = 0.0f;
                 }
                 getStateManager().update(tpf);
+                if (!needsRender(tpf)) {
+                    skippedFrames++;
+                    return;
+                }
+                renderedFrames++;
                 toolsNode.updateLogicalState(tpf);
                 if (fakap != null) {
                     fakap.updateFake(tpf);
@@ -318,6 +360,7 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
                     fakap.renderFake();
                 }
                 getStateManager().render(renderManager);
+                previewProcessor.renderPreviews(renderManager, tpf);
                 renderManager.render(tpf, context.isRenderable());
                 getStateManager().postRender();
             } catch (NullPointerException e) {
@@ -328,6 +371,93 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
         }
     }
 
+    /**
+     * Checks if the current frame has to be rendered. Without on demand
+     * rendering this is always true, otherwise a frame is only rendered when
+     * it was requested, the camera moved, preview requests are pending or
+     * something is animating.
+     */
+    private boolean needsRender(float tpf) {
+        if (!onDemandRendering) {
+            return true;
+        }
+        boolean render = renderRequested.getAndSet(false);
+        if (!lastCamLocation.equals(cam.getLocation()) || !lastCamRotation.equals(cam.getRotation())) {
+            lastCamLocation.set(cam.getLocation());
+            lastCamRotation.set(cam.getRotation());
+            render = true;
+        }
+        if (continuousRenderTime > 0) {
+            continuousRenderTime -= tpf;
+            render = true;
+        }
+        if (!runningAnimations.isEmpty() || previewProcessor.hasPendingRequests()) {
+            render = true;
+        }
+        if (fakeApp != null && !fakeApp.getStateManager().getAddedStates().isEmpty()) {
+            render = true;
+        }
+        return render;
+    }
+
+    /**
+     * Requests that the next frame is rendered when on demand rendering is
+     * enabled (threadsafe). Tasks added via enqueue() request a frame
+     * automatically.
+     */
+    public void requestRender() {
+        renderRequested.set(true);
+    }
+
+    /**
+     * Keeps rendering continuously for the given amount of seconds, e.g. while
+     * emitted particles are alive (threadsafe).
+     *
+     * @param seconds the time to render continuously
+     */
+    public void renderContinuously(float seconds) {
+        continuousRenderTime = Math.max(continuousRenderTime, seconds);
+        requestRender();
+    }
+
+    /**
+     * Marks an animation as running or stopped, while any animation runs the
+     * scene is rendered continuously (threadsafe).
+     *
+     * @param source the object playing the animation, e.g. its explorer node
+     * @param running true if the animation is playing
+     */
+    public void setAnimationRunning(Object source, boolean running) {
+        if (running) {
+            runningAnimations.add(source);
+        } else {
+            runningAnimations.remove(source);
+        }
+        requestRender();
+    }
+
+    public boolean isOnDemandRendering() {
+        return onDemandRendering;
+    }
+
+    public void setOnDemandRendering(boolean onDemandRendering) {
+        this.onDemandRendering = onDemandRendering;
+        requestRender();
+    }
+
+    @Override
+    public <V> Future<V> enqueue(Callable<V> callable) {
+        Future<V> future = super.enqueue(callable);
+        requestRender();
+        return future;
+    }
+
+    @Override
+    public void reshape(int w, int h) {
+        super.reshape(w, h);
+        requestRender();
+    }
+
     //TODO: Lookup for Application
     @Override
     public Lookup createAdditionalLookup(Lookup baseContext) {
@@ -363,8 +493,25 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
         });
     }
 
+    /**
+     * Notifies the listeners about a batch of created previews with a single
+     * call to the AWT thread.
+     *
+     * @param requests the finished requests
+     */
+    public void notifyPreviews(final List<PreviewRequest> requests) {
+        java.awt.EventQueue.invokeLater(() -> {
+            for (PreviewRequest request : requests) {
+                for (SceneListener sceneViewerListener : listeners) {
+                    sceneViewerListener.previewCreated(request);
+                }
+            }
+        });
+    }
+
     public void createPreview(final PreviewRequest request) {
         previewProcessor.addRequest(request);
+        requestRender();
     }
 
     /**
@@ -419,6 +566,10 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
                 if (request.getToolNode() != null) {
                     toolsNode.attachChild(request.getToolNode());
                 }
+                //keep the assets of the opened scene in the cache
+                if (request.getManager() != null) {
+                    request.getManager().getMemoryTracker().pin(request, model);
+                }
                 request.setDisplayed(true);
                 return null;
             });
@@ -472,8 +623,12 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
                 }
                 toolsNode.detachAllChildren();
                 rootNode.detachAllChildren();
+                runningAnimations.clear();
                 // resetCam();
                 lastError = "";
+                if (oldRequest.getManager() != null) {
+                    oldRequest.getManager().getMemoryTracker().unpin(oldRequest);
+                }
                 oldRequest.setDisplayed(false);
                 return null;
             });
@@ -758,4 +913,47 @@ public class SceneApplication extends LegacyApplication implements LookupProvide
             stateManager.detach(stateManager.getState(NormalViewState.class));
         }
     }
+
+    /**
+     * Requests a new frame for every user input, tools and camera controllers
+     * react on these.
+     */
+    private class RenderRequestInputListener implements RawInputListener {
+
+        @Override
+        public void beginInput() {
+        }
+
+        @Override
+        public void endInput() {
+        }
+
+        @Override
+        public void onJoyAxisEvent(JoyAxisEvent evt) {
+        }
+
+        @Override
+        public void onJoyButtonEvent(JoyButtonEvent evt) {
+        }
+
+        @Override
+        public void onMouseMotionEvent(MouseMotionEvent evt) {
+            requestRender();
+        }
+
+        @Override
+        public void onMouseButtonEvent(MouseButtonEvent evt) {
+            requestRender();
+        }
+
+        @Override
+        public void onKeyEvent(KeyInputEvent evt) {
+            requestRender();
+        }
+
+        @Override
+        public void onTouchEvent(TouchEvent evt) {
+            requestRender();
+        }
+    }
 }
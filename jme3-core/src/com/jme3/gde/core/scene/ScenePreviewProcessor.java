@@ -44,85 +44,164 @@ import com.jme3.renderer.queue.RenderQueue;
 import com.jme3.scene.Node;
 import com.jme3.texture.FrameBuffer;
 import com.jme3.texture.Image.Format;
-import com.jme3.util.BufferUtils;
 import java.awt.image.BufferedImage;
-import java.awt.image.DataBufferByte;
-import java.awt.image.WritableRaster;
-import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
+ * Renders the PreviewRequests. As many requests as fit into the time budget
+ * are rendered per frame, one after the other into a pooled FrameBuffer of the
+ * requested size. The listeners are notified once per batch when all images of
+ * the batch have been read back.
  *
  * @author normenhansen
  */
 public class ScenePreviewProcessor implements SceneProcessor {
 
-    private static int width = 120, height = 120;
-    private ByteBuffer cpuBuf = BufferUtils.createByteBuffer(width * height * 4);
-    private byte[] cpuArray = new byte[width * height * 4];
+    /**
+     * Time per frame that can be spent on rendering previews, at least one
+     * preview is rendered per frame.
+     */
+    private static final long FRAME_BUDGET = 20000000L;
+    /**
+     * The maximum number of previews per frame, also the number of pixel
+     * buffers per size.
+     */
+    private static final int MAX_BATCH_SIZE = 32;
+    private static final int MAX_POOLED_SIZES = 4;
+    private static final Logger logger = Logger.getLogger(ScenePreviewProcessor.class.getName());
     protected Node previewNode = new Node("Preview Node");
     protected JmeSpatial previewSpat = null;
-    private FrameBuffer offBuffer;
-    private ViewPort offView;
-    private Camera offCamera;
+    private final Map<Long, PreviewTarget> targets = new LinkedHashMap<Long, PreviewTarget>(8, 0.75f, true);
     private final ConcurrentLinkedQueue<PreviewRequest> previewQueue = new ConcurrentLinkedQueue<PreviewRequest>();
-    private PreviewRequest currentPreviewRequest;    
+    private PreviewRequest currentPreviewRequest;
+    private PreviewBatch currentBatch;
+    private PreviewTarget currentTarget;
+    private boolean previewRead;
     private PointLight light;
 
     public void addRequest(PreviewRequest request) {
         previewQueue.add(request);
     }
 
-    private void update(float tpf) {
-        previewNode.updateLogicalState(tpf);
-        previewNode.updateGeometricState();
+    public boolean hasPendingRequests() {
+        if (!previewQueue.isEmpty()) {
+            return true;
+        }
+        for (PreviewTarget target : targets.values()) {
+            if (target.readback.hasPending()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public void setupPreviewView() {
-        if (offCamera == null) {
-            offCamera = new Camera(width, height);
-        } else {
-            offCamera.resize(width, height, true);
-        }
-
-        // create a pre-view. a view that is rendered before the main view
-        if (offView == null) {
-            offView = SceneApplication.getApplication().getRenderManager().createPreView("Offscreen View", offCamera);
-            ColorRGBA color = new ColorRGBA();
-            color.setAsSrgb(0.25f, 0.25f, 0.25f, 1.0f);
-            offView.setBackgroundColor(color);
-            offView.setClearFlags(true, true, true);
-            offView.addProcessor(this);
-            // setup framebuffer's scene
-            light = new PointLight();
-            light.setPosition(offCamera.getLocation());
-            light.setColor(ColorRGBA.White);
-            previewNode.addLight(light);
+        // setup framebuffer's scene
+        light = new PointLight();
+        light.setColor(ColorRGBA.White);
+        previewNode.addLight(light);
+    }
 
-            // attach the scene to the viewport to be rendered
-            offView.attachScene(previewNode);
+    /**
+     * Renders the queued preview requests until the queue is empty or the time
+     * budget for this frame is used up. Has to be called on the render thread
+     * before the main views are rendered.
+     *
+     * @param rm the RenderManager
+     * @param tpf time per frame
+     */
+    public void renderPreviews(RenderManager rm, float tpf) {
+        for (PreviewTarget target : targets.values()) {
+            target.readback.collect();
         }
+        if (previewQueue.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<PreviewRequest> requests = new ArrayList<PreviewRequest>();
+        // remaining starts at one so the batch can't complete while rendering
+        currentBatch = new PreviewBatch(requests);
+        currentBatch.remaining.set(1);
+        while (requests.size() < MAX_BATCH_SIZE
+                && (requests.isEmpty() || System.nanoTime() - start < FRAME_BUDGET)) {
+            PreviewRequest request = previewQueue.poll();
+            if (request == null) {
+                break;
+            }
+            requests.add(request);
+            currentBatch.remaining.incrementAndGet();
+            previewRead = false;
+            try {
+                renderPreview(rm, request, tpf);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Could not render preview.", e);
+            } finally {
+                if (!previewRead) {
+                    // no readback was started that would count this preview down
+                    currentBatch.remaining.decrementAndGet();
+                }
+            }
+        }
+        if (currentBatch.remaining.decrementAndGet() == 0) {
+            SceneApplication.getApplication().notifyPreviews(requests);
+        }
+        currentBatch = null;
+    }
 
-        cpuBuf = BufferUtils.createByteBuffer(width * height * 4);
-        cpuArray = new byte[width * height * 4];
-
-        // create offscreen framebuffer        
-        offBuffer = new FrameBuffer(width, height, 0);
-
-        //setup framebuffer's cam
+    private void renderPreview(RenderManager rm, PreviewRequest request, float tpf) {
+        PreviewRequest.CameraRequest camRequest = request.getCameraRequest();
+        currentTarget = getTarget(rm, camRequest.getWidth(), camRequest.getHeight());
+        Camera offCamera = currentTarget.camera;
         offCamera.setFrustumPerspective(45f, 1f, 1f, 1000f);
         offCamera.setLocation(new Vector3f(5f, 5f, 5f));
         offCamera.lookAt(new Vector3f(0f, 0f, 0f), Vector3f.UNIT_Y);
+        light.setPosition(offCamera.getLocation());
+        if (camRequest.location != null) {
+            offCamera.setLocation(camRequest.location);
+            light.setPosition(camRequest.location);
+        }
+        if (camRequest.rotation != null) {
+            offCamera.setRotation(camRequest.rotation);
+        }
+        if (camRequest.lookAt != null) {
+            offCamera.lookAt(camRequest.lookAt, camRequest.up);
+        }
+        currentPreviewRequest = request;
+        try {
+            previewNode.attachChild(request.getSpatial());
+            previewNode.updateLogicalState(tpf);
+            previewNode.updateGeometricState();
+            rm.renderViewPort(currentTarget.viewPort, tpf);
+        } finally {
+            previewNode.detachAllChildren();
+            currentPreviewRequest = null;
+        }
+    }
 
-        //setup framebuffer to use texture
-        offBuffer.setDepthBuffer(Format.Depth);        
-        offBuffer.setColorBuffer(Format.RGBA8);
-        offBuffer.setSrgb(true);
-
-        //set viewport to render to offscreen framebuffer
-        offView.setOutputFrameBuffer(offBuffer);
-
-
+    /**
+     * Gets the pooled FrameBuffer, camera and ViewPort for the given size.
+     */
+    private PreviewTarget getTarget(RenderManager rm, int width, int height) {
+        long key = ((long) width << 32) | height;
+        PreviewTarget target = targets.get(key);
+        if (target == null) {
+            if (targets.size() >= MAX_POOLED_SIZES) {
+                Iterator<PreviewTarget> it = targets.values().iterator();
+                it.next().cleanup();
+                it.remove();
+            }
+            target = new PreviewTarget(width, height);
+            targets.put(key, target);
+        }
+        return target;
     }
 
     @Override
@@ -141,33 +220,6 @@ public class ScenePreviewProcessor implements SceneProcessor {
 
     @Override
     public void preFrame(float f) {
-        currentPreviewRequest = previewQueue.poll();
-        if (currentPreviewRequest != null) {
-            boolean reInit = false;
-            if (currentPreviewRequest.getCameraRequest().getWidth() != width) {
-                reInit = true;
-                width = currentPreviewRequest.getCameraRequest().getWidth();
-            }
-            if (currentPreviewRequest.getCameraRequest().getHeight() != height) {
-                reInit = true;
-                height = currentPreviewRequest.getCameraRequest().getHeight();
-            }
-            if (reInit) {
-                setupPreviewView();
-            }
-            previewNode.attachChild(currentPreviewRequest.getSpatial());
-            if (currentPreviewRequest.getCameraRequest().location != null) {
-                offCamera.setLocation(currentPreviewRequest.getCameraRequest().location);
-                light.setPosition(currentPreviewRequest.getCameraRequest().location);
-            }
-            if (currentPreviewRequest.getCameraRequest().rotation != null) {
-                offCamera.setRotation(currentPreviewRequest.getCameraRequest().rotation);
-            }
-            if (currentPreviewRequest.getCameraRequest().lookAt != null) {
-                offCamera.lookAt(currentPreviewRequest.getCameraRequest().lookAt, currentPreviewRequest.getCameraRequest().up);
-            }
-        }
-        update(f);
     }
 
     @Override
@@ -177,37 +229,10 @@ public class ScenePreviewProcessor implements SceneProcessor {
     @Override
     public void postFrame(FrameBuffer fb) {
         if (currentPreviewRequest != null) {
-            cpuBuf.clear();
-            SceneApplication.getApplication().getRenderer().readFrameBufferWithFormat(offBuffer, cpuBuf, Format.BGRA8);
-
-            // copy native memory to java memory
-            cpuBuf.clear();
-            cpuBuf.get(cpuArray);
-            cpuBuf.clear();
-
-            // flip the components the way AWT likes them
-            for (int i = 0; i < width * height * 4; i += 4) {
-                byte b = cpuArray[i + 0];
-                byte g = cpuArray[i + 1];
-                byte r = cpuArray[i + 2];
-                byte a = cpuArray[i + 3];
-                
-                cpuArray[i + 0] = a;
-                cpuArray[i + 1] = b;
-                cpuArray[i + 2] = g;
-                cpuArray[i + 3] = r;
-            }
-
-            BufferedImage image = new BufferedImage(width, height,
-                    BufferedImage.TYPE_4BYTE_ABGR);
-            WritableRaster wr = image.getRaster();
-            DataBufferByte db = (DataBufferByte) wr.getDataBuffer();
-            System.arraycopy(cpuArray, 0, db.getData(), 0, cpuArray.length);
-
-            currentPreviewRequest.setImage(image);
-            previewNode.detachAllChildren();
-            SceneApplication.getApplication().notifyPreview(currentPreviewRequest);
-            currentPreviewRequest = null;
+            // the batch is delivered to notifyPreviews once all readbacks are done
+            currentTarget.readback.read(SceneApplication.getApplication().getRenderer(),
+                    currentTarget.frameBuffer, new BatchEntry(currentPreviewRequest, currentBatch));
+            previewRead = true;
         }
     }
     
@@ -218,5 +243,80 @@ public class ScenePreviewProcessor implements SceneProcessor {
 
     @Override
     public void cleanup() {
+        for (PreviewTarget target : targets.values()) {
+            target.cleanup();
+        }
+        targets.clear();
+    }
+
+    /**
+     * The camera, ViewPort and FrameBuffer used for previews of one size.
+     */
+    private class PreviewTarget {
+
+        private final Camera camera;
+        private final ViewPort viewPort;
+        private final FrameBuffer frameBuffer;
+        private final FrameReadback<BatchEntry> readback;
+
+        PreviewTarget(int width, int height) {
+            camera = new Camera(width, height);
+            // the view is not registered with the RenderManager, it is only
+            // rendered through renderPreviews
+            viewPort = new ViewPort("Offscreen View " + width + "x" + height, camera);
+            ColorRGBA color = new ColorRGBA();
+            color.setAsSrgb(0.25f, 0.25f, 0.25f, 1.0f);
+            viewPort.setBackgroundColor(color);
+            viewPort.setClearFlags(true, true, true);
+            viewPort.addProcessor(ScenePreviewProcessor.this);
+            viewPort.attachScene(previewNode);
+
+            frameBuffer = new FrameBuffer(width, height, 0);
+            frameBuffer.setDepthBuffer(Format.Depth);
+            frameBuffer.setColorBuffer(Format.RGBA8);
+            frameBuffer.setSrgb(true);
+            viewPort.setOutputFrameBuffer(frameBuffer);
+
+            readback = new FrameReadback<>(width, height, 1, MAX_BATCH_SIZE + 1, false, false, (BatchEntry entry, BufferedImage image) -> {
+                entry.request.setImage(image);
+                if (entry.batch.remaining.decrementAndGet() == 0) {
+                    SceneApplication.getApplication().notifyPreviews(entry.batch.requests);
+                }
+            });
+        }
+
+        /**
+         * Collects the pending readbacks and frees the GL objects of this
+         * target.
+         */
+        void cleanup() {
+            readback.cleanup();
+            // also deletes the color and depth render buffers
+            SceneApplication.getApplication().getRenderer().deleteFrameBuffer(frameBuffer);
+        }
+    }
+
+    /**
+     * The requests rendered in one frame.
+     */
+    private static class PreviewBatch {
+
+        private final List<PreviewRequest> requests;
+        private final AtomicInteger remaining = new AtomicInteger();
+
+        PreviewBatch(List<PreviewRequest> requests) {
+            this.requests = requests;
+        }
+    }
+
+    private static class BatchEntry {
+
+        private final PreviewRequest request;
+        private final PreviewBatch batch;
+
+        BatchEntry(PreviewRequest request, PreviewBatch batch) {
+            this.request = request;
+            this.batch = batch;
+        }
     }
 }
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.scene;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of scene objects whose values were changed by the SDK itself
+ * (tools, gizmos, undo/redo, property edits) so that the {@link NodeSyncAppState}
+ * only has to re-read the properties of those objects instead of polling every
+ * property of the selected node.<br>
+ * Code that modifies a scene object which might be shown in a property sheet
+ * should call {@link #invalidate(java.lang.Object)} with that object, or
+ * {@link #invalidateAll()} if it cannot tell which objects were affected.
+ * Invalidation can happen on any thread, the sync itself runs on the render
+ * thread. Other scene caches (like the search index of the SceneExplorer) can
+ * listen for invalidations via {@link InvalidationListener}.
+ *
+ * @see NodeSyncAppState
+ */
+public final class SceneSyncInvalidation {
+
+    private static final Set<Object> pending = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    private static boolean pendingAll = false;
+    private static final Set<Object> current = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+    private static boolean currentAll = false;
+    private static boolean syncing = false;
+    private static final AtomicLong reads = new AtomicLong();
+    private static final AtomicLong avoidedReads = new AtomicLong();
+    private static final List<InvalidationListener> listeners = new CopyOnWriteArrayList<InvalidationListener>();
+
+    private SceneSyncInvalidation() {
+    }
+
+    /**
+     * Marks all properties of the given scene object (Spatial, Light, Control,
+     * Filter..) as dirty so they are re-read on the next sync.
+     *
+     * @param target the modified object
+     */
+    public static void invalidate(Object target) {
+        if (target == null) {
+            return;
+        }
+        synchronized (pending) {
+            pending.add(target);
+        }
+        for (InvalidationListener listener : listeners) {
+            listener.invalidated(target);
+        }
+    }
+
+    /**
+     * Marks all properties as dirty, use this when a change can affect
+     * arbitrary objects, e.g. when undoing an edit.
+     */
+    public static void invalidateAll() {
+        synchronized (pending) {
+            pendingAll = true;
+        }
+        for (InvalidationListener listener : listeners) {
+            listener.invalidatedAll();
+        }
+    }
+
+    public static void addInvalidationListener(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeInvalidationListener(InvalidationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Checks if the properties of the given object have to be re-read. Outside
+     * of a sync started by the NodeSyncAppState every object counts as dirty.
+     * Has to be called on the render thread.
+     *
+     * @param target the object the property reads from
+     * @return true if the property value should be read from the scene
+     */
+    public static boolean isDirty(Object target) {
+        return !syncing || currentAll || current.contains(target);
+    }
+
+    /**
+     * Starts a sync that only re-reads the objects invalidated since the last
+     * sync. Has to be called on the render thread.
+     *
+     * @param force if true all properties are re-read (polling fallback)
+     * @return true if anything was invalidated, false if the sync can be skipped
+     */
+    static boolean beginSync(boolean force) {
+        synchronized (pending) {
+            current.addAll(pending);
+            pending.clear();
+            currentAll = pendingAll || force;
+            pendingAll = false;
+        }
+        syncing = true;
+        return currentAll || !current.isEmpty();
+    }
+
+    /**
+     * Starts a sync that re-reads all properties without consuming the
+     * pending invalidations, used for nodes that were just (de)selected.
+     */
+    static void beginFullSync() {
+        currentAll = true;
+        syncing = true;
+    }
+
+    static void endSync() {
+        syncing = false;
+        currentAll = false;
+        current.clear();
+    }
+
+    /**
+     * Records the outcome of a property sync, called by the scene properties.
+     *
+     * @param read true if the value was read from the scene, false if the
+     * read was avoided because the property was not dirty
+     */
+    public static void recordSync(boolean read) {
+        if (read) {
+            reads.incrementAndGet();
+        } else {
+            avoidedReads.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of property values read from the scene
+     */
+    public static long getReadCount() {
+        return reads.get();
+    }
+
+    /**
+     * @return the number of property reads that were skipped because the
+     * property was not invalidated
+     */
+    public static long getAvoidedReadCount() {
+        return avoidedReads.get();
+    }
+
+    /**
+     * Gets notified about invalidated scene objects, may be called on any
+     * thread.
+     */
+    public interface InvalidationListener {
+
+        public void invalidated(Object target);
+
+        public void invalidatedAll();
+    }
+}
@@ -39,6 +39,7 @@ import com.jme3.effect.ParticleEmitter;
 import com.jme3.gde.core.scene.SceneApplication;
 import com.jme3.material.Material;
 import com.jme3.math.ColorRGBA;
+import com.jme3.math.Quaternion;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Geometry;
 import com.jme3.scene.Mesh;
@@ -47,6 +48,9 @@ import com.jme3.scene.Spatial;
 import com.jme3.scene.debug.Arrow;
 import com.jme3.scene.debug.Grid;
 import com.jme3.scene.debug.WireBox;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 /**
@@ -63,10 +67,17 @@ public class SceneToolController extends AbstractAppState {
     protected Node cursor;
     protected Geometry grid;
     protected Spatial selected;
+    /**
+     * All selected spatials, the first one is the <code>selected</code>
+     * spatial the tools are aligned to.
+     */
+    protected List<Spatial> selection = Collections.emptyList();
     protected Spatial selectionShape;
     protected AssetManager manager;
     protected Material blueMat;
     protected AbstractCameraController camController;
+    private final BoundingBox selectionBound = new BoundingBox();
+    private final BoundingBox pointBound = new BoundingBox();
 
     private SceneToolControllerListener toolListener;
     
@@ -158,9 +169,47 @@ public class SceneToolController extends AbstractAppState {
         });
     }
 
+    /**
+     * Updates the selection to the given spatials, the first one is used as
+     * the primary selection the tools are aligned to.
+     *
+     * @param spatials the selected spatials
+     */
+    public void updateSelection(final List<Spatial> spatials) {
+        final List<Spatial> copy = new ArrayList<>(spatials);
+        SceneApplication.getApplication().enqueue(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                doUpdateSelection(copy);
+                return null;
+            }
+        });
+    }
+
+    public void doUpdateSelection(List<Spatial> spatials) {
+        List<Spatial> list = new ArrayList<>(spatials.size());
+        for (Spatial spat : spatials) {
+            if (spat != null && !list.contains(spat)) {
+                list.add(spat);
+            }
+        }
+        if (list.size() < 2) {
+            doUpdateSelection(list.isEmpty() ? null : list.get(0));
+            return;
+        }
+        if (selectionShape != null) {
+            detachSelectionShape();
+        }
+        selection = Collections.unmodifiableList(list);
+        selected = list.get(0);
+        if (showSelection) {
+            attachMergedSelection();
+        }
+    }
+
     public void doUpdateSelection(Spatial spat) {
         if (showSelection && spat != null) {
-            if (selected != spat) {
+            if (selected != spat || selection.size() > 1) {
                 if (selectionShape != null) {
                     detachSelectionShape();
                 }
@@ -176,6 +225,7 @@ public class SceneToolController extends AbstractAppState {
             }
         }
         selected = spat;
+        selection = spat != null ? Collections.singletonList(spat) : Collections.<Spatial>emptyList();
     }
 
     public void rebuildSelectionBox() {
@@ -183,14 +233,12 @@ public class SceneToolController extends AbstractAppState {
             SceneApplication.getApplication().enqueue(new Callable<Object>() {
                 @Override
                 public Object call() throws Exception {
-                    doUpdateSelection(selected);
+                    doUpdateSelection(selection);
                     return null;
                 }
             });
         } else {
-            if (selected != null) {
-                attachSelectionShape(selected);
-            }
+            attachCurrentSelection();
         }
     }
 
@@ -230,6 +278,59 @@ public class SceneToolController extends AbstractAppState {
         }
     }
 
+    private void attachCurrentSelection() {
+        if (selection.size() > 1) {
+            attachMergedSelection();
+        } else if (selected != null) {
+            attachSelectionShape(selected);
+        }
+    }
+
+    /**
+     * Attaches one box around the merged world bound of all selected
+     * spatials. The box mesh is a unit box that is placed and scaled in
+     * update, so moving the selection does not rebuild any mesh.
+     */
+    protected void attachMergedSelection() {
+        if (selectionShape != null) {
+            selectionShape.removeFromParent();
+            selectionShape = null;
+        }
+        final Geometry selectionGeometry = new Geometry("selection_geometry_sceneviewer", new WireBox(1, 1, 1));
+        selectionGeometry.setMaterial(blueMat);
+        updateMergedSelection(selectionGeometry);
+        selectionShape = selectionGeometry;
+        SceneApplication.getApplication().enqueue(new Callable<Object>() {
+            @Override
+            public Object call() throws Exception {
+                toolsNode.attachChild(selectionGeometry);
+                return null;
+            }
+        });
+    }
+
+    private void updateMergedSelection(Spatial shape) {
+        boolean empty = true;
+        for (Spatial spat : selection) {
+            BoundingVolume bound = spat.getWorldBound();
+            if (bound == null) {
+                pointBound.setCenter(spat.getWorldTranslation());
+                bound = pointBound;
+            }
+            if (empty) {
+                selectionBound.setCenter(bound.getCenter());
+                selectionBound.setXExtent(0);
+                selectionBound.setYExtent(0);
+                selectionBound.setZExtent(0);
+                empty = false;
+            }
+            selectionBound.mergeLocal(bound);
+        }
+        shape.setLocalTranslation(selectionBound.getCenter());
+        shape.setLocalRotation(Quaternion.IDENTITY);
+        shape.setLocalScale(selectionBound.getXExtent(), selectionBound.getYExtent(), selectionBound.getZExtent());
+    }
+
     protected void attachSelectionShape(Spatial spat) {
         if (selectionShape != null) {
             selectionShape.removeFromParent();
@@ -396,7 +497,7 @@ public class SceneToolController extends AbstractAppState {
     public void doSetShowSelection(boolean showSelection) {
         this.showSelection = showSelection;
         if (showSelection && selected != null && selectionShape == null) {
-            attachSelectionShape(selected);
+            attachCurrentSelection();
         } else if (!showSelection && selectionShape != null) {
             detachSelectionShape();
         }
@@ -433,6 +534,10 @@ public class SceneToolController extends AbstractAppState {
         if (selected == null || selectionShape == null) {
             return;
         }
+        if (selection.size() > 1) {
+            updateMergedSelection(selectionShape);
+            return;
+        }
 
         selectionShape.setLocalTranslation(selected.getWorldTranslation());
         selectionShape.setLocalRotation(selected.getWorldRotation());
@@ -444,6 +549,13 @@ public class SceneToolController extends AbstractAppState {
         return selected;
     }
 
+    /**
+     * @return all selected spatials, the first one is the selected spatial
+     */
+    public List<Spatial> getSelectedSpatials() {
+        return selection;
+    }
+
     public Spatial getSelectionShape() {
         return selectionShape;
     }
@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer;
+
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
+import com.jme3.scene.Spatial;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base for the per-spatial data kept for an open scene, e.g. the search index
+ * and the statistics. Collects the spatials that get invalidated via
+ * {@link SceneSyncInvalidation} so the subclass only has to update the entries
+ * of those spatials, the entries remember the children of their spatial so
+ * detached children can be dropped.<br>
+ * Invalidations may come from any thread, the entries are only accessed on
+ * the render thread.
+ *
+ * @param <E> the type of the entries
+ */
+abstract class SceneChangeTracker<E> implements SceneSyncInvalidation.InvalidationListener {
+
+    protected final Spatial root;
+    protected final Map<Spatial, E> entries = new IdentityHashMap<Spatial, E>();
+    private final Set<Spatial> dirty = Collections.newSetFromMap(new IdentityHashMap<Spatial, Boolean>());
+    private boolean dirtyAll = true;
+
+    protected SceneChangeTracker(Spatial root) {
+        this.root = root;
+        SceneSyncInvalidation.addInvalidationListener(this);
+    }
+
+    /**
+     * Stops listening for scene changes, call when the scene is closed.
+     */
+    public void dispose() {
+        SceneSyncInvalidation.removeInvalidationListener(this);
+        synchronized (dirty) {
+            dirty.clear();
+        }
+    }
+
+    public Spatial getRoot() {
+        return root;
+    }
+
+    @Override
+    public void invalidated(Object target) {
+        if (target instanceof Spatial) {
+            synchronized (dirty) {
+                dirty.add((Spatial) target);
+            }
+        }
+    }
+
+    @Override
+    public void invalidatedAll() {
+        synchronized (dirty) {
+            dirtyAll = true;
+        }
+    }
+
+    /**
+     * Takes the pending invalidations.
+     *
+     * @param changed receives the invalidated spatials
+     * @return true if the whole scene was invalidated and has to be rebuilt
+     */
+    protected final boolean takeChanges(Collection<Spatial> changed) {
+        synchronized (dirty) {
+            boolean rebuild = dirtyAll;
+            dirtyAll = false;
+            changed.addAll(dirty);
+            dirty.clear();
+            return rebuild;
+        }
+    }
+
+    /**
+     * @return the children of the spatial at the time the entry was created
+     */
+    protected abstract List<Spatial> getChildren(E entry);
+
+    /**
+     * Called for each entry removed by {@link #removeSubtree(Spatial)}.
+     */
+    protected void entryRemoved(Spatial spatial, E entry) {
+    }
+
+    protected final boolean isInScene(Spatial spatial) {
+        for (Spatial parent = spatial; parent != null; parent = parent.getParent()) {
+            if (parent == root) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the entries of the children that were detached from the
+     * spatial since its entry was created.
+     */
+    protected final void removeDetachedChildren(Spatial spatial) {
+        E entry = entries.get(spatial);
+        if (entry == null) {
+            return;
+        }
+        for (Spatial child : getChildren(entry)) {
+            if (child.getParent() != spatial) {
+                removeSubtree(child);
+            }
+        }
+    }
+
+    protected final void removeSubtree(Spatial spatial) {
+        E entry = entries.remove(spatial);
+        if (entry == null) {
+            return;
+        }
+        entryRemoved(spatial, entry);
+        for (Spatial child : getChildren(entry)) {
+            removeSubtree(child);
+        }
+    }
+}
@@ -39,14 +39,18 @@ import com.jme3.gde.core.scene.SceneListener;
 import com.jme3.gde.core.scene.SceneRequest;
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
+import com.jme3.gde.core.sceneexplorer.nodes.JmeSpatial;
 import com.jme3.gde.core.util.TerrainUtils;
 import com.jme3.renderer.Camera;
+import com.jme3.scene.Spatial;
 import java.beans.PropertyVetoException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.swing.SwingUtilities;
@@ -55,6 +59,7 @@ import org.openide.actions.CopyAction;
 import org.openide.actions.CutAction;
 import org.openide.actions.DeleteAction;
 import org.openide.actions.PasteAction;
+import org.openide.awt.StatusDisplayer;
 import org.openide.awt.UndoRedo;
 import org.openide.explorer.ExplorerManager;
 import org.openide.explorer.ExplorerUtils;
@@ -85,6 +90,8 @@ public final class SceneExplorerTopComponent extends TopComponent implements Exp
     private final Map<String, MaterialChangeProvider> materialChangeProviders = new HashMap<>();
     private final Map<String, List<MaterialChangeListener>> materialChangeListeners = new HashMap<>();
     private transient ExplorerManager explorerManager = new ExplorerManager();
+    private SceneSearchIndex searchIndex;
+    private static final int MAX_SEARCH_SELECTION = 500;
 
     public SceneExplorerTopComponent() {
         initComponents();
@@ -117,6 +124,8 @@ public final class SceneExplorerTopComponent extends TopComponent implements Exp
         explorerScrollPane = new BeanTreeView();
         jToolBar1 = new javax.swing.JToolBar();
         jButton1 = new javax.swing.JButton();
+        jTextField1 = new javax.swing.JTextField();
+        jButton2 = new javax.swing.JButton();
 
         jToolBar1.setFloatable(false);
         jToolBar1.setRollover(true);
@@ -132,6 +141,27 @@ public final class SceneExplorerTopComponent extends TopComponent implements Exp
         });
         jToolBar1.add(jButton1);
 
+        jTextField1.setText(org.openide.util.NbBundle.getMessage(SceneExplorerTopComponent.class, "SceneExplorerTopComponent.jTextField1.text")); // NOI18N
+        jTextField1.setToolTipText(org.openide.util.NbBundle.getMessage(SceneExplorerTopComponent.class, "SceneExplorerTopComponent.jTextField1.toolTipText")); // NOI18N
+        jTextField1.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jTextField1ActionPerformed(evt);
+            }
+        });
+        jToolBar1.add(jTextField1);
+
+        org.openide.awt.Mnemonics.setLocalizedText(jButton2, org.openide.util.NbBundle.getMessage(SceneExplorerTopComponent.class, "SceneExplorerTopComponent.jButton2.text")); // NOI18N
+        jButton2.setToolTipText(org.openide.util.NbBundle.getMessage(SceneExplorerTopComponent.class, "SceneExplorerTopComponent.jButton2.toolTipText")); // NOI18N
+        jButton2.setFocusable(false);
+        jButton2.setHorizontalTextPosition(javax.swing.SwingConstants.CENTER);
+        jButton2.setVerticalTextPosition(javax.swing.SwingConstants.BOTTOM);
+        jButton2.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                jButton2ActionPerformed(evt);
+            }
+        });
+        jToolBar1.add(jButton2);
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
         layout.setHorizontalGroup(
@@ -162,9 +192,19 @@ public final class SceneExplorerTopComponent extends TopComponent implements Exp
         });
         
     }//GEN-LAST:event_jButton1ActionPerformed
+
+    private void jTextField1ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jTextField1ActionPerformed
+        findSpatials(jTextField1.getText());
+    }//GEN-LAST:event_jTextField1ActionPerformed
+
+    private void jButton2ActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_jButton2ActionPerformed
+        findSpatials(jTextField1.getText());
+    }//GEN-LAST:event_jButton2ActionPerformed
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JScrollPane explorerScrollPane;
     private javax.swing.JButton jButton1;
+    private javax.swing.JButton jButton2;
+    private javax.swing.JTextField jTextField1;
     private javax.swing.JToolBar jToolBar1;
     // End of variables declaration//GEN-END:variables
 
@@ -281,6 +321,26 @@ public final class SceneExplorerTopComponent extends TopComponent implements Exp
         }
     }
 
+    /**
+     * Adds the given node to the selected nodes, or removes it if it is
+     * already selected.
+     *
+     * @param node the node to toggle
+     */
+    public void toggleSelectedNode(AbstractSceneExplorerNode node) {
+        List<Node> nodes = new ArrayList<>(Arrays.asList(explorerManager.getSelectedNodes()));
+        if (!nodes.remove(node)) {
+            nodes.add(node);
+            selectedSpatial = node;
+            lastSelected = node;
+        }
+        try {
+            explorerManager.setSelectedNodes(nodes.toArray(Node[]::new));
+        } catch (PropertyVetoException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+    }
+
     @Override
     public void sceneOpened(SceneRequest request) {
         final JmeNode node = request.getJmeNode();
@@ -299,11 +359,82 @@ public final class SceneExplorerTopComponent extends TopComponent implements Exp
             }
             setTerrainLodCamera(node);
         }
+        if (searchIndex != null) {
+            searchIndex.dispose();
+            searchIndex = null;
+        }
+        if (request.getRootNode() != null) {
+            searchIndex = new SceneSearchIndex(request.getRootNode());
+        }
     }
 
     @Override
     public void sceneClosed(SceneRequest request) {
         explorerManager.setRootContext(Node.EMPTY);
+        if (searchIndex != null) {
+            searchIndex.dispose();
+            searchIndex = null;
+        }
+    }
+
+    /**
+     * Selects all spatials of the open scene that match the given query, see
+     * {@link SceneSearchIndex}. Only the explorer nodes on the way to the
+     * matches are created.
+     *
+     * @param query the search query
+     */
+    public void findSpatials(final String query) {
+        final SceneSearchIndex index = searchIndex;
+        Node rootContext = explorerManager.getRootContext();
+        if (index == null || query == null || query.trim().isEmpty() || !(rootContext instanceof JmeNode)) {
+            return;
+        }
+        final JmeNode root = (JmeNode) rootContext;
+        SceneApplication.getApplication().enqueue(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final List<Spatial> result = index.find(query);
+                SwingUtilities.invokeLater(() -> selectSpatials(root, result));
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Selects the explorer nodes of the given spatials of the open scene, has
+     * to be called on the AWT thread.
+     *
+     * @param spatials the spatials to select
+     */
+    public void selectSpatials(List<Spatial> spatials) {
+        Node rootContext = explorerManager.getRootContext();
+        if (rootContext instanceof JmeNode) {
+            selectSpatials((JmeNode) rootContext, spatials);
+        }
+    }
+
+    private void selectSpatials(JmeNode root, List<Spatial> spatials) {
+        if (explorerManager.getRootContext() != root) {
+            return;
+        }
+        List<Node> nodes = new ArrayList<>();
+        for (Spatial spatial : spatials) {
+            if (nodes.size() >= MAX_SEARCH_SELECTION) {
+                break;
+            }
+            JmeSpatial node = root.getChild(spatial);
+            if (node != null) {
+                nodes.add(node);
+            }
+        }
+        try {
+            explorerManager.setSelectedNodes(nodes.toArray(Node[]::new));
+        } catch (PropertyVetoException ex) {
+            Exceptions.printStackTrace(ex);
+        }
+        StatusDisplayer.getDefault().setStatusText(NbBundle.getMessage(SceneExplorerTopComponent.class,
+                "MSG_SearchResult", spatials.size(), nodes.size()));
     }
 
     @Override
@@ -0,0 +1,300 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer;
+
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
+import com.jme3.light.Light;
+import com.jme3.material.Material;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Search index over the spatials of an open scene. Each spatial is indexed by
+ * name, type, material, material definition, mesh, controls, local lights and
+ * user data. The index is built once and then updated only for the spatials
+ * that get invalidated via {@link SceneSyncInvalidation} (tools, undo/redo,
+ * property edits and explorer refreshes).<br>
+ * A query is a whitespace separated list of terms which all have to match, a
+ * term is either <code>field:value</code> or a plain value that is matched
+ * against the name. Values match case insensitive as substrings, user data can
+ * be queried as <code>userdata:key</code> or <code>userdata:key=value</code>.
+ * Updating and querying the index has to happen on the render thread.
+ */
+public final class SceneSearchIndex extends SceneChangeTracker<SceneSearchIndex.Entry> {
+
+    private static final Logger logger = Logger.getLogger(SceneSearchIndex.class.getName());
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_TYPE = "type";
+    public static final String FIELD_MATERIAL = "material";
+    public static final String FIELD_MATDEF = "matdef";
+    public static final String FIELD_MESH = "mesh";
+    public static final String FIELD_CONTROL = "control";
+    public static final String FIELD_LIGHT = "light";
+    public static final String FIELD_USERDATA = "userdata";
+    private final Map<String, Map<String, Set<Spatial>>> fields = new HashMap<String, Map<String, Set<Spatial>>>();
+
+    public SceneSearchIndex(Spatial root) {
+        super(root);
+    }
+
+    /**
+     * Finds all spatials of the scene that match the given query.
+     *
+     * @param query the query, see the class description
+     * @return the matching spatials in no particular order
+     */
+    public List<Spatial> find(String query) {
+        update();
+        Set<Spatial> result = null;
+        for (String token : query.trim().split("\\s+")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            String field = FIELD_NAME;
+            String value = token;
+            int idx = token.indexOf(':');
+            if (idx > 0) {
+                field = token.substring(0, idx).toLowerCase(Locale.ROOT);
+                value = token.substring(idx + 1);
+            }
+            Set<Spatial> matches = match(field, value.toLowerCase(Locale.ROOT));
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        if (result == null) {
+            return Collections.emptyList();
+        }
+        List<Spatial> list = new ArrayList<Spatial>(result.size());
+        for (Spatial spatial : result) {
+            //spatials removed without a refresh of their parent are dropped here
+            if (isInScene(spatial)) {
+                list.add(spatial);
+            } else {
+                removeSubtree(spatial);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * @return the number of indexed spatials
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private Set<Spatial> match(String field, String value) {
+        Set<Spatial> matches = Collections.newSetFromMap(new IdentityHashMap<Spatial, Boolean>());
+        Map<String, Set<Spatial>> values = fields.get(field);
+        if (values == null) {
+            return matches;
+        }
+        Set<Spatial> exact = values.get(value);
+        if (exact != null) {
+            matches.addAll(exact);
+        }
+        for (Map.Entry<String, Set<Spatial>> entry : values.entrySet()) {
+            if (entry.getValue() != exact && entry.getKey().contains(value)) {
+                matches.addAll(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Applies all pending invalidations to the index.
+     */
+    public void update() {
+        List<Spatial> changed = new ArrayList<Spatial>();
+        if (takeChanges(changed)) {
+            long time = System.currentTimeMillis();
+            entries.clear();
+            fields.clear();
+            addSubtree(root);
+            logger.log(Level.FINE, "Indexed {0} spatials in {1} ms", new Object[]{entries.size(), System.currentTimeMillis() - time});
+            return;
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        //remove detached children first so moved spatials get added again below
+        for (Spatial spatial : changed) {
+            removeDetachedChildren(spatial);
+        }
+        for (Spatial spatial : changed) {
+            if (entries.containsKey(spatial)) {
+                reindex(spatial);
+            } else if (isInScene(spatial)) {
+                addSubtree(spatial);
+            }
+        }
+    }
+
+    private void reindex(Spatial spatial) {
+        Entry old = entries.get(spatial);
+        removeTerms(spatial, old);
+        Entry entry = new Entry(spatial);
+        entries.put(spatial, entry);
+        addTerms(spatial, entry);
+        for (Spatial child : entry.children) {
+            if (!entries.containsKey(child)) {
+                addSubtree(child);
+            }
+        }
+    }
+
+    private void addSubtree(Spatial spatial) {
+        spatial.depthFirstTraversal(s -> {
+            if (!entries.containsKey(s)) {
+                Entry entry = new Entry(s);
+                entries.put(s, entry);
+                addTerms(s, entry);
+            }
+        });
+    }
+
+    @Override
+    protected List<Spatial> getChildren(Entry entry) {
+        return entry.children;
+    }
+
+    @Override
+    protected void entryRemoved(Spatial spatial, Entry entry) {
+        removeTerms(spatial, entry);
+    }
+
+    private void addTerms(Spatial spatial, Entry entry) {
+        for (int i = 0; i < entry.terms.size(); i += 2) {
+            String field = entry.terms.get(i);
+            String value = entry.terms.get(i + 1);
+            Map<String, Set<Spatial>> values = fields.get(field);
+            if (values == null) {
+                values = new HashMap<String, Set<Spatial>>();
+                fields.put(field, values);
+            }
+            Set<Spatial> set = values.get(value);
+            if (set == null) {
+                set = Collections.newSetFromMap(new IdentityHashMap<Spatial, Boolean>());
+                values.put(value, set);
+            }
+            set.add(spatial);
+        }
+    }
+
+    private void removeTerms(Spatial spatial, Entry entry) {
+        for (int i = 0; i < entry.terms.size(); i += 2) {
+            Map<String, Set<Spatial>> values = fields.get(entry.terms.get(i));
+            if (values == null) {
+                continue;
+            }
+            Set<Spatial> set = values.get(entry.terms.get(i + 1));
+            if (set != null) {
+                set.remove(spatial);
+                if (set.isEmpty()) {
+                    values.remove(entry.terms.get(i + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * The indexed terms (field and value pairs) and the children of a
+     * spatial at the time it was indexed.
+     */
+    static final class Entry {
+
+        private final List<String> terms = new ArrayList<String>();
+        private final List<Spatial> children;
+
+        Entry(Spatial spatial) {
+            add(FIELD_NAME, spatial.getName());
+            for (Class<?> c = spatial.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+                add(FIELD_TYPE, c.getSimpleName());
+            }
+            if (spatial instanceof Geometry) {
+                Geometry geom = (Geometry) spatial;
+                Material material = geom.getMaterial();
+                if (material != null) {
+                    add(FIELD_MATERIAL, material.getAssetName() != null ? material.getAssetName() : material.getName());
+                    if (material.getMaterialDef() != null) {
+                        add(FIELD_MATDEF, material.getMaterialDef().getAssetName());
+                    }
+                }
+                Mesh mesh = geom.getMesh();
+                if (mesh != null) {
+                    add(FIELD_MESH, mesh.getClass().getSimpleName());
+                }
+            }
+            for (int i = 0; i < spatial.getNumControls(); i++) {
+                add(FIELD_CONTROL, spatial.getControl(i).getClass().getSimpleName());
+            }
+            for (Light light : spatial.getLocalLightList()) {
+                add(FIELD_LIGHT, light.getType().name());
+                add(FIELD_LIGHT, light.getName());
+            }
+            for (String key : spatial.getUserDataKeys()) {
+                add(FIELD_USERDATA, key);
+                add(FIELD_USERDATA, key + "=" + spatial.getUserData(key));
+            }
+            if (spatial instanceof Node) {
+                children = new ArrayList<Spatial>(((Node) spatial).getChildren());
+            } else {
+                children = Collections.emptyList();
+            }
+        }
+
+        private void add(String field, String value) {
+            if (value != null) {
+                terms.add(field);
+                terms.add(value.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer;
+
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
+import com.jme3.material.Material;
+import com.jme3.renderer.queue.RenderQueue.ShadowMode;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps per-subtree statistics (vertices, triangles, geometries, unique
+ * materials, shadow casters, local lights and LOD geometries) of an open
+ * scene. The statistics are computed once and then only updated for the
+ * spatials that get invalidated via {@link SceneSyncInvalidation}: the changed
+ * spatial is recomputed, attached or detached children are added or dropped
+ * and the aggregates of its parents are summed up again from their children.
+ * Updating and reading the statistics has to happen on the render thread.
+ */
+public final class SceneStatistics extends SceneChangeTracker<SceneStatistics.Stats> {
+
+    private static final Logger logger = Logger.getLogger(SceneStatistics.class.getName());
+    public SceneStatistics(Spatial root) {
+        super(root);
+    }
+
+    /**
+     * Applies all pending invalidations.
+     *
+     * @return true if any statistics changed
+     */
+    public boolean update() {
+        List<Spatial> changed = new ArrayList<Spatial>();
+        if (takeChanges(changed)) {
+            long time = System.currentTimeMillis();
+            entries.clear();
+            build(root);
+            logger.log(Level.FINE, "Computed statistics of {0} spatials in {1} ms", new Object[]{entries.size(), System.currentTimeMillis() - time});
+            return true;
+        }
+        if (changed.isEmpty()) {
+            return false;
+        }
+        //remove detached children first so moved spatials get added again below
+        for (Spatial spatial : changed) {
+            removeDetachedChildren(spatial);
+        }
+        for (Spatial spatial : changed) {
+            if (entries.containsKey(spatial)) {
+                refresh(spatial);
+                aggregateParents(spatial.getParent());
+            } else if (isInScene(spatial)) {
+                build(spatial);
+                aggregateParents(spatial.getParent());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param spatial a spatial of the scene
+     * @return the statistics of the subtree of the spatial or null if it is
+     * not part of the scene
+     */
+    public Stats getStats(Spatial spatial) {
+        return entries.get(spatial);
+    }
+
+    /**
+     * @return the statistics of all nodes of the scene
+     */
+    public List<Stats> getNodeStats() {
+        List<Stats> list = new ArrayList<Stats>();
+        for (Stats stat : entries.values()) {
+            if (stat.spatial instanceof Node) {
+                list.add(stat);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Computes the statistics of the whole subtree bottom-up.
+     */
+    private void build(Spatial spatial) {
+        spatial.depthFirstTraversal(s -> {
+            Stats stat = new Stats(s);
+            entries.put(s, stat);
+            aggregate(stat);
+        }, Spatial.DFSMode.POST_ORDER);
+    }
+
+    /**
+     * Recomputes the values of the spatial itself and adds attached children,
+     * detached children were already dropped by update. If the local shadow
+     * mode changed the whole subtree is recomputed as the children inherit
+     * it.
+     */
+    private void refresh(Spatial spatial) {
+        Stats old = entries.get(spatial);
+        if (old.localShadowMode != spatial.getLocalShadowMode()) {
+            removeSubtree(spatial);
+            build(spatial);
+            return;
+        }
+        Stats stat = new Stats(spatial);
+        entries.put(spatial, stat);
+        for (Spatial child : stat.children) {
+            if (!entries.containsKey(child)) {
+                build(child);
+            }
+        }
+        aggregate(stat);
+    }
+
+    @Override
+    protected List<Spatial> getChildren(Stats stat) {
+        return stat.children;
+    }
+
+    private void aggregateParents(Spatial parent) {
+        for (; parent != null; parent = parent.getParent()) {
+            Stats stat = entries.get(parent);
+            if (stat == null) {
+                return;
+            }
+            aggregate(stat);
+            if (parent == root) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sums up the subtree values from the values of the spatial itself and the
+     * subtree values of its children.
+     */
+    private void aggregate(Stats stat) {
+        stat.vertices = stat.ownVertices;
+        stat.triangles = stat.ownTriangles;
+        stat.geometries = stat.spatial instanceof Geometry ? 1 : 0;
+        stat.shadowCasters = stat.ownShadowCaster ? 1 : 0;
+        stat.lights = stat.ownLights;
+        stat.lodGeometries = stat.ownLodLevels > 0 ? 1 : 0;
+        stat.maxLodLevels = stat.ownLodLevels;
+        Set<Object> materials = new HashSet<Object>();
+        if (stat.ownMaterial != null) {
+            materials.add(stat.ownMaterial);
+        }
+        for (Spatial child : stat.children) {
+            Stats childStat = entries.get(child);
+            if (childStat == null) {
+                continue;
+            }
+            stat.vertices += childStat.vertices;
+            stat.triangles += childStat.triangles;
+            stat.geometries += childStat.geometries;
+            stat.shadowCasters += childStat.shadowCasters;
+            stat.lights += childStat.lights;
+            stat.lodGeometries += childStat.lodGeometries;
+            stat.maxLodLevels = Math.max(stat.maxLodLevels, childStat.maxLodLevels);
+            materials.addAll(childStat.materials);
+        }
+        stat.materials = materials;
+    }
+
+    /**
+     * The statistics of a spatial and its subtree.
+     */
+    public static final class Stats {
+
+        private final Spatial spatial;
+        private final List<Spatial> children;
+        private final ShadowMode localShadowMode;
+        private final long ownVertices;
+        private final long ownTriangles;
+        private final boolean ownShadowCaster;
+        private final int ownLights;
+        private final int ownLodLevels;
+        private final Object ownMaterial;
+        private long vertices;
+        private long triangles;
+        private int geometries;
+        private int shadowCasters;
+        private int lights;
+        private int lodGeometries;
+        private int maxLodLevels;
+        private Set<Object> materials = Collections.emptySet();
+
+        private Stats(Spatial spatial) {
+            this.spatial = spatial;
+            localShadowMode = spatial.getLocalShadowMode();
+            ownLights = spatial.getLocalLightList().size();
+            if (spatial instanceof Geometry) {
+                Geometry geom = (Geometry) spatial;
+                Mesh mesh = geom.getMesh();
+                ownVertices = mesh != null ? mesh.getVertexCount() : 0;
+                ownTriangles = mesh != null ? mesh.getTriangleCount() : 0;
+                ownLodLevels = mesh != null ? mesh.getNumLodLevels() : 0;
+                ShadowMode mode = geom.getShadowMode();
+                ownShadowCaster = mode == ShadowMode.Cast || mode == ShadowMode.CastAndReceive;
+                Material material = geom.getMaterial();
+                //materials loaded from the same j3m count once
+                ownMaterial = material == null ? null : material.getAssetName() != null ? material.getAssetName() : material;
+            } else {
+                ownVertices = 0;
+                ownTriangles = 0;
+                ownLodLevels = 0;
+                ownShadowCaster = false;
+                ownMaterial = null;
+            }
+            if (spatial instanceof Node) {
+                children = new ArrayList<Spatial>(((Node) spatial).getChildren());
+            } else {
+                children = Collections.emptyList();
+            }
+        }
+
+        public Spatial getSpatial() {
+            return spatial;
+        }
+
+        public long getVertices() {
+            return vertices;
+        }
+
+        public long getTriangles() {
+            return triangles;
+        }
+
+        /**
+         * @return the number of geometries, roughly the number of draw calls
+         */
+        public int getGeometries() {
+            return geometries;
+        }
+
+        public int getMaterials() {
+            return materials.size();
+        }
+
+        public int getShadowCasters() {
+            return shadowCasters;
+        }
+
+        public int getLights() {
+            return lights;
+        }
+
+        public int getLodGeometries() {
+            return lodGeometries;
+        }
+
+        public int getMaxLodLevels() {
+            return maxLodLevels;
+        }
+    }
+}
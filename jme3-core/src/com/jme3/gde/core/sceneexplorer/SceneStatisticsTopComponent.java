@@ -0,0 +1,320 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer;
+
+import com.jme3.gde.core.scene.PreviewRequest;
+import com.jme3.gde.core.scene.SceneApplication;
+import com.jme3.gde.core.scene.SceneListener;
+import com.jme3.gde.core.scene.SceneRequest;
+import com.jme3.scene.Spatial;
+import java.awt.BorderLayout;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JToolBar;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import org.netbeans.api.settings.ConvertAsProperties;
+import org.openide.awt.ActionID;
+import org.openide.awt.ActionReference;
+import org.openide.util.NbBundle.Messages;
+import org.openide.windows.TopComponent;
+
+/**
+ * Lists the nodes of the open scene with the statistics of their subtrees,
+ * sorted by triangle count so the subtrees worth batching or adding LOD to
+ * can be found. Double clicking a row selects the node in the SceneExplorer.
+ */
+@ConvertAsProperties(
+    dtd = "-//com.jme3.gde.core.sceneexplorer//SceneStatistics//EN",
+autostore = false)
+@TopComponent.Description(
+    preferredID = "SceneStatisticsTopComponent",
+persistenceType = TopComponent.PERSISTENCE_ALWAYS)
+@TopComponent.Registration(mode = "output", openAtStartup = false)
+@ActionID(category = "Window", id = "com.jme3.gde.core.sceneexplorer.SceneStatisticsTopComponent")
+@ActionReference(path = "Menu/Window")
+@TopComponent.OpenActionRegistration(
+    displayName = "#CTL_SceneStatisticsAction",
+preferredID = "SceneStatisticsTopComponent")
+@Messages({
+    "CTL_SceneStatisticsAction=Scene Statistics",
+    "CTL_SceneStatisticsTopComponent=Scene Statistics",
+    "HINT_SceneStatisticsTopComponent=Shows triangles, geometries, materials and lights per subtree of the open scene",
+    "BTN_SceneStatisticsRefresh=Recompute",
+    "LBL_SceneStatisticsNoScene=No scene opened",
+    "# {0} - number of nodes",
+    "# {1} - triangles",
+    "# {2} - geometries",
+    "# {3} - materials",
+    "LBL_SceneStatisticsTotal={0} nodes, {1} triangles, {2} geometries, {3} materials"
+})
+public final class SceneStatisticsTopComponent extends TopComponent implements SceneListener {
+
+    private static final String[] COLUMNS = new String[]{"Node", "Type", "Triangles", "% Triangles", "Vertices", "Geometries", "Materials", "Shadow Casters", "Lights", "LOD Geometries", "Max LOD"};
+    private static final Class<?>[] COLUMN_CLASSES = new Class<?>[]{String.class, String.class, Long.class, Float.class, Long.class, Integer.class, Integer.class, Integer.class, Integer.class, Integer.class, Integer.class};
+    private final RowTableModel model = new RowTableModel();
+    private final JTable table = new JTable(model);
+    private final JLabel totalLabel = new JLabel(Bundle.LBL_SceneStatisticsNoScene());
+    private final Timer timer = new Timer(2000, e -> refresh(false));
+    private SceneStatistics statistics;
+
+    public SceneStatisticsTopComponent() {
+        setName(Bundle.CTL_SceneStatisticsTopComponent());
+        setToolTipText(Bundle.HINT_SceneStatisticsTopComponent());
+        setLayout(new BorderLayout());
+        JToolBar toolBar = new JToolBar();
+        toolBar.setFloatable(false);
+        JButton refreshButton = new JButton(Bundle.BTN_SceneStatisticsRefresh());
+        refreshButton.addActionListener(e -> refresh(true));
+        toolBar.add(refreshButton);
+        toolBar.addSeparator();
+        toolBar.add(totalLabel);
+        add(toolBar, BorderLayout.NORTH);
+        table.setAutoCreateRowSorter(true);
+        table.getRowSorter().setSortKeys(Collections.singletonList(new RowSorter.SortKey(2, SortOrder.DESCENDING)));
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && table.getSelectedRow() >= 0) {
+                    Row row = model.rows.get(table.convertRowIndexToModel(table.getSelectedRow()));
+                    SceneExplorerTopComponent.findInstance().selectSpatials(Collections.singletonList(row.spatial));
+                }
+            }
+        });
+        add(new JScrollPane(table), BorderLayout.CENTER);
+    }
+
+    /**
+     * Updates the statistics on the render thread and shows them if anything
+     * changed.
+     *
+     * @param recompute if true all statistics are computed from scratch
+     */
+    private void refresh(final boolean recompute) {
+        final SceneStatistics stats = statistics;
+        if (stats == null) {
+            return;
+        }
+        if (recompute) {
+            stats.invalidatedAll();
+        }
+        //the model belongs to the EDT, only its state is passed on
+        final boolean shown = model.getRowCount() > 0;
+        SceneApplication.getApplication().enqueue(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                if (!stats.update() && shown) {
+                    return null;
+                }
+                SceneStatistics.Stats rootStats = stats.getStats(stats.getRoot());
+                final long total = rootStats != null ? rootStats.getTriangles() : 0;
+                final List<Row> rows = new ArrayList<>();
+                for (SceneStatistics.Stats stat : stats.getNodeStats()) {
+                    rows.add(new Row(stat, total));
+                }
+                final String label = rootStats == null ? Bundle.LBL_SceneStatisticsNoScene()
+                        : Bundle.LBL_SceneStatisticsTotal(rows.size(), total, rootStats.getGeometries(), rootStats.getMaterials());
+                SwingUtilities.invokeLater(() -> {
+                    if (statistics == stats) {
+                        model.setRows(rows);
+                        totalLabel.setText(label);
+                    }
+                });
+                return null;
+            }
+        });
+    }
+
+    private void setScene(SceneRequest request) {
+        if (statistics != null) {
+            statistics.dispose();
+            statistics = null;
+        }
+        model.setRows(new ArrayList<Row>());
+        totalLabel.setText(Bundle.LBL_SceneStatisticsNoScene());
+        if (request != null && request.getRootNode() != null) {
+            statistics = new SceneStatistics(request.getRootNode());
+            refresh(false);
+        }
+    }
+
+    @Override
+    public void sceneOpened(SceneRequest request) {
+        setScene(request);
+    }
+
+    @Override
+    public void sceneClosed(SceneRequest request) {
+        setScene(null);
+    }
+
+    @Override
+    public void previewCreated(PreviewRequest request) {
+    }
+
+    @Override
+    protected void componentOpened() {
+        SceneApplication.getApplication().addSceneListener(this);
+        setScene(SceneApplication.getApplication().getCurrentSceneRequest());
+    }
+
+    @Override
+    protected void componentClosed() {
+        SceneApplication.getApplication().removeSceneListener(this);
+        setScene(null);
+    }
+
+    @Override
+    protected void componentShowing() {
+        refresh(false);
+        timer.start();
+    }
+
+    @Override
+    protected void componentHidden() {
+        timer.stop();
+    }
+
+    void writeProperties(java.util.Properties p) {
+        p.setProperty("version", "1.0");
+    }
+
+    void readProperties(java.util.Properties p) {
+        String version = p.getProperty("version");
+    }
+
+    /**
+     * A snapshot of the statistics of one node, taken on the render thread.
+     */
+    private static class Row {
+
+        private final Spatial spatial;
+        private final String name;
+        private final String type;
+        private final long triangles;
+        private final float trianglesPercent;
+        private final long vertices;
+        private final int geometries;
+        private final int materials;
+        private final int shadowCasters;
+        private final int lights;
+        private final int lodGeometries;
+        private final int maxLodLevels;
+
+        public Row(SceneStatistics.Stats stats, long totalTriangles) {
+            spatial = stats.getSpatial();
+            name = spatial.getName();
+            type = spatial.getClass().getSimpleName();
+            triangles = stats.getTriangles();
+            trianglesPercent = totalTriangles > 0 ? 100f * triangles / totalTriangles : 0;
+            vertices = stats.getVertices();
+            geometries = stats.getGeometries();
+            materials = stats.getMaterials();
+            shadowCasters = stats.getShadowCasters();
+            lights = stats.getLights();
+            lodGeometries = stats.getLodGeometries();
+            maxLodLevels = stats.getMaxLodLevels();
+        }
+    }
+
+    private static class RowTableModel extends AbstractTableModel {
+
+        private List<Row> rows = new ArrayList<>();
+
+        public void setRows(List<Row> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return COLUMN_CLASSES[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            Row row = rows.get(rowIndex);
+            switch (columnIndex) {
+                case 0:
+                    return row.name;
+                case 1:
+                    return row.type;
+                case 2:
+                    return row.triangles;
+                case 3:
+                    return row.trianglesPercent;
+                case 4:
+                    return row.vertices;
+                case 5:
+                    return row.geometries;
+                case 6:
+                    return row.materials;
+                case 7:
+                    return row.shadowCasters;
+                case 8:
+                    return row.lights;
+                case 9:
+                    return row.lodGeometries;
+                case 10:
+                    return row.maxLodLevels;
+                default:
+                    return null;
+            }
+        }
+    }
+}
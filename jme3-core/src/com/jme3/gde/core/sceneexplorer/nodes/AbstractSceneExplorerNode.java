@@ -38,7 +38,6 @@ import com.jme3.gde.core.scene.SceneSyncListener;
 import com.jme3.gde.core.util.DynamicLookup;
 import com.jme3.gde.core.util.PropertyUtils;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -239,11 +238,8 @@ public abstract class AbstractSceneExplorerNode extends AbstractNode implements
      * @see AbstractFilterNode#createMethods(java.lang.Class, org.openide.nodes.Sheet.Set, java.lang.Object, java.lang.reflect.Method[]) 
      */
     protected void createFields(Class<?> c, Sheet.Set set, Object obj) throws SecurityException {
-        for (Field field : c.getDeclaredFields()) {
-            PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, field);
-            if (prop != null) {
-                set.put(makeProperty(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
-            }
+        for (PropertyDescriptor prop : PropertyUtils.getFieldPropertyDescriptors(c)) {
+            set.put(makeProperty(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
         }
     }
     
@@ -261,11 +257,8 @@ public abstract class AbstractSceneExplorerNode extends AbstractNode implements
      * @see AbstractFilterNode#createMethods(java.lang.Class, org.openide.nodes.Sheet.Set, java.lang.Object, java.lang.reflect.Method[]) 
      */
     protected void createEmbedFields(Class<?> c, Sheet.Set set, Object obj) throws SecurityException {
-        for (Field field : c.getDeclaredFields()) {
-            PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, field);
-            if (prop != null) {
-                set.put(makeEmbedProperty(obj, c, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
-            }
+        for (PropertyDescriptor prop : PropertyUtils.getFieldPropertyDescriptors(c)) {
+            set.put(makeEmbedProperty(obj, c, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
         }
     }
 
@@ -281,7 +274,7 @@ public abstract class AbstractSceneExplorerNode extends AbstractNode implements
             for (Property<?> property : propertySet.getProperties()) {
                 if(property instanceof SceneExplorerProperty){
                     SceneExplorerProperty<?> prop = (SceneExplorerProperty<?>)property;
-                    prop.syncValue();
+                    prop.syncDirtyValue();
                 }
             }
         }
@@ -45,7 +45,6 @@ import com.jme3.math.Vector3f;
 import java.awt.Image;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import org.openide.loaders.DataObject;
 import org.openide.nodes.Node;
@@ -145,11 +144,8 @@ public class JmeParticleEmitter extends JmeGeometry {
     }
 
     protected void createEmbedFields(Class c, Sheet.Set set, Object obj) throws SecurityException {
-        for (Field field : c.getDeclaredFields()) {
-            PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, field);
-            if (prop != null) {
-                set.put(makeEmbedProperty(obj, obj.getClass(), prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
-            }
+        for (PropertyDescriptor prop : PropertyUtils.getFieldPropertyDescriptors(c)) {
+            set.put(makeEmbedProperty(obj, obj.getClass(), prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName(), prop.getDisplayName()));
         }
     }
 
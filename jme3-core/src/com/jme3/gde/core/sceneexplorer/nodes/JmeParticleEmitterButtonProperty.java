@@ -46,6 +46,7 @@ public class JmeParticleEmitterButtonProperty extends PropertyEditorSupport impl
 
                             pe.getEmitter().killAllParticles();
                             pe.getEmitter().emitAllParticles();
+                            SceneApplication.getApplication().renderContinuously(pe.getEmitter().getHighLife());
                             return null;
                         }
                     });
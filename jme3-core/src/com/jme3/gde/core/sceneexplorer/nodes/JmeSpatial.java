@@ -51,6 +51,7 @@ import java.awt.datatransfer.Transferable;
 import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import javax.swing.Action;
@@ -106,18 +107,37 @@ public class JmeSpatial extends AbstractSceneExplorerNode {
         if (getLookup().lookup(spat.getClass()) == spat) {
             return this;
         }
-
-        Node[] children = getChildren().getNodes();
-        for (Node node: children) {
-            if (node instanceof JmeSpatial) {
-                JmeSpatial jmeSpatial = (JmeSpatial) node;
-                JmeSpatial found = jmeSpatial.getChild(spat);
-                if (found != null) {
-                    return found;
-                }
+        // follow the parents of the spatial so only the nodes on the way are created
+        LinkedList<Spatial> path = new LinkedList<>();
+        for (Spatial parent = spat; parent != null && parent != spatial; parent = parent.getParent()) {
+            path.addFirst(parent);
+        }
+        if (path.isEmpty() || path.getFirst().getParent() != spatial) {
+            return null;
+        }
+        Node current = this;
+        for (Spatial child : path) {
+            if (!(current.getChildren() instanceof JmeSpatialChildren)) {
+                return null;
+            }
+            current = ((JmeSpatialChildren) current.getChildren()).getNodeFor(child);
+            if (current == null) {
+                return null;
             }
         }
-        return null;
+        return current instanceof JmeSpatial ? (JmeSpatial) current : null;
+    }
+
+    /**
+     * @return the node of the parent spatial, skipping the range nodes of
+     * parents with many children
+     */
+    protected Node getParentSpatialNode() {
+        Node parent = getParentNode();
+        if (parent instanceof JmeSpatialRangeNode) {
+            parent = parent.getParentNode();
+        }
+        return parent;
     }
 
 //    protected SystemAction[] createActions() {
@@ -211,8 +231,8 @@ public class JmeSpatial extends AbstractSceneExplorerNode {
                     return null;
                 }
             }).get();
-            if (getParentNode() instanceof JmeNode) {
-                JmeNode node = ((JmeNode) getParentNode());
+            if (getParentSpatialNode() instanceof JmeNode) {
+                JmeNode node = ((JmeNode) getParentSpatialNode());
                 if (node != null) {
                     node.refresh(false);
                 }
@@ -278,7 +298,7 @@ public class JmeSpatial extends AbstractSceneExplorerNode {
                         }).get();
                         
                         // @TODO: not a good cast
-                        JmeNode node = ((JmeNode) getParentNode());
+                        JmeNode node = ((JmeNode) getParentSpatialNode());
                         if (node != null) {
                             node.refresh(false);
                         }
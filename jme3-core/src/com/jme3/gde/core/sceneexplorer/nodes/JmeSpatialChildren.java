@@ -31,8 +31,7 @@
  */
 package com.jme3.gde.core.sceneexplorer.nodes;
 
-import com.jme3.effect.ParticleEmitter;
-import com.jme3.font.BitmapText;
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
 import com.jme3.light.AmbientLight;
 import com.jme3.light.DirectionalLight;
 import com.jme3.light.Light;
@@ -44,20 +43,17 @@ import com.jme3.scene.Geometry;
 import com.jme3.scene.Mesh;
 import com.jme3.scene.Spatial;
 import com.jme3.scene.control.Control;
-import com.jme3.ui.Picture;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import org.openide.loaders.DataObject;
 import org.openide.nodes.Children;
 import org.openide.nodes.Node;
 import org.openide.util.Exceptions;
-import org.openide.util.Lookup;
 
 /**
  *
@@ -65,22 +61,58 @@ import org.openide.util.Lookup;
  */
 public class JmeSpatialChildren extends Children.Keys<Object> {
 
+    /**
+     * Nodes with more children than this show their children in groups of
+     * this size.
+     */
+    public static final int PAGE_SIZE = 1000;
     protected Spatial spatial;
     protected boolean readOnly = true;
     protected HashMap<Object, Node> map = new HashMap<>();
     private DataObject dataObject;
     boolean hasKeys; // We use this to cache the keys, unless refresh is called
+    private List<Object> keys;
+    private final Map<SpatialRange, JmeSpatialChildren> rangeChildren = new HashMap<>();
 
     public JmeSpatialChildren() {
     }
 
+    /**
+     * Creates the children of a spatial, the nodes are created lazily when
+     * they are displayed and can be released again when they are not
+     * displayed anymore.
+     */
     public JmeSpatialChildren(Spatial spatial) {
+        this(spatial, true);
+    }
+
+    protected JmeSpatialChildren(Spatial spatial, boolean lazy) {
+        super(lazy);
         this.spatial = spatial;
     }
 
+    private void updateKeys() {
+        List<Object> newKeys = createKeys();
+        keys = newKeys;
+        setKeys(newKeys != null ? newKeys : new ArrayList<>());
+        synchronized (rangeChildren) {
+            if (newKeys != null) {
+                rangeChildren.keySet().retainAll(newKeys);
+            }
+        }
+    }
+
     public void refreshChildren(boolean immediate) {
-        setKeys(createKeys());
+        SceneSyncInvalidation.invalidate(spatial);
+        updateKeys();
         refresh();
+        List<JmeSpatialChildren> ranges;
+        synchronized (rangeChildren) {
+            ranges = new ArrayList<>(rangeChildren.values());
+        }
+        for (JmeSpatialChildren range : ranges) {
+            range.refreshChildren(immediate);
+        }
         
         if (nodes != null) { //Added a null check just to make sure the UI don't crash
             
@@ -105,11 +137,56 @@ public class JmeSpatialChildren extends Children.Keys<Object> {
          * only rebuild the keys again, when someone calls refresh()
          */
         if (!hasKeys) {
-            setKeys(createKeys());
+            updateKeys();
             hasKeys = true;
         }
     }
 
+    /**
+     * Finds the node of a key without creating the nodes of the other keys,
+     * children of grouped ranges are looked up in the range.
+     *
+     * @param key the key, e.g. a child Spatial
+     * @return the node or null if the key has no node
+     */
+    public Node getNodeFor(Object key) {
+        if (keys == null) {
+            updateKeys();
+            hasKeys = true;
+        }
+        List<Object> current = keys;
+        if (current == null) {
+            return null;
+        }
+        int index = current.indexOf(key);
+        if (index >= 0 && index < getNodesCount()) {
+            Node node = getNodeAt(index);
+            if (node != null && node.getLookup().lookup(key.getClass()) == key) {
+                return node;
+            }
+            //nodes do not map 1:1 to keys, search them
+            for (Node child : getNodes()) {
+                if (child.getLookup().lookup(key.getClass()) == key) {
+                    return child;
+                }
+            }
+            return null;
+        }
+        if (key instanceof Spatial) {
+            for (int i = 0; i < current.size(); i++) {
+                Object rangeKey = current.get(i);
+                if (rangeKey instanceof SpatialRange && ((SpatialRange) rangeKey).contains((Spatial) key)) {
+                    Node rangeNode = getNodeAt(i);
+                    if (rangeNode != null && rangeNode.getChildren() instanceof JmeSpatialChildren) {
+                        return ((JmeSpatialChildren) rangeNode.getChildren()).getNodeFor(key);
+                    }
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * CreateKey finds all the Elements in our SceneGraph and returns them as "Keys".
      * Those Keys will then be processed by {@link #createNodes(java.lang.Object) } into SceneExplorer Nodes.
@@ -130,8 +207,17 @@ public class JmeSpatialChildren extends Children.Keys<Object> {
                     
                     if (spatial instanceof com.jme3.scene.Node) {
                         com.jme3.scene.Node n = (com.jme3.scene.Node)spatial;
-                        keys = new ArrayList<Object>(spatial.getLocalLightList().size() + spatial.getNumControls() + n.getChildren().size());
-                        keys.addAll(n.getChildren());
+                        List<Spatial> children = n.getChildren();
+                        if (children.size() > PAGE_SIZE) {
+                            // group the children so only the nodes of expanded ranges are created
+                            keys = new ArrayList<Object>(spatial.getLocalLightList().size() + spatial.getNumControls() + children.size() / PAGE_SIZE + 1);
+                            for (int from = 0; from < children.size(); from += PAGE_SIZE) {
+                                keys.add(new SpatialRange(n, from, Math.min(from + PAGE_SIZE, children.size())));
+                            }
+                        } else {
+                            keys = new ArrayList<Object>(spatial.getLocalLightList().size() + spatial.getNumControls() + children.size());
+                            keys.addAll(children);
+                        }
 //                        return keys;
                     } else {
                         // we only build keys when we now how many elements there will be.
@@ -170,39 +256,24 @@ public class JmeSpatialChildren extends Children.Keys<Object> {
 
     @Override
     protected Node[] createNodes(Object key) {
-        for (SceneExplorerNode di : Lookup.getDefault().lookupAll(SceneExplorerNode.class)) {
-            if (di.getExplorerObjectClass().getName().equals(key.getClass().getName())) {
-                Logger.getLogger(this.getClass().getName()).log(Level.FINE, "Found {0}", di.getExplorerNodeClass());
-                Node[] ret = di.createNodes(key, dataObject, readOnly);
-                if (ret != null) {
-                    return ret;
-                }
+        if (key instanceof SpatialRange) {
+            SpatialRange range = (SpatialRange) key;
+            RangeChildren children = new RangeChildren(range);
+            children.setReadOnly(readOnly);
+            children.setDataObject(dataObject);
+            synchronized (rangeChildren) {
+                rangeChildren.put(range, children);
             }
+            return new Node[]{new JmeSpatialRangeNode(range, children)};
+        }
+        Node[] nodes = SceneExplorerNodeRegistry.getDefault().createNodes(key, dataObject, readOnly);
+        if (nodes != null) {
+            return nodes;
         }
-
-        //TODO: go down in class hierarchy if class was not found, for now old checks are fallback
         if (key instanceof Spatial) {
             JmeSpatialChildren children = new JmeSpatialChildren((Spatial) key);
             children.setReadOnly(readOnly);
             children.setDataObject(dataObject);
-            if (key instanceof com.jme3.audio.AudioNode) {
-                return new Node[]{new JmeAudioNode((com.jme3.audio.AudioNode) key, children).setReadOnly(readOnly)};
-            }
-            if (key instanceof com.jme3.scene.Node) {
-                return new Node[]{new JmeNode((com.jme3.scene.Node) key, children).setReadOnly(readOnly)};
-            }
-            if (key instanceof BitmapText) {
-                return new Node[]{new JmeBitmapText((BitmapText) key, children).setReadOnly(readOnly)};
-            }
-            if (key instanceof Picture) {
-                return new Node[]{new JmePicture((Picture) key, children).setReadOnly(readOnly)};
-            }
-            if (key instanceof ParticleEmitter) {
-                return new Node[]{new JmeParticleEmitter((ParticleEmitter) key, children).setReadOnly(readOnly)};
-            }
-            if (key instanceof com.jme3.scene.Geometry) {
-                return new Node[]{new JmeGeometry((Geometry) key, children).setReadOnly(readOnly)};
-            }
             return new Node[]{new JmeSpatial((Spatial) key, children).setReadOnly(readOnly)};
         } else if (key instanceof LightSpatialPair) {
             LightSpatialPair pair = (LightSpatialPair) key;
@@ -238,4 +309,24 @@ public class JmeSpatialChildren extends Children.Keys<Object> {
     public void setDataObject(DataObject dataObject) {
         this.dataObject = dataObject;
     }
+
+    /**
+     * The children of a range of the children of a Node.
+     */
+    private static class RangeChildren extends JmeSpatialChildren {
+
+        private final SpatialRange range;
+
+        public RangeChildren(SpatialRange range) {
+            super(range.getParent(), true);
+            this.range = range;
+        }
+
+        @Override
+        protected List<Object> createKeys() {
+            List<Spatial> children = range.getParent().getChildren();
+            int size = children.size();
+            return new ArrayList<Object>(children.subList(Math.min(range.getFrom(), size), Math.min(range.getTo(), size)));
+        }
+    }
 }
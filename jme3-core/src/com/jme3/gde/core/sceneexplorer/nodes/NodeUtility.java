@@ -33,7 +33,6 @@ package com.jme3.gde.core.sceneexplorer.nodes;
 
 import com.jme3.scene.Node;
 import org.openide.loaders.DataObject;
-import org.openide.util.Lookup;
 
 /**
  *
@@ -58,12 +57,10 @@ public class NodeUtility {
     }
 
     private static JmeNode findNode(Node node, DataObject dataObject, boolean readOnly) {
-        for (SceneExplorerNode di : Lookup.getDefault().lookupAll(SceneExplorerNode.class)) {
-            if (di.getExplorerObjectClass().getName().equals(node.getClass().getName())) {
-                org.openide.nodes.Node[] hack = di.createNodes(node, dataObject, readOnly);
-                if (hack.length > 0 && hack[0] instanceof JmeNode) {
-                    return (JmeNode) hack[0];
-                }
+        for (SceneExplorerNode di : SceneExplorerNodeRegistry.getDefault().getFactories(node.getClass())) {
+            org.openide.nodes.Node[] hack = di.createNodes(node, dataObject, readOnly);
+            if (hack != null && hack.length > 0 && hack[0] instanceof JmeNode) {
+                return (JmeNode) hack[0];
             }
         }
         JmeSpatialChildren factory = new JmeSpatialChildren(node);
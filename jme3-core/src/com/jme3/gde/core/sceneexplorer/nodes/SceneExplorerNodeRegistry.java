@@ -0,0 +1,166 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer.nodes;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.loaders.DataObject;
+import org.openide.nodes.Node;
+import org.openide.util.Lookup;
+import org.openide.util.LookupEvent;
+import org.openide.util.LookupListener;
+
+/**
+ * Finds the SceneExplorerNode factories for the objects shown in the
+ * SceneExplorer. The factories are indexed by the name of their explorer
+ * object class, for each key class the factories of the nearest class in its
+ * hierarchy (the class itself, then its superclasses, then its interfaces)
+ * are resolved once and cached until the registered factories change. The
+ * cache is a ClassValue, so it does not keep the classes of project
+ * classloaders from being unloaded.
+ */
+public final class SceneExplorerNodeRegistry {
+
+    private static final Logger logger = Logger.getLogger(SceneExplorerNodeRegistry.class.getName());
+    private static final SceneExplorerNodeRegistry instance = new SceneExplorerNodeRegistry();
+    private final Lookup.Result<SceneExplorerNode> result;
+    private final LookupListener listener = (LookupEvent ev) -> clear();
+    private volatile ClassValue<List<SceneExplorerNode>> resolved = createResolved();
+    private volatile Map<String, List<SceneExplorerNode>> index;
+
+    private SceneExplorerNodeRegistry() {
+        result = Lookup.getDefault().lookupResult(SceneExplorerNode.class);
+        result.addLookupListener(listener);
+    }
+
+    public static SceneExplorerNodeRegistry getDefault() {
+        return instance;
+    }
+
+    private void clear() {
+        index = null;
+        resolved = createResolved();
+    }
+
+    private ClassValue<List<SceneExplorerNode>> createResolved() {
+        return new ClassValue<List<SceneExplorerNode>>() {
+            @Override
+            protected List<SceneExplorerNode> computeValue(Class<?> type) {
+                return resolve(type);
+            }
+        };
+    }
+
+    private Map<String, List<SceneExplorerNode>> getIndex() {
+        Map<String, List<SceneExplorerNode>> current = index;
+        if (current == null) {
+            current = new HashMap<>();
+            for (SceneExplorerNode di : result.allInstances()) {
+                try {
+                    Class<?> clazz = di.getExplorerObjectClass();
+                    if (clazz != null) {
+                        current.computeIfAbsent(clazz.getName(), n -> new ArrayList<>()).add(di);
+                    }
+                } catch (RuntimeException ex) {
+                    logger.log(Level.WARNING, "Cannot register SceneExplorerNode {0}: {1}", new Object[]{di.getClass().getName(), ex});
+                }
+            }
+            index = current;
+        }
+        return current;
+    }
+
+    /**
+     * Finds the factories for a class, the factories registered for the class
+     * itself or else for its nearest superclass or interface.
+     *
+     * @param clazz the class of the object to show
+     * @return the factories, empty if there are none
+     */
+    public List<SceneExplorerNode> getFactories(Class<?> clazz) {
+        return resolved.get(clazz);
+    }
+
+    private List<SceneExplorerNode> resolve(Class<?> clazz) {
+        Map<String, List<SceneExplorerNode>> current = getIndex();
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            List<SceneExplorerNode> factories = current.get(type.getName());
+            if (factories != null) {
+                return Collections.unmodifiableList(factories);
+            }
+        }
+        //breadth first through the interfaces of the class and its superclasses
+        Deque<Class<?>> open = new ArrayDeque<>();
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            Collections.addAll(open, type.getInterfaces());
+        }
+        while (!open.isEmpty()) {
+            Class<?> type = open.poll();
+            if (!visited.add(type)) {
+                continue;
+            }
+            List<SceneExplorerNode> factories = current.get(type.getName());
+            if (factories != null) {
+                return Collections.unmodifiableList(factories);
+            }
+            Collections.addAll(open, type.getInterfaces());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Creates the nodes for a key with the first factory of its nearest class
+     * that creates nodes for it.
+     *
+     * @return the nodes or null if no factory created nodes
+     */
+    public Node[] createNodes(Object key, DataObject dataObject, boolean readOnly) {
+        for (SceneExplorerNode di : getFactories(key.getClass())) {
+            logger.log(Level.FINE, "Found {0}", di.getExplorerNodeClass());
+            Node[] ret = di.createNodes(key, dataObject, readOnly);
+            if (ret != null) {
+                return ret;
+            }
+        }
+        return null;
+    }
+}
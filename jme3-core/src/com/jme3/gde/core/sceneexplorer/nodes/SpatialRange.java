@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer.nodes;
+
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+/**
+ * Key for a range of the children of a Node, used by JmeSpatialChildren to
+ * group the children of Nodes with very many children.
+ */
+public class SpatialRange {
+
+    private final Node parent;
+    private final int from;
+    private final int to;
+
+    public SpatialRange(Node parent, int from, int to) {
+        this.parent = parent;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * @return the Node whose children are grouped
+     */
+    public Node getParent() {
+        return parent;
+    }
+
+    /**
+     * @return the index of the first child in the range
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * @return the index after the last child in the range
+     */
+    public int getTo() {
+        return to;
+    }
+
+    /**
+     * @param spatial a spatial
+     * @return true if the spatial is a child of the parent in this range
+     */
+    public boolean contains(Spatial spatial) {
+        if (spatial == null || spatial.getParent() != parent) {
+            return false;
+        }
+        int index = parent.getChildIndex(spatial);
+        return index >= from && index < to;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof SpatialRange)) {
+            return false;
+        }
+        SpatialRange other = (SpatialRange) obj;
+        return parent == other.parent && from == other.from && to == other.to;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = System.identityHashCode(parent);
+        hash = 31 * hash + from;
+        hash = 31 * hash + to;
+        return hash;
+    }
+}
@@ -82,6 +82,11 @@ public abstract class AbstractNewControlAction implements NewControlAction {
                                     spatial.addControl(attachControl);
                                 }
 
+                                @Override
+                                public Object getSceneTarget() {
+                                    return spatial;
+                                }
+
                                 @Override
                                 public void awtRedo() {
                                     dataObject.setModified(true);
@@ -85,6 +85,11 @@ public abstract class AbstractNewControlWizardAction implements NewControlAction
                                     spatial.addControl(attachControl);
                                 }
 
+                                @Override
+                                public Object getSceneTarget() {
+                                    return spatial;
+                                }
+
                                 @Override
                                 public void awtRedo() {
                                     dataObject.setModified(true);
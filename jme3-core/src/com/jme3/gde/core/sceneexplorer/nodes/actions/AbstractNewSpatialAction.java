@@ -96,6 +96,11 @@ public abstract class AbstractNewSpatialAction implements NewSpatialAction {
                                         node.attachChild(attachSpatial);
                                     }
 
+                                    @Override
+                                    public Object getSceneTarget() {
+                                        return node;
+                                    }
+
                                     @Override
                                     public void awtRedo() {
                                         dataObject.setModified(true);
@@ -85,6 +85,11 @@ public abstract class AbstractNewSpatialWizardAction implements NewSpatialAction
                                     node.attachChild(attachSpatial);
                                 }
 
+                                @Override
+                                public Object getSceneTarget() {
+                                    return node;
+                                }
+
                                 @Override
                                 public void awtRedo() {
                                     dataObject.setModified(true);
@@ -35,6 +35,7 @@ import com.jme3.gde.core.scene.SceneApplication;
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
+import com.jme3.scene.Spatial;
 import java.util.concurrent.Callable;
 import javax.swing.undo.CannotRedoException;
 import javax.swing.undo.CannotUndoException;
@@ -74,21 +75,7 @@ public abstract class AbstractStatefulGLToolAction {
             Lookup lookup = Lookup.getDefault() ;
             SceneUndoRedoManager manager = lookup.lookup(SceneUndoRedoManager.class);
 
-            AbstractUndoableSceneEdit undoer = new AbstractUndoableSceneEdit() {
-
-                @Override
-                public void sceneUndo() throws CannotUndoException {
-                    doUndoTool(rootNode,object);
-                    setModified(rootNode, dataObject);
-                }
-
-                @Override
-                public void sceneRedo() throws CannotRedoException {
-                    doApplyTool(rootNode);
-                    setModified(rootNode, dataObject);
-                }
-
-            };
+            AbstractUndoableSceneEdit undoer = new ActionEdit(rootNode, dataObject, object);
             if (manager != null) // this is a temporary check, it should never be null but occasionally is
                 manager.addEdit(this, undoer);
             
@@ -109,7 +96,74 @@ public abstract class AbstractStatefulGLToolAction {
         });
     }
 
+    /**
+     * Estimates the memory kept alive by the undo data of this action, used
+     * for the memory budget of the undo history. By default the undo object
+     * is asked if it implements RetainedSizeEstimate.
+     *
+     * @param undoObject the object returned by doApplyTool
+     * @return the estimated size in bytes
+     */
+    protected long getUndoRetainedSize(Object undoObject) {
+        return ToolEdit.estimateSize(undoObject);
+    }
+
+    /**
+     * Called when the undo edit of this action is dropped from the history,
+     * the undo data can be freed.
+     *
+     * @param undoObject the object returned by doApplyTool
+     */
+    protected void releaseUndo(Object undoObject) {
+    }
+
+    /**
+     * Returns the scene object the undo and redo of this action change, only
+     * that object is invalidated afterwards. By default the spatial of the
+     * node the action was applied to.
+     *
+     * @param rootNode the node the action was applied to
+     * @return the changed scene object or null if any object can be affected
+     */
+    protected Object getUndoTarget(AbstractSceneExplorerNode rootNode) {
+        return rootNode.getLookup().lookup(Spatial.class);
+    }
+
     protected abstract Object doApplyTool(AbstractSceneExplorerNode rootNode);
 
     protected abstract void doUndoTool(AbstractSceneExplorerNode rootNode, Object undoObject);
+
+    private class ActionEdit extends ToolEdit {
+
+        ActionEdit(AbstractSceneExplorerNode rootNode, DataObject dataObject, Object undoObject) {
+            super(rootNode, dataObject, undoObject);
+        }
+
+        @Override
+        public void sceneUndo() throws CannotUndoException {
+            doUndoTool(rootNode, undoObject);
+            setModified(rootNode, dataObject);
+        }
+
+        @Override
+        public void sceneRedo() throws CannotRedoException {
+            doApplyTool(rootNode);
+            setModified(rootNode, dataObject);
+        }
+
+        @Override
+        public Object getSceneTarget() {
+            return getUndoTarget(rootNode);
+        }
+
+        @Override
+        public long getRetainedSize() {
+            return getUndoRetainedSize(undoObject);
+        }
+
+        @Override
+        protected void release() {
+            releaseUndo(undoObject);
+        }
+    }
 }
@@ -33,7 +33,6 @@ package com.jme3.gde.core.sceneexplorer.nodes.actions;
 
 import com.jme3.gde.core.scene.SceneApplication;
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
 import java.awt.event.ActionEvent;
 import java.util.concurrent.Callable;
@@ -61,49 +60,24 @@ public abstract class AbstractToolAction implements ToolAction {
                     public Void call() throws Exception {
                         final Object object = doApplyTool(rootNode);
                         if (object!=null) {
-                            Lookup.getDefault().lookup(SceneUndoRedoManager.class).addEdit(this, new AbstractUndoableSceneEdit() {
-
-                                @Override
-                                public void sceneUndo() throws CannotUndoException {
-                                    doUndoTool(rootNode,object);
-                                    setModified();
-                                }
-
-                                @Override
-                                public void sceneRedo() throws CannotRedoException {
-                                    doApplyTool(rootNode);
-                                    setModified();
-                                }
-
-                                @Override
-                                public void awtRedo() {
-                                    dataObject.setModified(true);
-                                    rootNode.refresh(true);
-                                }
-
-                                @Override
-                                public void awtUndo() {
-                                    dataObject.setModified(true);
-                                    rootNode.refresh(true);
-                                }
-                            });
-                            setModified();
+                            Lookup.getDefault().lookup(SceneUndoRedoManager.class).addEdit(this, new ActionEdit(rootNode, dataObject, object));
+                            setModified(rootNode, dataObject);
                         }
                         return null;
                     }
                 });
             }
+        };
+    }
 
-            protected void setModified() {
-                java.awt.EventQueue.invokeLater(new Runnable() {
+    private void setModified(final AbstractSceneExplorerNode rootNode, final DataObject dataObject) {
+        java.awt.EventQueue.invokeLater(new Runnable() {
 
-                    public void run() {
-                        dataObject.setModified(true);
-                        rootNode.refresh(true);
-                    }
-                });
+            public void run() {
+                dataObject.setModified(true);
+                rootNode.refresh(true);
             }
-        };
+        });
     }
 
     protected abstract Object doApplyTool(AbstractSceneExplorerNode rootNode);
@@ -115,4 +89,35 @@ public abstract class AbstractToolAction implements ToolAction {
     public Action getAction(AbstractSceneExplorerNode rootNode, DataObject dataObject) {
         return makeAction(rootNode, dataObject);
     }
+
+    private class ActionEdit extends ToolEdit {
+
+        ActionEdit(AbstractSceneExplorerNode rootNode, DataObject dataObject, Object undoObject) {
+            super(rootNode, dataObject, undoObject);
+        }
+
+        @Override
+        public void sceneUndo() throws CannotUndoException {
+            doUndoTool(rootNode, undoObject);
+            setModified(rootNode, dataObject);
+        }
+
+        @Override
+        public void sceneRedo() throws CannotRedoException {
+            doApplyTool(rootNode);
+            setModified(rootNode, dataObject);
+        }
+
+        @Override
+        public void awtRedo() {
+            dataObject.setModified(true);
+            rootNode.refresh(true);
+        }
+
+        @Override
+        public void awtUndo() {
+            dataObject.setModified(true);
+            rootNode.refresh(true);
+        }
+    }
 }
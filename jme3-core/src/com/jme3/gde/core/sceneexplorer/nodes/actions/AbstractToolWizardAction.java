@@ -35,6 +35,7 @@ import com.jme3.gde.core.scene.SceneApplication;
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
+import com.jme3.scene.Spatial;
 import java.awt.event.ActionEvent;
 import java.util.concurrent.Callable;
 import javax.swing.AbstractAction;
@@ -76,6 +77,11 @@ public abstract class AbstractToolWizardAction implements ToolAction {
                                     setModified();
                                 }
 
+                                @Override
+                                public Object getSceneTarget() {
+                                    return rootNode.getLookup().lookup(Spatial.class);
+                                }
+
                                 @Override
                                 public void awtRedo() {
                                     dataObject.setModified(true);
@@ -240,6 +240,11 @@ public class NewLightPopup extends AbstractAction implements Presenter.Popup {
                     undoParent.addLight(undoLight);
                 }
 
+                @Override
+                public Object getSceneTarget() {
+                    return undoParent;
+                }
+
                 @Override
                 public void awtRedo() {
                     dataObject.setModified(true);
@@ -182,6 +182,11 @@ public class NewSpatialPopup extends AbstractAction implements Presenter.Popup {
                     undoParent.attachChild(undoSpatial);
                 }
 
+                @Override
+                public Object getSceneTarget() {
+                    return undoParent;
+                }
+
                 @Override
                 public void awtRedo() {
                     dataObject.setModified(true);
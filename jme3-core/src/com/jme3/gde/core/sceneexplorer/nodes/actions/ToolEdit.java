@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer.nodes.actions;
+
+import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
+import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
+import com.jme3.gde.core.undoredo.RetainedSizeEstimate;
+import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
+import com.jme3.scene.Spatial;
+import org.openide.loaders.DataObject;
+
+/**
+ * Undo edit of the tool actions. The memory kept alive is taken from the undo
+ * object if it implements RetainedSizeEstimate, the undo object is released
+ * when the edit is dropped from the history.
+ */
+abstract class ToolEdit extends AbstractUndoableSceneEdit implements RetainedSizeEstimate {
+
+    protected final AbstractSceneExplorerNode rootNode;
+    protected final DataObject dataObject;
+    protected final Object undoObject;
+
+    ToolEdit(AbstractSceneExplorerNode rootNode, DataObject dataObject, Object undoObject) {
+        this.rootNode = rootNode;
+        this.dataObject = dataObject;
+        this.undoObject = undoObject;
+    }
+
+    /**
+     * @param undoObject the undo object of a tool action
+     * @return the size the undo object reports or the default edit size
+     */
+    static long estimateSize(Object undoObject) {
+        if (undoObject instanceof RetainedSizeEstimate) {
+            return ((RetainedSizeEstimate) undoObject).getRetainedSize();
+        }
+        return SceneUndoRedoManager.DEFAULT_EDIT_SIZE;
+    }
+
+    /**
+     * @return the spatial the tool was applied to
+     */
+    @Override
+    public Object getSceneTarget() {
+        return rootNode.getLookup().lookup(Spatial.class);
+    }
+
+    @Override
+    public long getRetainedSize() {
+        return estimateSize(undoObject);
+    }
+
+    @Override
+    public void die() {
+        super.die();
+        release();
+    }
+
+    /**
+     * Frees the undo data, called when the edit is dropped from the history.
+     */
+    protected void release() {
+    }
+}
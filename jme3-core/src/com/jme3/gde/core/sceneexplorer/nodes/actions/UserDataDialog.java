@@ -41,6 +41,7 @@ import com.jme3.export.Savable;
 import com.jme3.gde.core.assets.ProjectAssetManager;
 import com.jme3.gde.core.properties.SceneExplorerProperty;
 import com.jme3.gde.core.scene.SceneApplication;
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeSpatial;
 import com.jme3.gde.core.util.PropertyUtils;
 import com.jme3.scene.Spatial;
@@ -173,6 +174,7 @@ public class UserDataDialog extends javax.swing.JDialog {
                     } else if (userData != null) {
                         spatial.setUserData(name, userData);
                     }
+                    SceneSyncInvalidation.invalidate(spatial);
                     return null;
                 }
             }).get();
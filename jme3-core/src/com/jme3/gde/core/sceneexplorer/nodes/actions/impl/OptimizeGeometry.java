@@ -35,6 +35,8 @@ import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
 import com.jme3.gde.core.sceneexplorer.nodes.actions.AbstractToolAction;
 import com.jme3.gde.core.sceneexplorer.nodes.actions.ToolAction;
+import com.jme3.gde.core.undoredo.RetainedSizeEstimate;
+import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import java.util.ArrayList;
@@ -49,14 +51,24 @@ import jme3tools.optimize.GeometryBatchFactory;
 @org.openide.util.lookup.ServiceProvider(service = ToolAction.class)
 public class OptimizeGeometry extends AbstractToolAction {
 
-    private class OldNew {
+    private class OldNew implements RetainedSizeEstimate {
 
         public OldNew(List<Spatial> newChildren, List<Spatial> oldChildren) {
             this.newChildren = newChildren;
             this.oldChildren = oldChildren;
+            // the old children are only referenced by the undo history
+            for (Spatial spatial : oldChildren) {
+                retainedSize += RetainedSizeEstimate.estimateMeshSize(spatial);
+            }
         }
         List<Spatial> newChildren;
         List<Spatial> oldChildren;
+        long retainedSize = SceneUndoRedoManager.DEFAULT_EDIT_SIZE;
+
+        @Override
+        public long getRetainedSize() {
+            return retainedSize;
+        }
     }
 
     public OptimizeGeometry() {
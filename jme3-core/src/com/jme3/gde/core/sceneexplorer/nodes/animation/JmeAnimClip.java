@@ -109,6 +109,7 @@ public class JmeAnimClip extends AbstractSceneExplorerNode {
         } else {
             icon = IconList.animationPlay.getImage();
         }
+        SceneApplication.getApplication().setAnimationRunning(this, enabled);
         fireIconChange();
     }
 
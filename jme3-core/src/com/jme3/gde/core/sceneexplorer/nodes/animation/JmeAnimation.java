@@ -129,6 +129,7 @@ public class JmeAnimation extends AbstractSceneExplorerNode {
             icon = IconList.animationPlay.getImage();
 
         }
+        SceneApplication.getApplication().setAnimationRunning(this, playing);
         fireIconChange();
     }
 
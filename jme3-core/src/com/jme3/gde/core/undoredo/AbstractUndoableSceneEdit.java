@@ -32,6 +32,7 @@
 package com.jme3.gde.core.undoredo;
 
 import com.jme3.gde.core.scene.SceneApplication;
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import javax.swing.undo.AbstractUndoableEdit;
@@ -40,7 +41,9 @@ import javax.swing.undo.CannotUndoException;
 import org.openide.util.Exceptions;
 
 /**
- * Unodablededit for scene operations, executes sceneUndo and sceneRedo on scene thread
+ * Unodablededit for scene operations, executes sceneUndo and sceneRedo on scene thread.
+ * Edits that keep large data alive should implement {@link RetainedSizeEstimate}
+ * so the SceneUndoRedoManager can keep the history below its memory budget.
  * @author normenhansen
  */
 public abstract class AbstractUndoableSceneEdit extends AbstractUndoableEdit {
@@ -49,6 +52,18 @@ public abstract class AbstractUndoableSceneEdit extends AbstractUndoableEdit {
 
     public abstract void sceneRedo();
 
+    /**
+     * Returns the scene object this edit changes, used to invalidate only that
+     * object after undo/redo. Edits that attach or detach spatials return the
+     * parent node. Returns null by default which means the edit can affect
+     * any object and the whole scene is invalidated.
+     *
+     * @return the changed object or null
+     */
+    public Object getSceneTarget() {
+        return null;
+    }
+
     public void awtUndo(){
 
     }
@@ -65,6 +80,7 @@ public abstract class AbstractUndoableSceneEdit extends AbstractUndoableEdit {
 
                 public Void call() throws Exception {
                     sceneUndo();
+                    invalidateTarget();
                     return null;
                 }
             }).get();
@@ -84,6 +100,7 @@ public abstract class AbstractUndoableSceneEdit extends AbstractUndoableEdit {
 
                 public Void call() throws Exception {
                     sceneRedo();
+                    invalidateTarget();
                     return null;
                 }
             }).get();
@@ -94,4 +111,13 @@ public abstract class AbstractUndoableSceneEdit extends AbstractUndoableEdit {
         }
         awtRedo();
    }
+
+    private void invalidateTarget() {
+        Object target = getSceneTarget();
+        if (target != null) {
+            SceneSyncInvalidation.invalidate(target);
+        } else {
+            SceneSyncInvalidation.invalidateAll();
+        }
+    }
 }
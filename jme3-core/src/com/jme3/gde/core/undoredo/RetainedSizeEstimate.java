@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.undoredo;
+
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import java.nio.Buffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Optional interface for undoable edits and their undo data that can estimate
+ * how many bytes they keep alive. The {@link SceneUndoRedoManager} uses it to
+ * keep the undo history below its memory budget, edits that do not implement
+ * it are counted with {@link SceneUndoRedoManager#DEFAULT_EDIT_SIZE}.
+ */
+public interface RetainedSizeEstimate {
+
+    /**
+     * @return the estimated number of heap and off-heap bytes kept alive
+     */
+    public long getRetainedSize();
+
+    /**
+     * Estimates the size of the vertex data of all meshes in the given
+     * spatial, shared meshes are counted once.
+     *
+     * @param spatial the spatial
+     * @return the size of the mesh buffers in bytes
+     */
+    public static long estimateMeshSize(Spatial spatial) {
+        final Set<Mesh> meshes = Collections.newSetFromMap(new IdentityHashMap<Mesh, Boolean>());
+        final long[] size = new long[1];
+        spatial.depthFirstTraversal(spat -> {
+            if (spat instanceof Geometry) {
+                Mesh mesh = ((Geometry) spat).getMesh();
+                if (mesh != null && meshes.add(mesh)) {
+                    for (VertexBuffer vb : mesh.getBufferList()) {
+                        Buffer data = vb.getData();
+                        if (data != null) {
+                            size[0] += (long) data.capacity() * vb.getFormat().getComponentSize();
+                        }
+                    }
+                }
+            }
+        });
+        return size[0];
+    }
+}
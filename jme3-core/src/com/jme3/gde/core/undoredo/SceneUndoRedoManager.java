@@ -31,16 +31,44 @@
  */
 package com.jme3.gde.core.undoredo;
 
+import com.jme3.gde.core.Installer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javax.swing.event.UndoableEditEvent;
 import javax.swing.undo.UndoableEdit;
 import org.openide.awt.UndoRedo;
+import org.openide.util.NbPreferences;
 
 /**
+ * Undo manager for scene edits. Besides the edit count limit the history is
+ * kept below a memory budget, the estimated size of each edit is taken from
+ * {@link RetainedSizeEstimate} and the oldest edits are dropped when the
+ * budget is exceeded. The budget in MB is read from the
+ * <code>undo_memory_budget</code> preference of the core module, 0 disables
+ * it.
  *
  * @author normenhansen
  */
 public class SceneUndoRedoManager extends UndoRedo.Manager {
 
+    /**
+     * Size assumed for edits that do not implement RetainedSizeEstimate.
+     */
+    public static final long DEFAULT_EDIT_SIZE = 1024;
+    public static final String MEMORY_BUDGET_PREFERENCE = "undo_memory_budget";
+    private static final long DEFAULT_MEMORY_BUDGET_MB = 256;
+    private static final Logger logger = Logger.getLogger(SceneUndoRedoManager.class.getName());
+    private final Map<UndoableEdit, Long> editSizes = new IdentityHashMap<UndoableEdit, Long>();
+    private long retainedSize;
+    private long memoryBudget;
+
+    public SceneUndoRedoManager() {
+        long budget = NbPreferences.forModule(Installer.class).getLong(MEMORY_BUDGET_PREFERENCE, DEFAULT_MEMORY_BUDGET_MB);
+        memoryBudget = Math.max(0, budget) * 1024 * 1024;
+    }
+
     public void addEdit(final Object source, final UndoableEdit edit) {
         if (!java.awt.EventQueue.isDispatchThread()) {
             java.awt.EventQueue.invokeLater(new Runnable() {
@@ -54,6 +82,29 @@ public class SceneUndoRedoManager extends UndoRedo.Manager {
         }
     }
 
+    @Override
+    public synchronized boolean addEdit(UndoableEdit anEdit) {
+        boolean added = super.addEdit(anEdit);
+        if (added && lastEdit() == anEdit && !editSizes.containsKey(anEdit)) {
+            long size = estimateSize(anEdit);
+            editSizes.put(anEdit, size);
+            retainedSize += size;
+            trimToBudget();
+        }
+        return added;
+    }
+
+    @Override
+    protected void trimEdits(int from, int to) {
+        for (int i = from; i <= to && i < edits.size(); i++) {
+            Long size = editSizes.remove(edits.get(i));
+            if (size != null) {
+                retainedSize -= size;
+            }
+        }
+        super.trimEdits(from, to);
+    }
+
     @Override
     public void discardAllEdits() {
         if (!java.awt.EventQueue.isDispatchThread()) {
@@ -64,11 +115,66 @@ public class SceneUndoRedoManager extends UndoRedo.Manager {
                 }
             });
         } else {
-            super.discardAllEdits();
+            superDiscardAllEdits();
         }
     }
 
     private void superDiscardAllEdits() {
+        synchronized (this) {
+            editSizes.clear();
+            retainedSize = 0;
+        }
         super.discardAllEdits();
     }
+
+    private static long estimateSize(UndoableEdit edit) {
+        if (edit instanceof RetainedSizeEstimate) {
+            return Math.max(0, ((RetainedSizeEstimate) edit).getRetainedSize());
+        }
+        return DEFAULT_EDIT_SIZE;
+    }
+
+    /**
+     * Drops the oldest edits until the history fits the memory budget, the
+     * newest edit is always kept.
+     */
+    private void trimToBudget() {
+        if (memoryBudget <= 0 || retainedSize <= memoryBudget) {
+            return;
+        }
+        int trimmed = 0;
+        while (retainedSize > memoryBudget && edits.size() > 1 && indexOfNextAdd > 1) {
+            trimEdits(0, 0);
+            trimmed++;
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Dropped {0} undo edits, history now retains {1} bytes",
+                    new Object[]{trimmed, retainedSize});
+        }
+    }
+
+    /**
+     * @return the estimated number of bytes kept alive by the undo history
+     */
+    public synchronized long getRetainedSize() {
+        return retainedSize;
+    }
+
+    /**
+     * @return the memory budget in bytes, 0 if there is none
+     */
+    public synchronized long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Sets the memory budget of the undo history and drops the oldest edits
+     * if needed.
+     *
+     * @param memoryBudget the budget in bytes, 0 disables it
+     */
+    public synchronized void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = Math.max(0, memoryBudget);
+        trimToBudget();
+    }
 }
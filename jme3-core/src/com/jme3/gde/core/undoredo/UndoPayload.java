@@ -0,0 +1,204 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.undoredo;
+
+import com.jme3.util.BufferUtils;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact storage for large undo data like height deltas or image tiles.
+ * Payloads above a few KB are deflated, large results are moved off the heap
+ * into a direct buffer. The data is only expanded again when the edit is
+ * undone or redone.
+ */
+public final class UndoPayload implements RetainedSizeEstimate {
+
+    private static final int COMPRESS_THRESHOLD = 4 * 1024;
+    private static final int OFF_HEAP_THRESHOLD = 256 * 1024;
+    private static final int OVERHEAD = 48;
+    private final int length;
+    private final boolean compressed;
+    private byte[] heap;
+    private ByteBuffer direct;
+
+    private UndoPayload(byte[] data, int dataLength, int length, boolean compressed) {
+        this.length = length;
+        this.compressed = compressed;
+        if (dataLength >= OFF_HEAP_THRESHOLD) {
+            direct = BufferUtils.createByteBuffer(dataLength);
+            direct.put(data, 0, dataLength).flip();
+        } else if (dataLength == data.length) {
+            heap = data;
+        } else {
+            heap = new byte[dataLength];
+            System.arraycopy(data, 0, heap, 0, dataLength);
+        }
+    }
+
+    /**
+     * @param values the floats to store, not kept by the payload
+     * @return the payload
+     */
+    public static UndoPayload ofFloats(float[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4);
+        buffer.asFloatBuffer().put(values);
+        return of(buffer.array());
+    }
+
+    /**
+     * @param bytes the bytes to store, not kept by the payload
+     * @return the payload
+     */
+    public static UndoPayload ofBytes(byte[] bytes) {
+        return of(bytes.clone());
+    }
+
+    /**
+     * @param buffer the buffer, the remaining bytes are stored and the
+     * position of the buffer is not changed
+     * @return the payload
+     */
+    public static UndoPayload ofBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return of(bytes);
+    }
+
+    private static UndoPayload of(byte[] bytes) {
+        if (bytes.length >= COMPRESS_THRESHOLD) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                deflater.setInput(bytes);
+                deflater.finish();
+                // only keep the compressed data when it saves at least a quarter
+                byte[] out = new byte[bytes.length - bytes.length / 4];
+                int size = 0;
+                while (!deflater.finished() && size < out.length) {
+                    size += deflater.deflate(out, size, out.length - size);
+                }
+                if (deflater.finished()) {
+                    return new UndoPayload(out, size, bytes.length, true);
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        return new UndoPayload(bytes, bytes.length, bytes.length, false);
+    }
+
+    /**
+     * @return the stored floats
+     */
+    public float[] toFloats() {
+        float[] values = new float[length / 4];
+        ByteBuffer.wrap(toBytes()).asFloatBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * @return a copy of the stored bytes
+     */
+    public byte[] toBytes() {
+        byte[] data = data();
+        if (!compressed) {
+            return data == heap ? data.clone() : data;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            byte[] out = new byte[length];
+            int size = 0;
+            while (size < length && !inflater.finished()) {
+                size += inflater.inflate(out, size, length - size);
+            }
+            return out;
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt undo payload", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private byte[] data() {
+        if (heap != null) {
+            return heap;
+        }
+        if (direct == null) {
+            throw new IllegalStateException("Undo payload has been released");
+        }
+        byte[] data = new byte[direct.remaining()];
+        direct.duplicate().get(data);
+        return data;
+    }
+
+    /**
+     * @return the size of the stored data before compression
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return true if the data is kept in off-heap memory
+     */
+    public boolean isOffHeap() {
+        return direct != null;
+    }
+
+    @Override
+    public long getRetainedSize() {
+        if (heap != null) {
+            return OVERHEAD + heap.length;
+        }
+        return direct != null ? OVERHEAD + direct.capacity() : OVERHEAD;
+    }
+
+    /**
+     * Frees the stored data, the payload can not be read afterwards.
+     */
+    public void release() {
+        heap = null;
+        if (direct != null) {
+            BufferUtils.destroyDirectBuffer(direct);
+            direct = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "UndoPayload[" + length + " bytes, retained " + getRetainedSize()
+                + (compressed ? ", deflated" : "") + (direct != null ? ", off-heap" : "") + "]";
+    }
+}
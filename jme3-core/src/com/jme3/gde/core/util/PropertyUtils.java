@@ -35,6 +35,11 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  *
@@ -43,6 +48,58 @@ import java.lang.reflect.Method;
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class PropertyUtils {
 
+    private static final ClassValue<List<PropertyDescriptor>> fieldDescriptors = new ClassValue<List<PropertyDescriptor>>() {
+        @Override
+        protected List<PropertyDescriptor> computeValue(Class<?> c) {
+            List<PropertyDescriptor> list = new ArrayList<PropertyDescriptor>();
+            for (Field field : c.getDeclaredFields()) {
+                PropertyDescriptor prop = getPropertyDescriptor(c, field);
+                if (prop != null && prop.getReadMethod() != null && prop.getWriteMethod() != null) {
+                    list.add(prop);
+                }
+            }
+            return Collections.unmodifiableList(list);
+        }
+    };
+    private static final ClassValue<Map<Method, PropertyDescriptor>> methodDescriptors = new ClassValue<Map<Method, PropertyDescriptor>>() {
+        @Override
+        protected Map<Method, PropertyDescriptor> computeValue(Class<?> c) {
+            Map<Method, PropertyDescriptor> map = new LinkedHashMap<Method, PropertyDescriptor>();
+            for (Method meth : c.getDeclaredMethods()) {
+                PropertyDescriptor prop = getPropertyDescriptor(c, meth);
+                if (prop != null && prop.getReadMethod() != null && prop.getWriteMethod() != null) {
+                    map.put(meth, prop);
+                }
+            }
+            return Collections.unmodifiableMap(map);
+        }
+    };
+
+    /**
+     * Returns the read/write PropertyDescriptors for the declared fields of
+     * the given class. The descriptors are computed once per class and cached,
+     * they must not be modified.
+     *
+     * @param c The class to inspect
+     * @return The descriptors in field declaration order
+     */
+    public static List<PropertyDescriptor> getFieldPropertyDescriptors(Class c) {
+        return fieldDescriptors.get(c);
+    }
+
+    /**
+     * Returns the read/write PropertyDescriptors for the declared getter and
+     * setter methods of the given class, keyed by the method they were found
+     * from. The descriptors are computed once per class and cached, they must
+     * not be modified.
+     *
+     * @param c The class to inspect
+     * @return The descriptors in method declaration order
+     */
+    public static Map<Method, PropertyDescriptor> getMethodPropertyDescriptors(Class c) {
+        return methodDescriptors.get(c);
+    }
+
     public static PropertyDescriptor getPropertyDescriptor(Class c, Field field) {
         try {
             PropertyDescriptor prop = new PropertyDescriptor((String)field.getName(), c);
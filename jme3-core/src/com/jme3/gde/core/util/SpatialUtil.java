@@ -34,7 +34,8 @@ package com.jme3.gde.core.util;
 import com.jme3.anim.AnimComposer;
 import com.jme3.scene.Spatial;
 
-import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -85,7 +86,7 @@ public class SpatialUtil {
      */
     public static void storeOriginalPathUserData(Spatial spat) {
         //TODO: only stores for geometry atm
-        final ArrayList<String> geomMap = new ArrayList<>();
+        final Set<String> geomMap = new HashSet<>();
         if (spat != null) {
             spat.depthFirstTraversal(geom -> {
 
@@ -99,11 +100,10 @@ public class SpatialUtil {
                         geomName);
                 final Spatial curSpat = geom;
                 String id = SpatialUtil.getSpatialPath(curSpat);
-                if (geomMap.contains(id)) {
+                if (!geomMap.add(id)) {
                     LOGGER.log(Level.WARNING, "Cannot create unique name "
                             + "for Spatial {0}: {1}", new Object[]{geom, id});
                 }
-                geomMap.add(id);
                 geom.setUserData(SpatialUtil.ORIGINAL_PATH, id);
                 LOGGER.log(Level.FINE, "Set ORIGINAL_PATH for {0}", id);
             });
@@ -1,17 +1,33 @@
 package com.jme3.gde.core.util;
 
 import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Finds a previously marked spatial in the supplied root Spatial, creates
  * the name and path to be looked for from the given needle Spatial.
+ * <br>
+ * The marked spatials of a root are indexed by their ORIGINAL_NAME and
+ * ORIGINAL_PATH in one pass when the root is first searched, so finding all
+ * spatials of a model is linear instead of quadratic. Spatials that are
+ * attached to the root afterwards have to be added with
+ * {@link #add(Spatial)}.
  */
 public class TaggedSpatialFinder {
     
     private static final Logger LOGGER =
             Logger.getLogger(TaggedSpatialFinder.class.getName());
+    private Spatial indexedRoot;
+    private final Map<String, List<Spatial>> index = new HashMap<>();
+    private final Set<String> duplicates = new LinkedHashSet<>();
     
     /**
      * Finds a previously marked spatial in the supplied root Spatial, creates
@@ -40,25 +56,71 @@ public class TaggedSpatialFinder {
         if (name.equals(rootName) && path.equals(rootPath)) {
             return root;
         }
-        final SpatialHolder holder = new SpatialHolder();
-        root.depthFirstTraversal(spatial -> {
-            final String spatialName =
-                    spatial.getUserData(SpatialUtil.ORIGINAL_NAME);
-            final String spPath =
-                    spatial.getUserData(SpatialUtil.ORIGINAL_PATH);
-            if (name.equals(spatialName) && path.equals(spPath) && clazz.isInstance(spatial)) {
-                if (holder.spatial == null) {
-                    holder.spatial = spatial;
+        if (root != indexedRoot) {
+            index.clear();
+            indexedRoot = root;
+            add(root);
+        }
+        final List<Spatial> candidates = index.get(key(name, path));
+        if (candidates == null) {
+            return null;
+        }
+        Spatial found = null;
+        for (Spatial spatial : candidates) {
+            if (clazz.isInstance(spatial)) {
+                if (found == null) {
+                    found = spatial;
                 } else {
-                    LOGGER.log(Level.WARNING, "Found Spatial {0} twice in"
-                            + " {1}", new Object[]{path, root});
+                    duplicates.add(path);
+                    break;
                 }
             }
+        }
+        return found;
+    }
+
+    /**
+     * Adds the marked spatials of a subtree that was attached to the searched
+     * root to the index.
+     *
+     * @param spatial the attached spatial
+     */
+    public void add(final Spatial spatial) {
+        if (indexedRoot == null) {
+            return;
+        }
+        spatial.depthFirstTraversal(child -> {
+            final String spatialName =
+                    child.getUserData(SpatialUtil.ORIGINAL_NAME);
+            final String spPath =
+                    child.getUserData(SpatialUtil.ORIGINAL_PATH);
+            if (spatialName != null && spPath != null) {
+                index.computeIfAbsent(key(spatialName, spPath),
+                        k -> new ArrayList<>(1)).add(child);
+            }
         });
-        return holder.spatial;
     }
 
-    private static class SpatialHolder {
-        private Spatial spatial;
+    /**
+     * @return the paths that were found more than once since the finder was
+     * created
+     */
+    public Set<String> getDuplicates() {
+        return Collections.unmodifiableSet(duplicates);
+    }
+
+    /**
+     * Logs one warning listing all paths that were found more than once.
+     */
+    public void reportDuplicates() {
+        if (!duplicates.isEmpty()) {
+            LOGGER.log(Level.WARNING, "Found {0} Spatials more than once in "
+                    + "{1}, using the first one: {2}", new Object[]{
+                        duplicates.size(), indexedRoot, duplicates});
+        }
+    }
+
+    private static String key(final String name, final String path) {
+        return name + '\n' + path;
     }
 }
@@ -80,6 +80,7 @@ public class CopyMeshDataFromOriginal implements SpatialDataTransferInterface {
                 //attach to new node in own root
                 Node otherNode = (Node) other;
                 otherNode.attachChild(s);
+                finder.add(s);
                 LOGGER.log(Level.INFO, "Attached Node {0} with leaf "
                         + "{0}", new Object[]{other.getName(), leaf.getName()});
                 return;
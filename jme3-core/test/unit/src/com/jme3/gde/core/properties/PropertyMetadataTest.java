@@ -0,0 +1,271 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.Test;
+import com.jme3.effect.ParticleEmitter;
+import com.jme3.effect.ParticleMesh;
+import com.jme3.gde.core.util.PropertyUtils;
+import com.jme3.post.filters.BloomFilter;
+import com.jme3.post.filters.FogFilter;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Checks the cached PropertyMetadata against the reflective checks of
+ * SceneExplorerProperty and measures building and syncing the properties of
+ * a particle emitter and of filters both ways.<br>
+ * The reflective path introspects the declared fields and methods for every
+ * sheet, runs isPrimitive, canClone and canRecreate for every property and
+ * reads and copies values through Method.invoke, getMethod and
+ * getConstructor like SceneExplorerProperty did before the metadata cache.
+ */
+public class PropertyMetadataTest {
+
+    private static final int WARMUP = 200;
+    private static final int ROUNDS = 1000;
+
+    @Test
+    public void testMetadataMatchesReflectiveChecks() throws Exception {
+        for (Object obj : createObjects()) {
+            List<PropertyDescriptor> props = findProperties(obj);
+            assertFalse(props.isEmpty(), obj.getClass().getName());
+            for (PropertyDescriptor prop : props) {
+                String getter = prop.getReadMethod().getName();
+                SceneExplorerProperty<Object> property = new SceneExplorerProperty<Object>(obj, prop.getPropertyType(), getter, prop.getWriteMethod().getName());
+                String name = obj.getClass().getSimpleName() + "." + getter;
+                assertEquals(property.isPrimitive(obj, getter), property.primitive, name);
+                if (!property.primitive) {
+                    assertEquals(property.canClone(obj, getter), property.cloneable, name);
+                    assertEquals(property.canRecreate(obj, getter), property.instantiable, name);
+                } else {
+                    assertFalse(property.cloneable, name);
+                    assertFalse(property.instantiable, name);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSheetBuildAndSync() throws Exception {
+        for (Object obj : createObjects()) {
+            Set<String> getters = new HashSet<String>();
+            for (PropertyDescriptor prop : findProperties(obj)) {
+                getters.add(prop.getReadMethod().getName());
+            }
+            SceneExplorerProperty<Object> probe = new SceneExplorerProperty<Object>(obj, obj.getClass(), "getClass", null);
+            for (int i = 0; i < WARMUP; i++) {
+                buildReflective(obj, getters, probe);
+                buildCached(obj, getters);
+            }
+            long start = System.nanoTime();
+            List<ReflectiveProperty> reflective = null;
+            for (int i = 0; i < ROUNDS; i++) {
+                reflective = buildReflective(obj, getters, probe);
+            }
+            long reflectiveBuild = System.nanoTime() - start;
+            start = System.nanoTime();
+            List<SceneExplorerProperty<Object>> cached = null;
+            for (int i = 0; i < ROUNDS; i++) {
+                cached = buildCached(obj, getters);
+            }
+            long cachedBuild = System.nanoTime() - start;
+            assertEquals(reflective.size(), cached.size());
+
+            for (int i = 0; i < WARMUP; i++) {
+                syncReflective(reflective);
+                syncCached(cached);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                syncReflective(reflective);
+            }
+            long reflectiveSync = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                syncCached(cached);
+            }
+            long cachedSync = System.nanoTime() - start;
+            System.out.printf("%s, %d properties: build reflective %.1f us, cached %.1f us; sync reflective %.1f us, cached %.1f us%n",
+                    obj.getClass().getSimpleName(), cached.size(),
+                    reflectiveBuild / 1000f / ROUNDS, cachedBuild / 1000f / ROUNDS,
+                    reflectiveSync / 1000f / ROUNDS, cachedSync / 1000f / ROUNDS);
+        }
+    }
+
+    private static Object[] createObjects() {
+        return new Object[]{
+            new ParticleEmitter("Emitter", ParticleMesh.Type.Triangle, 30),
+            new BloomFilter(),
+            new FogFilter()
+        };
+    }
+
+    /**
+     * The read and write properties of the class hierarchy whose getter can
+     * be called on the fresh object.
+     */
+    private static List<PropertyDescriptor> findProperties(Object obj) {
+        List<PropertyDescriptor> list = new ArrayList<PropertyDescriptor>();
+        for (Class<?> c = obj.getClass(); c != Object.class; c = c.getSuperclass()) {
+            Set<Method> found = new HashSet<Method>();
+            for (PropertyDescriptor prop : PropertyUtils.getFieldPropertyDescriptors(c)) {
+                found.add(prop.getReadMethod());
+                found.add(prop.getWriteMethod());
+                addReadable(obj, prop, list);
+            }
+            for (PropertyDescriptor prop : PropertyUtils.getMethodPropertyDescriptors(c).values()) {
+                if (found.add(prop.getReadMethod()) & found.add(prop.getWriteMethod())) {
+                    addReadable(obj, prop, list);
+                }
+            }
+        }
+        return list;
+    }
+
+    private static void addReadable(Object obj, PropertyDescriptor prop, List<PropertyDescriptor> list) {
+        try {
+            prop.getReadMethod().invoke(obj);
+            list.add(prop);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+        }
+    }
+
+    private static List<SceneExplorerProperty<Object>> buildCached(Object obj, Set<String> getters) throws NoSuchMethodException {
+        List<SceneExplorerProperty<Object>> list = new ArrayList<SceneExplorerProperty<Object>>();
+        for (Class<?> c = obj.getClass(); c != Object.class; c = c.getSuperclass()) {
+            Set<Method> found = new HashSet<Method>();
+            for (PropertyDescriptor prop : PropertyUtils.getFieldPropertyDescriptors(c)) {
+                found.add(prop.getReadMethod());
+                found.add(prop.getWriteMethod());
+                if (getters.contains(prop.getReadMethod().getName())) {
+                    list.add(new SceneExplorerProperty<Object>(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName()));
+                }
+            }
+            for (PropertyDescriptor prop : PropertyUtils.getMethodPropertyDescriptors(c).values()) {
+                if ((found.add(prop.getReadMethod()) & found.add(prop.getWriteMethod())) && getters.contains(prop.getReadMethod().getName())) {
+                    list.add(new SceneExplorerProperty<Object>(obj, prop.getPropertyType(), prop.getReadMethod().getName(), prop.getWriteMethod().getName()));
+                }
+            }
+        }
+        return list;
+    }
+
+    private static List<ReflectiveProperty> buildReflective(Object obj, Set<String> getters, SceneExplorerProperty<Object> probe) throws NoSuchMethodException {
+        List<ReflectiveProperty> list = new ArrayList<ReflectiveProperty>();
+        for (Class<?> c = obj.getClass(); c != Object.class; c = c.getSuperclass()) {
+            Set<Method> found = new HashSet<Method>();
+            for (Field field : c.getDeclaredFields()) {
+                PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, field);
+                if (prop != null && prop.getReadMethod() != null && prop.getWriteMethod() != null) {
+                    found.add(prop.getReadMethod());
+                    found.add(prop.getWriteMethod());
+                    if (getters.contains(prop.getReadMethod().getName())) {
+                        list.add(new ReflectiveProperty(obj, prop, probe));
+                    }
+                }
+            }
+            for (Method m : c.getDeclaredMethods()) {
+                if (found.contains(m)) {
+                    continue;
+                }
+                PropertyDescriptor prop = PropertyUtils.getPropertyDescriptor(c, m);
+                if (prop != null && prop.getReadMethod() != null && prop.getWriteMethod() != null
+                        && (found.add(prop.getReadMethod()) & found.add(prop.getWriteMethod()))
+                        && getters.contains(prop.getReadMethod().getName())) {
+                    list.add(new ReflectiveProperty(obj, prop, probe));
+                }
+            }
+        }
+        return list;
+    }
+
+    private static void syncCached(List<SceneExplorerProperty<Object>> properties) {
+        for (SceneExplorerProperty<Object> property : properties) {
+            property.duplicateObject(property.getSuperValue());
+        }
+    }
+
+    private static void syncReflective(List<ReflectiveProperty> properties) throws ReflectiveOperationException {
+        for (ReflectiveProperty property : properties) {
+            property.duplicate(property.getter.invoke(property.instance));
+        }
+    }
+
+    /**
+     * A property as SceneExplorerProperty built it before the metadata cache.
+     */
+    private static class ReflectiveProperty {
+
+        final Object instance;
+        final Method getter;
+        final boolean primitive;
+        final boolean cloneable;
+        final boolean instantiable;
+
+        ReflectiveProperty(Object instance, PropertyDescriptor prop, SceneExplorerProperty<Object> probe) throws NoSuchMethodException {
+            this.instance = instance;
+            String getterName = prop.getReadMethod().getName();
+            getter = instance.getClass().getMethod(getterName);
+            primitive = probe.isPrimitive(instance, getterName);
+            if (!primitive) {
+                cloneable = probe.canClone(instance, getterName);
+                instantiable = probe.canRecreate(instance, getterName);
+            } else {
+                cloneable = false;
+                instantiable = false;
+            }
+        }
+
+        Object duplicate(Object a) {
+            if (a == null || primitive) {
+                return a;
+            }
+            try {
+                if (cloneable) {
+                    return a.getClass().getMethod("clone").invoke(a);
+                } else if (instantiable) {
+                    return a.getClass().getConstructor(a.getClass()).newInstance(a);
+                }
+            } catch (ReflectiveOperationException ex) {
+            }
+            return a;
+        }
+    }
+}
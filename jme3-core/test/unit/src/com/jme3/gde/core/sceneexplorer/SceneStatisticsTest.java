@@ -0,0 +1,117 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.core.sceneexplorer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.Test;
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.shape.Box;
+import com.jme3.scene.shape.Sphere;
+
+/**
+ * Checks the incrementally updated statistics against a full computation.
+ */
+public class SceneStatisticsTest {
+
+    private static Node createSubtree(String name) {
+        Node subtree = new Node(name);
+        subtree.attachChild(new Geometry(name + "-box", new Box(1, 1, 1)));
+        Node inner = new Node(name + "-inner");
+        inner.attachChild(new Geometry(name + "-sphere", new Sphere(8, 8, 1)));
+        subtree.attachChild(inner);
+        return subtree;
+    }
+
+    @Test
+    public void testReparentedSubtree() {
+        Node root = new Node("root");
+        Node[] parents = new Node[6];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = new Node("parent" + i);
+            root.attachChild(parents[i]);
+        }
+        Node moved = createSubtree("moved");
+        parents[0].attachChild(moved);
+        parents[1].attachChild(createSubtree("other"));
+        SceneStatistics statistics = new SceneStatistics(root);
+        try {
+            statistics.update();
+            //the order of the invalidated parents is up to the identity hash
+            //codes, moving through all pairs covers both orders
+            for (int from = 0; from < parents.length; from++) {
+                for (int to = 0; to < parents.length; to++) {
+                    if (from == to) {
+                        continue;
+                    }
+                    parents[from].attachChild(moved);
+                    SceneSyncInvalidation.invalidate(parents[from]);
+                    statistics.update();
+                    parents[to].attachChild(moved);
+                    SceneSyncInvalidation.invalidate(parents[from]);
+                    SceneSyncInvalidation.invalidate(parents[to]);
+                    statistics.update();
+                    assertSame(parents[to], statistics.getStats(moved).getSpatial().getParent());
+                    assertMatchesFullComputation(root, statistics);
+                }
+            }
+        } finally {
+            statistics.dispose();
+        }
+    }
+
+    private static void assertMatchesFullComputation(Node root, SceneStatistics statistics) {
+        final SceneStatistics expected = new SceneStatistics(root);
+        try {
+            expected.update();
+            root.depthFirstTraversal(spatial -> assertStats(expected.getStats(spatial), statistics.getStats(spatial), spatial));
+        } finally {
+            expected.dispose();
+        }
+    }
+
+    private static void assertStats(SceneStatistics.Stats expected, SceneStatistics.Stats actual, Spatial spatial) {
+        String name = spatial.getName();
+        assertNotNull(actual, name);
+        assertEquals(expected.getVertices(), actual.getVertices(), name);
+        assertEquals(expected.getTriangles(), actual.getTriangles(), name);
+        assertEquals(expected.getGeometries(), actual.getGeometries(), name);
+        assertEquals(expected.getMaterials(), actual.getMaterials(), name);
+        assertEquals(expected.getShadowCasters(), actual.getShadowCasters(), name);
+        assertEquals(expected.getLights(), actual.getLights(), name);
+        assertEquals(expected.getLodGeometries(), actual.getLodGeometries(), name);
+    }
+}
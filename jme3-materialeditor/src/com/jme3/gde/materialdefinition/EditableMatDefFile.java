@@ -129,9 +129,11 @@ public class EditableMatDefFile {
             List<Statement> sta = BlockLanguageParser.parse(in);
             matDefStructure = new MatDefBlock(sta.get(0));
             if (assetManager != null) {
-                AssetKey<MaterialDef> matDefKey = new AssetKey<MaterialDef>(assetManager.getRelativeAssetPath(assetManager.getRelativeAssetPath(matDefFile.getPath())));
+                String matDefName = assetManager.getRelativeAssetPath(matDefFile.getPath());
+                AssetKey<MaterialDef> matDefKey = new AssetKey<MaterialDef>(matDefName);
+                assetManager.getDependencyGraph().invalidate(matDefName);
                 assetManager.deleteFromCache(matDefKey);
-                materialDef = (MaterialDef) assetManager.loadAsset(assetManager.getRelativeAssetPath(matDefFile.getPath()));
+                materialDef = (MaterialDef) assetManager.loadAsset(matDefName);
             }
         } catch (Exception ex) {
             Throwable t = ex.getCause();
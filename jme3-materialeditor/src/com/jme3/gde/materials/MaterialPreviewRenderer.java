@@ -33,6 +33,7 @@ package com.jme3.gde.materials;
 
 import com.jme3.asset.AssetNotFoundException;
 import com.jme3.asset.MaterialKey;
+import com.jme3.gde.core.assets.AssetDependencyGraph;
 import com.jme3.gde.core.assets.ProjectAssetManager;
 import com.jme3.gde.core.scene.PreviewRequest;
 import com.jme3.gde.core.scene.SceneApplication;
@@ -50,6 +51,7 @@ import com.jme3.scene.shape.Box;
 import com.jme3.scene.shape.Quad;
 import com.jme3.scene.shape.Sphere;
 import com.jme3.util.mikktspace.MikktspaceTangentGenerator;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.logging.Level;
@@ -190,7 +192,17 @@ public class MaterialPreviewRenderer implements SceneListener {
     public Material reloadMaterial(Material mat) {
         Material dummy;
         try {
-            ((ProjectAssetManager) mat.getMaterialDef().getAssetManager()).clearCache();
+            String matDefName = mat.getMaterialDef().getAssetName();
+            if (matDefName != null) {
+                // the shaders and their includes are dependencies of the
+                // j3md, invalidating it alone would keep them cached
+                AssetDependencyGraph graph = ((ProjectAssetManager) mat.getMaterialDef().getAssetManager()).getDependencyGraph();
+                Set<String> shaderNames = graph.getTransitiveDependencies(matDefName);
+                graph.invalidate(matDefName);
+                for (String shaderName : shaderNames) {
+                    graph.invalidate(shaderName);
+                }
+            }
 
             //creating a dummy mat with the mat def of the mat to reload
             dummy = new Material(mat.getMaterialDef());
@@ -261,10 +273,12 @@ public class MaterialPreviewRenderer implements SceneListener {
     @Override
     public void previewCreated(PreviewRequest request) {
         if (request.getRequester() == this) {
-            final ImageIcon icon = new ImageIcon(request.getImage());
-            java.awt.EventQueue.invokeLater(() -> {
-                label.setIcon(icon);
-            });
+            if (request.getImage() != null) {
+                final ImageIcon icon = new ImageIcon(request.getImage());
+                java.awt.EventQueue.invokeLater(() -> {
+                    label.setIcon(icon);
+                });
+            }
             previewRequested = false;
         }
     }
@@ -38,6 +38,7 @@ import com.jme3.gde.core.scene.SceneApplication;
 import com.jme3.gde.core.scene.controller.SceneToolController;
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
+import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.scenecomposer.gizmo.GizmoFactory;
 import com.jme3.gde.scenecomposer.tools.shortcuts.ShortcutManager;
 import com.jme3.input.event.KeyInputEvent;
@@ -77,6 +78,7 @@ public class SceneComposerToolController extends SceneToolController {
     private boolean selectTerrain = false;
     private boolean selectGeometries = false;
     private TransformationType transformationType = TransformationType.local;
+    private SelectionTransform selectionTransform;
     
     private final float fifteenDegs = FastMath.HALF_PI / 6f;
 
@@ -201,6 +203,61 @@ public class SceneComposerToolController extends SceneToolController {
         this.selected = selected;
     }
 
+    @Override
+    public void doUpdateSelection(Spatial spat) {
+        super.doUpdateSelection(spat);
+        selectionTransform = null;
+    }
+
+    @Override
+    public void doUpdateSelection(List<Spatial> spatials) {
+        super.doUpdateSelection(spatials);
+        selectionTransform = null;
+    }
+
+    /**
+     * Remembers the current transforms of all selected spatials, following
+     * updates of the selected spatial are applied to the whole selection
+     * until {@link #endSelectionTransform()} or
+     * {@link #cancelSelectionTransform()} is called.
+     */
+    public void beginSelectionTransform() {
+        selectionTransform = selected != null ? new SelectionTransform(selected, selection) : null;
+    }
+
+    /**
+     * Ends the current selection transformation.
+     *
+     * @return one undo edit for all transformed spatials or null if nothing
+     * changed
+     */
+    public AbstractUndoableSceneEdit endSelectionTransform() {
+        if (selectionTransform == null) {
+            return null;
+        }
+        AbstractUndoableSceneEdit edit = selectionTransform.finish(this);
+        selectionTransform = null;
+        return edit;
+    }
+
+    /**
+     * Puts all spatials of the current selection transformation back to
+     * their start transform.
+     */
+    public void cancelSelectionTransform() {
+        if (selectionTransform != null) {
+            selectionTransform.restore();
+            selectionTransform = null;
+        }
+    }
+
+    private SelectionTransform getSelectionTransform() {
+        if (selectionTransform == null || selectionTransform.getPrimary() != selected) {
+            beginSelectionTransform();
+        }
+        return selectionTransform;
+    }
+
     public void setNeedsSave(boolean needsSave) {
         editorController.setNeedsSave(needsSave);
     }
@@ -442,7 +499,17 @@ public class SceneComposerToolController extends SceneToolController {
                 translation.setZ((int) translation.z);
             }
         }
-        selected.setLocalTranslation(translation);
+        translateSelection(translation);
+    }
+
+    /**
+     * Sets the local translation of the selected spatial, all other selected
+     * spatials are moved by the same amount.
+     *
+     * @param translation absolute translation of the selected spatial
+     */
+    public void translateSelection(Vector3f translation) {
+        getSelectionTransform().translate(translation);
     }
     
     /**
@@ -471,7 +538,17 @@ public class SceneComposerToolController extends SceneToolController {
             }
             rotation.fromAngles(angles);
         }
-        selected.setLocalRotation(rotation);
+        rotateSelection(rotation);
+    }
+
+    /**
+     * Sets the local rotation of the selected spatial, all other selected
+     * spatials are rotated by the same amount around their own origin.
+     *
+     * @param rotation absolute rotation of the selected spatial
+     */
+    public void rotateSelection(Quaternion rotation) {
+        getSelectionTransform().rotate(rotation);
     }
     
     /**
@@ -493,7 +570,26 @@ public class SceneComposerToolController extends SceneToolController {
                 scale.setZ((int) Math.max(scale.z, 1));
             }
         }
-        selected.setLocalScale(scale);
+        scaleSelection(scale);
+    }
+
+    /**
+     * Sets the local scale of the selected spatial, all other selected
+     * spatials are scaled by the same factor.
+     *
+     * @param scale absolute scale of the selected spatial
+     */
+    public void scaleSelection(Vector3f scale) {
+        getSelectionTransform().scale(scale);
+    }
+
+    private boolean isSelected(Spatial spat) {
+        for (; spat != null; spat = spat.getParent()) {
+            if (selection.contains(spat)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private Vector3f snapToScene(final Vector3f position) {
@@ -502,7 +598,7 @@ public class SceneComposerToolController extends SceneToolController {
         final Node root = getRootNode().getLookup().lookup(Node.class);
         root.collideWith(ray, collisionResults);
         for (CollisionResult r : collisionResults) {
-            if (r.getGeometry() != selected) {
+            if (!isSelected(r.getGeometry())) {
                 position.y = r.getContactPoint().y;
                 break;
             }
@@ -58,7 +58,9 @@ import com.jme3.renderer.Camera;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 import javax.swing.ButtonGroup;
@@ -1318,6 +1320,16 @@ private void jToggleSelectGeomActionPerformed(java.awt.event.ActionEvent evt) {/
             return;
         }
         Collection<AbstractSceneExplorerNode> items = (Collection<AbstractSceneExplorerNode>) result.allInstances();
+        List<JmeSpatial> nodes = new ArrayList<>();
+        for (AbstractSceneExplorerNode node : items) {
+            if (node instanceof JmeSpatial) {
+                nodes.add((JmeSpatial) node);
+            }
+        }
+        if (nodes.size() > 1) {
+            selectAll(nodes);
+            return;
+        }
         for (AbstractSceneExplorerNode node : items) {
             if (select(node)) {
                 return;
@@ -1346,6 +1358,29 @@ private void jToggleSelectGeomActionPerformed(java.awt.event.ActionEvent evt) {/
         return false;
     }
 
+    /**
+     * Selects several spatials at once, the first node is the one the tools
+     * are aligned to. The explorer selection is left as it is.
+     */
+    private void selectAll(List<JmeSpatial> nodes) {
+        List<Spatial> spatials = new ArrayList<>(nodes.size());
+        for (JmeSpatial node : nodes) {
+            Spatial spatial = node.getLookup().lookup(Spatial.class);
+            if (spatial != null) {
+                spatials.add(spatial);
+            }
+        }
+        if (editorController != null) {
+            editorController.setSelectedExplorerNode(nodes.get(0));
+            editorController.setSelectedSpatials(spatials);
+        }
+        if (toolController != null) {
+            toolController.updateSelection(spatials);
+        }
+        SceneViewerTopComponent.findInstance().setActivatedNodes(nodes.toArray(new org.openide.nodes.Node[nodes.size()]));
+        setSelectedObjectText(spatials.size() + " spatials selected");
+    }
+
     private void selectSpatial(Spatial selection) {
         if (editorController != null) {
             editorController.setSelectedSpat(selection);
@@ -249,6 +249,18 @@ public abstract class SceneEditTool {
         toolController.setNeedsSave(true);
     }
 
+    /**
+     * Ends the transformation of the selected spatials and adds one undo edit
+     * for all of them, see
+     * {@link SceneComposerToolController#beginSelectionTransform()}.
+     */
+    protected void selectionTransformPerformed() {
+        AbstractUndoableSceneEdit undoer = toolController.endSelectionTransform();
+        if (undoer != null) {
+            actionPerformed(undoer);
+        }
+    }
+
     /**
      * Given the mouse coordinates, pick the geometry that is closest to the
      * camera.
@@ -31,6 +31,9 @@ import com.jme3.util.TangentBinormalGenerator;
 import com.jme3.util.mikktspace.MikktspaceTangentGenerator;
 import java.beans.PropertyChangeEvent;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import javax.swing.undo.CannotRedoException;
@@ -61,6 +64,7 @@ public class SceneEditorController implements NodeListener {
 
     private final JmeSpatial jmeRootNode;
     private Spatial selectedSpat;
+    private List<Spatial> selectedSpatials = Collections.emptyList();
     private AbstractSceneExplorerNode selectedExplorerNode;
 
     private DataObject currentFileObject;
@@ -102,7 +106,22 @@ public class SceneEditorController implements NodeListener {
 
     public void setSelectedSpat(Spatial selectedSpat) {
         this.selectedSpat = selectedSpat;
+        this.selectedSpatials = selectedSpat != null ? Collections.singletonList(selectedSpat) : Collections.<Spatial>emptyList();
+    }
 
+    /**
+     * Sets several selected spatials, move, nudge and rotate are applied to
+     * all of them. The first spatial is the selected spatial.
+     *
+     * @param spatials the selected spatials
+     */
+    public void setSelectedSpatials(List<Spatial> spatials) {
+        if (spatials.isEmpty()) {
+            setSelectedSpat(null);
+            return;
+        }
+        this.selectedSpat = spatials.get(0);
+        this.selectedSpatials = Collections.unmodifiableList(new ArrayList<>(spatials));
     }
 
     public FileObject getCurrentFileObject() {
@@ -130,6 +149,11 @@ public class SceneEditorController implements NodeListener {
                     undoParent.attachChild(undoSpatial);
                 }
 
+                @Override
+                public Object getSceneTarget() {
+                    return undoParent;
+                }
+
                 @Override
                 public void awtRedo() {
                     if (parentNode != null) {
@@ -153,12 +177,13 @@ public class SceneEditorController implements NodeListener {
         }
         try {
             final Spatial node = selectedSpat;
+            final List<Spatial> spatials = selectedSpatials;
             if (node != null) {
                 setNeedsSave(true);
                 SceneApplication.getApplication().enqueue(new Callable() {
 
                     public Object call() throws Exception {
-                        doMoveSpatial(node, point);
+                        doMoveSpatials(node, spatials, point);
                         return null;
 
                     }
@@ -172,38 +197,23 @@ public class SceneEditorController implements NodeListener {
     }
 
     public void doMoveSpatial(Spatial selected, Vector3f translation) {
-        Vector3f localTranslation = selected.getLocalTranslation();
-        Vector3f before = new Vector3f(localTranslation);
-        Node parent = selected.getParent();
-        if (parent != null) {
-            localTranslation.set(translation).subtractLocal(parent.getWorldTranslation());
-            localTranslation.divideLocal(parent.getWorldScale());
-            //TODO: reuse quaternion..
-            new Quaternion().set(parent.getWorldRotation()).inverseLocal().multLocal(localTranslation);
-        } else {
-            localTranslation.set(translation);
-        }
-        Vector3f after = new Vector3f(localTranslation);
-        selected.setLocalTranslation(localTranslation);
-        moveUndo(selected, before, after);
+        doMoveSpatials(selected, Collections.singletonList(selected), translation);
     }
 
-    private void moveUndo(final Spatial spatial, final Vector3f before, final Vector3f after) {
-        if (spatial != null && before != null) {
-            Lookup.getDefault().lookup(SceneUndoRedoManager.class).addEdit(this, new AbstractUndoableSceneEdit() {
-
-                @Override
-                public void sceneUndo() throws CannotUndoException {
-                    //undo stuff here
-                    spatial.setLocalTranslation(before);
-                }
+    /**
+     * Moves the primary spatial to the given world location, the other
+     * spatials keep their offset to it. Adds one undo edit for all spatials.
+     */
+    public void doMoveSpatials(Spatial primary, List<Spatial> spatials, Vector3f translation) {
+        SelectionTransform transform = new SelectionTransform(primary, spatials);
+        transform.moveTo(translation);
+        addTransformUndo(transform);
+    }
 
-                @Override
-                public void sceneRedo() throws CannotRedoException {
-                    //redo stuff here
-                    spatial.setLocalTranslation(after);
-                }
-            });
+    private void addTransformUndo(SelectionTransform transform) {
+        AbstractUndoableSceneEdit edit = transform.finish(null);
+        if (edit != null) {
+            Lookup.getDefault().lookup(SceneUndoRedoManager.class).addEdit(this, edit);
         }
     }
 
@@ -213,12 +223,13 @@ public class SceneEditorController implements NodeListener {
         }
         try {
             final Spatial node = selectedSpat;
+            final List<Spatial> spatials = selectedSpatials;
             if (node != null) {
                 setNeedsSave(true);
                 SceneApplication.getApplication().enqueue(new Callable() {
 
                     public Object call() throws Exception {
-                        doNudgeSpatial(node, amount);
+                        doNudgeSpatials(node, spatials, amount);
                         return null;
 
                     }
@@ -232,29 +243,17 @@ public class SceneEditorController implements NodeListener {
     }
 
     public void doNudgeSpatial(Spatial selected, Vector3f translation) {
-        Vector3f before = new Vector3f(selected.getLocalTranslation());
-        selected.setLocalTranslation(before.add(translation));
-        Vector3f after = new Vector3f(selected.getLocalTranslation());
-        nudgeUndo(selected, before, after);
+        doNudgeSpatials(selected, Collections.singletonList(selected), translation);
     }
 
-    private void nudgeUndo(final Spatial spatial, final Vector3f before, final Vector3f after) {
-        if (spatial != null && before != null) {
-            Lookup.getDefault().lookup(SceneUndoRedoManager.class).addEdit(this, new AbstractUndoableSceneEdit() {
-
-                @Override
-                public void sceneUndo() throws CannotUndoException {
-                    //undo stuff here
-                    spatial.setLocalTranslation(before);
-                }
-
-                @Override
-                public void sceneRedo() throws CannotRedoException {
-                    //redo stuff here
-                    spatial.setLocalTranslation(after);
-                }
-            });
-        }
+    /**
+     * Adds the given local translation to all spatials, adds one undo edit for
+     * all of them.
+     */
+    public void doNudgeSpatials(Spatial primary, List<Spatial> spatials, Vector3f translation) {
+        SelectionTransform transform = new SelectionTransform(primary, spatials);
+        transform.translateBy(translation);
+        addTransformUndo(transform);
     }
 
     public void rotateSelectedSpatial(final Quaternion amount) {
@@ -263,12 +262,13 @@ public class SceneEditorController implements NodeListener {
         }
         try {
             final Spatial node = selectedSpat;
+            final List<Spatial> spatials = selectedSpatials;
             if (node != null) {
                 setNeedsSave(true);
                 SceneApplication.getApplication().enqueue(new Callable() {
 
                     public Object call() throws Exception {
-                        doRotateSpatial(node, amount);
+                        doRotateSpatials(node, spatials, amount);
                         return null;
 
                     }
@@ -282,29 +282,17 @@ public class SceneEditorController implements NodeListener {
     }
 
     public void doRotateSpatial(Spatial selected, Quaternion rotation) {
-        Quaternion before = new Quaternion(selected.getLocalRotation());
-        selected.rotate(rotation);
-        Quaternion after = new Quaternion(selected.getLocalRotation());
-        rotateUndo(selected, before, after);
+        doRotateSpatials(selected, Collections.singletonList(selected), rotation);
     }
 
-    private void rotateUndo(final Spatial spatial, final Quaternion before, final Quaternion after) {
-        if (spatial != null && before != null) {
-            Lookup.getDefault().lookup(SceneUndoRedoManager.class).addEdit(this, new AbstractUndoableSceneEdit() {
-
-                @Override
-                public void sceneUndo() throws CannotUndoException {
-                    //undo stuff here
-                    spatial.setLocalRotation(before);
-                }
-
-                @Override
-                public void sceneRedo() throws CannotRedoException {
-                    //redo stuff here
-                    spatial.setLocalRotation(after);
-                }
-            });
-        }
+    /**
+     * Rotates all spatials by the given local rotation, adds one undo edit for
+     * all of them.
+     */
+    public void doRotateSpatials(Spatial primary, List<Spatial> spatials, Quaternion rotation) {
+        SelectionTransform transform = new SelectionTransform(primary, spatials);
+        transform.rotateBy(rotation);
+        addTransformUndo(transform);
     }
 
     public void createTangentsForSelectedSpatial() {
@@ -355,6 +343,11 @@ public class SceneEditorController implements NodeListener {
             public void sceneRedo() throws CannotRedoException {
                 TangentBinormalGenerator.generate(geometry);
             }
+
+            @Override
+            public Object getSceneTarget() {
+                return geometry;
+            }
         });
     }
 
@@ -499,6 +492,11 @@ public class SceneEditorController implements NodeListener {
                     undoParent.addControl(undoControl);
                 }
 
+                @Override
+                public Object getSceneTarget() {
+                    return undoParent;
+                }
+
                 @Override
                 public void awtRedo() {
                     if (parentNode != null) {
@@ -0,0 +1,419 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.scenecomposer;
+
+import com.jme3.bullet.control.CharacterControl;
+import com.jme3.bullet.control.RigidBodyControl;
+import com.jme3.gde.core.scene.SceneSyncInvalidation;
+import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
+import com.jme3.gde.core.undoredo.RetainedSizeEstimate;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Applies one transformation to all selected spatials on the render thread.
+ * The primary spatial gets the transformation the tools computed for it, all
+ * other spatials are moved, rotated or scaled by the same world space amount
+ * around their own origin. Spatials that have a selected ancestor are skipped
+ * so they are not transformed twice.
+ *
+ * The start transforms are kept in one float array, {@link #finish} turns
+ * them into a single undo edit for the whole selection.
+ */
+final class SelectionTransform {
+
+    static final int TRANSLATION = 1;
+    static final int ROTATION = 2;
+    static final int SCALE = 4;
+    private static final int STRIDE = 10;
+    private final Spatial[] spatials;
+    private final float[] start;
+    private final Vector3f vector = new Vector3f();
+    private final Quaternion delta = new Quaternion();
+    private final Quaternion quat = new Quaternion();
+
+    /**
+     * @param primary the spatial the tools are aligned to
+     * @param selection all selected spatials, may contain the primary
+     */
+    SelectionTransform(Spatial primary, List<Spatial> selection) {
+        Set<Spatial> selected = Collections.newSetFromMap(new IdentityHashMap<Spatial, Boolean>());
+        selected.addAll(selection);
+        Set<Spatial> primaryAncestors = Collections.newSetFromMap(new IdentityHashMap<Spatial, Boolean>());
+        for (Node parent = primary.getParent(); parent != null; parent = parent.getParent()) {
+            primaryAncestors.add(parent);
+        }
+        List<Spatial> list = new ArrayList<>(selection.size());
+        list.add(primary);
+        for (Spatial spat : selection) {
+            if (spat != primary && !primaryAncestors.contains(spat) && !hasAncestorIn(spat, selected)) {
+                list.add(spat);
+            }
+        }
+        spatials = list.toArray(new Spatial[list.size()]);
+        start = new float[spatials.length * STRIDE];
+        for (int i = 0; i < spatials.length; i++) {
+            read(spatials[i], start, i * STRIDE, TRANSLATION | ROTATION | SCALE);
+        }
+    }
+
+    private static boolean hasAncestorIn(Spatial spat, Set<Spatial> set) {
+        for (Node parent = spat.getParent(); parent != null; parent = parent.getParent()) {
+            if (set.contains(parent)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Spatial getPrimary() {
+        return spatials[0];
+    }
+
+    /**
+     * Sets the local translation of the primary spatial, the other spatials
+     * are moved by the same world space offset.
+     *
+     * @param translation the new local translation of the primary spatial
+     */
+    void translate(Vector3f translation) {
+        Spatial primary = spatials[0];
+        vector.set(translation).subtractLocal(start[0], start[1], start[2]);
+        Node parent = primary.getParent();
+        if (parent != null) {
+            parent.getWorldRotation().mult(vector.multLocal(parent.getWorldScale()), vector);
+        }
+        primary.setLocalTranslation(translation);
+        SceneSyncInvalidation.invalidate(primary);
+        for (int i = 1; i < spatials.length; i++) {
+            Spatial spat = spatials[i];
+            Vector3f local = spat.getLocalTranslation();
+            parent = spat.getParent();
+            if (parent != null) {
+                quat.set(parent.getWorldRotation()).inverseLocal().mult(vector, local);
+                local.divideLocal(parent.getWorldScale());
+            } else {
+                local.set(vector);
+            }
+            int offset = i * STRIDE;
+            local.addLocal(start[offset], start[offset + 1], start[offset + 2]);
+            spat.setLocalTranslation(local);
+            SceneSyncInvalidation.invalidate(spat);
+        }
+    }
+
+    /**
+     * Moves the primary spatial to the given world location, the other
+     * spatials keep their offset to it.
+     *
+     * @param location the world location
+     */
+    void moveTo(Vector3f location) {
+        Vector3f translation = new Vector3f(location);
+        Node parent = spatials[0].getParent();
+        if (parent != null) {
+            translation.subtractLocal(parent.getWorldTranslation());
+            quat.set(parent.getWorldRotation()).inverseLocal().multLocal(translation);
+            translation.divideLocal(parent.getWorldScale());
+        }
+        translate(translation);
+    }
+
+    /**
+     * Sets the local rotation of the primary spatial, the other spatials are
+     * rotated by the same world space rotation around their own origin.
+     *
+     * @param rotation the new local rotation of the primary spatial
+     */
+    void rotate(Quaternion rotation) {
+        Spatial primary = spatials[0];
+        // delta = parent * rotation * start^-1 * parent^-1
+        delta.set(start[3], start[4], start[5], start[6]).inverseLocal();
+        delta.set(rotation.mult(delta));
+        Node parent = primary.getParent();
+        if (parent != null) {
+            quat.set(parent.getWorldRotation());
+            delta.set(quat.mult(delta));
+            delta.multLocal(quat.inverseLocal());
+        }
+        primary.setLocalRotation(rotation);
+        SceneSyncInvalidation.invalidate(primary);
+        for (int i = 1; i < spatials.length; i++) {
+            Spatial spat = spatials[i];
+            int offset = i * STRIDE;
+            Quaternion local = new Quaternion(start[offset + 3], start[offset + 4], start[offset + 5], start[offset + 6]);
+            parent = spat.getParent();
+            if (parent != null) {
+                quat.set(parent.getWorldRotation());
+                local.set(quat.mult(local));
+                local.set(delta.mult(local));
+                local.set(quat.inverseLocal().mult(local));
+            } else {
+                local.set(delta.mult(local));
+            }
+            spat.setLocalRotation(local);
+            SceneSyncInvalidation.invalidate(spat);
+        }
+    }
+
+    /**
+     * Sets the local scale of the primary spatial, the other spatials are
+     * scaled by the same factor.
+     *
+     * @param scale the new local scale of the primary spatial
+     */
+    void scale(Vector3f scale) {
+        float x = start[7] != 0 ? scale.x / start[7] : 1;
+        float y = start[8] != 0 ? scale.y / start[8] : 1;
+        float z = start[9] != 0 ? scale.z / start[9] : 1;
+        spatials[0].setLocalScale(scale);
+        SceneSyncInvalidation.invalidate(spatials[0]);
+        for (int i = 1; i < spatials.length; i++) {
+            int offset = i * STRIDE;
+            spatials[i].setLocalScale(start[offset + 7] * x, start[offset + 8] * y, start[offset + 9] * z);
+            SceneSyncInvalidation.invalidate(spatials[i]);
+        }
+    }
+
+    /**
+     * Adds the given local translation to all spatials.
+     *
+     * @param amount the local translation to add
+     */
+    void translateBy(Vector3f amount) {
+        for (int i = 0; i < spatials.length; i++) {
+            int offset = i * STRIDE;
+            spatials[i].setLocalTranslation(start[offset] + amount.x, start[offset + 1] + amount.y, start[offset + 2] + amount.z);
+            SceneSyncInvalidation.invalidate(spatials[i]);
+        }
+    }
+
+    /**
+     * Rotates all spatials by the given local rotation.
+     *
+     * @param amount the local rotation to apply
+     */
+    void rotateBy(Quaternion amount) {
+        for (int i = 0; i < spatials.length; i++) {
+            int offset = i * STRIDE;
+            quat.set(start[offset + 3], start[offset + 4], start[offset + 5], start[offset + 6]);
+            spatials[i].setLocalRotation(quat.multLocal(amount));
+            SceneSyncInvalidation.invalidate(spatials[i]);
+        }
+    }
+
+    /**
+     * Puts all spatials back to their start transform.
+     */
+    void restore() {
+        for (int i = 0; i < spatials.length; i++) {
+            write(spatials[i], start, i * STRIDE, TRANSLATION | ROTATION | SCALE);
+        }
+    }
+
+    /**
+     * Creates the undo edit for the transformation done so far. Only the
+     * spatials and transform parts that changed are stored.
+     *
+     * @param toolController notified after undo and redo, can be null
+     * @return the edit or null if nothing changed
+     */
+    AbstractUndoableSceneEdit finish(SceneComposerToolController toolController) {
+        float[] current = new float[start.length];
+        boolean[] changed = new boolean[spatials.length];
+        int count = 0;
+        int components = 0;
+        for (int i = 0; i < spatials.length; i++) {
+            int offset = i * STRIDE;
+            read(spatials[i], current, offset, TRANSLATION | ROTATION | SCALE);
+            int parts = changed(current, offset, 0, 3, TRANSLATION)
+                    | changed(current, offset, 3, 4, ROTATION)
+                    | changed(current, offset, 7, 3, SCALE);
+            if (parts != 0) {
+                changed[i] = true;
+                count++;
+                components |= parts;
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        int stride = stride(components);
+        Spatial[] targets = new Spatial[count];
+        float[] before = new float[count * stride];
+        float[] after = new float[count * stride];
+        for (int i = 0, j = 0; i < spatials.length; i++) {
+            if (changed[i]) {
+                pack(start, i * STRIDE, before, j * stride, components);
+                pack(current, i * STRIDE, after, j * stride, components);
+                targets[j++] = spatials[i];
+            }
+        }
+        return new TransformEdit(targets, before, after, components, toolController);
+    }
+
+    private int changed(float[] current, int offset, int from, int count, int component) {
+        for (int i = offset + from; i < offset + from + count; i++) {
+            if (Float.compare(current[i], start[i]) != 0) {
+                return component;
+            }
+        }
+        return 0;
+    }
+
+    private static int stride(int components) {
+        return ((components & TRANSLATION) != 0 ? 3 : 0)
+                + ((components & ROTATION) != 0 ? 4 : 0)
+                + ((components & SCALE) != 0 ? 3 : 0);
+    }
+
+    private static void pack(float[] src, int srcOffset, float[] dst, int dstOffset, int components) {
+        if ((components & TRANSLATION) != 0) {
+            System.arraycopy(src, srcOffset, dst, dstOffset, 3);
+            dstOffset += 3;
+        }
+        if ((components & ROTATION) != 0) {
+            System.arraycopy(src, srcOffset + 3, dst, dstOffset, 4);
+            dstOffset += 4;
+        }
+        if ((components & SCALE) != 0) {
+            System.arraycopy(src, srcOffset + 7, dst, dstOffset, 3);
+        }
+    }
+
+    private static int read(Spatial spat, float[] values, int offset, int components) {
+        if ((components & TRANSLATION) != 0) {
+            Vector3f translation = spat.getLocalTranslation();
+            values[offset++] = translation.x;
+            values[offset++] = translation.y;
+            values[offset++] = translation.z;
+        }
+        if ((components & ROTATION) != 0) {
+            Quaternion rotation = spat.getLocalRotation();
+            values[offset++] = rotation.getX();
+            values[offset++] = rotation.getY();
+            values[offset++] = rotation.getZ();
+            values[offset++] = rotation.getW();
+        }
+        if ((components & SCALE) != 0) {
+            Vector3f scale = spat.getLocalScale();
+            values[offset++] = scale.x;
+            values[offset++] = scale.y;
+            values[offset++] = scale.z;
+        }
+        return offset;
+    }
+
+    private static int write(Spatial spat, float[] values, int offset, int components) {
+        if ((components & TRANSLATION) != 0) {
+            spat.setLocalTranslation(values[offset], values[offset + 1], values[offset + 2]);
+            offset += 3;
+            RigidBodyControl control = spat.getControl(RigidBodyControl.class);
+            if (control != null) {
+                control.setPhysicsLocation(spat.getWorldTranslation());
+            }
+            CharacterControl character = spat.getControl(CharacterControl.class);
+            if (character != null) {
+                character.setPhysicsLocation(spat.getWorldTranslation());
+            }
+        }
+        if ((components & ROTATION) != 0) {
+            spat.setLocalRotation(new Quaternion(values[offset], values[offset + 1], values[offset + 2], values[offset + 3]));
+            offset += 4;
+        }
+        if ((components & SCALE) != 0) {
+            spat.setLocalScale(values[offset], values[offset + 1], values[offset + 2]);
+            offset += 3;
+        }
+        SceneSyncInvalidation.invalidate(spat);
+        return offset;
+    }
+
+    /**
+     * One undo edit for a transformation of several spatials, stores only the
+     * changed transform parts of each spatial in two flat arrays.
+     */
+    private static final class TransformEdit extends AbstractUndoableSceneEdit implements RetainedSizeEstimate {
+
+        private final Spatial[] spatials;
+        private final float[] before;
+        private final float[] after;
+        private final int components;
+        private final SceneComposerToolController toolController;
+
+        TransformEdit(Spatial[] spatials, float[] before, float[] after, int components, SceneComposerToolController toolController) {
+            this.spatials = spatials;
+            this.before = before;
+            this.after = after;
+            this.components = components;
+            this.toolController = toolController;
+        }
+
+        @Override
+        public Object getSceneTarget() {
+            // the other spatials are invalidated when they are written
+            return spatials[0];
+        }
+
+        @Override
+        public long getRetainedSize() {
+            return 64 + spatials.length * 8L + (before.length + after.length) * 4L;
+        }
+
+        @Override
+        public void sceneUndo() {
+            apply(before);
+        }
+
+        @Override
+        public void sceneRedo() {
+            apply(after);
+        }
+
+        private void apply(float[] values) {
+            int offset = 0;
+            for (Spatial spat : spatials) {
+                offset = write(spat, values, offset, components);
+            }
+            if (toolController != null) {
+                toolController.selectedSpatialTransformed();
+            }
+        }
+    }
+}
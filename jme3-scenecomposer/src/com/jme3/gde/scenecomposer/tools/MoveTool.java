@@ -5,10 +5,7 @@
 package com.jme3.gde.scenecomposer.tools;
 
 import com.jme3.asset.AssetManager;
-import com.jme3.bullet.control.CharacterControl;
-import com.jme3.bullet.control.RigidBodyControl;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.scenecomposer.SceneComposerToolController;
 import com.jme3.gde.scenecomposer.SceneEditTool;
 import com.jme3.math.Vector2f;
@@ -32,7 +29,6 @@ public class MoveTool extends SceneEditTool {
     private Vector3f constraintAxis; //used for one axis move
     private boolean wasDragging = false;
     private Vector3f startPosition;
-    private Vector3f lastPosition;
     private PickManager pickManager;
 
     public MoveTool() {
@@ -56,7 +52,7 @@ public class MoveTool extends SceneEditTool {
             pickedMarker = null; // mouse released, reset selection
             constraintAxis = Vector3f.UNIT_XYZ; // no constraint
             if (wasDragging) {
-                actionPerformed(new MoveUndo(toolController.getSelectedSpatial(), startPosition, lastPosition));
+                selectionTransformPerformed();
                 wasDragging = false;
             }
             pickManager.reset();
@@ -88,6 +84,7 @@ public class MoveTool extends SceneEditTool {
                     constraintAxis = Vector3f.UNIT_Z; // move only Z
                 }
                 startPosition = toolController.getSelectedSpatial().getLocalTranslation().clone();
+                toolController.beginSelectionTransform();
                 wasDragging = true;
             }
         }
@@ -118,7 +115,7 @@ public class MoveTool extends SceneEditTool {
             pickedMarker = null; // mouse released, reset selection
             constraintAxis = Vector3f.UNIT_XYZ; // no constraint
             if (wasDragging) {
-                actionPerformed(new MoveUndo(toolController.getSelectedSpatial(), startPosition, lastPosition));
+                selectionTransformPerformed();
                 wasDragging = false;
             }
             pickManager.reset();
@@ -140,7 +137,6 @@ public class MoveTool extends SceneEditTool {
             } else {
                 position = startPosition.add(diff);
             }
-            lastPosition = position;
             toolController.updateSelectedTranslation(position, pickedMarker);
             updateToolsTransformation();
         }
@@ -156,58 +152,11 @@ public class MoveTool extends SceneEditTool {
     private void cancel() {
         if (wasDragging) {
             wasDragging = false;
-            toolController.getSelectedSpatial().setLocalTranslation(startPosition);
+            toolController.cancelSelectionTransform();
             setDefaultAxisMarkerColors();
             pickedMarker = null; // mouse released, reset selection
             constraintAxis = Vector3f.UNIT_XYZ; // no constraint
             pickManager.reset();
         }
     }
-
-    protected class MoveUndo extends AbstractUndoableSceneEdit {
-
-        private Spatial spatial;
-        private Vector3f before = new Vector3f(), after = new Vector3f();
-
-        MoveUndo(Spatial spatial, Vector3f before, Vector3f after) {
-            this.spatial = spatial;
-            this.before.set(before);
-            if (after != null) {
-                this.after.set(after);
-            }
-        }
-
-        @Override
-        public void sceneUndo() {
-            spatial.setLocalTranslation(before);
-            RigidBodyControl control = spatial.getControl(RigidBodyControl.class);
-            if (control != null) {
-                control.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            CharacterControl character = spatial.getControl(CharacterControl.class);
-            if (character != null) {
-                character.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            //     toolController.selectedSpatialTransformed();
-        }
-
-        @Override
-        public void sceneRedo() {
-            spatial.setLocalTranslation(after);
-            RigidBodyControl control = spatial.getControl(RigidBodyControl.class);
-            if (control != null) {
-                control.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            CharacterControl character = spatial.getControl(CharacterControl.class);
-            if (character != null) {
-                character.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            //toolController.selectedSpatialTransformed();
-        }
-
-        public void setAfter(Vector3f after) {
-            this.after.set(after);
-        }
-    }
-
 }
@@ -6,7 +6,6 @@ package com.jme3.gde.scenecomposer.tools;
 
 import com.jme3.asset.AssetManager;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.scenecomposer.SceneComposerToolController;
 import com.jme3.gde.scenecomposer.SceneEditTool;
 import com.jme3.math.Quaternion;
@@ -26,7 +25,6 @@ public class RotateTool extends SceneEditTool {
     private Vector3f pickedMarker;
     private Quaternion startRotate;
     private Quaternion startWorldRotate;
-    private Quaternion lastRotate;
     private boolean wasDragging = false;
     private PickManager pickManager;
 
@@ -48,7 +46,7 @@ public class RotateTool extends SceneEditTool {
             setDefaultAxisMarkerColors();
             pickedMarker = null; // mouse released, reset selection
             if (wasDragging) {
-                actionPerformed(new RotateUndo(toolController.getSelectedSpatial(), startRotate, lastRotate));
+                selectionTransformPerformed();
                 wasDragging = false;
             }
             pickManager.reset();
@@ -72,6 +70,7 @@ public class RotateTool extends SceneEditTool {
                 }
                 startRotate = toolController.getSelectedSpatial().getLocalRotation().clone();
                 startWorldRotate = toolController.getSelectedSpatial().getWorldRotation().clone();
+                toolController.beginSelectionTransform();
                 wasDragging = true;
             }
         }
@@ -101,7 +100,7 @@ public class RotateTool extends SceneEditTool {
             pickedMarker = null; // mouse released, reset selection
 
             if (wasDragging) {
-                actionPerformed(new RotateUndo(toolController.getSelectedSpatial(), startRotate, lastRotate));
+                selectionTransformPerformed();
                 wasDragging = false;
             }
             pickManager.reset();
@@ -113,7 +112,6 @@ public class RotateTool extends SceneEditTool {
             if (pickedMarker.equals(QUAD_XY) || pickedMarker.equals(QUAD_XZ) || pickedMarker.equals(QUAD_YZ)) {
                 Quaternion rotation = startRotate.mult(pickManager.getRotation(startWorldRotate.inverse()));
                 toolController.updateSelectedRotation(rotation, pickedMarker);
-                lastRotate = rotation;
             }
             updateToolsTransformation();
         }
@@ -129,34 +127,10 @@ public class RotateTool extends SceneEditTool {
     private void cancel() {
         if (wasDragging) {
             wasDragging = false;
-            toolController.getSelectedSpatial().setLocalRotation(startRotate);
+            toolController.cancelSelectionTransform();
             setDefaultAxisMarkerColors();
             pickedMarker = null; // mouse released, reset selection
             pickManager.reset();
         }
     }
-
-    private class RotateUndo extends AbstractUndoableSceneEdit {
-
-        private Spatial spatial;
-        private Quaternion before, after;
-
-        RotateUndo(Spatial spatial, Quaternion before, Quaternion after) {
-            this.spatial = spatial;
-            this.before = before;
-            this.after = after;
-        }
-
-        @Override
-        public void sceneUndo() {
-            spatial.setLocalRotation(before);
-            toolController.selectedSpatialTransformed();
-        }
-
-        @Override
-        public void sceneRedo() {
-            spatial.setLocalRotation(after);
-            toolController.selectedSpatialTransformed();
-        }
-    }
 }
@@ -6,7 +6,6 @@ package com.jme3.gde.scenecomposer.tools;
 
 import com.jme3.asset.AssetManager;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.scenecomposer.SceneComposerToolController;
 import com.jme3.gde.scenecomposer.SceneEditTool;
 import com.jme3.math.Quaternion;
@@ -26,7 +25,6 @@ public class ScaleTool extends SceneEditTool {
     private Vector3f pickedMarker;
     private Vector3f constraintAxis; //used for one axis scale
     private Vector3f startScale;
-    private Vector3f lastScale;
     private boolean wasDragging = false;
     private PickManager pickManager;
 
@@ -50,7 +48,7 @@ public class ScaleTool extends SceneEditTool {
             pickedMarker = null; // mouse released, reset selection
             constraintAxis = Vector3f.UNIT_XYZ; // no axis constraint
             if (wasDragging) {
-                actionPerformed(new ScaleUndo(toolController.getSelectedSpatial(), startScale, lastScale));
+                selectionTransformPerformed();
                 wasDragging = false;
             }
             pickManager.reset();
@@ -78,6 +76,7 @@ public class ScaleTool extends SceneEditTool {
                     constraintAxis = Vector3f.UNIT_Z; // scale only Z
                 }
                 startScale = toolController.getSelectedSpatial().getLocalScale().clone();
+                toolController.beginSelectionTransform();
                 wasDragging = true;
             }
         }
@@ -107,7 +106,7 @@ public class ScaleTool extends SceneEditTool {
             pickedMarker = null; // mouse released, reset selection
             constraintAxis = Vector3f.UNIT_XYZ; // no axis constraint
             if (wasDragging) {
-                actionPerformed(new ScaleUndo(toolController.getSelectedSpatial(), startScale, lastScale));
+                selectionTransformPerformed();
                 wasDragging = false;
             }
             pickManager.reset();
@@ -120,7 +119,6 @@ public class ScaleTool extends SceneEditTool {
                 float diff = pickManager.getLocalTranslation(constraintAxis).dot(constraintAxis);
                 diff += 1f;
                 Vector3f scale = startScale.mult(diff);
-                lastScale = scale;
                 toolController.updateSelectedScale(scale, pickedMarker);
             } else if (pickedMarker.equals(ARROW_X) || pickedMarker.equals(ARROW_Y) || pickedMarker.equals(ARROW_Z)) {
                 // Get the translation in the spatial Space
@@ -129,7 +127,6 @@ public class ScaleTool extends SceneEditTool {
                 diff.multLocal(0.5f);
                 Vector3f scale = startScale.add(diff);
                 toolController.updateSelectedScale(scale, pickedMarker);
-                lastScale = scale;
             }
             updateToolsTransformation();
         }
@@ -145,35 +142,10 @@ public class ScaleTool extends SceneEditTool {
     private void cancel() {
         if (wasDragging) {
             wasDragging = false;
-            toolController.getSelectedSpatial().setLocalScale(startScale);
+            toolController.cancelSelectionTransform();
             setDefaultAxisMarkerColors();
             pickedMarker = null; // mouse released, reset selection
             pickManager.reset();
         }
     }
-
-    private class ScaleUndo extends AbstractUndoableSceneEdit {
-
-        private Spatial spatial;
-        private Vector3f before, after;
-
-        ScaleUndo(Spatial spatial, Vector3f before, Vector3f after) {
-            this.spatial = spatial;
-            this.before = before;
-            this.after = after;
-        }
-
-        @Override
-        public void sceneUndo() {
-            spatial.setLocalScale(before);
-            toolController.selectedSpatialTransformed();
-        }
-
-        @Override
-        public void sceneRedo() {
-            spatial.setLocalScale(after);
-            toolController.selectedSpatialTransformed();
-        }
-
-    }
 }
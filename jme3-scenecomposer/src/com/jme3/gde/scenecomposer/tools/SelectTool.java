@@ -9,6 +9,7 @@ import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeSpatial;
 import com.jme3.gde.core.sceneviewer.SceneViewerTopComponent;
 import com.jme3.gde.scenecomposer.SceneEditTool;
+import com.jme3.gde.scenecomposer.tools.shortcuts.ShortcutManager;
 import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.AssetLinkNode;
@@ -16,6 +17,7 @@ import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.terrain.Terrain;
 import org.openide.loaders.DataObject;
+import org.openide.util.Lookup;
 
 /**
  * This duplicates the Blender manipulate tool. It supports quick access to
@@ -84,6 +86,8 @@ public class SelectTool extends SceneEditTool {
 
                     final Spatial selec = s;
                     selected = selec;
+                    // ctrl adds to or removes from the current selection
+                    final boolean toggle = Lookup.getDefault().lookup(ShortcutManager.class).isCtrlDown();
                     java.awt.EventQueue.invokeLater(new Runnable() {
 
                         @Override
@@ -96,7 +100,11 @@ public class SelectTool extends SceneEditTool {
                         private void doSelect() {
                             // in case of linked assets the selected node in the viewer is not necessarily in the explorer.
                             JmeSpatial n = rootNode.getChild(selec);
-                            if (n != null) {
+                            if (n != null && toggle) {
+                                SceneExplorerTopComponent explorer = SceneExplorerTopComponent.findInstance();
+                                explorer.toggleSelectedNode(n);
+                                SceneViewerTopComponent.findInstance().setActivatedNodes(explorer.getExplorerManager().getSelectedNodes());
+                            } else if (n != null) {
                                 SceneViewerTopComponent.findInstance().setActivatedNodes(new org.openide.nodes.Node[]{n});
                                 SceneExplorerTopComponent.findInstance().setSelectedNode(n);
                             }
@@ -118,5 +118,10 @@ public class DeleteShortcut extends ShortcutTool {
         public void sceneRedo() {
             spatial.removeFromParent();
         }
+
+        @Override
+        public Object getSceneTarget() {
+            return parent;
+        }
     }
 }
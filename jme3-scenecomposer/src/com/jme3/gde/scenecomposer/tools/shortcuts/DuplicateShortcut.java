@@ -136,5 +136,10 @@ public class DuplicateShortcut extends ShortcutTool {
         public void sceneRedo() {
             parent.attachChild(spatial);
         }
+
+        @Override
+        public Object getSceneTarget() {
+            return parent;
+        }
     }
 }
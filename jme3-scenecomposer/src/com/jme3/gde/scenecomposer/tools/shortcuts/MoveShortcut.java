@@ -6,10 +6,7 @@
 package com.jme3.gde.scenecomposer.tools.shortcuts;
 
 import com.jme3.asset.AssetManager;
-import com.jme3.bullet.control.CharacterControl;
-import com.jme3.bullet.control.RigidBodyControl;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.scenecomposer.SceneComposerToolController;
 import com.jme3.gde.scenecomposer.tools.PickManager;
 import com.jme3.input.KeyInput;
@@ -29,11 +26,9 @@ public class MoveShortcut extends ShortcutTool {
 
     private Vector3f currentAxis;
     private StringBuilder numberBuilder;
-    private Spatial spatial;
     private PickManager pickManager;
     private boolean pickEnabled;
     private Vector3f startPosition;
-    private Vector3f finalPosition;
 
     @Override
 
@@ -43,18 +38,18 @@ public class MoveShortcut extends ShortcutTool {
 
     @Override
     public void cancel() {
-        spatial.setLocalTranslation(startPosition);
+        toolController.cancelSelectionTransform();
         terminate();
     }
 
     private void apply() {
-        actionPerformed(new MoveUndo(toolController.getSelectedSpatial(), startPosition, finalPosition));
+        selectionTransformPerformed();
         terminate();
     }
 
     private void init(Spatial selectedSpatial) {
-        spatial = selectedSpatial;
-        startPosition = spatial.getLocalTranslation().clone();
+        startPosition = selectedSpatial.getLocalTranslation().clone();
+        toolController.beginSelectionTransform();
         currentAxis = Vector3f.UNIT_XYZ;
         pickManager = Lookup.getDefault().lookup(PickManager.class);
         pickEnabled = false;
@@ -106,9 +101,7 @@ public class MoveShortcut extends ShortcutTool {
                 //update transformation
                 float number = ShortcutManager.getNumberKey(numberBuilder);
                 Vector3f translation = currentAxis.mult(number);
-                finalPosition = startPosition.add(translation);
-                spatial.setLocalTranslation(finalPosition);
-
+                toolController.translateSelection(startPosition.add(translation));
             }
 
         }
@@ -165,7 +158,6 @@ public class MoveShortcut extends ShortcutTool {
             } else {
                 position = startPosition.add(diff);
             }
-            finalPosition = position;
             toolController.updateSelectedTranslation(position, Vector3f.UNIT_XYZ);
             updateToolsTransformation();
         }
@@ -184,51 +176,5 @@ public class MoveShortcut extends ShortcutTool {
             cancel();
         }
     }
-    
-    private class MoveUndo extends AbstractUndoableSceneEdit {
-
-        private Spatial spatial;
-        private Vector3f before = new Vector3f(), after = new Vector3f();
-
-        MoveUndo(Spatial spatial, Vector3f before, Vector3f after) {
-            this.spatial = spatial;
-            this.before.set(before);
-            if (after != null) {
-                this.after.set(after);
-            }
-        }
-
-        @Override
-        public void sceneUndo() {
-            spatial.setLocalTranslation(before);
-            RigidBodyControl control = spatial.getControl(RigidBodyControl.class);
-            if (control != null) {
-                control.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            CharacterControl character = spatial.getControl(CharacterControl.class);
-            if (character != null) {
-                character.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            //     toolController.selectedSpatialTransformed();
-        }
-
-        @Override
-        public void sceneRedo() {
-            spatial.setLocalTranslation(after);
-            RigidBodyControl control = spatial.getControl(RigidBodyControl.class);
-            if (control != null) {
-                control.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            CharacterControl character = spatial.getControl(CharacterControl.class);
-            if (character != null) {
-                character.setPhysicsLocation(spatial.getWorldTranslation());
-            }
-            //toolController.selectedSpatialTransformed();
-        }
-
-        public void setAfter(Vector3f after) {
-            this.after.set(after);
-        }
-    }
 
 }
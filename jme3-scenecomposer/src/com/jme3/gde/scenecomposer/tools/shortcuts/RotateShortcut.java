@@ -7,7 +7,6 @@ package com.jme3.gde.scenecomposer.tools.shortcuts;
 
 import com.jme3.asset.AssetManager;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.scenecomposer.SceneComposerToolController;
 import com.jme3.gde.scenecomposer.tools.PickManager;
 import com.jme3.input.KeyInput;
@@ -28,11 +27,9 @@ public class RotateShortcut extends ShortcutTool {
 
     private Vector3f currentAxis;
     private StringBuilder numberBuilder;
-    private Spatial spatial;
     private PickManager pickManager;
     private boolean pickEnabled;
     private Quaternion startRotation;
-    private Quaternion finalRotation;
     private Quaternion startWorldRotate;
 
     @Override
@@ -43,19 +40,19 @@ public class RotateShortcut extends ShortcutTool {
 
     @Override
     public void cancel() {
-        spatial.setLocalRotation(startRotation);
+        toolController.cancelSelectionTransform();
         terminate();
     }
 
     private void apply() {
-        actionPerformed(new RotateUndo(toolController.getSelectedSpatial(), startRotation, finalRotation));
+        selectionTransformPerformed();
         terminate();
     }
 
     private void init(Spatial selectedSpatial) {
-        spatial = selectedSpatial;
-        startRotation = spatial.getLocalRotation().clone();
-        startWorldRotate = spatial.getWorldRotation().clone();
+        startRotation = selectedSpatial.getLocalRotation().clone();
+        startWorldRotate = selectedSpatial.getWorldRotation().clone();
+        toolController.beginSelectionTransform();
         currentAxis = Vector3f.UNIT_XYZ;
         pickManager = Lookup.getDefault().lookup(PickManager.class);
         pickEnabled = false;
@@ -95,7 +92,7 @@ public class RotateShortcut extends ShortcutTool {
                 apply();
             } else if (axisChanged && pickEnabled) {
                 pickEnabled = false;
-                spatial.setLocalRotation(startRotation.clone());
+                toolController.rotateSelection(startRotation.clone());
             } else if (axisChanged || numberChanged) {
                 //update transformation
                 /*         float number = ShortcutManager.getNumberKey(numberBuilder);
@@ -147,7 +144,6 @@ public class RotateShortcut extends ShortcutTool {
 
             Quaternion rotation = startRotation.mult(pickManager.getRotation(startWorldRotate.inverse()));
             toolController.updateSelectedRotation(rotation, Vector3f.UNIT_XYZ);
-            finalRotation = rotation;
             updateToolsTransformation();
         }
     }
@@ -166,27 +162,4 @@ public class RotateShortcut extends ShortcutTool {
         }
     }
 
-    private class RotateUndo extends AbstractUndoableSceneEdit {
-
-        private Spatial spatial;
-        private Quaternion before, after;
-
-        RotateUndo(Spatial spatial, Quaternion before, Quaternion after) {
-            this.spatial = spatial;
-            this.before = before;
-            this.after = after;
-        }
-
-        @Override
-        public void sceneUndo() {
-            spatial.setLocalRotation(before);
-            toolController.selectedSpatialTransformed();
-        }
-
-        @Override
-        public void sceneRedo() {
-            spatial.setLocalRotation(after);
-            toolController.selectedSpatialTransformed();
-        }
-    }
 }
@@ -7,7 +7,6 @@ package com.jme3.gde.scenecomposer.tools.shortcuts;
 
 import com.jme3.asset.AssetManager;
 import com.jme3.gde.core.sceneexplorer.nodes.JmeNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
 import com.jme3.gde.scenecomposer.SceneComposerToolController;
 import com.jme3.gde.scenecomposer.tools.PickManager;
 import com.jme3.input.KeyInput;
@@ -28,11 +27,9 @@ public class ScaleShortcut extends ShortcutTool {
 
     private Vector3f currentAxis;
     private StringBuilder numberBuilder;
-    private Spatial spatial;
     private PickManager pickManager;
     private boolean pickEnabled;
     private Vector3f startScale;
-    private Vector3f finalScale;
 
     @Override
 
@@ -43,18 +40,18 @@ public class ScaleShortcut extends ShortcutTool {
 
     @Override
     public void cancel() {
-        spatial.setLocalScale(startScale);
+        toolController.cancelSelectionTransform();
         terminate();
     }
 
     private void apply() {
-        actionPerformed(new ScaleUndo(toolController.getSelectedSpatial(), startScale, finalScale));
+        selectionTransformPerformed();
         terminate();
     }
 
     private void init(Spatial selectedSpatial) {
-        spatial = selectedSpatial;
-        startScale = spatial.getLocalScale().clone();
+        startScale = selectedSpatial.getLocalScale().clone();
+        toolController.beginSelectionTransform();
         currentAxis = Vector3f.UNIT_XYZ;
         pickManager = Lookup.getDefault().lookup(PickManager.class);
         pickEnabled = false;
@@ -155,7 +152,6 @@ public class ScaleShortcut extends ShortcutTool {
                 diff.multLocal(0.5f);
                 scale = startScale.add(diff);
             }
-            finalScale = scale;
             toolController.updateSelectedScale(scale, Vector3f.UNIT_XYZ);
             updateToolsTransformation();
         }
@@ -175,27 +171,4 @@ public class ScaleShortcut extends ShortcutTool {
         }
     }
 
-    private class ScaleUndo extends AbstractUndoableSceneEdit {
-
-        private Spatial spatial;
-        private Vector3f before, after;
-
-        ScaleUndo(Spatial spatial, Vector3f before, Vector3f after) {
-            this.spatial = spatial;
-            this.before = before;
-            this.after = after;
-        }
-
-        @Override
-        public void sceneUndo() {
-            spatial.setLocalScale(before);
-            toolController.selectedSpatialTransformed();
-        }
-
-        @Override
-        public void sceneRedo() {
-            spatial.setLocalScale(after);
-            toolController.selectedSpatialTransformed();
-        }
-    }
 }
@@ -772,6 +772,11 @@ public class TerrainEditorController implements NodeListener {
                     undoParent.attachChild(undoSpatial);
                 }
 
+                @Override
+                public Object getSceneTarget() {
+                    return undoParent;
+                }
+
                 @Override
                 public void awtRedo() {
                     if (parentNode != null) {
@@ -42,6 +42,7 @@ import com.jme3.input.event.KeyInputEvent;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
 import java.util.concurrent.Callable;
+import org.openide.loaders.DataObject;
 
 /**
  * The controller for the terrain modification tools. It will in turn interact
@@ -132,8 +133,10 @@ public class TerrainToolController extends SceneToolController {
      */
     private void doShowEditTool(TerrainTool tool) {
         // remove the old tool markers
-        if (terrainTool != null)
+        if (terrainTool != null) {
+            terrainTool.deactivate(jmeRootNode, editorController.getCurrentDataObject());
             terrainTool.hideMarkers();
+        }
         
         terrainTool = tool;
         if (terrainTool != null) {
@@ -262,4 +265,21 @@ public class TerrainToolController extends SceneToolController {
             terrainTool.actionEnded(jmeRootNode, editorController.getCurrentDataObject());
         }
     }
+
+    @Override
+    public void cleanup() {
+        // the scene is closing, keep a stroke that is still open undoable
+        final TerrainTool tool = terrainTool;
+        if (tool != null) {
+            final DataObject dataObject = editorController != null ? editorController.getCurrentDataObject() : null;
+            SceneApplication.getApplication().enqueue(new Callable<Object>() {
+
+                public Object call() throws Exception {
+                    tool.deactivate(jmeRootNode, dataObject);
+                    return null;
+                }
+            });
+        }
+        super.cleanup();
+    }
 } 
@@ -34,6 +34,9 @@ package com.jme3.gde.terraineditor.tools;
 
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.core.sceneexplorer.nodes.actions.AbstractStatefulGLToolAction;
+import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
+import com.jme3.gde.core.undoredo.UndoPayload;
+import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.terrain.Terrain;
@@ -47,6 +50,9 @@ public abstract class AbstractTerrainToolAction extends AbstractStatefulGLToolAc
 
     private Terrain terrain;
     private Node terrainNode;
+    private UndoPayload undoLocs;
+    private UndoPayload undoHeights;
+    private boolean keepUndoHeights = true;
 
     protected Terrain getTerrain(Spatial root) {
 
@@ -100,6 +106,108 @@ public abstract class AbstractTerrainToolAction extends AbstractStatefulGLToolAc
         return null;
     }
      
+    /**
+     * Saves the terrain data this action is about to change into the stroke.
+     * Called by the tool right before the action is applied as one dab of a
+     * mouse drag. By default the heightmap around the brush is saved.
+     *
+     * @param stroke the stroke of the current drag
+     * @param terrain the edited terrain
+     * @param center the brush center, relative to the terrain node
+     * @param radius the brush radius
+     */
+    protected void captureStroke(TerrainStroke stroke, Terrain terrain, Vector3f center, float radius) {
+        stroke.captureHeights(center, radius);
+    }
+
+    @Override
+    public void doActionPerformed(AbstractSceneExplorerNode rootNode, DataObject dataObject, boolean recordUndo) {
+        // a dab of a stroke is undone by the stroke, no need to keep its own undo data
+        keepUndoHeights = recordUndo;
+        super.doActionPerformed(rootNode, dataObject, recordUndo);
+    }
+
+    /**
+     * Keeps the locations and values the brush wrote, so this action can be
+     * undone. They are stored as (possibly compressed) float data instead of
+     * Vector2f and Float objects, so long editing sessions do not fill the heap.
+     *
+     * @param brush the brush that was applied
+     */
+    protected void setUndoHeights(TerrainBrush brush) {
+        setUndoHeights(brush.getLocations(), brush.getValues());
+    }
+
+    /**
+     * @param locs the changed locations as packed x/z pairs
+     * @param heights the height deltas or the old heights
+     */
+    protected void setUndoHeights(float[] locs, float[] heights) {
+        if (!keepUndoHeights)
+            return;
+        releaseUndoHeights();
+        undoLocs = UndoPayload.ofFloats(locs);
+        undoHeights = UndoPayload.ofFloats(heights);
+    }
+
+    protected boolean hasUndoHeights() {
+        return undoLocs != null && undoHeights != null;
+    }
+
+    /**
+     * Reverts the stored undo heights with one bulk terrain call.
+     *
+     * @param terrain the edited terrain
+     * @param absolute true if the old heights were stored, false for deltas
+     */
+    protected void resetUndoHeights(Terrain terrain, boolean absolute) {
+        if (!hasUndoHeights())
+            return;
+        float[] locs = undoLocs.toFloats();
+        float[] heights = undoHeights.toFloats();
+        if (absolute)
+            TerrainBrush.setHeights(terrain, locs, heights, heights.length);
+        else
+            TerrainBrush.adjustHeights(terrain, locs, heights, heights.length, -1f);
+    }
+
+    private void releaseUndoHeights() {
+        if (undoLocs != null) {
+            undoLocs.release();
+            undoLocs = null;
+        }
+        if (undoHeights != null) {
+            undoHeights.release();
+            undoHeights = null;
+        }
+    }
+
+    @Override
+    protected long getUndoRetainedSize(Object undoObject) {
+        long size = SceneUndoRedoManager.DEFAULT_EDIT_SIZE;
+        if (undoLocs != null) {
+            size += undoLocs.getRetainedSize();
+        }
+        if (undoHeights != null) {
+            size += undoHeights.getRetainedSize();
+        }
+        return size;
+    }
+
+    @Override
+    protected void releaseUndo(Object undoObject) {
+        releaseUndoHeights();
+    }
+
+    /**
+     * The terrain edits only change the terrain node.
+     */
+    @Override
+    protected Object getUndoTarget(AbstractSceneExplorerNode rootNode) {
+        Node node = getTerrainNode(rootNode.getLookup().lookup(Node.class));
+        return node != null ? node : super.getUndoTarget(rootNode);
+    }
+
     @Override
     protected void setModified(final AbstractSceneExplorerNode rootNode, final DataObject dataObject) {
         if (dataObject.isModified())
@@ -72,7 +72,7 @@ public class LevelTerrainTool extends TerrainTool {
         if (toolParams.absolute)
             desiredHeight.y = toolParams.height;
         LevelTerrainToolAction action = new LevelTerrainToolAction(point, radius, weight, desiredHeight, toolParams.precision, getMesh());
-        action.doActionPerformed(rootNode, dataObject);
+        applyStrokeAction(action, point, rootNode, dataObject);
     }
 
     @Override
@@ -33,12 +33,10 @@ package com.jme3.gde.terraineditor.tools;
 
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.terraineditor.tools.TerrainTool.Meshes;
-import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
 import com.jme3.terrain.Terrain;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Level the terrain to a desired height, executed from the OpenGL thread.
@@ -56,9 +54,6 @@ public class LevelTerrainToolAction extends AbstractTerrainToolAction {
     private final Vector3f levelTerrainLocation;
     private final boolean precision;
     private final Meshes mesh;
-    
-    private List<Vector2f> undoLocs;
-    private List<Float> undoHeights;
 
     public LevelTerrainToolAction(Vector3f markerLocation, float radius, float height, Vector3f levelTerrainLocation, boolean precision, Meshes mesh) {
         this.worldLoc = markerLocation.clone();
@@ -86,9 +81,7 @@ public class LevelTerrainToolAction extends AbstractTerrainToolAction {
     protected void doUndoTool(AbstractSceneExplorerNode rootNode, Object undoObject) {
         if (undoObject == null)
             return;
-        if (undoLocs == null || undoHeights == null)
-            return;
-        resetHeight((Terrain)undoObject, undoLocs, undoHeights, precision);
+        resetUndoHeights((Terrain)undoObject, precision);
     }
 
     private void modifyHeight(Terrain terrain, Vector3f level, Vector3f worldLoc, float radius, float height, boolean precision, Meshes mesh) {
@@ -96,33 +89,24 @@ public class LevelTerrainToolAction extends AbstractTerrainToolAction {
             return;
 
         float desiredHeight = level.y;
+        float worldScaleY = ((Node)terrain).getWorldScale().y;
+        float localScaleY = ((Node)terrain).getLocalScale().y;
 
-        int radiusStepsX = (int)(radius / ((Node)terrain).getLocalScale().x);
-        int radiusStepsZ = (int)(radius / ((Node)terrain).getLocalScale().z);
-
-        float xStepAmount = ((Node)terrain).getLocalScale().x;
-        float zStepAmount = ((Node)terrain).getLocalScale().z;
-
-        List<Vector2f> locs = new ArrayList<Vector2f>();
-        List<Float> heights = new ArrayList<Float>();
-        undoHeights = new ArrayList<Float>();
+        TerrainBrush brush = new TerrainBrush(terrain, worldLoc, radius, mesh);
+        brush.readHeights();
+        float[] oldHeights = precision ? new float[brush.getWidth() * brush.getDepth()] : null;
 
-        for (int z=-radiusStepsZ; z<radiusStepsZ; z++) {
-            for (int x=-radiusStepsX; x<radiusStepsX; x++) {
-
-                float locX = worldLoc.x + (x*xStepAmount);
-                float locZ = worldLoc.z + (z*zStepAmount);
+        for (int z=0; z<brush.getDepth(); z++) {
+            for (int x=0; x<brush.getWidth(); x++) {
                 
                 // see if it is in the radius of the tool
-                if (ToolUtils.isInMesh(locX-worldLoc.x,locZ-worldLoc.z,radius, mesh)) {
+                if (brush.isInside(x, z)) {
 
-                    Vector2f terrainLoc = new Vector2f(locX, locZ);
                     // adjust height based on radius of the tool
-                    float terrainHeightAtLoc = terrain.getHeightmapHeight(terrainLoc)*((Node)terrain).getWorldScale().y;
+                    float terrainHeightAtLoc = brush.getHeight(x, z)*worldScaleY;
                     if (precision) {
-                        locs.add(terrainLoc);
-                        heights.add(desiredHeight / ((Node) terrain).getLocalScale().y);
-                        undoHeights.add(terrainHeightAtLoc / ((Node) terrain).getLocalScale().y);
+                        oldHeights[brush.getCount()] = terrainHeightAtLoc / localScaleY;
+                        brush.put(x, z, desiredHeight / localScaleY);
                     } else {
                         float epsilon = 0.1f*height; // rounding error for snapping
                     
@@ -135,7 +119,7 @@ public class LevelTerrainToolAction extends AbstractTerrainToolAction {
                         adj *= height;
                         
                         if (mesh.equals(Meshes.Sphere))
-                            adj *= ToolUtils.calculateRadiusPercent(radius, locX-worldLoc.x, locZ-worldLoc.z);
+                            adj *= brush.getRadiusPercent(x, z);
 
                         // test if adjusting too far and then cap it
                         if (adj > 0 && ToolUtils.floatGreaterThan((terrainHeightAtLoc + adj), desiredHeight, epsilon))
@@ -144,40 +128,23 @@ public class LevelTerrainToolAction extends AbstractTerrainToolAction {
                             adj = terrainHeightAtLoc - desiredHeight;
   
                         if (!ToolUtils.floatEquals(adj, 0, 0.001f)) {
-                                locs.add(terrainLoc);
-                                heights.add(adj);
+                                brush.put(x, z, adj);
                         }
                     
                     }
                 }
             }
         }
-        undoLocs = locs;
-        if (!precision)
-            undoHeights = heights;
+        if (precision)
+            setUndoHeights(brush.getLocations(), Arrays.copyOf(oldHeights, brush.getCount()));
+        else
+            setUndoHeights(brush);
         
         // do the actual height adjustment
         if (precision)
-            terrain.setHeight(locs, heights);
+            brush.setHeights();
         else 
-            terrain.adjustHeight(locs, heights);
-        
-        ((Node)terrain).updateModelBound(); // or else we won't collide with it where we just edited
-
-    }
-
-    
-    private void resetHeight(Terrain terrain, List<Vector2f> undoLocs, List<Float> undoHeights, boolean precision) {
-        if (precision)
-            terrain.setHeight(undoLocs, undoHeights);
-        else {
-            List<Float> neg = new ArrayList<Float>();
-            for (Float f : undoHeights) {
-                neg.add(f * -1f);
-            }
-            terrain.adjustHeight(undoLocs, neg);
-        }
-        ((Node)terrain).updateModelBound();
+            brush.adjustHeights();
     }
     
 }
@@ -49,7 +49,7 @@ public class LowerTerrainTool extends TerrainTool {
         if (radius == 0 || weight == 0)
             return;
         RaiseTerrainToolAction action = new RaiseTerrainToolAction(point, radius, -weight, getMesh()); // negative weight
-        action.doActionPerformed(rootNode, dataObject);
+        applyStrokeAction(action, point, rootNode, dataObject);
     }
 
     @Override
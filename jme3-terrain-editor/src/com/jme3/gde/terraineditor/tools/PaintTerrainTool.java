@@ -32,19 +32,11 @@
 package com.jme3.gde.terraineditor.tools;
 
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
-import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
-import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
 import com.jme3.gde.terraineditor.TerrainEditorController;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
-import com.jme3.terrain.Terrain;
-import java.util.ArrayList;
-import java.util.List;
-import javax.swing.undo.CannotRedoException;
-import javax.swing.undo.CannotUndoException;
 import org.openide.loaders.DataObject;
-import org.openide.util.Lookup;
 
 /**
  * Paint or erase the textures on the terrain.
@@ -54,7 +46,6 @@ import org.openide.util.Lookup;
 public class PaintTerrainTool extends TerrainTool {
 
     private boolean painting = false; // to check when undo actions need to be set
-    List<PaintTerrainToolAction> actions = new ArrayList<PaintTerrainToolAction>();
     TerrainEditorController controller; // used to we can flag when alpha maps changed
 
     public PaintTerrainTool(TerrainEditorController controller) {
@@ -85,25 +76,20 @@ public class PaintTerrainTool extends TerrainTool {
             action = new PaintTerrainToolAction(point, radius, weight, textureIndex);
         else
             action = new PaintTerrainToolAction(point, radius, -weight, textureIndex);
-        action.doActionPerformed(rootNode, dataObject, false);
-        actions.add(action);
+        applyStrokeAction(action, point, rootNode, dataObject);
         setModified(rootNode, dataObject);
     }
     
     @Override
     public void actionEnded(AbstractSceneExplorerNode rootNode, DataObject dataObject) {
-        if (painting) {
-            painting = false;
-            
-            if (actions.isEmpty())
-                return;
-            
-            // record undo action
-            List<PaintTerrainToolAction> cloned = new ArrayList<PaintTerrainToolAction>();
-            cloned.addAll(actions);
-            recordUndo(cloned, rootNode, dataObject);
-            actions.clear();
-        }
+        painting = false;
+        super.actionEnded(rootNode, dataObject);
+    }
+    
+    @Override
+    public void deactivate(AbstractSceneExplorerNode rootNode, DataObject dataObject) {
+        painting = false;
+        super.deactivate(rootNode, dataObject);
     }
 
     /**
@@ -120,49 +106,10 @@ public class PaintTerrainTool extends TerrainTool {
         super.addMarkerPrimary(parent);
         markerPrimary.getMaterial().setColor("Color", ColorRGBA.Cyan);
     }
-
-    private void recordUndo(final List<PaintTerrainToolAction> actions, final AbstractSceneExplorerNode rootNode, final DataObject dataObject) {
-        Lookup lookup = Lookup.getDefault() ;
-        SceneUndoRedoManager manager = lookup.lookup(SceneUndoRedoManager.class);
-
-        AbstractUndoableSceneEdit undoer = new AbstractUndoableSceneEdit() {
-
-            @Override
-            public void sceneUndo() throws CannotUndoException {
-                Terrain terrain = null;
-                for (int i=actions.size()-1; i>=0; i--) {
-                    PaintTerrainToolAction a = actions.get(i);
-                    if (terrain == null) 
-                        terrain = a.getTerrain(rootNode.getLookup().lookup(Node.class));
-                    a.doUndoTool(rootNode, terrain);
-                }
-                setModified(rootNode, dataObject);
-            }
-
-            @Override
-            public void sceneRedo() throws CannotRedoException {
-                for (int i=0; i<actions.size(); i++) {
-                    PaintTerrainToolAction a = actions.get(i);
-                    a.applyTool(rootNode);
-                }
-                setModified(rootNode, dataObject);
-            }
-
-        };
-        if (manager != null) // this is a temporary check, it should never be null but occasionally is
-            manager.addEdit(this, undoer);
-    }
     
+    @Override
     protected void setModified(final AbstractSceneExplorerNode rootNode, final DataObject dataObject) {
         controller.alphaLayersChanged();
-        if (dataObject.isModified())
-            return;
-        java.awt.EventQueue.invokeLater(new Runnable() {
-
-            public void run() {
-                dataObject.setModified(true);
-                rootNode.refresh(true);
-            }
-        });
+        super.setModified(rootNode, dataObject);
     }
 }
@@ -86,6 +86,31 @@ public class PaintTerrainToolAction extends AbstractTerrainToolAction {
         paintTexture((Terrain)undoObject, worldLoc, radius, -weight, selectedTextureIndex);
     }
     
+    /**
+     * Saves the pixels of the alpha map the brush can reach, instead of the
+     * heightmap.
+     */
+    @Override
+    protected void captureStroke(TerrainStroke stroke, Terrain terrain, Vector3f center, float toolRadius) {
+        if (selectedTextureIndex < 0 || center == null)
+            return;
+        Texture tex = getAlphaTexture(terrain, selectedTextureIndex/4);
+        if (tex == null)
+            return;
+        Image image = tex.getImage();
+        Vector2f uv = getPointPercentagePosition(terrain, center);
+        float brushSize = toolRadius/(terrain.getTerrainSize()*((Node)terrain).getWorldScale().x);
+        
+        // the same pixel bounds as doPaintAction
+        float width = image.getWidth();
+        float height = image.getHeight();
+        int minx = (int) Math.max(0, (uv.x*width - brushSize*width));
+        int maxx = (int) Math.min(width,(uv.x*width + brushSize*width));
+        int miny = (int) Math.max(0,(uv.y*height - brushSize*height));
+        int maxy = (int) Math.min(height,(uv.y*height + brushSize*height));
+        stroke.captureAlpha(image, minx, miny, maxx, maxy);
+    }
+    
     public void paintTexture(Terrain terrain, Vector3f markerLocation, float toolRadius, float toolWeight, int selectedTextureIndex) {
         if (selectedTextureIndex < 0 || markerLocation == null)
             return;
@@ -51,7 +51,7 @@ public class RoughTerrainTool extends TerrainTool {
         if (radius == 0 || weight == 0)
             return;
         RoughTerrainToolAction action = new RoughTerrainToolAction(point, radius, weight, params);
-        action.doActionPerformed(rootNode, dataObject);
+        applyStrokeAction(action, point, rootNode, dataObject);
     }
 
     @Override
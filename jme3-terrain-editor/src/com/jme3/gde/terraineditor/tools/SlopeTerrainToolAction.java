@@ -34,12 +34,10 @@ package com.jme3.gde.terraineditor.tools;
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.terraineditor.tools.TerrainTool.Meshes;
 import com.jme3.math.Plane;
-import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
 import com.jme3.terrain.Terrain;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  *
@@ -52,8 +50,6 @@ public class SlopeTerrainToolAction extends AbstractTerrainToolAction {
     private final Vector3f point2;
     private final float radius;
     private final float weight;
-    private List<Vector2f> undoLocs;
-    private List<Float> undoHeights;
     private final boolean precise;
     private final boolean lock;
     private final Meshes mesh;
@@ -89,10 +85,7 @@ public class SlopeTerrainToolAction extends AbstractTerrainToolAction {
         if (undoObject == null)
             return;
 
-        if (undoLocs == null || undoHeights == null)
-            return;
-
-        resetHeight((Terrain) undoObject, undoLocs, undoHeights, precise);
+        resetUndoHeights((Terrain) undoObject, precise);
     }
 
     private void modifyHeight(Terrain terrain, Vector3f point1, Vector3f point2, Vector3f current, float radius, float weight, boolean precise, boolean lock, Meshes mesh) {
@@ -105,35 +98,40 @@ public class SlopeTerrainToolAction extends AbstractTerrainToolAction {
 
         Vector3f subtract = point2.subtract(point1);
 
-        int radiusStepsX = (int) (radius / ((Node) terrain).getLocalScale().x);
-        int radiusStepsZ = (int) (radius / ((Node) terrain).getLocalScale().z);
-
-        float xStepAmount = ((Node) terrain).getLocalScale().x;
-        float zStepAmount = ((Node) terrain).getLocalScale().z;
+        float worldScaleY = ((Node) terrain).getWorldScale().y;
+        float localScaleY = ((Node) terrain).getLocalScale().y;
 
-        List<Vector2f> locs = new ArrayList<Vector2f>();
-        List<Float> heights = new ArrayList<Float>();
-        undoHeights = new ArrayList<Float>();
+        TerrainBrush brush = new TerrainBrush(terrain, current, radius, mesh);
+        brush.readHeights();
+        float[] oldHeights = precise ? new float[brush.getWidth() * brush.getDepth()] : null;
 
         Plane p1 = new Plane();
         Plane p2 = new Plane();
         p1.setOriginNormal(point1, point1.subtract(point2).normalize());
         p2.setOriginNormal(point2, point1.subtract(point2).normalize());
 
-        for (int z = -radiusStepsZ; z < radiusStepsZ; z++)
-            for (int x = -radiusStepsX; x < radiusStepsX; x++) {
+        float subtractLengthSquared = subtract.lengthSquared();
+        Vector3f projected = new Vector3f();
+        Vector3f ground = new Vector3f();
 
-                float locX = current.x + (x * xStepAmount);
-                float locZ = current.z + (z * zStepAmount);
+        for (int z = 0; z < brush.getDepth(); z++)
+            for (int x = 0; x < brush.getWidth(); x++) {
 
-                if (ToolUtils.isInMesh(locX - current.x, locZ - current.z, radius, mesh)) { // see if it is in the radius of the tool
-                    Vector2f terrainLoc = new Vector2f(locX, locZ);
+                float locX = brush.getLocationX(x);
+                float locZ = brush.getLocationZ(z);
+
+                if (brush.isInside(x, z)) { // see if it is in the radius of the tool
 
                     // adjust height based on radius of the tool
-                    float terrainHeightAtLoc = terrain.getHeightmapHeight(terrainLoc) * ((Node) terrain).getWorldScale().y;
-                    float distance = point1.distance(new Vector3f(locX, terrainHeightAtLoc, locZ).subtractLocal(point1).project(subtract).addLocal(point1));
+                    float terrainHeightAtLoc = brush.getHeight(x, z) * worldScaleY;
+                    // project the location onto the slope line, like Vector3f.project() without the allocation
+                    projected.set(locX, terrainHeightAtLoc, locZ).subtractLocal(point1);
+                    float along = projected.dot(subtract) / subtractLengthSquared;
+                    projected.set(subtract).multLocal(along).addLocal(point1);
+                    float distance = point1.distance(projected);
                     float desiredHeight = point1.y + (point2.y - point1.y) * distance;
-                    if (!lock || (lock && p1.whichSide(new Vector3f(locX, 0f, locZ)) != p2.whichSide(new Vector3f(locX, 0f, locZ))))
+                    ground.set(locX, 0f, locZ);
+                    if (!lock || (lock && p1.whichSide(ground) != p2.whichSide(ground)))
                         if (!precise) {
                             float epsilon = 0.1f * weight; // rounding error for snapping
 
@@ -146,7 +144,7 @@ public class SlopeTerrainToolAction extends AbstractTerrainToolAction {
                             adj *= weight;
                             
                             if (mesh.equals(Meshes.Sphere))
-                                adj *= ToolUtils.calculateRadiusPercent(radius, locX - current.x, locZ - current.z);
+                                adj *= brush.getRadiusPercent(x, z);
                             
                             // test if adjusting too far and then cap it
                             if (adj > 0 && ToolUtils.floatGreaterThan((terrainHeightAtLoc + adj), desiredHeight, epsilon))
@@ -156,41 +154,25 @@ public class SlopeTerrainToolAction extends AbstractTerrainToolAction {
                                     adj = terrainHeightAtLoc - desiredHeight;
 
                             if (!ToolUtils.floatEquals(adj, 0, 0.001f)) {
-                                locs.add(terrainLoc);
-                                heights.add(adj);
+                                brush.put(x, z, adj);
                             }
                         } else {
-                            locs.add(terrainLoc);
-                            heights.add(desiredHeight / ((Node) terrain).getLocalScale().y);
-                            undoHeights.add(terrainHeightAtLoc / ((Node) terrain).getLocalScale().y);
+                            oldHeights[brush.getCount()] = terrainHeightAtLoc / localScaleY;
+                            brush.put(x, z, desiredHeight / localScaleY);
                         }
 
 
                 }
             }
-        undoLocs = locs;
-        if (!precise)
-            undoHeights = heights;
-
-        // do the actual height adjustment
         if (precise)
-            terrain.setHeight(locs, heights);
+            setUndoHeights(brush.getLocations(), Arrays.copyOf(oldHeights, brush.getCount()));
         else
-            terrain.adjustHeight(locs, heights);
+            setUndoHeights(brush);
 
-        ((Node) terrain).updateModelBound(); // or else we won't collide with it where we just edited
-    }
-
-    private void resetHeight(Terrain terrain, List<Vector2f> undoLocs, List<Float> undoHeights, boolean precise) {
+        // do the actual height adjustment
         if (precise)
-            terrain.setHeight(undoLocs, undoHeights);
-        else {
-            List<Float> neg = new ArrayList<Float>();
-            for (Float f : undoHeights) {
-                neg.add(f * -1f);
-            }
-            terrain.adjustHeight(undoLocs, neg);
-        }
-        ((Node) terrain).updateModelBound();
+            brush.setHeights();
+        else
+            brush.adjustHeights();
     }
 }
@@ -49,7 +49,7 @@ public class SmoothTerrainTool extends TerrainTool {
         if (radius == 0 || weight == 0)
             return;
         SmoothTerrainToolAction action = new SmoothTerrainToolAction(point, radius, weight, getMesh());
-        action.doActionPerformed(rootNode, dataObject);
+        applyStrokeAction(action, point, rootNode, dataObject);
     }
 
     @Override
@@ -33,12 +33,9 @@ package com.jme3.gde.terraineditor.tools;
 
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
 import com.jme3.gde.terraineditor.tools.TerrainTool.Meshes;
-import com.jme3.math.Vector2f;
 import com.jme3.math.Vector3f;
 import com.jme3.scene.Node;
 import com.jme3.terrain.Terrain;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Smooth bumps in the terrain by averaging the height in the tool radius.
@@ -54,8 +51,6 @@ public class SmoothTerrainToolAction extends AbstractTerrainToolAction {
     private float radius;
     private float height;
     
-    List<Vector2f> undoLocs;
-    List<Float> undoHeights;
     private final Meshes mesh;
 
     public SmoothTerrainToolAction(Vector3f markerLocation, float radius, float height, Meshes mesh) {
@@ -81,38 +76,26 @@ public class SmoothTerrainToolAction extends AbstractTerrainToolAction {
     protected void doUndoTool(AbstractSceneExplorerNode rootNode, Object undoObject) {
         if (undoObject == null)
             return;
-        if (undoLocs == null || undoHeights == null)
-            return;
-        resetHeight((Terrain)undoObject, undoLocs, undoHeights);
+        resetUndoHeights((Terrain)undoObject, false);
     }
     
     private void modifyHeight(Terrain terrain, Vector3f worldLoc, float radius, float height, Meshes mesh) {
-        
-        int radiusStepsX = (int)(radius / ((Node)terrain).getLocalScale().x);
-        int radiusStepsZ = (int)(radius / ((Node)terrain).getLocalScale().z);
-
-        float xStepAmount = ((Node)terrain).getLocalScale().x;
-        float zStepAmount = ((Node)terrain).getLocalScale().z;
-
-        List<Vector2f> locs = new ArrayList<Vector2f>();
-        List<Float> heights = new ArrayList<Float>();
-
-        for (int z=-radiusStepsZ; z<radiusStepsZ; z++) {
-            for (int x=-radiusStepsX; x<radiusStepsX; x++) {
+        // read the neighbours from a local copy, one cell around the brush
+        TerrainBrush brush = new TerrainBrush(terrain, worldLoc, radius, mesh, 1);
+        brush.readHeights();
 
-                float locX = worldLoc.x + (x*xStepAmount);
-                float locZ = worldLoc.z + (z*zStepAmount);
+        for (int z=0; z<brush.getDepth(); z++) {
+            for (int x=0; x<brush.getWidth(); x++) {
 
                 // see if it is in the radius of the tool
-                if (ToolUtils.isInMesh(locX-worldLoc.x,locZ-worldLoc.z,radius,mesh)) {
+                if (brush.isInside(x, z)) {
 
-                    Vector2f terrainLoc = new Vector2f(locX, locZ);
                     // adjust height based on radius of the tool
-                    float center = terrain.getHeightmapHeight(terrainLoc);
-                    float left = terrain.getHeightmapHeight(new Vector2f(terrainLoc.x-1, terrainLoc.y));
-                    float right = terrain.getHeightmapHeight(new Vector2f(terrainLoc.x+1, terrainLoc.y));
-                    float up = terrain.getHeightmapHeight(new Vector2f(terrainLoc.x, terrainLoc.y+1));
-                    float down = terrain.getHeightmapHeight(new Vector2f(terrainLoc.x, terrainLoc.y-1));
+                    float center = brush.getHeight(x, z);
+                    float left = brush.getHeight(x-1, z);
+                    float right = brush.getHeight(x+1, z);
+                    float up = brush.getHeight(x, z+1);
+                    float down = brush.getHeight(x, z-1);
                     int count = 1;
                     float amount = center;
                     if ( !isNaN(left) ) {
@@ -137,32 +120,19 @@ public class SmoothTerrainToolAction extends AbstractTerrainToolAction {
                     // weigh it
                     float diff = amount-center;
                     diff *= height;
-                        
-                    locs.add(terrainLoc);
-                    heights.add(diff);
+
+                    brush.put(x, z, diff);
                 }
             }
         }
         
-        undoLocs = locs;
-        undoHeights = heights;
+        setUndoHeights(brush);
         
         // do the actual height adjustment
-        terrain.adjustHeight(locs, heights);
-
-        ((Node)terrain).updateModelBound(); // or else we won't collide with it where we just edited
+        brush.adjustHeights();
     }
     
     private boolean isNaN(float val) {
         return val != val;
     }
-    
-    private void resetHeight(Terrain terrain, List<Vector2f> undoLocs, List<Float> undoHeights) {
-        List<Float> neg = new ArrayList<Float>();
-        for (Float f : undoHeights)
-            neg.add( f * -1f );
-        
-        terrain.adjustHeight(undoLocs, neg);
-        ((Node)terrain).updateModelBound();
-    }
 }
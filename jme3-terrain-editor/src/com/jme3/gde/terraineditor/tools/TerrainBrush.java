@@ -0,0 +1,446 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jme3.gde.terraineditor.tools;
+
+import com.jme3.gde.terraineditor.tools.TerrainTool.Meshes;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.terrain.Terrain;
+import com.jme3.terrain.geomipmap.TerrainGrid;
+import com.jme3.terrain.geomipmap.TerrainPatch;
+import com.jme3.terrain.geomipmap.TerrainQuad;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Works on the heightmap cells covered by one dab of a height tool.
+ * <p>
+ * The covered cells form a dirty rectangle of (2 * radius steps) cells on
+ * each axis. The heights of that rectangle, plus an optional border for tools
+ * that look at neighbours, are read once into a float array so the tool can
+ * compute the new values in a single pass without querying the terrain per
+ * sample. The results are collected in packed arrays and written straight into
+ * the height arrays of the terrain patches. Afterwards one small terrain call
+ * rebuilds the vertex buffers of the touched patches and flags the normals of
+ * the dirty rectangle, followed by one model bound update.
+ * <p>
+ * Cell (0, 0) is the corner at -radius of the brush, the cells are indexed
+ * the same way the tools always iterated their radius steps. Only use this
+ * from the render thread.
+ */
+final class TerrainBrush {
+
+    private final Terrain terrain;
+    private final float centerX;
+    private final float centerZ;
+    private final float radius;
+    private final Meshes mesh;
+    private final float stepX;
+    private final float stepZ;
+    private final int radiusStepsX;
+    private final int radiusStepsZ;
+    private final int width;
+    private final int depth;
+    private final int border;
+    private final int stride;
+    private final PatchGrid grid;
+    private float[] region;
+    private float[] locations;
+    private float[] values;
+    private int count;
+
+    TerrainBrush(Terrain terrain, Vector3f center, float radius, Meshes mesh) {
+        this(terrain, center, radius, mesh, 0);
+    }
+
+    /**
+     * @param terrain the terrain to edit
+     * @param center the brush center, relative to the terrain node
+     * @param radius the brush radius in world units
+     * @param mesh the brush shape
+     * @param border the number of extra cells to read around the brush
+     */
+    TerrainBrush(Terrain terrain, Vector3f center, float radius, Meshes mesh, int border) {
+        this.terrain = terrain;
+        this.centerX = center.x;
+        this.centerZ = center.z;
+        this.radius = radius;
+        this.mesh = mesh;
+        this.border = border;
+        Vector3f scale = ((Node) terrain).getWorldScale();
+        stepX = scale.x;
+        stepZ = scale.z;
+        radiusStepsX = (int) (radius / stepX);
+        radiusStepsZ = (int) (radius / stepZ);
+        width = radiusStepsX * 2;
+        depth = radiusStepsZ * 2;
+        stride = width + border * 2;
+        grid = PatchGrid.create(terrain);
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the x offset of the cell column from the brush center
+     */
+    float getOffsetX(int x) {
+        return (x - radiusStepsX) * stepX;
+    }
+
+    /**
+     * @return the z offset of the cell row from the brush center
+     */
+    float getOffsetZ(int z) {
+        return (z - radiusStepsZ) * stepZ;
+    }
+
+    float getLocationX(int x) {
+        return centerX + getOffsetX(x);
+    }
+
+    float getLocationZ(int z) {
+        return centerZ + getOffsetZ(z);
+    }
+
+    /**
+     * @return true if the cell is covered by the brush shape
+     */
+    boolean isInside(int x, int z) {
+        return ToolUtils.isInMesh(getOffsetX(x), getOffsetZ(z), radius, mesh);
+    }
+
+    float getRadiusPercent(int x, int z) {
+        return ToolUtils.calculateRadiusPercent(radius, getOffsetX(x), getOffsetZ(z));
+    }
+
+    /**
+     * Reads the heightmap heights of the brush rectangle and its border into
+     * the local copy. Cells outside of the terrain read as NaN.
+     */
+    void readHeights() {
+        int rows = depth + border * 2;
+        if (region == null) {
+            region = new float[stride * rows];
+        }
+        if (grid == null) {
+            Vector2f loc = new Vector2f();
+            int i = 0;
+            for (int z = -border; z < depth + border; z++) {
+                loc.y = getLocationZ(z);
+                for (int x = -border; x < width + border; x++) {
+                    loc.x = getLocationX(x);
+                    region[i++] = terrain.getHeightmapHeight(loc);
+                }
+            }
+            return;
+        }
+        int[] cellsX = new int[stride];
+        for (int x = -border; x < width + border; x++) {
+            cellsX[x + border] = grid.getCellX(getLocationX(x));
+        }
+        int i = 0;
+        for (int z = -border; z < depth + border; z++) {
+            int cellZ = grid.getCellZ(getLocationZ(z));
+            for (int x = 0; x < stride; x++) {
+                region[i++] = grid.getHeight(cellsX[x], cellZ);
+            }
+        }
+    }
+
+    /**
+     * @return the height read by {@link #readHeights()}, x and z may reach
+     * into the border
+     */
+    float getHeight(int x, int z) {
+        return region[(z + border) * stride + x + border];
+    }
+
+    /**
+     * Records a value for the cell; a height delta for
+     * {@link #adjustHeights()}, an absolute height for {@link #setHeights()}.
+     */
+    void put(int x, int z, float value) {
+        if (values == null) {
+            values = new float[width * depth];
+            locations = new float[width * depth * 2];
+        }
+        locations[count * 2] = getLocationX(x);
+        locations[count * 2 + 1] = getLocationZ(z);
+        values[count] = value;
+        count++;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    float[] getLocations() {
+        return count == 0 ? new float[0] : Arrays.copyOf(locations, count * 2);
+    }
+
+    float[] getValues() {
+        return count == 0 ? new float[0] : Arrays.copyOf(values, count);
+    }
+
+    void adjustHeights() {
+        write(terrain, grid, locations, values, count, 1f, false);
+    }
+
+    void setHeights() {
+        write(terrain, grid, locations, values, count, 1f, true);
+    }
+
+    /**
+     * Adds the packed values, multiplied by factor, to the packed locations.
+     */
+    static void adjustHeights(Terrain terrain, float[] locations, float[] values, int count, float factor) {
+        write(terrain, PatchGrid.create(terrain), locations, values, count, factor, false);
+    }
+
+    static void setHeights(Terrain terrain, float[] locations, float[] values, int count) {
+        write(terrain, PatchGrid.create(terrain), locations, values, count, 1f, true);
+    }
+
+    private static void write(Terrain terrain, PatchGrid grid, float[] locations, float[] values, int count, float factor, boolean override) {
+        if (count == 0) {
+            return;
+        }
+        if (grid == null) {
+            // not a plain quad tree, go through the terrain per location
+            List<Vector2f> locs = new ArrayList<Vector2f>(count);
+            List<Float> heights = new ArrayList<Float>(count);
+            for (int i = 0; i < count; i++) {
+                locs.add(new Vector2f(locations[i * 2], locations[i * 2 + 1]));
+                heights.add(values[i] * factor);
+            }
+            if (override) {
+                terrain.setHeight(locs, heights);
+            } else {
+                terrain.adjustHeight(locs, heights);
+            }
+        } else {
+            grid.write(locations, values, count, factor, override);
+        }
+        ((Node) terrain).updateModelBound(); // or else we won't collide with it where we just edited
+    }
+
+    /**
+     * The patches of a terrain quad tree, laid out by their position in the
+     * heightmap so cells can be read and written directly in the height arrays
+     * of the patches. Neighbouring patches share their edge cells, those are
+     * written to every patch that contains them. The cell of a location is
+     * rounded the same way TerrainQuad does it.
+     */
+    private static final class PatchGrid {
+
+        private final TerrainQuad quad;
+        private final int totalSize;
+        private final int half;
+        private final float scaleX;
+        private final float scaleZ;
+        private final int patchSize;
+        private final int step;
+        private final int patchesPerRow;
+        private final float[][] heights;
+        private final int[] anchors;
+
+        private PatchGrid(TerrainQuad quad, int patchSize, float[][] heights) {
+            this.quad = quad;
+            this.totalSize = quad.getTotalSize();
+            this.half = totalSize / 2;
+            Vector3f scale = quad.getWorldScale();
+            this.scaleX = scale.x;
+            this.scaleZ = scale.z;
+            this.patchSize = patchSize;
+            this.step = patchSize - 1;
+            this.patchesPerRow = (totalSize - 1) / step;
+            this.heights = heights;
+            this.anchors = new int[heights.length];
+        }
+
+        /**
+         * @return the grid of the terrain patches or null if the terrain is
+         * not a plain, completely loaded quad tree
+         */
+        static PatchGrid create(Terrain terrain) {
+            if (!(terrain instanceof TerrainQuad) || terrain instanceof TerrainGrid) {
+                return null;
+            }
+            TerrainQuad quad = (TerrainQuad) terrain;
+            List<TerrainPatch> patches = new ArrayList<TerrainPatch>();
+            quad.depthFirstTraversal(spatial -> {
+                if (spatial instanceof TerrainPatch) {
+                    patches.add((TerrainPatch) spatial);
+                }
+            });
+            if (patches.isEmpty()) {
+                return null;
+            }
+            int patchSize = patches.get(0).getSize();
+            int totalSize = quad.getTotalSize();
+            int step = patchSize - 1;
+            if (step < 1 || (totalSize - 1) % step != 0) {
+                return null;
+            }
+            int patchesPerRow = (totalSize - 1) / step;
+            float[][] heights = new float[patchesPerRow * patchesPerRow][];
+            for (TerrainPatch patch : patches) {
+                float[] heightMap = patch.getHeightMap();
+                if (patch.getSize() != patchSize || heightMap == null || heightMap.length != patchSize * patchSize) {
+                    return null;
+                }
+                // the patches are unscaled, their first vertex sits at their translation
+                float originX = 0;
+                float originZ = 0;
+                for (Spatial spatial = patch; spatial != quad; spatial = spatial.getParent()) {
+                    originX += spatial.getLocalTranslation().x;
+                    originZ += spatial.getLocalTranslation().z;
+                }
+                int cellX = Math.round(originX) + totalSize / 2;
+                int cellZ = Math.round(originZ) + totalSize / 2;
+                if (cellX < 0 || cellZ < 0 || cellX % step != 0 || cellZ % step != 0) {
+                    return null;
+                }
+                int patchX = cellX / step;
+                int patchZ = cellZ / step;
+                if (patchX >= patchesPerRow || patchZ >= patchesPerRow || heights[patchZ * patchesPerRow + patchX] != null) {
+                    return null;
+                }
+                heights[patchZ * patchesPerRow + patchX] = heightMap;
+            }
+            for (float[] heightMap : heights) {
+                if (heightMap == null) {
+                    return null;
+                }
+            }
+            return new PatchGrid(quad, patchSize, heights);
+        }
+
+        int getCellX(float locationX) {
+            return Math.round((locationX / scaleX) + half);
+        }
+
+        int getCellZ(float locationZ) {
+            return Math.round((locationZ / scaleZ) + half);
+        }
+
+        boolean isInside(int cellX, int cellZ) {
+            return cellX >= 0 && cellZ >= 0 && cellX < totalSize && cellZ < totalSize;
+        }
+
+        /**
+         * @return the height of the heightmap cell or NaN if it is outside of
+         * the terrain
+         */
+        float getHeight(int cellX, int cellZ) {
+            if (!isInside(cellX, cellZ)) {
+                return Float.NaN;
+            }
+            int patchX = Math.min(cellX / step, patchesPerRow - 1);
+            int patchZ = Math.min(cellZ / step, patchesPerRow - 1);
+            return heights[patchZ * patchesPerRow + patchX][(cellZ - patchZ * step) * patchSize + cellX - patchX * step];
+        }
+
+        /**
+         * Writes the packed values into the height arrays. The terrain is then
+         * called once with one location per touched patch and the corners of
+         * the written area, set to the heights they already have: that makes
+         * it rebuild the vertex buffer of each touched patch from its height
+         * array and flag the normals of the area for recalculation.
+         */
+        void write(float[] locations, float[] values, int count, float factor, boolean override) {
+            Arrays.fill(anchors, -1);
+            float minX = Float.POSITIVE_INFINITY;
+            float minZ = Float.POSITIVE_INFINITY;
+            float maxX = Float.NEGATIVE_INFINITY;
+            float maxZ = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                float locationX = locations[i * 2];
+                float locationZ = locations[i * 2 + 1];
+                minX = Math.min(minX, locationX);
+                minZ = Math.min(minZ, locationZ);
+                maxX = Math.max(maxX, locationX);
+                maxZ = Math.max(maxZ, locationZ);
+                int cellX = getCellX(locationX);
+                int cellZ = getCellZ(locationZ);
+                if (!isInside(cellX, cellZ)) {
+                    continue;
+                }
+                float value = values[i] * factor;
+                // edge cells are shared with the patches before them
+                int lastZ = Math.min(cellZ / step, patchesPerRow - 1);
+                int lastX = Math.min(cellX / step, patchesPerRow - 1);
+                for (int patchZ = Math.max(0, (cellZ - 1) / step); patchZ <= lastZ; patchZ++) {
+                    for (int patchX = Math.max(0, (cellX - 1) / step); patchX <= lastX; patchX++) {
+                        int patch = patchZ * patchesPerRow + patchX;
+                        int index = (cellZ - patchZ * step) * patchSize + cellX - patchX * step;
+                        if (override) {
+                            heights[patch][index] = value;
+                        } else {
+                            heights[patch][index] += value;
+                        }
+                        if (anchors[patch] < 0) {
+                            anchors[patch] = i;
+                        }
+                    }
+                }
+            }
+            List<Vector2f> locs = new ArrayList<Vector2f>();
+            List<Float> current = new ArrayList<Float>();
+            for (int anchor : anchors) {
+                if (anchor >= 0) {
+                    addAnchor(locs, current, locations[anchor * 2], locations[anchor * 2 + 1]);
+                }
+            }
+            addAnchor(locs, current, minX, minZ);
+            addAnchor(locs, current, maxX, maxZ);
+            quad.setHeight(locs, current);
+        }
+
+        private void addAnchor(List<Vector2f> locs, List<Float> current, float locationX, float locationZ) {
+            float height = getHeight(getCellX(locationX), getCellZ(locationZ));
+            locs.add(new Vector2f(locationX, locationZ));
+            // cells outside of the terrain are skipped, but still flag the normals
+            current.add(Float.isNaN(height) ? 0f : height);
+        }
+    }
+}
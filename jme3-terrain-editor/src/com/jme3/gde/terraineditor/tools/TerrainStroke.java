@@ -0,0 +1,368 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jme3.gde.terraineditor.tools;
+
+import com.jme3.gde.core.undoredo.RetainedSizeEstimate;
+import com.jme3.gde.core.undoredo.UndoPayload;
+import com.jme3.math.FastMath;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.terrain.Terrain;
+import com.jme3.texture.Image;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Collects the terrain changes of all dabs of one mouse drag, so the whole
+ * stroke can be undone with one edit.
+ * <p>
+ * Before a dab changes the terrain, the heightmap cells or alpha map pixels
+ * it can reach are saved in tiles of {@link #TILE_SIZE} squared, each tile only
+ * the first time it is touched. When the stroke is finished, every tile is
+ * compared with the current data and only the XOR of the old and new bits is
+ * kept, deflated in an {@link UndoPayload}. Unchanged cells XOR to zero, so
+ * the delta compresses to a small fraction of the touched region. Applying
+ * the delta to the terrain again flips it between the old and the new state,
+ * which makes undo and redo bit exact, also where paint got clamped.
+ * <p>
+ * Only use this from the render thread.
+ */
+final class TerrainStroke implements RetainedSizeEstimate {
+
+    static final int TILE_SIZE = 32;
+    private static final int OVERHEAD = 64;
+    private final Terrain terrain;
+    private final int size;
+    private final int tilesPerRow;
+    private final Map<Integer, float[]> heightTiles = new TreeMap<Integer, float[]>();
+    private final Map<Image, AlphaTiles> alphaTiles = new LinkedHashMap<Image, AlphaTiles>();
+    private int[] heightKeys;
+    private UndoPayload heightDelta;
+    private final List<AlphaTiles> alphaDeltas = new ArrayList<AlphaTiles>();
+
+    TerrainStroke(Terrain terrain) {
+        this.terrain = terrain;
+        this.size = terrain.getTerrainSize();
+        this.tilesPerRow = (size + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    Terrain getTerrain() {
+        return terrain;
+    }
+
+    /**
+     * Saves the heightmap cells a brush at the center can change, plus one
+     * cell around it.
+     *
+     * @param center the brush center, relative to the terrain node
+     * @param radius the brush radius in world units
+     */
+    void captureHeights(Vector3f center, float radius) {
+        Vector3f scale = ((Node) terrain).getWorldScale();
+        int half = size / 2;
+        int minX = Math.max(0, (int) FastMath.floor((center.x - radius) / scale.x) + half - 1);
+        int maxX = Math.min(size - 1, (int) FastMath.ceil((center.x + radius) / scale.x) + half + 1);
+        int minZ = Math.max(0, (int) FastMath.floor((center.z - radius) / scale.z) + half - 1);
+        int maxZ = Math.min(size - 1, (int) FastMath.ceil((center.z + radius) / scale.z) + half + 1);
+        for (int tz = minZ / TILE_SIZE; tz <= maxZ / TILE_SIZE; tz++) {
+            for (int tx = minX / TILE_SIZE; tx <= maxX / TILE_SIZE; tx++) {
+                Integer key = tz * tilesPerRow + tx;
+                if (!heightTiles.containsKey(key)) {
+                    heightTiles.put(key, readHeightTile(key));
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves the pixels of the alpha map in the given rectangle.
+     */
+    void captureAlpha(Image image, int minX, int minY, int maxX, int maxY) {
+        AlphaTiles tiles = alphaTiles.get(image);
+        if (tiles == null) {
+            tiles = new AlphaTiles(image);
+            alphaTiles.put(image, tiles);
+        }
+        tiles.capture(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Replaces the saved tiles by the compressed deltas to the current terrain.
+     *
+     * @return false if the stroke did not change anything
+     */
+    boolean finish() {
+        if (!heightTiles.isEmpty()) {
+            ByteBuffer delta = ByteBuffer.allocate(heightTiles.size() * TILE_SIZE * TILE_SIZE * 4);
+            int[] keys = new int[heightTiles.size()];
+            int count = 0;
+            for (Map.Entry<Integer, float[]> entry : heightTiles.entrySet()) {
+                float[] before = entry.getValue();
+                float[] after = readHeightTile(entry.getKey());
+                int start = delta.position();
+                boolean changed = false;
+                for (int i = 0; i < before.length; i++) {
+                    int bits = Float.floatToRawIntBits(before[i]) ^ Float.floatToRawIntBits(after[i]);
+                    changed |= bits != 0;
+                    delta.putInt(bits);
+                }
+                if (changed) {
+                    keys[count++] = entry.getKey();
+                } else {
+                    delta.position(start);
+                }
+            }
+            heightTiles.clear();
+            if (count > 0) {
+                heightKeys = new int[count];
+                System.arraycopy(keys, 0, heightKeys, 0, count);
+                delta.flip();
+                heightDelta = UndoPayload.ofBytes(delta);
+            }
+        }
+        for (AlphaTiles tiles : alphaTiles.values()) {
+            if (tiles.finish()) {
+                alphaDeltas.add(tiles);
+            }
+        }
+        alphaTiles.clear();
+        return heightDelta != null || !alphaDeltas.isEmpty();
+    }
+
+    /**
+     * Flips the terrain between the state before and after the stroke. Only
+     * call this after {@link #finish()}.
+     */
+    void toggle() {
+        if (heightDelta != null) {
+            toggleHeights();
+        }
+        for (AlphaTiles tiles : alphaDeltas) {
+            tiles.toggle();
+        }
+    }
+
+    private void toggleHeights() {
+        ByteBuffer delta = ByteBuffer.wrap(heightDelta.toBytes());
+        Vector3f scale = ((Node) terrain).getWorldScale();
+        int half = size / 2;
+        int cells = heightKeys.length * TILE_SIZE * TILE_SIZE;
+        float[] locations = new float[cells * 2];
+        float[] values = new float[cells];
+        int count = 0;
+        Vector2f loc = new Vector2f();
+        for (int key : heightKeys) {
+            int x0 = (key % tilesPerRow) * TILE_SIZE;
+            int z0 = (key / tilesPerRow) * TILE_SIZE;
+            for (int z = z0; z < z0 + TILE_SIZE; z++) {
+                for (int x = x0; x < x0 + TILE_SIZE; x++) {
+                    int bits = delta.getInt();
+                    if (bits == 0) {
+                        continue;
+                    }
+                    loc.set((x - half) * scale.x, (z - half) * scale.z);
+                    float current = terrain.getHeightmapHeight(loc);
+                    locations[count * 2] = loc.x;
+                    locations[count * 2 + 1] = loc.y;
+                    values[count] = Float.intBitsToFloat(Float.floatToRawIntBits(current) ^ bits);
+                    count++;
+                }
+            }
+        }
+        TerrainBrush.setHeights(terrain, locations, values, count);
+    }
+
+    private float[] readHeightTile(int key) {
+        Vector3f scale = ((Node) terrain).getWorldScale();
+        int half = size / 2;
+        int x0 = (key % tilesPerRow) * TILE_SIZE;
+        int z0 = (key / tilesPerRow) * TILE_SIZE;
+        float[] tile = new float[TILE_SIZE * TILE_SIZE];
+        Vector2f loc = new Vector2f();
+        int i = 0;
+        for (int z = z0; z < z0 + TILE_SIZE; z++) {
+            for (int x = x0; x < x0 + TILE_SIZE; x++) {
+                if (x < size && z < size) {
+                    loc.set((x - half) * scale.x, (z - half) * scale.z);
+                    tile[i] = terrain.getHeightmapHeight(loc);
+                } else {
+                    tile[i] = Float.NaN;
+                }
+                i++;
+            }
+        }
+        return tile;
+    }
+
+    @Override
+    public long getRetainedSize() {
+        long retained = OVERHEAD;
+        if (heightDelta != null) {
+            retained += heightDelta.getRetainedSize() + heightKeys.length * 4;
+        }
+        for (AlphaTiles tiles : alphaDeltas) {
+            retained += tiles.getRetainedSize();
+        }
+        return retained;
+    }
+
+    void release() {
+        if (heightDelta != null) {
+            heightDelta.release();
+            heightDelta = null;
+        }
+        for (AlphaTiles tiles : alphaDeltas) {
+            tiles.release();
+        }
+        alphaDeltas.clear();
+    }
+
+    /**
+     * The saved tiles and the finished delta of one alpha map. The pixels are
+     * handled as raw bytes, so the image format does not matter.
+     */
+    private static final class AlphaTiles {
+
+        private final Image image;
+        private final int bytesPerPixel;
+        private final int tilesPerRow;
+        private final Map<Integer, byte[]> tiles = new TreeMap<Integer, byte[]>();
+        private int[] keys;
+        private UndoPayload delta;
+
+        AlphaTiles(Image image) {
+            this.image = image;
+            this.bytesPerPixel = image.getFormat().getBitsPerPixel() / 8;
+            this.tilesPerRow = (image.getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+        }
+
+        void capture(int minX, int minY, int maxX, int maxY) {
+            minX = Math.max(0, minX);
+            minY = Math.max(0, minY);
+            maxX = Math.min(image.getWidth() - 1, maxX);
+            maxY = Math.min(image.getHeight() - 1, maxY);
+            for (int ty = minY / TILE_SIZE; ty <= maxY / TILE_SIZE; ty++) {
+                for (int tx = minX / TILE_SIZE; tx <= maxX / TILE_SIZE; tx++) {
+                    Integer key = ty * tilesPerRow + tx;
+                    if (!tiles.containsKey(key)) {
+                        tiles.put(key, readTile(key));
+                    }
+                }
+            }
+        }
+
+        boolean finish() {
+            int tileBytes = TILE_SIZE * TILE_SIZE * bytesPerPixel;
+            byte[] packed = new byte[tiles.size() * tileBytes];
+            int[] changedKeys = new int[tiles.size()];
+            int count = 0;
+            for (Map.Entry<Integer, byte[]> entry : tiles.entrySet()) {
+                byte[] before = entry.getValue();
+                byte[] after = readTile(entry.getKey());
+                int offset = count * tileBytes;
+                boolean changed = false;
+                for (int i = 0; i < tileBytes; i++) {
+                    byte bits = (byte) (before[i] ^ after[i]);
+                    changed |= bits != 0;
+                    packed[offset + i] = bits;
+                }
+                if (changed) {
+                    changedKeys[count++] = entry.getKey();
+                }
+            }
+            tiles.clear();
+            if (count == 0) {
+                return false;
+            }
+            keys = new int[count];
+            System.arraycopy(changedKeys, 0, keys, 0, count);
+            delta = UndoPayload.ofBytes(ByteBuffer.wrap(packed, 0, count * tileBytes));
+            return true;
+        }
+
+        void toggle() {
+            byte[] packed = delta.toBytes();
+            ByteBuffer data = image.getData(0);
+            int i = 0;
+            for (int key : keys) {
+                int x0 = (key % tilesPerRow) * TILE_SIZE;
+                int y0 = (key / tilesPerRow) * TILE_SIZE;
+                for (int y = y0; y < y0 + TILE_SIZE; y++) {
+                    for (int x = x0; x < x0 + TILE_SIZE; x++) {
+                        for (int b = 0; b < bytesPerPixel; b++, i++) {
+                            if (packed[i] != 0 && x < image.getWidth() && y < image.getHeight()) {
+                                int position = (y * image.getWidth() + x) * bytesPerPixel + b;
+                                data.put(position, (byte) (data.get(position) ^ packed[i]));
+                            }
+                        }
+                    }
+                }
+            }
+            image.setUpdateNeeded();
+        }
+
+        private byte[] readTile(int key) {
+            ByteBuffer data = image.getData(0);
+            int x0 = (key % tilesPerRow) * TILE_SIZE;
+            int y0 = (key / tilesPerRow) * TILE_SIZE;
+            byte[] tile = new byte[TILE_SIZE * TILE_SIZE * bytesPerPixel];
+            int i = 0;
+            for (int y = y0; y < y0 + TILE_SIZE; y++) {
+                for (int x = x0; x < x0 + TILE_SIZE; x++) {
+                    for (int b = 0; b < bytesPerPixel; b++, i++) {
+                        if (x < image.getWidth() && y < image.getHeight()) {
+                            tile[i] = data.get((y * image.getWidth() + x) * bytesPerPixel + b);
+                        }
+                    }
+                }
+            }
+            return tile;
+        }
+
+        long getRetainedSize() {
+            return OVERHEAD + (delta != null ? delta.getRetainedSize() : 0) + keys.length * 4;
+        }
+
+        void release() {
+            if (delta != null) {
+                delta.release();
+                delta = null;
+            }
+        }
+    }
+}
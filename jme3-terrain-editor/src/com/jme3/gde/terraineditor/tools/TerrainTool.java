@@ -33,6 +33,9 @@ package com.jme3.gde.terraineditor.tools;
 
 import com.jme3.asset.AssetManager;
 import com.jme3.gde.core.sceneexplorer.nodes.AbstractSceneExplorerNode;
+import com.jme3.gde.core.undoredo.AbstractUndoableSceneEdit;
+import com.jme3.gde.core.undoredo.RetainedSizeEstimate;
+import com.jme3.gde.core.undoredo.SceneUndoRedoManager;
 import com.jme3.gde.terraineditor.ExtraToolParams;
 import com.jme3.input.KeyInput;
 import com.jme3.input.event.KeyInputEvent;
@@ -45,10 +48,14 @@ import com.jme3.scene.Node;
 import com.jme3.scene.VertexBuffer;
 import com.jme3.scene.shape.Box;
 import com.jme3.scene.shape.Sphere;
+import com.jme3.terrain.Terrain;
 import com.jme3.util.IntMap.Entry;
 import java.util.HashMap;
 import java.util.Map;
+import javax.swing.undo.CannotRedoException;
+import javax.swing.undo.CannotUndoException;
 import org.openide.loaders.DataObject;
+import org.openide.util.Lookup;
 
 /**
  * Modifies the terrain in some way.
@@ -83,6 +90,7 @@ public abstract class TerrainTool {
     private Meshes mesh;
     private final Map<Vector3f, Float> cachedMap = new HashMap<Vector3f, Float>(); // caching only
     private boolean primary = true;
+    private TerrainStroke stroke;
     
     public static enum Meshes {
         Box, Sphere
@@ -125,10 +133,67 @@ public abstract class TerrainTool {
     public abstract void actionSecondary(Vector3f point, int textureIndex, AbstractSceneExplorerNode rootNode, DataObject dataObject);
     
     /**
-     * The action has ended, record undo actions.
-     * Currently just implemented for Paint tool
+     * The action has ended (mouse button up), record the undo edit of the
+     * stroke.
      */
-    public void actionEnded(AbstractSceneExplorerNode rootNode, DataObject dataObject) {}
+    public void actionEnded(AbstractSceneExplorerNode rootNode, DataObject dataObject) {
+        recordStroke(rootNode, dataObject);
+    }
+    
+    /**
+     * The tool was deselected or the scene is closing while a stroke may still
+     * be open (the mouse button was not released yet), record its undo edit.
+     */
+    public void deactivate(AbstractSceneExplorerNode rootNode, DataObject dataObject) {
+        recordStroke(rootNode, dataObject);
+    }
+    
+    /**
+     * Applies one dab of the tool. The dab does not record an undo edit of its
+     * own, the terrain it changes is saved into the current stroke instead,
+     * which is recorded as a single edit when the action ends.
+     */
+    protected void applyStrokeAction(AbstractTerrainToolAction action, Vector3f point, AbstractSceneExplorerNode rootNode, DataObject dataObject) {
+        Terrain terrain = action.getTerrain(rootNode.getLookup().lookup(Node.class));
+        if (terrain == null)
+            return;
+        if (stroke != null && stroke.getTerrain() != terrain)
+            recordStroke(rootNode, dataObject);
+        if (stroke == null)
+            stroke = new TerrainStroke(terrain);
+        Vector3f center = point.subtract(((Node) terrain).getWorldTranslation());
+        action.captureStroke(stroke, terrain, center, radius);
+        action.doActionPerformed(rootNode, dataObject, false);
+    }
+    
+    /**
+     * Records the dabs applied since the last call as one undo edit.
+     */
+    protected void recordStroke(AbstractSceneExplorerNode rootNode, DataObject dataObject) {
+        if (stroke == null)
+            return;
+        TerrainStroke finished = stroke;
+        stroke = null;
+        if (!finished.finish())
+            return;
+        
+        SceneUndoRedoManager manager = Lookup.getDefault().lookup(SceneUndoRedoManager.class);
+        if (manager != null) // this is a temporary check, it should never be null but occasionally is
+            manager.addEdit(this, new StrokeEdit(finished, rootNode, dataObject));
+        else
+            finished.release();
+    }
+    
+    protected void setModified(final AbstractSceneExplorerNode rootNode, final DataObject dataObject) {
+        if (dataObject == null || dataObject.isModified())
+            return;
+        java.awt.EventQueue.invokeLater(new Runnable() {
+
+            public void run() {
+                dataObject.setModified(true);
+            }
+        });
+    }
     
     /**
      * Signals that this tool will or will not snap to fixed axis angles
@@ -307,4 +372,48 @@ public abstract class TerrainTool {
     public void extraParamsChanged(ExtraToolParams params) {
         // override in subclasses that need it
     }
+
+    /**
+     * Undoes and redoes all dabs of one stroke by flipping the stored delta.
+     */
+    private class StrokeEdit extends AbstractUndoableSceneEdit implements RetainedSizeEstimate {
+
+        private final TerrainStroke stroke;
+        private final AbstractSceneExplorerNode rootNode;
+        private final DataObject dataObject;
+
+        StrokeEdit(TerrainStroke stroke, AbstractSceneExplorerNode rootNode, DataObject dataObject) {
+            this.stroke = stroke;
+            this.rootNode = rootNode;
+            this.dataObject = dataObject;
+        }
+
+        @Override
+        public void sceneUndo() throws CannotUndoException {
+            stroke.toggle();
+            setModified(rootNode, dataObject);
+        }
+
+        @Override
+        public void sceneRedo() throws CannotRedoException {
+            stroke.toggle();
+            setModified(rootNode, dataObject);
+        }
+
+        @Override
+        public Object getSceneTarget() {
+            return stroke.getTerrain();
+        }
+
+        @Override
+        public long getRetainedSize() {
+            return stroke.getRetainedSize();
+        }
+
+        @Override
+        public void die() {
+            super.die();
+            stroke.release();
+        }
+    }
 }
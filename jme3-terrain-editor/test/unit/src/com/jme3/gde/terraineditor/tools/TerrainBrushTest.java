@@ -0,0 +1,286 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.terraineditor.tools;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import com.jme3.gde.terraineditor.tools.TerrainTool.Meshes;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.terrain.Terrain;
+import com.jme3.terrain.geomipmap.TerrainQuad;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the TerrainBrush based raise and smooth loops with the per-vertex
+ * loops the tools used before, both have to produce the same heightmap bit for
+ * bit.
+ */
+public class TerrainBrushTest {
+
+    private static final int SIZE = 65;
+    private static final Vector3f[] CENTERS = {
+        new Vector3f(0, 0, 0),
+        new Vector3f(3.3f, 0, -5.7f),
+        new Vector3f(-20.5f, 0, 18.25f),
+        // partly outside of the terrain
+        new Vector3f(30, 0, -31)
+    };
+
+    private static TerrainQuad createTerrain() {
+        return createTerrain(33, SIZE);
+    }
+
+    private static TerrainQuad createTerrain(int patchSize, int size) {
+        float[] heights = new float[size * size];
+        Random random = new Random(42);
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = random.nextFloat() * 20f;
+        }
+        return new TerrainQuad("terrain", patchSize, size, heights);
+    }
+
+    @Test
+    public void testRaiseMatchesPerVertexLoop() {
+        for (Meshes mesh : Meshes.values()) {
+            TerrainQuad expected = createTerrain();
+            TerrainQuad actual = createTerrain();
+            for (Vector3f center : CENTERS) {
+                legacyRaise(expected, center, 7.5f, 2.5f, mesh);
+                brushRaise(actual, center, 7.5f, 2.5f, mesh);
+                legacyRaise(expected, center, 4f, -1.25f, mesh);
+                brushRaise(actual, center, 4f, -1.25f, mesh);
+            }
+            assertArrayEquals(expected.getHeightMap(), actual.getHeightMap(), mesh.name());
+        }
+    }
+
+    @Test
+    public void testSmoothMatchesPerVertexLoop() {
+        for (Meshes mesh : Meshes.values()) {
+            TerrainQuad expected = createTerrain();
+            TerrainQuad actual = createTerrain();
+            for (Vector3f center : CENTERS) {
+                legacySmooth(expected, center, 6f, 0.8f, mesh);
+                brushSmooth(actual, center, 6f, 0.8f, mesh);
+            }
+            assertArrayEquals(expected.getHeightMap(), actual.getHeightMap(), mesh.name());
+        }
+    }
+
+    @Test
+    public void testNestedQuadsMatchPerVertexLoop() {
+        TerrainQuad expected = createTerrain(17, 129);
+        TerrainQuad actual = createTerrain(17, 129);
+        Random random = new Random(7);
+        for (int i = 0; i < 40; i++) {
+            Vector3f center = new Vector3f(random.nextFloat() * 140f - 70f, 0, random.nextFloat() * 140f - 70f);
+            Meshes mesh = Meshes.values()[i % Meshes.values().length];
+            legacyRaise(expected, center, 9f, 1.5f, mesh);
+            brushRaise(actual, center, 9f, 1.5f, mesh);
+            legacySmooth(expected, center, 5f, 0.5f, mesh);
+            brushSmooth(actual, center, 5f, 0.5f, mesh);
+        }
+        assertArrayEquals(expected.getHeightMap(), actual.getHeightMap());
+
+        // absolute heights, as written by the level tool and the undo
+        TerrainBrush brush = new TerrainBrush(actual, new Vector3f(-16, 0, 16), 12f, Meshes.Box);
+        List<Vector2f> locs = new ArrayList<Vector2f>();
+        List<Float> heights = new ArrayList<Float>();
+        for (int z = 0; z < brush.getDepth(); z++) {
+            for (int x = 0; x < brush.getWidth(); x++) {
+                brush.put(x, z, x - z);
+                locs.add(new Vector2f(brush.getLocationX(x), brush.getLocationZ(z)));
+                heights.add((float) (x - z));
+            }
+        }
+        brush.setHeights();
+        expected.setHeight(locs, heights);
+        assertArrayEquals(expected.getHeightMap(), actual.getHeightMap());
+    }
+
+    @Test
+    public void testBulkWriteAgainstPerVertexLoop() {
+        TerrainQuad expected = createTerrain(65, 513);
+        TerrainQuad actual = createTerrain(65, 513);
+        Random random = new Random(11);
+        Vector3f[] centers = new Vector3f[200];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = new Vector3f(random.nextFloat() * 480f - 240f, 0, random.nextFloat() * 480f - 240f);
+        }
+        long start = System.nanoTime();
+        for (Vector3f center : centers) {
+            legacyRaise(expected, center, 16f, 1f, Meshes.Sphere);
+        }
+        long legacyRaise = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (Vector3f center : centers) {
+            brushRaise(actual, center, 16f, 1f, Meshes.Sphere);
+        }
+        long bulkRaise = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (Vector3f center : centers) {
+            legacySmooth(expected, center, 16f, 0.5f, Meshes.Sphere);
+        }
+        long legacySmooth = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (Vector3f center : centers) {
+            brushSmooth(actual, center, 16f, 0.5f, Meshes.Sphere);
+        }
+        long bulkSmooth = System.nanoTime() - start;
+        System.out.printf("%d dabs: raise per vertex %.1f ms, bulk %.1f ms; smooth per vertex %.1f ms, bulk %.1f ms%n",
+                centers.length, legacyRaise / 1e6, bulkRaise / 1e6, legacySmooth / 1e6, bulkSmooth / 1e6);
+        assertArrayEquals(expected.getHeightMap(), actual.getHeightMap());
+    }
+
+    @Test
+    public void testBrushCoversRadiusSteps() {
+        TerrainQuad terrain = createTerrain();
+        TerrainBrush brush = new TerrainBrush(terrain, new Vector3f(), 5.5f, Meshes.Box);
+        assertEquals(10, brush.getWidth());
+        assertEquals(10, brush.getDepth());
+        for (int z = 0; z < brush.getDepth(); z++) {
+            for (int x = 0; x < brush.getWidth(); x++) {
+                assertTrue(brush.isInside(x, z));
+                brush.put(x, z, 1f);
+            }
+        }
+        assertEquals(100, brush.getCount());
+        assertEquals(200, brush.getLocations().length);
+    }
+
+    private static void brushRaise(Terrain terrain, Vector3f center, float radius, float heightDir, Meshes mesh) {
+        TerrainBrush brush = new TerrainBrush(terrain, center, radius, mesh);
+        for (int z = 0; z < brush.getDepth(); z++) {
+            for (int x = 0; x < brush.getWidth(); x++) {
+                if (brush.isInside(x, z)) {
+                    brush.put(x, z, ToolUtils.calculateHeight(radius, heightDir, brush.getOffsetX(x), brush.getOffsetZ(z)));
+                }
+            }
+        }
+        brush.adjustHeights();
+    }
+
+    private static void brushSmooth(Terrain terrain, Vector3f center, float radius, float height, Meshes mesh) {
+        TerrainBrush brush = new TerrainBrush(terrain, center, radius, mesh, 1);
+        brush.readHeights();
+        for (int z = 0; z < brush.getDepth(); z++) {
+            for (int x = 0; x < brush.getWidth(); x++) {
+                if (brush.isInside(x, z)) {
+                    float middle = brush.getHeight(x, z);
+                    float amount = average(middle, brush.getHeight(x - 1, z), brush.getHeight(x + 1, z),
+                            brush.getHeight(x, z + 1), brush.getHeight(x, z - 1));
+                    brush.put(x, z, (amount - middle) * height);
+                }
+            }
+        }
+        brush.adjustHeights();
+    }
+
+    /**
+     * The raise loop of RaiseTerrainToolAction before TerrainBrush.
+     */
+    private static void legacyRaise(Terrain terrain, Vector3f worldLoc, float radius, float heightDir, Meshes mesh) {
+        int radiusStepsX = (int) (radius / ((Node) terrain).getWorldScale().x);
+        int radiusStepsZ = (int) (radius / ((Node) terrain).getWorldScale().z);
+        float xStepAmount = ((Node) terrain).getWorldScale().x;
+        float zStepAmount = ((Node) terrain).getWorldScale().z;
+        List<Vector2f> locs = new ArrayList<Vector2f>();
+        List<Float> heights = new ArrayList<Float>();
+        for (int z = -radiusStepsZ; z < radiusStepsZ; z++) {
+            for (int x = -radiusStepsX; x < radiusStepsX; x++) {
+                float locX = worldLoc.x + (x * xStepAmount);
+                float locZ = worldLoc.z + (z * zStepAmount);
+                if (ToolUtils.isInMesh(locX - worldLoc.x, locZ - worldLoc.z, radius, mesh)) {
+                    float h = ToolUtils.calculateHeight(radius, heightDir, locX - worldLoc.x, locZ - worldLoc.z);
+                    locs.add(new Vector2f(locX, locZ));
+                    heights.add(h);
+                }
+            }
+        }
+        terrain.adjustHeight(locs, heights);
+        ((Node) terrain).updateModelBound();
+    }
+
+    /**
+     * The smooth loop of SmoothTerrainToolAction before TerrainBrush, it
+     * reads every neighbour from the terrain.
+     */
+    private static void legacySmooth(Terrain terrain, Vector3f worldLoc, float radius, float height, Meshes mesh) {
+        int radiusStepsX = (int) (radius / ((Node) terrain).getLocalScale().x);
+        int radiusStepsZ = (int) (radius / ((Node) terrain).getLocalScale().z);
+        float xStepAmount = ((Node) terrain).getLocalScale().x;
+        float zStepAmount = ((Node) terrain).getLocalScale().z;
+        List<Vector2f> locs = new ArrayList<Vector2f>();
+        List<Float> heights = new ArrayList<Float>();
+        for (int z = -radiusStepsZ; z < radiusStepsZ; z++) {
+            for (int x = -radiusStepsX; x < radiusStepsX; x++) {
+                float locX = worldLoc.x + (x * xStepAmount);
+                float locZ = worldLoc.z + (z * zStepAmount);
+                if (ToolUtils.isInMesh(locX - worldLoc.x, locZ - worldLoc.z, radius, mesh)) {
+                    Vector2f terrainLoc = new Vector2f(locX, locZ);
+                    float middle = terrain.getHeightmapHeight(terrainLoc);
+                    float amount = average(middle,
+                            terrain.getHeightmapHeight(new Vector2f(terrainLoc.x - 1, terrainLoc.y)),
+                            terrain.getHeightmapHeight(new Vector2f(terrainLoc.x + 1, terrainLoc.y)),
+                            terrain.getHeightmapHeight(new Vector2f(terrainLoc.x, terrainLoc.y + 1)),
+                            terrain.getHeightmapHeight(new Vector2f(terrainLoc.x, terrainLoc.y - 1)));
+                    locs.add(terrainLoc);
+                    heights.add((amount - middle) * height);
+                }
+            }
+        }
+        terrain.adjustHeight(locs, heights);
+        ((Node) terrain).updateModelBound();
+    }
+
+    /**
+     * The neighbour average of the smooth tool, NaN neighbours are outside of
+     * the terrain and skipped.
+     */
+    private static float average(float middle, float left, float right, float up, float down) {
+        int count = 1;
+        float amount = middle;
+        for (float neighbour : new float[]{left, right, up, down}) {
+            if (!Float.isNaN(neighbour)) {
+                amount += neighbour;
+                count++;
+            }
+        }
+        return amount / count;
+    }
+}
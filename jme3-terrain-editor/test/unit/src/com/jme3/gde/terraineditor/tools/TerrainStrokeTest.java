@@ -0,0 +1,200 @@
+/*
+ *  Copyright (c) 2009-2026 jMonkeyEngine
+ *  All rights reserved.
+ * 
+ *  Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are
+ *  met:
+ * 
+ *  * Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ *  * Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in the
+ *    documentation and/or other materials provided with the distribution.
+ * 
+ *  * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ * 
+ *  THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ *  "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ *  TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ *  PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ *  CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ *  EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ *  PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ *  PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ *  LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ *  NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ *  SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.gde.terraineditor.tools;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import com.jme3.gde.terraineditor.tools.TerrainTool.Meshes;
+import com.jme3.material.Material;
+import com.jme3.material.MaterialDef;
+import com.jme3.math.Vector3f;
+import com.jme3.shader.VarType;
+import com.jme3.terrain.geomipmap.TerrainQuad;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture2D;
+import com.jme3.texture.image.ColorSpace;
+import com.jme3.util.BufferUtils;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Applies several overlapping dabs as one stroke and checks that undo and redo
+ * restore the heightmap and the alpha map bit for bit. The alpha map is painted
+ * by PaintTerrainToolAction, so its stroke capture and clamping are covered.
+ */
+public class TerrainStrokeTest {
+
+    private static final int SIZE = 65;
+    private static final int ALPHA_SIZE = 64;
+    private static final float RADIUS = 6f;
+    // the green channel of the first alpha map
+    private static final int TEXTURE_INDEX = 1;
+    private static final Vector3f[] DABS = {
+        new Vector3f(-10.2f, 0, -3.6f),
+        new Vector3f(-6.9f, 0, -1.1f),
+        new Vector3f(-3.4f, 0, 1.7f),
+        new Vector3f(-1.3f, 0, 2.2f),
+        // over a tile border and partly outside of the terrain
+        new Vector3f(29.5f, 0, 30.5f),
+        new Vector3f(31.75f, 0, 28f)
+    };
+
+    private static TerrainQuad createTerrain(Random random) {
+        float[] heights = new float[SIZE * SIZE];
+        for (int i = 0; i < heights.length; i++) {
+            heights[i] = random.nextFloat() * 20f;
+        }
+        return new TerrainQuad("terrain", 33, SIZE, heights);
+    }
+
+    private static Image createAlphaMap(Random random) {
+        ByteBuffer data = BufferUtils.createByteBuffer(ALPHA_SIZE * ALPHA_SIZE * 4);
+        for (int i = 0; i < data.capacity(); i++) {
+            data.put(i, (byte) random.nextInt(256));
+        }
+        return new Image(Image.Format.RGBA8, ALPHA_SIZE, ALPHA_SIZE, data, ColorSpace.Linear);
+    }
+
+    private static void setAlphaMap(TerrainQuad terrain, Image alpha) {
+        MaterialDef def = new MaterialDef(null, "TerrainStrokeTest");
+        def.addMaterialParam(VarType.Texture2D, "AlphaMap", null);
+        Material material = new Material(def);
+        material.setTexture("AlphaMap", new Texture2D(alpha));
+        terrain.setMaterial(material);
+    }
+
+    @Test
+    public void testUndoRedoIsBitExact() {
+        Random random = new Random(7);
+        TerrainQuad terrain = createTerrain(random);
+        Image alpha = createAlphaMap(random);
+        setAlphaMap(terrain, alpha);
+        int[] heightsBefore = heightBits(terrain);
+        byte[] alphaBefore = alphaBytes(alpha);
+
+        TerrainStroke stroke = new TerrainStroke(terrain);
+        for (int i = 0; i < DABS.length; i++) {
+            Vector3f center = DABS[i];
+            new RaiseTerrainToolAction(center, RADIUS, 3.7f, Meshes.Sphere).captureStroke(stroke, terrain, center, RADIUS);
+            raise(terrain, center, 3.7f);
+            smooth(terrain, center, 0.6f);
+            // full weight, painting and erasing, so the channel gets clamped
+            paint(stroke, terrain, center, i % 3 == 2 ? -1f : 1f);
+        }
+        int[] heightsAfter = heightBits(terrain);
+        byte[] alphaAfter = alphaBytes(alpha);
+        assertFalse(Arrays.equals(alphaBefore, alphaAfter));
+        assertTrue(stroke.finish());
+
+        for (int i = 0; i < 2; i++) {
+            //undo
+            stroke.toggle();
+            assertArrayEquals(heightsBefore, heightBits(terrain));
+            assertArrayEquals(alphaBefore, alphaBytes(alpha));
+            //redo
+            stroke.toggle();
+            assertArrayEquals(heightsAfter, heightBits(terrain));
+            assertArrayEquals(alphaAfter, alphaBytes(alpha));
+        }
+        stroke.release();
+    }
+
+    @Test
+    public void testUnchangedStrokeIsEmpty() {
+        Random random = new Random(11);
+        TerrainQuad terrain = createTerrain(random);
+        Image alpha = createAlphaMap(random);
+        TerrainStroke stroke = new TerrainStroke(terrain);
+        stroke.captureHeights(new Vector3f(), RADIUS);
+        stroke.captureAlpha(alpha, 10, 10, 20, 20);
+        assertFalse(stroke.finish());
+    }
+
+    private static void raise(TerrainQuad terrain, Vector3f center, float height) {
+        TerrainBrush brush = new TerrainBrush(terrain, center, RADIUS, Meshes.Sphere);
+        for (int z = 0; z < brush.getDepth(); z++) {
+            for (int x = 0; x < brush.getWidth(); x++) {
+                if (brush.isInside(x, z)) {
+                    brush.put(x, z, ToolUtils.calculateHeight(RADIUS, height, brush.getOffsetX(x), brush.getOffsetZ(z)));
+                }
+            }
+        }
+        brush.adjustHeights();
+    }
+
+    private static void smooth(TerrainQuad terrain, Vector3f center, float amount) {
+        TerrainBrush brush = new TerrainBrush(terrain, center, RADIUS, Meshes.Box, 1);
+        brush.readHeights();
+        for (int z = 0; z < brush.getDepth(); z++) {
+            for (int x = 0; x < brush.getWidth(); x++) {
+                float left = brush.getHeight(x - 1, z);
+                float right = brush.getHeight(x + 1, z);
+                if (brush.isInside(x, z) && !Float.isNaN(left + brush.getHeight(x, z) + right)) {
+                    float middle = brush.getHeight(x, z);
+                    brush.put(x, z, ((left + middle + right) / 3f - middle) * amount);
+                }
+            }
+        }
+        brush.adjustHeights();
+    }
+
+    /**
+     * One dab of the paint tool: the action saves the alpha map it can reach
+     * into the stroke and then paints, the way TerrainTool applies it.
+     */
+    private static void paint(TerrainStroke stroke, TerrainQuad terrain, Vector3f center, float weight) {
+        PaintTerrainToolAction action = new PaintTerrainToolAction(center, RADIUS, weight, TEXTURE_INDEX);
+        action.captureStroke(stroke, terrain, center, RADIUS);
+        action.paintTexture(terrain, center, RADIUS, weight, TEXTURE_INDEX);
+    }
+
+    private static int[] heightBits(TerrainQuad terrain) {
+        float[] heights = terrain.getHeightMap();
+        int[] bits = new int[heights.length];
+        for (int i = 0; i < heights.length; i++) {
+            bits[i] = Float.floatToRawIntBits(heights[i]);
+        }
+        return bits;
+    }
+
+    private static byte[] alphaBytes(Image alpha) {
+        ByteBuffer data = alpha.getData(0);
+        byte[] bytes = new byte[data.capacity()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(i);
+        }
+        return bytes;
+    }
+}
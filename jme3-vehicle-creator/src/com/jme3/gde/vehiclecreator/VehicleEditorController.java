@@ -235,6 +235,11 @@ public class VehicleEditorController implements LookupListener, ActionListener {
                 selected.center();
             }
 
+            @Override
+            public Object getSceneTarget() {
+                return selected;
+            }
+
             @Override
             public void awtRedo() {
             }